@@ -0,0 +1,87 @@
+package io.dropwizard.benchmarks.db;
+
+import com.codahale.metrics.MetricRegistry;
+import io.dropwizard.db.DataSourceFactory;
+import io.dropwizard.db.HikariDataSourceFactory;
+import io.dropwizard.db.ManagedDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.Connection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of borrowing a connection from the pool and returning it, with more threads
+ * than pooled connections so that the pools are contended.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Threads(16)
+public class DataSourceBenchmark {
+
+    private static final int POOL_SIZE = 8;
+
+    @Param({"tomcat", "tomcat-unfair", "hikari"})
+    private String pool = "tomcat";
+
+    private ManagedDataSource dataSource;
+
+    @Setup
+    public void setUp() throws Exception {
+        final String url = "jdbc:h2:mem:DataSourceBenchmark;DB_CLOSE_DELAY=-1";
+        switch (pool) {
+            case "hikari":
+                final HikariDataSourceFactory hikari = new HikariDataSourceFactory();
+                hikari.setDriverClass("org.h2.Driver");
+                hikari.setUrl(url);
+                hikari.setMinSize(POOL_SIZE);
+                hikari.setMaxSize(POOL_SIZE);
+                dataSource = hikari.build(new MetricRegistry(), pool);
+                break;
+            default:
+                final DataSourceFactory tomcat = new DataSourceFactory();
+                tomcat.setDriverClass("org.h2.Driver");
+                tomcat.setUrl(url);
+                tomcat.setInitialSize(POOL_SIZE);
+                tomcat.setMinSize(POOL_SIZE);
+                tomcat.setMaxSize(POOL_SIZE);
+                tomcat.setUseFairQueue(!"tomcat-unfair".equals(pool));
+                dataSource = tomcat.build(new MetricRegistry(), pool);
+                break;
+        }
+        dataSource.start();
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        dataSource.stop();
+    }
+
+    @Benchmark
+    public boolean borrowAndReturn() throws Exception {
+        try (Connection connection = dataSource.getConnection()) {
+            return connection.getAutoCommit();
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(DataSourceBenchmark.class.getSimpleName())
+                .forks(1)
+                .warmupIterations(5)
+                .measurementIterations(5)
+                .build())
+                .run();
+    }
+}
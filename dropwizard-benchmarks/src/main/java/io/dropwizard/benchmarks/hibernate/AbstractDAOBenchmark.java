@@ -0,0 +1,171 @@
+package io.dropwizard.benchmarks.hibernate;
+
+import io.dropwizard.hibernate.AbstractDAO;
+import io.dropwizard.logging.BootstrapLogging;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.context.internal.ManagedSessionContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.io.File;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Reads a whole table through a DAO, once by loading it into a list and once with each of the
+ * streaming helpers. The database is kept on disk and the benchmark runs with a small heap, so
+ * that only the streaming helpers are able to read the larger tables.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class AbstractDAOBenchmark {
+
+    static {
+        BootstrapLogging.bootstrap();
+    }
+
+    private static final int FETCH_SIZE = 1_000;
+
+    @Param({"100000", "1000000", "3000000"})
+    private int rows = 100_000;
+
+    private File directory;
+    private SessionFactory sessionFactory;
+    private RowDAO dao;
+
+    @Setup
+    public void setUp() throws Exception {
+        directory = Files.createTempDirectory("AbstractDAOBenchmark").toFile();
+        sessionFactory = new Configuration()
+            .addAnnotatedClass(Row.class)
+            .setProperty("hibernate.connection.driver_class", "org.h2.Driver")
+            .setProperty("hibernate.connection.url", "jdbc:h2:file:" + new File(directory, "rows").getAbsolutePath())
+            .setProperty("hibernate.current_session_context_class", "managed")
+            .setProperty("hibernate.hbm2ddl.auto", "create")
+            .buildSessionFactory();
+        dao = new RowDAO(sessionFactory);
+
+        try (Session session = sessionFactory.openSession()) {
+            session.beginTransaction();
+            session.createNativeQuery("INSERT INTO benchmark_rows SELECT X, CONCAT('row-', X) FROM SYSTEM_RANGE(1, " +
+                rows + ")").executeUpdate();
+            session.getTransaction().commit();
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        sessionFactory.close();
+        final File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                Files.delete(file.toPath());
+            }
+        }
+        Files.delete(directory.toPath());
+    }
+
+    @Benchmark
+    public long list() {
+        return inSession(dao -> dao.listAll().stream().mapToLong(row -> row.getName().length()).sum());
+    }
+
+    @Benchmark
+    public long stream() {
+        return inSession(dao -> {
+            try (Stream<Row> stream = dao.streamAll(FETCH_SIZE)) {
+                return stream.mapToLong(row -> row.getName().length()).sum();
+            }
+        });
+    }
+
+    @Benchmark
+    public long statelessStream() {
+        try (Stream<Row> stream = dao.streamAllStateless(FETCH_SIZE)) {
+            return stream.mapToLong(row -> row.getName().length()).sum();
+        }
+    }
+
+    private long inSession(Function<RowDAO, Long> work) {
+        try (Session session = sessionFactory.openSession()) {
+            ManagedSessionContext.bind(session);
+            session.beginTransaction();
+            try {
+                return work.apply(dao);
+            } finally {
+                session.getTransaction().rollback();
+                ManagedSessionContext.unbind(sessionFactory);
+            }
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(AbstractDAOBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .jvmArgs("-Xmx256m")
+                .forks(1)
+                .warmupIterations(2)
+                .measurementIterations(5)
+                .build())
+                .run();
+    }
+
+    @Entity(name = "Row")
+    @Table(name = "benchmark_rows")
+    public static class Row {
+        @Id
+        private long id;
+
+        @Column
+        private String name = "";
+
+        public long getId() {
+            return id;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+
+    private static class RowDAO extends AbstractDAO<Row> {
+        private static final String ALL_ROWS = "FROM Row";
+
+        private RowDAO(SessionFactory sessionFactory) {
+            super(sessionFactory);
+        }
+
+        private List<Row> listAll() {
+            return list(query(ALL_ROWS));
+        }
+
+        private Stream<Row> streamAll(int fetchSize) {
+            return stream(query(ALL_ROWS), fetchSize);
+        }
+
+        private Stream<Row> streamAllStateless(int fetchSize) {
+            return statelessStream(ALL_ROWS, fetchSize);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package io.dropwizard.benchmarks.http2;
+
+import com.codahale.metrics.MetricRegistry;
+import io.dropwizard.http2.Http2CConnectorFactory;
+import io.dropwizard.http2.Http2ConnectorFactory;
+import io.dropwizard.http2.Http2FlowControl;
+import io.dropwizard.jetty.HttpConnectorFactory;
+import io.dropwizard.util.Resources;
+import org.eclipse.jetty.client.HttpClient;
+import org.eclipse.jetty.client.util.BytesContentProvider;
+import org.eclipse.jetty.http2.client.HTTP2Client;
+import org.eclipse.jetty.http2.client.HTTP2ClientConnectionFactory;
+import org.eclipse.jetty.http2.client.http.HttpClientTransportOverHTTP2;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.server.handler.AbstractHandler;
+import org.eclipse.jetty.util.ssl.SslContextFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the throughput of uploads over h2 and h2c connectors, with different flow control settings of the
+ * server.
+ * <p/>
+ * The h2 benchmarks require ALPN, which is provided by the JDK on Java 9 and later.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class Http2ConnectorBenchmark {
+
+    private static final int PAYLOAD_SIZE = 4 * 1024 * 1024;
+
+    @Param({"h2c", "h2"})
+    public String protocol;
+
+    /**
+     * The initial receive window of the sessions and streams of the server
+     */
+    @Param({"65535", "16777216"})
+    public int recvWindow;
+
+    @Param({"BUFFERING", "SIMPLE"})
+    public Http2FlowControl flowControl;
+
+    private final byte[] payload = new byte[PAYLOAD_SIZE];
+
+    private Server server;
+    private HttpClient client;
+    private String url;
+
+    @Setup
+    public void setUp() throws Exception {
+        final HttpConnectorFactory connectorFactory;
+        final String scheme;
+        if ("h2".equals(protocol)) {
+            final Http2ConnectorFactory h2 = new Http2ConnectorFactory();
+            h2.setKeyStorePath(Resources.getResource("stores/http2_server.jks").toExternalForm());
+            h2.setKeyStorePassword("http2_server");
+            h2.setTrustStorePath(Resources.getResource("stores/http2_client.jts").toExternalForm());
+            h2.setTrustStorePassword("http2_client");
+            h2.setValidateCerts(false);
+            h2.setInitialSessionRecvWindow(recvWindow);
+            h2.setInitialStreamRecvWindow(recvWindow);
+            h2.setFlowControl(flowControl);
+            connectorFactory = h2;
+            scheme = "https";
+        } else {
+            final Http2CConnectorFactory h2c = new Http2CConnectorFactory();
+            h2c.setInitialSessionRecvWindow(recvWindow);
+            h2c.setInitialStreamRecvWindow(recvWindow);
+            h2c.setFlowControl(flowControl);
+            connectorFactory = h2c;
+            scheme = "http";
+        }
+        connectorFactory.setPort(0);
+
+        server = new Server();
+        final ServerConnector connector = (ServerConnector) connectorFactory.build(server, new MetricRegistry(),
+            "benchmark", null);
+        server.addConnector(connector);
+        server.setHandler(new UploadHandler());
+        server.start();
+
+        final HTTP2Client http2Client = new HTTP2Client();
+        if ("h2c".equals(protocol)) {
+            http2Client.setClientConnectionFactory(new HTTP2ClientConnectionFactory());
+        }
+        client = new HttpClient(new HttpClientTransportOverHTTP2(http2Client), new SslContextFactory(true));
+        client.start();
+
+        url = scheme + "://localhost:" + connector.getLocalPort() + "/upload";
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        client.stop();
+        server.stop();
+    }
+
+    @Benchmark
+    public String upload() throws Exception {
+        return client.POST(url)
+            .content(new BytesContentProvider(payload))
+            .send()
+            .getContentAsString();
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(Http2ConnectorBenchmark.class.getSimpleName())
+                .forks(1)
+                .warmupIterations(5)
+                .measurementIterations(5)
+                .build())
+                .run();
+    }
+
+    private static class UploadHandler extends AbstractHandler {
+        @Override
+        public void handle(String target, Request baseRequest, HttpServletRequest request,
+                           HttpServletResponse response) throws IOException {
+            final byte[] buffer = new byte[64 * 1024];
+            long received = 0;
+            try (InputStream input = request.getInputStream()) {
+                int n;
+                while ((n = input.read(buffer)) != -1) {
+                    received += n;
+                }
+            }
+            response.setContentType("text/plain");
+            response.getWriter().print(received);
+            baseRequest.setHandled(true);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package io.dropwizard.benchmarks.jdbi3;
+
+import io.dropwizard.jdbi3.NamePrependingTemplateEngine;
+import org.jdbi.v3.core.Handle;
+import org.jdbi.v3.core.Jdbi;
+import org.jdbi.v3.core.statement.DefinedAttributeTemplateEngine;
+import org.jdbi.v3.core.statement.StatementContext;
+import org.jdbi.v3.core.statement.TemplateEngine;
+import org.jdbi.v3.sqlobject.SqlObject;
+import org.jdbi.v3.sqlobject.SqlObjectPlugin;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures rendering a statement of a SQL object method with Jdbi's default template engine, with
+ * and without prepending the name of the method.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class NamePrependingTemplateEngineBenchmark {
+
+    private static final String TEMPLATE = "SELECT id, name, email, created_at FROM people " +
+        "WHERE organization_id = :organizationId AND deleted_at IS NULL ORDER BY name LIMIT :limit";
+
+    public interface PeopleDao extends SqlObject {
+        default StatementContext findPeopleContext() {
+            return getHandle().createQuery(TEMPLATE).getContext();
+        }
+    }
+
+    @Param({"false", "true"})
+    private boolean prependNames = true;
+
+    private Handle handle;
+    private StatementContext context;
+    private TemplateEngine engine;
+
+    @Setup
+    public void setUp() {
+        final Jdbi jdbi = Jdbi.create("jdbc:h2:mem:NamePrependingTemplateEngineBenchmark");
+        jdbi.installPlugin(new SqlObjectPlugin());
+        handle = jdbi.open();
+        context = handle.attach(PeopleDao.class).findPeopleContext();
+        engine = prependNames ? new NamePrependingTemplateEngine(new DefinedAttributeTemplateEngine()) :
+            new DefinedAttributeTemplateEngine();
+    }
+
+    @TearDown
+    public void tearDown() {
+        handle.close();
+    }
+
+    @Benchmark
+    public String render() {
+        return engine.render(TEMPLATE, context);
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(NamePrependingTemplateEngineBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .forks(1)
+                .warmupIterations(5)
+                .measurementIterations(5)
+                .build())
+                .run();
+    }
+}
@@ -1,9 +1,11 @@
 package io.dropwizard.benchmarks.jersey;
 
 import io.dropwizard.jersey.validation.ConstraintMessage;
+import io.dropwizard.jersey.validation.DropwizardConfiguredValidator;
 import io.dropwizard.jersey.validation.Validators;
 import io.dropwizard.logging.BootstrapLogging;
 import org.glassfish.jersey.server.model.Invocable;
+import org.glassfish.jersey.server.model.MethodHandler;
 import org.hibernate.validator.constraints.NotEmpty;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
@@ -42,11 +44,22 @@ public class ConstraintViolationBenchmark {
         public String objectFunc(@Valid Foo foo) {
             return foo.toString();
         }
+
+        public String plainFunc(@HeaderParam("cheese") String secretSauce) {
+            return secretSauce;
+        }
     }
 
     public static class Foo {
         @NotEmpty
         private String bar;
+
+        public Foo() {
+        }
+
+        public Foo(String bar) {
+            this.bar = bar;
+        }
     }
 
     private ConstraintViolation<ConstraintViolationBenchmark.Resource> paramViolation;
@@ -54,9 +67,24 @@ public class ConstraintViolationBenchmark {
 
     final Invocable invocable = Invocable.create(request -> null);
 
+    private final Resource resource = new Resource();
+    private final Object[] validParam = {"cheddar"};
+    private final Object[] validObj = {new Foo("cheddar")};
+    private DropwizardConfiguredValidator configuredValidator;
+    private Invocable paramInvocable;
+    private Invocable objInvocable;
+    private Invocable plainInvocable;
+
     @Setup
     public void prepare() {
         final Validator validator = Validators.newValidator();
+        configuredValidator = new DropwizardConfiguredValidator(validator);
+        paramInvocable = Invocable.create(MethodHandler.create(Resource.class),
+            getAccessibleMethod(Resource.class, "paramFunc", String.class));
+        objInvocable = Invocable.create(MethodHandler.create(Resource.class),
+            getAccessibleMethod(Resource.class, "objectFunc", Foo.class));
+        plainInvocable = Invocable.create(MethodHandler.create(Resource.class),
+            getAccessibleMethod(Resource.class, "plainFunc", String.class));
         final ExecutableValidator execValidator = validator.forExecutables();
 
         final Set<ConstraintViolation<ConstraintViolationBenchmark.Resource>> paramViolations =
@@ -86,6 +114,25 @@ public class ConstraintViolationBenchmark {
         return ConstraintMessage.getMessage(objViolation, invocable);
     }
 
+    @Benchmark
+    public Object[] paramValid() {
+        configuredValidator.validateResourceAndInputParams(resource, paramInvocable, validParam);
+        return validParam;
+    }
+
+    @Benchmark
+    public Object[] objValid() {
+        configuredValidator.validateResourceAndInputParams(resource, objInvocable, validObj);
+        return validObj;
+    }
+
+    @Benchmark
+    public Object[] unconstrained() {
+        configuredValidator.validateResourceAndInputParams(resource, plainInvocable, validParam);
+        configuredValidator.validateResult(resource, plainInvocable, validParam[0]);
+        return validParam;
+    }
+
     public static void main(String[] args) throws Exception {
         new Runner(new OptionsBuilder()
                 .include(ConstraintViolationBenchmark.class.getSimpleName())
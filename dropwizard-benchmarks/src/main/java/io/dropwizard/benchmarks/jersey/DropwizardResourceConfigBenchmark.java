@@ -1,11 +1,13 @@
 package io.dropwizard.benchmarks.jersey;
 
 import io.dropwizard.jersey.DropwizardResourceConfig;
+import org.glassfish.jersey.server.ApplicationHandler;
 import org.glassfish.jersey.test.JerseyTest;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Mode;
 import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
@@ -30,6 +32,12 @@ public class DropwizardResourceConfigBenchmark {
 
     private DropwizardResourceConfig dropwizardResourceConfig = DropwizardResourceConfig.forTesting();
 
+    /**
+     * The number of instances registered in addition to the resources when starting up
+     */
+    @Param({"0", "100", "500"})
+    public int instances;
+
     @Setup
     public void setUp() throws Exception {
         dropwizardResourceConfig.register(DistributionResource.class);
@@ -52,6 +60,18 @@ public class DropwizardResourceConfigBenchmark {
         return dropwizardResourceConfig.getEndpointsInfo();
     }
 
+    @Benchmark
+    public ApplicationHandler startup() {
+        final DropwizardResourceConfig config = DropwizardResourceConfig.forTesting();
+        config.register(new DistributionResource());
+        config.register(new AssetResource());
+        config.register(new ClustersResource());
+        for (int i = 0; i < instances; i++) {
+            config.register(new Repository(i));
+        }
+        return new ApplicationHandler(config);
+    }
+
     public static void main(String[] args) throws Exception {
         new Runner(new OptionsBuilder()
                 .include(DropwizardResourceConfigBenchmark.class.getSimpleName())
@@ -64,6 +84,18 @@ public class DropwizardResourceConfigBenchmark {
 
     // Jersey resources (test data)
 
+    public static class Repository {
+        private final int id;
+
+        public Repository(int id) {
+            this.id = id;
+        }
+
+        public int getId() {
+            return id;
+        }
+    }
+
     @Path("assets")
     public static class AssetResource {
 
@@ -0,0 +1,137 @@
+package io.dropwizard.benchmarks.jersey;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.dropwizard.jackson.Jackson;
+import io.dropwizard.jersey.jackson.JacksonCborMessageBodyProvider;
+import io.dropwizard.jersey.jackson.JacksonMessageBodyProvider;
+import io.dropwizard.jersey.jackson.JacksonSmileMessageBodyProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedHashMap;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures writing and reading a list of representations as JSON, Smile and CBOR. The size of the
+ * serialized payload of each format is printed during the setup.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class JacksonMessageBodyProviderBenchmark {
+
+    private static final Annotation[] NONE = new Annotation[0];
+    private static final Type TYPE = new TypeReference<List<Person>>() {
+    }.getType();
+
+    public static class Person {
+        @JsonProperty
+        public long id;
+
+        @JsonProperty
+        public String name = "";
+
+        @JsonProperty
+        public String email = "";
+
+        @JsonProperty
+        public double score;
+
+        @JsonProperty
+        public boolean active;
+
+        @JsonProperty
+        public Instant createdAt = Instant.EPOCH;
+
+        @JsonProperty
+        public List<String> roles = new ArrayList<>();
+    }
+
+    @Param({"json", "smile", "cbor"})
+    public String format = "json";
+
+    private JacksonMessageBodyProvider provider;
+    private MediaType mediaType;
+    private List<Person> people;
+    private byte[] serialized;
+
+    @Setup
+    public void setUp() throws IOException {
+        final ObjectMapper mapper = Jackson.newObjectMapper();
+        switch (format) {
+            case "smile":
+                provider = new JacksonSmileMessageBodyProvider(mapper);
+                mediaType = JacksonSmileMessageBodyProvider.APPLICATION_SMILE_TYPE;
+                break;
+            case "cbor":
+                provider = new JacksonCborMessageBodyProvider(mapper);
+                mediaType = JacksonCborMessageBodyProvider.APPLICATION_CBOR_TYPE;
+                break;
+            default:
+                provider = new JacksonMessageBodyProvider(mapper);
+                mediaType = MediaType.APPLICATION_JSON_TYPE;
+        }
+
+        people = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            final Person person = new Person();
+            person.id = 1_000_000L + i;
+            person.name = "Person number " + i;
+            person.email = "person" + i + "@example.com";
+            person.score = i * 1.5;
+            person.active = i % 2 == 0;
+            person.createdAt = Instant.ofEpochSecond(1_500_000_000L + i * 3600L);
+            person.roles = Arrays.asList("reader", "writer");
+            people.add(person);
+        }
+        serialized = write().toByteArray();
+        System.out.println();
+        System.out.println("Payload size of " + format + ": " + serialized.length + " bytes");
+    }
+
+    @Benchmark
+    public ByteArrayOutputStream write() throws IOException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream(4096);
+        provider.writeTo(people, List.class, TYPE, NONE, mediaType, new MultivaluedHashMap<>(), output);
+        return output;
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public Object read() throws IOException {
+        return provider.readFrom((Class<Object>) (Class<?>) List.class, TYPE, NONE, mediaType,
+            new MultivaluedHashMap<>(), new ByteArrayInputStream(serialized));
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+            .include(JacksonMessageBodyProviderBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .forks(1)
+            .warmupIterations(5)
+            .measurementIterations(5)
+            .build())
+            .run();
+    }
+}
@@ -0,0 +1,85 @@
+package io.dropwizard.benchmarks.metrics;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.MetricFilter;
+import com.codahale.metrics.MetricRegistry;
+import io.dropwizard.metrics.ConsoleReporterFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the filtering of the metrics of a large registry by a report, with the filters of a reporter
+ * factory.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class MetricFilterBenchmark {
+
+    @Param({"50000"})
+    public int metrics;
+
+    @Param({"48"})
+    public int expressions;
+
+    @Param({"regex", "substring"})
+    public String matching;
+
+    private MetricRegistry registry;
+    private MetricFilter compiledFilter;
+    private MetricFilter cachingFilter;
+
+    @Setup
+    public void setUp() {
+        registry = new MetricRegistry();
+        for (int i = 0; i < metrics; i++) {
+            registry.counter(MetricRegistry.name("io.dropwizard.service" + i % 100, "resource" + i, "requests"));
+        }
+
+        final Set<String> excludes = new HashSet<>();
+        for (int i = 0; i < expressions; i++) {
+            excludes.add("regex".equals(matching) ? "io\\.dropwizard\\.service" + i + "\\..*\\.requests" :
+                "service" + i + ".resource");
+        }
+
+        final ConsoleReporterFactory factory = new ConsoleReporterFactory();
+        factory.setUseRegexFilters("regex".equals(matching));
+        factory.setUseSubstringMatching("substring".equals(matching));
+        factory.setExcludes(excludes);
+        compiledFilter = factory.getFilter();
+        cachingFilter = factory.getFilter(registry);
+    }
+
+    @Benchmark
+    public SortedMap<String, Counter> compiled() {
+        return registry.getCounters(compiledFilter);
+    }
+
+    @Benchmark
+    public SortedMap<String, Counter> cached() {
+        return registry.getCounters(cachingFilter);
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(MetricFilterBenchmark.class.getSimpleName())
+                .forks(1)
+                .warmupIterations(5)
+                .measurementIterations(5)
+                .build())
+                .run();
+    }
+}
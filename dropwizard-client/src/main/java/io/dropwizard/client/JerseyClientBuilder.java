@@ -27,6 +27,7 @@ import javax.ws.rs.client.Client;
 import javax.ws.rs.client.ClientBuilder;
 import javax.ws.rs.client.RxInvokerProvider;
 import javax.ws.rs.core.Configuration;
+import javax.ws.rs.core.MediaType;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -369,6 +370,8 @@ public class JerseyClientBuilder {
 
         final Client client = ClientBuilder.newClient(buildConfig(name, threadPool, objectMapper, validator));
         client.register(new JerseyIgnoreRequestUserAgentHeaderFilter());
+        configuration.getPreferredMediaType()
+            .ifPresent(mediaType -> client.register(new PreferredMediaTypeFilter(MediaType.valueOf(mediaType))));
 
         // Tie the client to server lifecycle
         if (environment != null) {
@@ -6,6 +6,8 @@ import io.dropwizard.validation.ValidationMethod;
 
 import javax.validation.constraints.Max;
 import javax.validation.constraints.Min;
+import javax.ws.rs.core.MediaType;
+import java.util.Optional;
 
 /**
  * The configuration class used by {@link JerseyClientBuilder}. Extends
@@ -33,6 +35,8 @@ public class JerseyClientConfiguration extends HttpClientConfiguration {
 
     private boolean chunkedEncodingEnabled = true;
 
+    private Optional<String> preferredMediaType = Optional.empty();
+
     @JsonProperty
     public int getMinThreads() {
         return minThreads;
@@ -83,6 +87,16 @@ public class JerseyClientConfiguration extends HttpClientConfiguration {
         this.chunkedEncodingEnabled = chunkedEncodingEnabled;
     }
 
+    @JsonProperty
+    public Optional<String> getPreferredMediaType() {
+        return preferredMediaType;
+    }
+
+    @JsonProperty
+    public void setPreferredMediaType(Optional<String> preferredMediaType) {
+        this.preferredMediaType = preferredMediaType;
+    }
+
     @JsonProperty
     public int getWorkQueueSize() {
         return workQueueSize;
@@ -99,6 +113,17 @@ public class JerseyClientConfiguration extends HttpClientConfiguration {
         return minThreads <= maxThreads;
     }
 
+    @JsonIgnore
+    @ValidationMethod(message = ".preferredMediaType must be a valid media type")
+    public boolean isPreferredMediaTypeValid() {
+        try {
+            preferredMediaType.ifPresent(MediaType::valueOf);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
     @JsonIgnore
     @ValidationMethod(message = ".gzipEnabledForRequests requires gzipEnabled set to true")
     public boolean isCompressionConfigurationValid() {
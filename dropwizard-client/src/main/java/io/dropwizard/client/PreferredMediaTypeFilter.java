@@ -0,0 +1,56 @@
+package io.dropwizard.client;
+
+import javax.ws.rs.client.ClientRequestContext;
+import javax.ws.rs.client.ClientRequestFilter;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Asks servers for a preferred media type, e.g. the binary {@code application/x-jackson-smile}, in place of JSON.
+ * <p/>
+ * Requests accepting {@code application/json} get the preferred media type added to their {@code Accept} header,
+ * while the media types they already accept are kept with a lower quality. Servers that can't produce the
+ * preferred media type keep responding with JSON.
+ */
+public class PreferredMediaTypeFilter implements ClientRequestFilter {
+    private static final String QUALITY = "q";
+    private static final String LOWER_QUALITY = "0.9";
+
+    private final MediaType preferredMediaType;
+
+    public PreferredMediaTypeFilter(MediaType preferredMediaType) {
+        this.preferredMediaType = preferredMediaType;
+    }
+
+    @Override
+    public void filter(ClientRequestContext requestContext) throws IOException {
+        final List<MediaType> acceptedMediaTypes = requestContext.getAcceptableMediaTypes();
+        if (acceptedMediaTypes.contains(preferredMediaType) ||
+            acceptedMediaTypes.stream().noneMatch(PreferredMediaTypeFilter::isJson)) {
+            return;
+        }
+
+        final List<Object> accept = new ArrayList<>(acceptedMediaTypes.size() + 1);
+        accept.add(preferredMediaType);
+        for (MediaType mediaType : acceptedMediaTypes) {
+            accept.add(mediaType.getParameters().containsKey(QUALITY) ? mediaType : withLowerQuality(mediaType));
+        }
+        requestContext.getHeaders().put(HttpHeaders.ACCEPT, accept);
+    }
+
+    private static boolean isJson(MediaType mediaType) {
+        return MediaType.APPLICATION_JSON_TYPE.getType().equalsIgnoreCase(mediaType.getType()) &&
+            MediaType.APPLICATION_JSON_TYPE.getSubtype().equalsIgnoreCase(mediaType.getSubtype());
+    }
+
+    private static MediaType withLowerQuality(MediaType mediaType) {
+        final Map<String, String> parameters = new HashMap<>(mediaType.getParameters());
+        parameters.put(QUALITY, LOWER_QUALITY);
+        return new MediaType(mediaType.getType(), mediaType.getSubtype(), parameters);
+    }
+}
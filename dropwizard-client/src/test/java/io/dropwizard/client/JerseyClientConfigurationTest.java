@@ -23,5 +23,6 @@ public class JerseyClientConfigurationTest {
         assertThat(configuration.isGzipEnabled()).isFalse();
         assertThat(configuration.isGzipEnabledForRequests()).isFalse();
         assertThat(configuration.isChunkedEncodingEnabled()).isFalse();
+        assertThat(configuration.getPreferredMediaType()).contains("application/x-jackson-smile");
     }
 }
@@ -0,0 +1,67 @@
+package io.dropwizard.client;
+
+import org.junit.Test;
+
+import javax.ws.rs.client.ClientRequestContext;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.core.MultivaluedMap;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class PreferredMediaTypeFilterTest {
+    private static final MediaType SMILE = MediaType.valueOf("application/x-jackson-smile");
+
+    private final PreferredMediaTypeFilter filter = new PreferredMediaTypeFilter(SMILE);
+    private final ClientRequestContext request = mock(ClientRequestContext.class);
+    private final MultivaluedMap<String, Object> headers = new MultivaluedHashMap<>();
+
+    @Test
+    public void prefersTheMediaTypeOverJson() throws Exception {
+        accept(MediaType.APPLICATION_JSON_TYPE, MediaType.valueOf("text/plain;q=0.5"));
+
+        filter.filter(request);
+
+        assertThat(headers.get(HttpHeaders.ACCEPT)).containsExactly(SMILE,
+            MediaType.valueOf("application/json;q=0.9"), MediaType.valueOf("text/plain;q=0.5"));
+    }
+
+    @Test
+    public void leavesRequestsWhichDoNotAcceptJsonAlone() throws Exception {
+        accept(MediaType.TEXT_PLAIN_TYPE);
+
+        filter.filter(request);
+
+        assertThat(headers).isEmpty();
+    }
+
+    @Test
+    public void leavesRequestsWhichAcceptAnythingAlone() throws Exception {
+        accept(MediaType.WILDCARD_TYPE);
+
+        filter.filter(request);
+
+        assertThat(headers).isEmpty();
+    }
+
+    @Test
+    public void leavesRequestsWhichAlreadyAcceptTheMediaTypeAlone() throws Exception {
+        accept(MediaType.APPLICATION_JSON_TYPE, SMILE);
+
+        filter.filter(request);
+
+        assertThat(headers).isEmpty();
+    }
+
+    private void accept(MediaType... mediaTypes) {
+        final List<MediaType> accepted = Collections.unmodifiableList(Arrays.asList(mediaTypes));
+        when(request.getAcceptableMediaTypes()).thenReturn(accepted);
+        when(request.getHeaders()).thenReturn(headers);
+    }
+}
@@ -2,6 +2,7 @@ package io.dropwizard;
 
 import ch.qos.logback.classic.Level;
 import io.dropwizard.cli.CheckCommand;
+import io.dropwizard.cli.ClassDataSharingCommand;
 import io.dropwizard.cli.Cli;
 import io.dropwizard.cli.ServerCommand;
 import io.dropwizard.logging.BootstrapLogging;
@@ -86,8 +87,6 @@ public abstract class Application<T extends Configuration> {
         final Bootstrap<T> bootstrap = new Bootstrap<>(this);
         addDefaultCommands(bootstrap);
         initialize(bootstrap);
-        // Should be called after initialize to give an opportunity to set a custom metric registry
-        bootstrap.registerMetrics();
 
         final Cli cli = new Cli(new JarLocation(getClass()), bootstrap, System.out, System.err);
         if (!cli.run(arguments)) {
@@ -97,13 +96,14 @@ public abstract class Application<T extends Configuration> {
     }
 
     /**
-     * Called by {@link #run(String...)} to add the standard "server" and "check" commands
+     * Called by {@link #run(String...)} to add the standard "server", "check" and "cds" commands
      *
      * @param bootstrap the bootstrap instance
      */
     protected void addDefaultCommands(Bootstrap<T> bootstrap) {
         bootstrap.addCommand(new ServerCommand<>(this));
         bootstrap.addCommand(new CheckCommand<>(this));
+        bootstrap.addCommand(new ClassDataSharingCommand<>(this));
     }
 
     /**
@@ -0,0 +1,233 @@
+package io.dropwizard.cli;
+
+import io.dropwizard.Application;
+import io.dropwizard.Configuration;
+import io.dropwizard.setup.Bootstrap;
+import io.dropwizard.setup.Environment;
+import net.sourceforge.argparse4j.impl.Arguments;
+import net.sourceforge.argparse4j.inf.Namespace;
+import net.sourceforge.argparse4j.inf.Subparser;
+import org.eclipse.jetty.server.Connector;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generates an application class data sharing (AppCDS) archive of the classes loaded while the application
+ * starts, which lets the JVM map them from the archive instead of loading, parsing and verifying them on every
+ * startup.
+ * <p/>
+ * The command starts and stops the server (including its warm-up) in separate JVMs, against the given
+ * configuration file:
+ * <ol>
+ *     <li>once without the archive, to measure the startup time;</li>
+ *     <li>once to dump the list of loaded classes, from which a further JVM creates the archive;</li>
+ *     <li>once with the archive, which verifies it and measures the improvement.</li>
+ * </ol>
+ * The ports of the connectors are replaced by ephemeral ports, so the command can run next to a running
+ * instance of the application. Afterwards, the command logs the JVM flags which use the archive.
+ * <p/>
+ * AppCDS requires Java 10 or later, and a class path consisting only of JAR files, which has to be the same
+ * when the archive is used.
+ *
+ * @param <T> the {@link Configuration} subclass which is loaded from the configuration file
+ */
+public class ClassDataSharingCommand<T extends Configuration> extends EnvironmentCommand<T> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ClassDataSharingCommand.class);
+
+    private static final String ARCHIVE = "archive";
+    private static final String CLASS_LIST = "classList";
+    private static final String MAIN_CLASS = "mainClass";
+    private static final String TIMEOUT = "timeout";
+    private static final String TRAINING = "training";
+
+    private final Class<T> configurationClass;
+    private final Class<?> applicationClass;
+
+    public ClassDataSharingCommand(Application<T> application) {
+        this(application, "cds", "Generates a class data sharing archive, which speeds up the startup");
+    }
+
+    /**
+     * A constructor to allow reuse of the command as a different name
+     * @param application the application using this command
+     * @param name the argument name to invoke this command
+     * @param description a summary of what the command does
+     */
+    protected ClassDataSharingCommand(Application<T> application, String name, String description) {
+        super(application, name, description);
+        this.configurationClass = application.getConfigurationClass();
+        this.applicationClass = application.getClass();
+    }
+
+    /*
+     * Since we don't subclass ClassDataSharingCommand, we need a concrete reference to the configuration
+     * class.
+     */
+    @Override
+    protected Class<T> getConfigurationClass() {
+        return configurationClass;
+    }
+
+    @Override
+    public void configure(Subparser subparser) {
+        super.configure(subparser);
+        subparser.addArgument("--archive")
+                 .dest(ARCHIVE)
+                 .setDefault("app.jsa")
+                 .help("the archive file to create");
+        subparser.addArgument("--class-list")
+                 .dest(CLASS_LIST)
+                 .help("the file of the loaded classes (default: the archive file with a .classlist extension)");
+        subparser.addArgument("--main-class")
+                 .dest(MAIN_CLASS)
+                 .setDefault(applicationClass.getName())
+                 .help("the main class of the application");
+        subparser.addArgument("--timeout")
+                 .dest(TIMEOUT)
+                 .type(Integer.class)
+                 .setDefault(300)
+                 .help("the maximum duration of each run, in seconds");
+        subparser.addArgument("--training")
+                 .dest(TRAINING)
+                 .action(Arguments.storeTrue())
+                 .help(Arguments.SUPPRESS);
+    }
+
+    @Override
+    protected void run(Bootstrap<T> bootstrap, Namespace namespace, T configuration) throws Exception {
+        if (namespace.getBoolean(TRAINING)) {
+            super.run(bootstrap, namespace, configuration);
+        } else {
+            createArchive(namespace);
+        }
+    }
+
+    /**
+     * Starts and stops the server, in the JVM which dumps the loaded classes.
+     */
+    @Override
+    protected void run(Environment environment, Namespace namespace, T configuration) throws Exception {
+        final Server server = configuration.getServerFactory().build(environment);
+        for (Connector connector : server.getConnectors()) {
+            if (connector instanceof ServerConnector) {
+                ((ServerConnector) connector).setPort(0);
+            }
+        }
+        try {
+            server.start();
+        } finally {
+            server.stop();
+            cleanup();
+        }
+    }
+
+    private void createArchive(Namespace namespace) throws IOException, InterruptedException {
+        final int version = javaVersion();
+        if (version < 10) {
+            throw new IllegalStateException("Application class data sharing requires Java 10 or later, " +
+                "not " + System.getProperty("java.specification.version"));
+        }
+
+        final String classPath = System.getProperty("java.class.path");
+        for (String entry : classPath.split(File.pathSeparator)) {
+            if (new File(entry).isDirectory()) {
+                throw new IllegalStateException("Application class data sharing requires a class path of JAR " +
+                    "files, but it contains the directory " + entry);
+            }
+        }
+
+        final File archive = new File(namespace.getString(ARCHIVE)).getAbsoluteFile();
+        final File classList = namespace.getString(CLASS_LIST) == null ?
+            new File(archive.getPath().replaceFirst("\\.jsa$", "") + ".classlist") :
+            new File(namespace.getString(CLASS_LIST)).getAbsoluteFile();
+        final String file = namespace.getString("file");
+        final long timeout = namespace.getInt(TIMEOUT);
+
+        final List<String> appCds = new ArrayList<>();
+        if (version == 10) {
+            appCds.add("-XX:+UseAppCDS");
+        }
+
+        LOGGER.info("Starting the application to measure its startup");
+        final long baselineMillis = run(application(java(appCds), namespace, file), timeout);
+
+        // Classes mapped from the default archive of the JDK wouldn't be recorded
+        LOGGER.info("Starting the application to record its classes in {}", classList);
+        final List<String> training = java(appCds);
+        training.add("-Xshare:off");
+        training.add("-XX:DumpLoadedClassList=" + classList);
+        run(application(training, namespace, file), timeout);
+
+        LOGGER.info("Creating {}", archive);
+        final List<String> dump = java(appCds);
+        dump.add("-Xshare:dump");
+        dump.add("-XX:SharedClassListFile=" + classList);
+        dump.add("-XX:SharedArchiveFile=" + archive);
+        dump.add("-cp");
+        dump.add(classPath);
+        run(dump, timeout);
+
+        // Fails if the archive can't be used, e.g. because of a mismatching class path
+        LOGGER.info("Starting the application with {}", archive);
+        final List<String> verification = java(appCds);
+        verification.add("-Xshare:on");
+        verification.add("-XX:SharedArchiveFile=" + archive);
+        final long archiveMillis = run(application(verification, namespace, file), timeout);
+
+        final List<String> flags = new ArrayList<>(appCds);
+        flags.add("-XX:SharedArchiveFile=" + archive);
+        LOGGER.info("Started and stopped the application in {} ms without and in {} ms with the archive. " +
+            "Use it by running the application with: {}", baselineMillis, archiveMillis, String.join(" ", flags));
+    }
+
+    private static List<String> java(List<String> flags) {
+        final List<String> command = new ArrayList<>();
+        command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+        // Keep overrides of the configuration, e.g. -Ddw.server.applicationConnectors[0].port=9090
+        for (String argument : ManagementFactory.getRuntimeMXBean().getInputArguments()) {
+            if (argument.startsWith("-D")) {
+                command.add(argument);
+            }
+        }
+        command.addAll(flags);
+        return command;
+    }
+
+    private List<String> application(List<String> command, Namespace namespace, String file) {
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(namespace.getString(MAIN_CLASS));
+        command.add(getName());
+        command.add("--training");
+        command.add(file);
+        return command;
+    }
+
+    private static long run(List<String> command, long timeoutSeconds) throws IOException, InterruptedException {
+        LOGGER.debug("Running {}", command);
+        final long start = System.nanoTime();
+        final Process process = new ProcessBuilder(command).inheritIO().start();
+        if (!process.waitFor(timeoutSeconds, TimeUnit.SECONDS)) {
+            process.destroyForcibly();
+            throw new IllegalStateException("Timed out after " + timeoutSeconds + " s: " + command);
+        }
+        if (process.exitValue() != 0) {
+            throw new IllegalStateException("Failed with exit code " + process.exitValue() + ": " + command);
+        }
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    static int javaVersion() {
+        final String version = System.getProperty("java.specification.version");
+        return Integer.parseInt(version.startsWith("1.") ? version.substring(2) : version);
+    }
+}
@@ -37,6 +37,9 @@ public abstract class EnvironmentCommand<T extends Configuration> extends Config
                                                         bootstrap.getHealthCheckRegistry());
         configuration.getMetricsFactory().configure(environment.lifecycle(),
                                                     bootstrap.getMetricRegistry());
+        if (configuration.getMetricsFactory().getPrometheus().isEnabled()) {
+            environment.admin().addPrometheusServlet(configuration.getMetricsFactory().getPrometheus());
+        }
         configuration.getServerFactory().configure(environment);
 
         bootstrap.run(configuration, environment);
@@ -21,12 +21,18 @@ import io.dropwizard.jetty.ServerPushFilterFactory;
 import io.dropwizard.lifecycle.setup.LifecycleEnvironment;
 import io.dropwizard.request.logging.LogbackAccessRequestLogFactory;
 import io.dropwizard.request.logging.RequestLogFactory;
+import io.dropwizard.servlets.InFlightRequestFilter;
 import io.dropwizard.servlets.ThreadNameFilter;
+import io.dropwizard.setup.Environment;
 import io.dropwizard.setup.ExceptionMapperBinder;
+import io.dropwizard.setup.WarmUpEnvironment;
 import io.dropwizard.util.Duration;
 import io.dropwizard.validation.MinDuration;
 import io.dropwizard.validation.ValidationMethod;
+import io.dropwizard.warmup.WarmUpRunner;
+import org.eclipse.jetty.server.Connector;
 import org.eclipse.jetty.server.Handler;
+import org.eclipse.jetty.server.LocalConnector;
 import org.eclipse.jetty.server.Server;
 import org.eclipse.jetty.server.handler.ErrorHandler;
 import org.eclipse.jetty.server.handler.RequestLogHandler;
@@ -50,6 +56,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.net.URL;
+import java.util.Collection;
 import java.util.EnumSet;
 import java.util.Optional;
 import java.util.Set;
@@ -204,6 +211,15 @@ import java.util.stream.Collectors;
  *           method and request URI.
  *         </td>
  *     </tr>
+ *     <tr>
+ *         <td>{@code enableInFlightRequests}</td>
+ *         <td>true</td>
+ *         <td>
+ *           Whether or not to apply the {@code InFlightRequestFilter} that records the method, URI and start
+ *           time of the requests being processed. They are listed by the {@code /requests} admin servlet, and
+ *           annotate the threads of {@code /requests?threads}.
+ *         </td>
+ *     </tr>
  * </table>
  *
  * @see DefaultServerFactory
@@ -274,6 +290,8 @@ public abstract class AbstractServerFactory implements ServerFactory {
 
     private boolean enableThreadNameFilter = true;
 
+    private boolean enableInFlightRequests = true;
+
     @JsonIgnore
     @ValidationMethod(message = "must have a smaller minThreads than maxThreads")
     public boolean isThreadPoolSizedCorrectly() {
@@ -500,6 +518,16 @@ public abstract class AbstractServerFactory implements ServerFactory {
         this.enableThreadNameFilter = enableThreadNameFilter;
     }
 
+    @JsonProperty
+    public boolean getEnableInFlightRequests() {
+        return enableInFlightRequests;
+    }
+
+    @JsonProperty
+    public void setEnableInFlightRequests(boolean enableInFlightRequests) {
+        this.enableInFlightRequests = enableInFlightRequests;
+    }
+
     protected Handler createAdminServlet(Server server,
                                          MutableServletContextHandler handler,
                                          MetricRegistry metrics,
@@ -541,6 +569,9 @@ public abstract class AbstractServerFactory implements ServerFactory {
         if (enableThreadNameFilter) {
             handler.addFilter(ThreadNameFilter.class, "/*", EnumSet.of(DispatcherType.REQUEST));
         }
+        if (enableInFlightRequests) {
+            handler.addFilter(InFlightRequestFilter.class, "/*", EnumSet.of(DispatcherType.REQUEST));
+        }
         serverPush.addFilter(handler);
         if (jerseyContainer != null) {
             jerseyRootPath.ifPresent(jersey::setUrlPattern);
@@ -557,6 +588,40 @@ public abstract class AbstractServerFactory implements ServerFactory {
         return instrumented;
     }
 
+    /**
+     * Builds the connector of the synthetic warm-up requests, if there are any. It has to be added to the
+     * server after the other connectors, and requests sent through it have to be routed to the application
+     * handler.
+     *
+     * @param server the server
+     * @param warmUp the warm-up environment
+     * @return the connector of the synthetic warm-up requests, or {@code null} if there are none
+     */
+    @Nullable
+    protected LocalConnector buildWarmUpConnector(Server server, WarmUpEnvironment warmUp) {
+        if (warmUp.getRequests().isEmpty()) {
+            return null;
+        }
+        final LocalConnector connector = new LocalConnector(server);
+        connector.setName("warm-up");
+        return connector;
+    }
+
+    /**
+     * Adds the warm-up of the application to the server. It has to be called after the server's handler has
+     * been set, so the warm-up runs once the handler has been started.
+     *
+     * @param server          the server
+     * @param environment     the application's environment
+     * @param warmUpConnector the connector of the synthetic warm-up requests
+     * @param earlyConnectors the connectors to open before the warm-up
+     */
+    protected void addWarmUp(Server server, Environment environment, @Nullable LocalConnector warmUpConnector,
+                             Collection<Connector> earlyConnectors) {
+        server.addBean(new WarmUpRunner(environment.warmUp(), server, warmUpConnector,
+            environment.getApplicationContext().getContextPath(), earlyConnectors, environment.metrics()));
+    }
+
     protected ThreadPool createThreadPool(MetricRegistry metricRegistry) {
         final BlockingQueue<Runnable> queue = new BlockingArrayQueue<>(minThreads, maxThreads, maxQueuedRequests);
         final InstrumentedQueuedThreadPool threadPool =
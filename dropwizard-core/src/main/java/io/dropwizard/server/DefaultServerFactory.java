@@ -10,6 +10,7 @@ import io.dropwizard.jetty.RoutingHandler;
 import io.dropwizard.setup.Environment;
 import org.eclipse.jetty.server.Connector;
 import org.eclipse.jetty.server.Handler;
+import org.eclipse.jetty.server.LocalConnector;
 import org.eclipse.jetty.server.Server;
 import org.eclipse.jetty.util.component.ContainerLifeCycle;
 import org.eclipse.jetty.util.thread.QueuedThreadPool;
@@ -18,6 +19,7 @@ import org.hibernate.validator.constraints.NotEmpty;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
 import javax.validation.Valid;
 import javax.validation.constraints.Min;
 import javax.validation.constraints.NotNull;
@@ -168,12 +170,19 @@ public class DefaultServerFactory extends AbstractServerFactory {
                                                         environment.getAdminContext(),
                                                         environment.metrics(),
                                                         environment.healthChecks());
-        final RoutingHandler routingHandler = buildRoutingHandler(environment.metrics(),
-                                                                  server,
+        final List<Connector> appConnectors = buildAppConnectors(environment.metrics(), server);
+        final List<Connector> adConnectors = buildAdminConnectors(environment.metrics(), server);
+        final LocalConnector warmUpConnector = buildWarmUpConnector(server, environment.warmUp());
+        final RoutingHandler routingHandler = buildRoutingHandler(server,
+                                                                  appConnectors,
+                                                                  adConnectors,
+                                                                  warmUpConnector,
                                                                   applicationHandler,
                                                                   adminHandler);
         final Handler gzipHandler = buildGzipHandler(routingHandler);
         server.setHandler(addStatsHandler(addRequestLog(server, gzipHandler, environment.getName())));
+        // the admin connectors are opened before the warm-up, so they can report the readiness
+        addWarmUp(server, environment, warmUpConnector, adConnectors);
         return server;
     }
 
@@ -186,14 +195,12 @@ public class DefaultServerFactory extends AbstractServerFactory {
         environment.getAdminContext().setContextPath(adminContextPath);
     }
 
-    private RoutingHandler buildRoutingHandler(MetricRegistry metricRegistry,
-                                               Server server,
+    private RoutingHandler buildRoutingHandler(Server server,
+                                               List<Connector> appConnectors,
+                                               List<Connector> adConnectors,
+                                               @Nullable LocalConnector warmUpConnector,
                                                Handler applicationHandler,
                                                Handler adminHandler) {
-        final List<Connector> appConnectors = buildAppConnectors(metricRegistry, server);
-
-        final List<Connector> adConnectors = buildAdminConnectors(metricRegistry, server);
-
         final Map<Connector, Handler> handlers = new LinkedHashMap<>();
 
         for (Connector connector : appConnectors) {
@@ -206,6 +213,11 @@ public class DefaultServerFactory extends AbstractServerFactory {
             handlers.put(connector, adminHandler);
         }
 
+        if (warmUpConnector != null) {
+            server.addConnector(warmUpConnector);
+            handlers.put(warmUpConnector, applicationHandler);
+        }
+
         return new RoutingHandler(handlers);
     }
 
@@ -9,6 +9,7 @@ import io.dropwizard.setup.Environment;
 import io.dropwizard.util.Maps;
 import org.eclipse.jetty.server.Connector;
 import org.eclipse.jetty.server.Handler;
+import org.eclipse.jetty.server.LocalConnector;
 import org.eclipse.jetty.server.Server;
 import org.eclipse.jetty.util.thread.ThreadPool;
 import org.hibernate.validator.constraints.NotEmpty;
@@ -17,6 +18,7 @@ import org.slf4j.LoggerFactory;
 
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
+import java.util.Collections;
 import java.util.Map;
 
 /**
@@ -127,12 +129,18 @@ public class SimpleServerFactory extends AbstractServerFactory {
 
         server.addConnector(conn);
 
+        final LocalConnector warmUpConnector = buildWarmUpConnector(server, environment.warmUp());
+        if (warmUpConnector != null) {
+            server.addConnector(warmUpConnector);
+        }
+
         final Map<String, Handler> handlers = Maps.of(
                 applicationContextPath, applicationHandler,
                 adminContextPath, adminHandler);
         final ContextRoutingHandler routingHandler = new ContextRoutingHandler(handlers);
         final Handler gzipHandler = buildGzipHandler(routingHandler);
         server.setHandler(addStatsHandler(addRequestLog(server, gzipHandler, environment.getName())));
+        addWarmUp(server, environment, warmUpConnector, Collections.emptyList());
 
         return server;
     }
@@ -5,6 +5,7 @@ import com.codahale.metrics.health.HealthCheckRegistry;
 import com.codahale.metrics.health.jvm.ThreadDeadlockHealthCheck;
 import io.dropwizard.jetty.MutableServletContextHandler;
 import io.dropwizard.jetty.setup.ServletEnvironment;
+import io.dropwizard.metrics.PrometheusFactory;
 import io.dropwizard.servlets.tasks.GarbageCollectionTask;
 import io.dropwizard.servlets.tasks.LogConfigurationTask;
 import io.dropwizard.servlets.tasks.Task;
@@ -23,6 +24,7 @@ public class AdminEnvironment extends ServletEnvironment {
     private static final Logger LOGGER = LoggerFactory.getLogger(AdminEnvironment.class);
 
     private final HealthCheckRegistry healthChecks;
+    private final MetricRegistry metricRegistry;
     private final TaskServlet tasks;
 
     /**
@@ -36,6 +38,7 @@ public class AdminEnvironment extends ServletEnvironment {
         super(handler);
         this.healthChecks = healthChecks;
         this.healthChecks.register("deadlocks", new ThreadDeadlockHealthCheck());
+        this.metricRegistry = metricRegistry;
         this.tasks = new TaskServlet(metricRegistry);
         tasks.add(new GarbageCollectionTask());
         tasks.add(new LogConfigurationTask());
@@ -58,6 +61,16 @@ public class AdminEnvironment extends ServletEnvironment {
         tasks.add(requireNonNull(task));
     }
 
+    /**
+     * Serves the metrics in the Prometheus text exposition format, as configured by the given factory.
+     *
+     * @param prometheus the configuration of the exposition
+     */
+    public void addPrometheusServlet(PrometheusFactory prometheus) {
+        addServlet("prometheus", new PrometheusServlet(prometheus.build(metricRegistry), prometheus.isGzip()))
+            .addMapping(prometheus.getPath());
+    }
+
     private void logTasks() {
         final StringBuilder stringBuilder = new StringBuilder(1024).append(String.format("%n%n"));
 
@@ -72,7 +72,11 @@ public class Bootstrap<T extends Configuration> {
     /**
      * Registers the JVM metrics to the metric registry and start to report
      * the registry metrics via JMX.
+     *
+     * @deprecated the JVM metrics are registered by {@link io.dropwizard.metrics.MetricsFactory} once the
+     * configuration is parsed, and JMX reporting is enabled by its {@code jmx} configuration
      */
+    @Deprecated
     public void registerMetrics() {
         if (metricsAreRegistered) {
             return;
@@ -12,7 +12,10 @@ import io.dropwizard.jersey.setup.JerseyServletContainer;
 import io.dropwizard.jetty.MutableServletContextHandler;
 import io.dropwizard.jetty.setup.ServletEnvironment;
 import io.dropwizard.lifecycle.setup.LifecycleEnvironment;
+import io.dropwizard.servlets.InFlightRequests;
+import io.dropwizard.servlets.InFlightRequestsServlet;
 import io.dropwizard.validation.InjectValidatorFeature;
+import io.dropwizard.warmup.ReadinessServlet;
 
 import javax.annotation.Nullable;
 import javax.servlet.Servlet;
@@ -44,6 +47,10 @@ public class Environment {
 
     private final LifecycleEnvironment lifecycleEnvironment;
 
+    private final WarmUpEnvironment warmUpEnvironment;
+
+    private final InFlightRequests inFlightRequests;
+
     private final MutableServletContextHandler adminContext;
     private final AdminEnvironment adminEnvironment;
 
@@ -76,7 +83,16 @@ public class Environment {
 
         this.adminEnvironment = new AdminEnvironment(adminContext, healthCheckRegistry, metricRegistry);
 
-        this.lifecycleEnvironment = new LifecycleEnvironment();
+        this.lifecycleEnvironment = new LifecycleEnvironment(metricRegistry);
+
+        this.warmUpEnvironment = new WarmUpEnvironment();
+        adminEnvironment.addServlet("ready", new ReadinessServlet(warmUpEnvironment.getReadiness(), objectMapper))
+            .addMapping("/ready");
+
+        this.inFlightRequests = new InFlightRequests();
+        servletContext.setAttribute(InFlightRequests.ATTRIBUTE, inFlightRequests);
+        adminEnvironment.addServlet("requests", new InFlightRequestsServlet(inFlightRequests))
+            .addMapping("/requests");
 
         final DropwizardResourceConfig jerseyConfig = new DropwizardResourceConfig(metricRegistry);
         jerseyConfig.setContextPath(servletContext.getContextPath());
@@ -163,6 +179,20 @@ public class Environment {
         return lifecycleEnvironment;
     }
 
+    /**
+     * Returns the application's {@link WarmUpEnvironment}.
+     */
+    public WarmUpEnvironment warmUp() {
+        return warmUpEnvironment;
+    }
+
+    /**
+     * Returns the {@link InFlightRequests} of the application's requests.
+     */
+    public InFlightRequests getInFlightRequests() {
+        return inFlightRequests;
+    }
+
     /**
      * Returns the application's {@link ServletEnvironment}.
      */
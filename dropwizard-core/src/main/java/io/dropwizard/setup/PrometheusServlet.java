@@ -0,0 +1,91 @@
+package io.dropwizard.setup;
+
+import io.dropwizard.metrics.PrometheusExposition;
+
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Enumeration;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A servlet which streams a {@link PrometheusExposition} of the metrics to the response, compressed for the
+ * clients which accept gzip.
+ */
+class PrometheusServlet extends HttpServlet {
+    private static final long serialVersionUID = -1836584734245227263L;
+    private static final int BUFFER_SIZE = 8192;
+
+    private final transient PrometheusExposition exposition;
+    private final boolean gzip;
+
+    PrometheusServlet(PrometheusExposition exposition, boolean gzip) {
+        this.exposition = exposition;
+        this.gzip = gzip;
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        resp.setStatus(HttpServletResponse.SC_OK);
+        resp.setContentType(PrometheusExposition.CONTENT_TYPE);
+        resp.setHeader("Cache-Control", "must-revalidate,no-cache,no-store");
+
+        OutputStream output = resp.getOutputStream();
+        if (gzip) {
+            resp.setHeader("Vary", "Accept-Encoding");
+            if (acceptsGzip(req)) {
+                resp.setHeader("Content-Encoding", "gzip");
+                output = new GZIPOutputStream(output, BUFFER_SIZE);
+            }
+        }
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8),
+            BUFFER_SIZE)) {
+            exposition.write(writer);
+        }
+    }
+
+    /**
+     * Stops the exposition, so that it stops following the registry.
+     */
+    @Override
+    public void destroy() {
+        exposition.stop();
+        super.destroy();
+    }
+
+    private static boolean acceptsGzip(HttpServletRequest req) {
+        final Enumeration<String> encodings = req.getHeaders("Accept-Encoding");
+        while (encodings != null && encodings.hasMoreElements()) {
+            for (String encoding : encodings.nextElement().split(",")) {
+                final String[] parameters = encoding.split(";");
+                if (parameters[0].trim().equalsIgnoreCase("gzip") && quality(parameters) > 0) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the quality value of a content coding, which is 1 unless it's given, and 0 if it's invalid.
+     */
+    private static double quality(String[] parameters) {
+        for (int i = 1; i < parameters.length; i++) {
+            final int equals = parameters[i].indexOf('=');
+            if (equals > 0 && parameters[i].substring(0, equals).trim().equalsIgnoreCase("q")) {
+                try {
+                    return Double.parseDouble(parameters[i].substring(equals + 1).trim());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+}
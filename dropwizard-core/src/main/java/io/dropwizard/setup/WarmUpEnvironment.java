@@ -0,0 +1,125 @@
+package io.dropwizard.setup;
+
+import io.dropwizard.util.Duration;
+import io.dropwizard.warmup.Readiness;
+import io.dropwizard.warmup.WarmUpRequest;
+import io.dropwizard.warmup.WarmUpTask;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * The warm-up environment of a Dropwizard application.
+ * <p/>
+ * Warm-up tasks and synthetic requests run concurrently once the server's handlers and managed objects have
+ * been started, but before the application connectors accept traffic. The state of the warm-up is reported
+ * by the {@code /ready} endpoint of the admin connectors.
+ */
+public class WarmUpEnvironment {
+    private final Map<String, WarmUpTask> tasks = new LinkedHashMap<>();
+    private final List<WarmUpRequest> requests = new ArrayList<>();
+    private final Readiness readiness = new Readiness();
+    private Duration timeout = Duration.minutes(1);
+    private int parallelism = Math.max(2, Runtime.getRuntime().availableProcessors());
+    private boolean failOnError = false;
+
+    /**
+     * Adds a warm-up task.
+     *
+     * @param name the name of the task, reported by the readiness endpoint
+     * @param task the task
+     */
+    public void addTask(String name, WarmUpTask task) {
+        requireNonNull(name);
+        requireNonNull(task);
+        if (tasks.putIfAbsent(name, task) != null) {
+            throw new IllegalArgumentException("A warm-up task named " + name + " already exists");
+        }
+    }
+
+    /**
+     * Adds a synthetic {@code GET} request, which is sent in-process to the application handler.
+     *
+     * @param path        the path and query of the request, relative to the application context path
+     * @param repetitions the number of times the request is sent
+     */
+    public void addRequest(String path, int repetitions) {
+        addRequest(new WarmUpRequest("GET", path, repetitions));
+    }
+
+    /**
+     * Adds a synthetic request, which is sent in-process to the application handler. The request fails
+     * the warm-up if it is answered with a client or server error.
+     *
+     * @param request the request
+     */
+    public void addRequest(WarmUpRequest request) {
+        requests.add(requireNonNull(request));
+    }
+
+    public Map<String, WarmUpTask> getTasks() {
+        return Collections.unmodifiableMap(tasks);
+    }
+
+    public List<WarmUpRequest> getRequests() {
+        return Collections.unmodifiableList(requests);
+    }
+
+    /**
+     * Returns the readiness of the application, which reflects the warm-up.
+     *
+     * @return the readiness of the application
+     */
+    public Readiness getReadiness() {
+        return readiness;
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * Sets the maximum duration of the whole warm-up. Tasks which are still running afterwards are
+     * interrupted. Defaults to one minute.
+     *
+     * @param timeout the maximum duration of the warm-up
+     */
+    public void setTimeout(Duration timeout) {
+        this.timeout = requireNonNull(timeout);
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Sets the number of tasks which run at the same time. Defaults to the number of available processors.
+     *
+     * @param parallelism the number of concurrent tasks
+     */
+    public void setParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be positive");
+        }
+        this.parallelism = parallelism;
+    }
+
+    public boolean isFailOnError() {
+        return failOnError;
+    }
+
+    /**
+     * Sets whether a failed warm-up aborts the startup of the server. By default, the server starts anyway and
+     * the readiness endpoint reports the failure.
+     *
+     * @param failOnError whether a failed warm-up aborts the startup
+     */
+    public void setFailOnError(boolean failOnError) {
+        this.failOnError = failOnError;
+    }
+}
@@ -0,0 +1,109 @@
+package io.dropwizard.warmup;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The readiness of an application to serve traffic, and the results of its warm-up tasks.
+ */
+public class Readiness {
+    /**
+     * The state of the application.
+     */
+    public enum State {
+        /** The server is starting, and the warm-up hasn't begun yet. */
+        STARTING,
+        /** The warm-up tasks are running. */
+        WARMING_UP,
+        /** The warm-up completed, and the application connectors accept traffic. */
+        READY,
+        /** A warm-up task failed or didn't complete in time, and the startup is aborted. */
+        FAILED,
+        /** The server is shutting down. */
+        STOPPING
+    }
+
+    /**
+     * The state of a warm-up task.
+     */
+    public enum TaskState {
+        PENDING, RUNNING, SUCCEEDED, FAILED, TIMED_OUT
+    }
+
+    /**
+     * The result of a warm-up task.
+     */
+    public static final class TaskResult {
+        private final String name;
+        private final TaskState state;
+        private final long durationMillis;
+        @Nullable
+        private final String error;
+
+        TaskResult(String name, TaskState state, long durationMillis, @Nullable String error) {
+            this.name = name;
+            this.state = state;
+            this.durationMillis = durationMillis;
+            this.error = error;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public TaskState getState() {
+            return state;
+        }
+
+        public long getDurationMillis() {
+            return durationMillis;
+        }
+
+        @Nullable
+        public String getError() {
+            return error;
+        }
+    }
+
+    private final Map<String, TaskResult> results = new LinkedHashMap<>();
+    private volatile State state = State.STARTING;
+
+    /**
+     * Returns the state of the application.
+     *
+     * @return the state of the application
+     */
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * Returns whether the application is ready to serve traffic.
+     *
+     * @return whether the state is {@link State#READY}
+     */
+    public boolean isReady() {
+        return state == State.READY;
+    }
+
+    /**
+     * Returns the results of the warm-up tasks, in the order of their registration.
+     *
+     * @return the results of the warm-up tasks
+     */
+    public synchronized List<TaskResult> getResults() {
+        return Collections.unmodifiableList(new ArrayList<>(results.values()));
+    }
+
+    void setState(State state) {
+        this.state = state;
+    }
+
+    synchronized void update(String name, TaskState taskState, long durationMillis, @Nullable String error) {
+        results.put(name, new TaskResult(name, taskState, durationMillis, error));
+    }
+}
@@ -0,0 +1,40 @@
+package io.dropwizard.warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * An admin servlet which reports the {@link Readiness} of the application. It answers with {@code 200 OK} once
+ * the application is ready to serve traffic, and with {@code 503 Service Unavailable} while it is warming up,
+ * after a failed warm-up and while it is shutting down.
+ */
+public class ReadinessServlet extends HttpServlet {
+    private static final long serialVersionUID = 1L;
+    private static final String CONTENT_TYPE = "application/json";
+
+    private final transient Readiness readiness;
+    private final transient ObjectMapper mapper;
+
+    public ReadinessServlet(Readiness readiness, ObjectMapper mapper) {
+        this.readiness = readiness;
+        this.mapper = mapper;
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        final Map<String, Object> body = new LinkedHashMap<>();
+        body.put("state", readiness.getState());
+        body.put("tasks", readiness.getResults());
+
+        resp.setStatus(readiness.isReady() ? HttpServletResponse.SC_OK : HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        resp.setHeader("Cache-Control", "must-revalidate,no-cache,no-store");
+        resp.setContentType(CONTENT_TYPE);
+        mapper.writeValue(resp.getOutputStream(), body);
+    }
+}
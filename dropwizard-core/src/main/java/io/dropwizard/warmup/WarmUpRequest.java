@@ -0,0 +1,45 @@
+package io.dropwizard.warmup;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A synthetic request, which is replayed in-process against the application handler during the warm-up.
+ */
+public class WarmUpRequest {
+    private final String method;
+    private final String path;
+    private final int repetitions;
+
+    /**
+     * Creates a new synthetic request.
+     *
+     * @param method      the HTTP method, e.g. {@code GET}
+     * @param path        the path and query of the request, relative to the application context path
+     * @param repetitions the number of times the request is sent
+     */
+    public WarmUpRequest(String method, String path, int repetitions) {
+        if (repetitions < 1) {
+            throw new IllegalArgumentException("repetitions must be positive");
+        }
+        this.method = requireNonNull(method);
+        this.path = requireNonNull(path);
+        this.repetitions = repetitions;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public int getRepetitions() {
+        return repetitions;
+    }
+
+    @Override
+    public String toString() {
+        return method + " " + path;
+    }
+}
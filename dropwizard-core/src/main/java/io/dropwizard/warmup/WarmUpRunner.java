@@ -0,0 +1,231 @@
+package io.dropwizard.warmup;
+
+import com.codahale.metrics.MetricRegistry;
+import io.dropwizard.setup.WarmUpEnvironment;
+import org.eclipse.jetty.server.Connector;
+import org.eclipse.jetty.server.LocalConnector;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.util.component.AbstractLifeCycle;
+import org.eclipse.jetty.util.component.LifeCycle;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+/**
+ * A Jetty bean which runs the warm-up of a {@link WarmUpEnvironment}. Added to the server after its handler,
+ * it runs once the handlers and managed objects have been started, and before the server starts its
+ * connectors. Jetty binds the ports of the connectors beforehand, but connections aren't accepted until the
+ * warm-up completed.
+ * <p/>
+ * Synthetic requests are sent through a {@link LocalConnector}, which is only started during the warm-up.
+ * Connectors which should accept traffic during the warm-up, e.g. to serve the readiness endpoint, are started
+ * before the warm-up tasks.
+ */
+public class WarmUpRunner extends AbstractLifeCycle {
+    private static final Logger LOGGER = LoggerFactory.getLogger(WarmUpRunner.class);
+
+    private final WarmUpEnvironment environment;
+    private final Server server;
+    @Nullable
+    private final LocalConnector localConnector;
+    private final String contextPath;
+    private final Collection<Connector> earlyConnectors;
+    private final Readiness readiness;
+    private volatile long durationMillis;
+
+    /**
+     * Creates a new warm-up runner.
+     *
+     * @param environment     the warm-up environment
+     * @param server          the server
+     * @param localConnector  the connector of the synthetic requests, routed to the application handler, or
+     *                        {@code null} if there are no synthetic requests
+     * @param contextPath     the context path of the application handler
+     * @param earlyConnectors the connectors to open before the warm-up
+     * @param metricRegistry  the registry of the warm-up duration gauge
+     */
+    public WarmUpRunner(WarmUpEnvironment environment, Server server, @Nullable LocalConnector localConnector,
+                        String contextPath, Collection<Connector> earlyConnectors, MetricRegistry metricRegistry) {
+        this.environment = environment;
+        this.server = server;
+        this.localConnector = localConnector;
+        this.contextPath = contextPath.endsWith("/") ? contextPath.substring(0, contextPath.length() - 1) :
+            contextPath;
+        this.earlyConnectors = new ArrayList<>(earlyConnectors);
+        this.readiness = environment.getReadiness();
+        metricRegistry.gauge(name(WarmUpRunner.class, "duration"), () -> () -> durationMillis);
+        server.addLifeCycleListener(new AbstractLifeCycle.AbstractLifeCycleListener() {
+            @Override
+            public void lifeCycleStarted(LifeCycle event) {
+                if (readiness.getState() == Readiness.State.WARMING_UP) {
+                    readiness.setState(Readiness.State.READY);
+                }
+            }
+
+            @Override
+            public void lifeCycleFailure(LifeCycle event, Throwable cause) {
+                readiness.setState(Readiness.State.FAILED);
+            }
+
+            @Override
+            public void lifeCycleStopping(LifeCycle event) {
+                readiness.setState(Readiness.State.STOPPING);
+            }
+        });
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        readiness.setState(Readiness.State.WARMING_UP);
+        for (Connector connector : earlyConnectors) {
+            connector.start();
+        }
+
+        final Map<String, WarmUpTask> tasks = new LinkedHashMap<>();
+        for (WarmUpRequest request : environment.getRequests()) {
+            tasks.put(request.toString(), () -> send(request));
+        }
+        tasks.putAll(environment.getTasks());
+        if (tasks.isEmpty()) {
+            return;
+        }
+
+        if (localConnector != null) {
+            localConnector.start();
+        }
+        final long start = System.nanoTime();
+        try {
+            run(tasks);
+        } finally {
+            if (localConnector != null) {
+                localConnector.stop();
+                server.removeConnector(localConnector);
+            }
+            durationMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        }
+
+        final List<String> failed = new ArrayList<>();
+        for (Readiness.TaskResult result : readiness.getResults()) {
+            if (result.getState() != Readiness.TaskState.SUCCEEDED) {
+                failed.add(result.getName());
+            }
+        }
+        if (failed.isEmpty()) {
+            LOGGER.info("Warmed up {} tasks in {} ms", tasks.size(), durationMillis);
+            return;
+        }
+
+        if (environment.isFailOnError()) {
+            readiness.setState(Readiness.State.FAILED);
+            throw new IllegalStateException("Unable to warm up " + failed);
+        }
+        // The application serves traffic anyway, so it becomes ready, and the failures are only reported by
+        // the results of the tasks
+        LOGGER.warn("Unable to warm up {}, starting anyway", failed);
+    }
+
+    private void run(Map<String, WarmUpTask> tasks) throws InterruptedException {
+        final ExecutorService executor = Executors.newFixedThreadPool(
+            Math.min(environment.getParallelism(), tasks.size()), new WarmUpThreadFactory());
+        for (Map.Entry<String, WarmUpTask> entry : tasks.entrySet()) {
+            final String name = entry.getKey();
+            final WarmUpTask task = entry.getValue();
+            readiness.update(name, Readiness.TaskState.PENDING, 0, null);
+            executor.execute(() -> {
+                final long start = System.nanoTime();
+                readiness.update(name, Readiness.TaskState.RUNNING, 0, null);
+                try {
+                    task.warmUp();
+                    readiness.update(name, Readiness.TaskState.SUCCEEDED, millisSince(start), null);
+                } catch (InterruptedException e) {
+                    readiness.update(name, Readiness.TaskState.TIMED_OUT, millisSince(start), null);
+                    Thread.currentThread().interrupt();
+                } catch (Exception e) {
+                    LOGGER.warn("Unable to warm up {}", name, e);
+                    readiness.update(name, Readiness.TaskState.FAILED, millisSince(start), e.toString());
+                }
+            });
+        }
+        executor.shutdown();
+
+        if (!executor.awaitTermination(environment.getTimeout().toMilliseconds(), TimeUnit.MILLISECONDS)) {
+            LOGGER.warn("Warm-up timed out after {}", environment.getTimeout());
+            executor.shutdownNow();
+            executor.awaitTermination(1, TimeUnit.SECONDS);
+            for (Readiness.TaskResult result : readiness.getResults()) {
+                if (result.getState() == Readiness.TaskState.PENDING ||
+                    result.getState() == Readiness.TaskState.RUNNING) {
+                    readiness.update(result.getName(), Readiness.TaskState.TIMED_OUT,
+                        environment.getTimeout().toMilliseconds(), null);
+                }
+            }
+        }
+    }
+
+    private void send(WarmUpRequest request) throws Exception {
+        if (localConnector == null) {
+            throw new IllegalStateException("No connector for synthetic requests");
+        }
+        final String rawRequest = request.getMethod() + " " + contextPath + request.getPath() + " HTTP/1.1\r\n" +
+            "Host: localhost\r\n" +
+            "Content-Length: 0\r\n" +
+            "Connection: close\r\n" +
+            "\r\n";
+        final long timeoutMillis = environment.getTimeout().toMilliseconds();
+        for (int i = 0; i < request.getRepetitions(); i++) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            final String rawResponse = localConnector.getResponse(rawRequest, timeoutMillis, TimeUnit.MILLISECONDS);
+            if (rawResponse == null) {
+                throw new TimeoutException("No response to " + request);
+            }
+            final int status = status(rawResponse);
+            if (status >= 400) {
+                throw new IllegalStateException(request + " was answered with " + status);
+            }
+        }
+    }
+
+    /**
+     * Parses the status code of a raw response, e.g. {@code HTTP/1.1 200 OK}.
+     */
+    static int status(String rawResponse) {
+        final int start = rawResponse.indexOf(' ') + 1;
+        if (start == 0 || rawResponse.length() < start + 3) {
+            throw new IllegalStateException("Invalid response: " + rawResponse);
+        }
+        return Integer.parseInt(rawResponse.substring(start, start + 3));
+    }
+
+    private static long millisSince(long start) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    private static class WarmUpThreadFactory implements ThreadFactory {
+        private final ThreadFactory delegate = Executors.defaultThreadFactory();
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable r) {
+            final Thread thread = delegate.newThread(r);
+            thread.setName("warm-up-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package io.dropwizard.warmup;
+
+/**
+ * A task which prepares the application for traffic before the application connectors open, e.g. by
+ * preloading a cache or priming a connection pool.
+ *
+ * @see io.dropwizard.setup.WarmUpEnvironment
+ */
+@FunctionalInterface
+public interface WarmUpTask {
+    /**
+     * Warms up a part of the application. Tasks run concurrently and should react to interruption, which
+     * signals that the warm-up timed out.
+     *
+     * @throws Exception if the warm-up failed
+     */
+    void warmUp() throws Exception;
+}
@@ -0,0 +1,43 @@
+package io.dropwizard.cli;
+
+import io.dropwizard.Application;
+import io.dropwizard.Configuration;
+import io.dropwizard.setup.Environment;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ClassDataSharingCommandTest {
+    private static class MyApplication extends Application<Configuration> {
+        @Override
+        public void run(Configuration configuration, Environment environment) throws Exception {
+        }
+    }
+
+    private final MyApplication application = new MyApplication();
+    private final ClassDataSharingCommand<Configuration> command = new ClassDataSharingCommand<>(application);
+
+    @Test
+    public void hasAName() throws Exception {
+        assertThat(command.getName())
+                .isEqualTo("cds");
+    }
+
+    @Test
+    public void hasADescription() throws Exception {
+        assertThat(command.getDescription())
+                .isEqualTo("Generates a class data sharing archive, which speeds up the startup");
+    }
+
+    @Test
+    public void usesTheConfigurationClassOfTheApplication() throws Exception {
+        assertThat(command.getConfigurationClass())
+                .isEqualTo(Configuration.class);
+    }
+
+    @Test
+    public void parsesTheJavaVersion() throws Exception {
+        assertThat(ClassDataSharingCommand.javaVersion())
+                .isGreaterThanOrEqualTo(8);
+    }
+}
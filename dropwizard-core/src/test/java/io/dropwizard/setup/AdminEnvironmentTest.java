@@ -4,6 +4,7 @@ import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.health.HealthCheckRegistry;
 import io.dropwizard.jetty.MutableServletContextHandler;
 import io.dropwizard.logging.BootstrapLogging;
+import io.dropwizard.metrics.PrometheusFactory;
 import io.dropwizard.servlets.tasks.Task;
 import org.eclipse.jetty.server.Server;
 import org.junit.Test;
@@ -43,4 +44,20 @@ public class AdminEnvironmentTest {
         assertThat(registration.getMappings())
                 .containsOnly("/tasks/*");
     }
+
+    @Test
+    public void addsAPrometheusServlet() throws Exception {
+        final PrometheusFactory prometheus = new PrometheusFactory();
+        prometheus.setPath("/metrics/prometheus");
+        env.addPrometheusServlet(prometheus);
+
+        handler.setServer(new Server());
+        handler.start();
+
+        final ServletRegistration registration = handler.getServletHandler()
+                                                        .getServletContext()
+                                                        .getServletRegistration("prometheus");
+        assertThat(registration.getMappings())
+                .containsOnly("/metrics/prometheus");
+    }
 }
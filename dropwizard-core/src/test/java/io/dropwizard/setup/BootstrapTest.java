@@ -12,6 +12,7 @@ import io.dropwizard.configuration.FileConfigurationSourceProvider;
 import io.dropwizard.jackson.Jackson;
 import io.dropwizard.jersey.validation.NonEmptyStringParamUnwrapper;
 import io.dropwizard.jersey.validation.ParamValidatorUnwrapper;
+import io.dropwizard.metrics.JvmMetricsFactory;
 import io.dropwizard.validation.valuehandling.GuavaOptionalValidatedValueUnwrapper;
 import io.dropwizard.validation.valuehandling.OptionalDoubleValidatedValueUnwrapper;
 import io.dropwizard.validation.valuehandling.OptionalIntValidatedValueUnwrapper;
@@ -70,6 +71,7 @@ public class BootstrapTest {
     }
 
     @Test
+    @SuppressWarnings("deprecation")
     public void comesWithJvmInstrumentation() throws Exception {
         bootstrap.registerMetrics();
         assertThat(bootstrap.getMetricRegistry().getNames())
@@ -93,7 +95,7 @@ public class BootstrapTest {
             }
         };
         bootstrap.setMetricRegistry(newRegistry);
-        bootstrap.registerMetrics();
+        new JvmMetricsFactory().configure(bootstrap.getMetricRegistry());
 
         assertThat(newRegistry.getNames())
                 .contains("jvm.buffers.mapped.capacity", "jvm.threads.count", "jvm.memory.heap.usage",
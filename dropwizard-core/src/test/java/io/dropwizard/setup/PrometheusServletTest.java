@@ -0,0 +1,129 @@
+package io.dropwizard.setup;
+
+import com.codahale.metrics.MetricRegistry;
+import io.dropwizard.metrics.PrometheusExposition;
+import io.dropwizard.metrics.PrometheusFactory;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class PrometheusServletTest {
+    private final MetricRegistry registry = new MetricRegistry();
+    private final PrometheusExposition exposition = new PrometheusFactory().build(registry);
+    private final HttpServletRequest request = mock(HttpServletRequest.class);
+    private final HttpServletResponse response = mock(HttpServletResponse.class);
+    private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+    @Before
+    public void setUp() throws Exception {
+        registry.counter("requests").inc(3);
+        when(request.getMethod()).thenReturn("GET");
+        when(response.getOutputStream()).thenReturn(new TestServletOutputStream(body));
+    }
+
+    @Test
+    public void writesTheMetrics() throws Exception {
+        when(request.getHeaders("Accept-Encoding")).thenReturn(Collections.emptyEnumeration());
+
+        new PrometheusServlet(exposition, true).service(request, response);
+
+        verify(response).setContentType(PrometheusExposition.CONTENT_TYPE);
+        verify(response, never()).setHeader("Content-Encoding", "gzip");
+        assertThat(body.toString(StandardCharsets.UTF_8.name())).isEqualTo("# TYPE requests gauge\nrequests 3\n");
+    }
+
+    @Test
+    public void compressesTheMetrics() throws Exception {
+        when(request.getHeaders("Accept-Encoding"))
+            .thenReturn(Collections.enumeration(Collections.singletonList("deflate, gzip;q=0.8")));
+
+        new PrometheusServlet(exposition, true).service(request, response);
+
+        verify(response).setHeader("Content-Encoding", "gzip");
+        assertThat(gunzip(body.toByteArray())).isEqualTo("# TYPE requests gauge\nrequests 3\n");
+    }
+
+    @Test
+    public void doesNotCompressWhenGzipIsRefused() throws Exception {
+        for (String refusal : new String[]{"gzip; q=0", "gzip;q=0.0", "deflate, GZIP ; Q = 0.000", "gzipped"}) {
+            when(request.getHeaders("Accept-Encoding"))
+                .thenReturn(Collections.enumeration(Collections.singletonList(refusal)));
+
+            new PrometheusServlet(exposition, true).service(request, response);
+        }
+
+        verify(response, never()).setHeader("Content-Encoding", "gzip");
+    }
+
+    @Test
+    public void stopsTheExpositionWhenDestroyed() {
+        final MetricRegistry followed = spy(new MetricRegistry());
+        final PrometheusExposition stopped = new PrometheusFactory().build(followed);
+
+        new PrometheusServlet(stopped, true).destroy();
+
+        verify(followed).removeListener(stopped);
+    }
+
+    @Test
+    public void doesNotCompressWhenDisabled() throws Exception {
+        when(request.getHeaders("Accept-Encoding"))
+            .thenReturn(Collections.enumeration(Collections.singletonList("gzip")));
+
+        new PrometheusServlet(exposition, false).service(request, response);
+
+        verify(response, never()).setHeader("Content-Encoding", "gzip");
+        assertThat(body.toString(StandardCharsets.UTF_8.name())).isEqualTo("# TYPE requests gauge\nrequests 3\n");
+    }
+
+    private static String gunzip(byte[] compressed) throws IOException {
+        try (GZIPInputStream input = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            final ByteArrayOutputStream output = new ByteArrayOutputStream();
+            final byte[] buffer = new byte[1024];
+            int n;
+            while ((n = input.read(buffer)) != -1) {
+                output.write(buffer, 0, n);
+            }
+            return new String(output.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static class TestServletOutputStream extends ServletOutputStream {
+        private final ByteArrayOutputStream output;
+
+        TestServletOutputStream(ByteArrayOutputStream output) {
+            this.output = output;
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+        }
+
+        @Override
+        public void write(int b) {
+            output.write(b);
+        }
+    }
+}
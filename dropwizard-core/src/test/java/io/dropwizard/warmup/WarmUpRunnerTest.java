@@ -0,0 +1,179 @@
+package io.dropwizard.warmup;
+
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.io.CharStreams;
+import io.dropwizard.jackson.Jackson;
+import io.dropwizard.jersey.validation.Validators;
+import io.dropwizard.server.DefaultServerFactory;
+import io.dropwizard.setup.Environment;
+import io.dropwizard.util.Duration;
+import org.eclipse.jetty.server.AbstractNetworkConnector;
+import org.eclipse.jetty.server.NetworkConnector;
+import org.eclipse.jetty.server.Server;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.tuple;
+
+public class WarmUpRunnerTest {
+    private final Environment environment = new Environment("test", Jackson.newObjectMapper(),
+        Validators.newValidator(), new MetricRegistry(), ClassLoader.getSystemClassLoader());
+    private final CountingResource resource = new CountingResource();
+    private Server server;
+
+    @Before
+    public void setUp() throws Exception {
+        environment.jersey().register(resource);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        if (server != null) {
+            server.stop();
+        }
+    }
+
+    @Test
+    public void warmsUpBeforeStartingTheApplicationConnectors() throws Exception {
+        final AtomicReference<Boolean> accepting = new AtomicReference<>();
+        final AtomicReference<String> readiness = new AtomicReference<>();
+        environment.warmUp().addTask("probe", () -> {
+            accepting.set(connector(0).isStarted());
+            readiness.set(get(connector(1), "/ready"));
+        });
+
+        start();
+
+        assertThat(accepting).hasValue(false);
+        assertThat(readiness.get()).startsWith("503 ").contains("\"state\":\"WARMING_UP\"");
+        assertThat(get(connector(1), "/ready")).startsWith("200 ")
+            .contains("\"state\":\"READY\"", "\"name\":\"probe\"", "\"state\":\"SUCCEEDED\"");
+    }
+
+    @Test
+    public void replaysSyntheticRequests() throws Exception {
+        environment.warmUp().addRequest("/count", 3);
+
+        start();
+
+        assertThat(resource.count).hasValue(3);
+        assertThat(server.getConnectors()).hasSize(2);
+        assertThat(environment.warmUp().getReadiness().isReady()).isTrue();
+        assertThat(environment.metrics().getGauges()).containsKey("io.dropwizard.warmup.WarmUpRunner.duration");
+    }
+
+    @Test
+    public void reportsFailedRequests() throws Exception {
+        environment.warmUp().addRequest(new WarmUpRequest("GET", "/missing", 1));
+
+        start();
+
+        assertThat(environment.warmUp().getReadiness().getResults())
+            .extracting(Readiness.TaskResult::getName, Readiness.TaskResult::getState)
+            .containsExactly(tuple("GET /missing", Readiness.TaskState.FAILED));
+        assertThat(get(connector(1), "/ready")).startsWith("200 ").contains("was answered with 404");
+    }
+
+    @Test
+    public void becomesReadyAfterAFailedWarmUpUnlessRequiredToFail() throws Exception {
+        environment.warmUp().addTask("broken", () -> {
+            throw new IllegalStateException("broken");
+        });
+
+        start();
+
+        assertThat(environment.warmUp().getReadiness().getState()).isEqualTo(Readiness.State.READY);
+        assertThat(environment.warmUp().getReadiness().isReady()).isTrue();
+        assertThat(get(connector(1), "/ready")).startsWith("200 ")
+            .contains("\"state\":\"READY\"", "\"name\":\"broken\"", "\"state\":\"FAILED\"");
+    }
+
+    @Test
+    public void interruptsTasksWhichTimeOut() throws Exception {
+        environment.warmUp().setTimeout(Duration.milliseconds(100));
+        environment.warmUp().addTask("sleepy", () -> Thread.sleep(10_000));
+
+        start();
+
+        assertThat(environment.warmUp().getReadiness().getResults())
+            .extracting(Readiness.TaskResult::getState)
+            .containsExactly(Readiness.TaskState.TIMED_OUT);
+        assertThat(environment.warmUp().getReadiness().getState()).isEqualTo(Readiness.State.READY);
+    }
+
+    @Test
+    public void abortsTheStartupIfRequired() throws Exception {
+        environment.warmUp().setFailOnError(true);
+        environment.warmUp().addTask("broken", () -> {
+            throw new IllegalStateException("broken");
+        });
+
+        assertThatExceptionOfType(IllegalStateException.class)
+            .isThrownBy(this::start)
+            .withMessageContaining("broken");
+        assertThat(environment.warmUp().getReadiness().getState()).isEqualTo(Readiness.State.FAILED);
+    }
+
+    @Test
+    public void reportsStoppingServers() throws Exception {
+        start();
+        server.stop();
+
+        assertThat(environment.warmUp().getReadiness().getState()).isEqualTo(Readiness.State.STOPPING);
+    }
+
+    @Test
+    public void parsesStatusLines() {
+        assertThat(WarmUpRunner.status("HTTP/1.1 204 No Content\r\n\r\n")).isEqualTo(204);
+        assertThatExceptionOfType(IllegalStateException.class)
+            .isThrownBy(() -> WarmUpRunner.status("garbage"));
+    }
+
+    private void start() throws Exception {
+        final DefaultServerFactory factory = new DefaultServerFactory();
+        factory.configure(environment);
+        server = factory.build(environment);
+        ((AbstractNetworkConnector) server.getConnectors()[0]).setPort(0);
+        ((AbstractNetworkConnector) server.getConnectors()[1]).setPort(0);
+        server.start();
+    }
+
+    private NetworkConnector connector(int index) {
+        return (NetworkConnector) server.getConnectors()[index];
+    }
+
+    private static String get(NetworkConnector connector, String path) throws IOException {
+        final HttpURLConnection connection = (HttpURLConnection)
+            new URL("http://localhost:" + connector.getLocalPort() + path).openConnection();
+        final int status = connection.getResponseCode();
+        try (InputStream in = status < 400 ? connection.getInputStream() : connection.getErrorStream()) {
+            return status + " " + CharStreams.toString(new InputStreamReader(in, StandardCharsets.UTF_8));
+        }
+    }
+
+    @Path("/count")
+    @Produces("text/plain")
+    public static class CountingResource {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @GET
+        public String count() {
+            return Integer.toString(count.incrementAndGet());
+        }
+    }
+}
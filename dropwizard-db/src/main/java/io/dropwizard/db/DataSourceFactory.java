@@ -3,6 +3,7 @@ package io.dropwizard.db;
 import com.codahale.metrics.MetricRegistry;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonTypeName;
 import io.dropwizard.util.Duration;
 import io.dropwizard.validation.MinDuration;
 import io.dropwizard.validation.ValidationMethod;
@@ -304,7 +305,10 @@ import java.util.concurrent.TimeUnit;
  *         </td>
  *     </tr>
  * </table>
+ *
+ * @see HikariDataSourceFactory
  */
+@JsonTypeName("tomcat")
 public class DataSourceFactory implements PooledDataSourceFactory {
     @SuppressWarnings("UnusedDeclaration")
     public enum TransactionIsolation {
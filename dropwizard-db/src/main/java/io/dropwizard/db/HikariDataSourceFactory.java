@@ -0,0 +1,497 @@
+package io.dropwizard.db;
+
+import com.codahale.metrics.MetricRegistry;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonTypeName;
+import com.zaxxer.hikari.HikariConfig;
+import io.dropwizard.util.Duration;
+import io.dropwizard.validation.MinDuration;
+import io.dropwizard.validation.ValidationMethod;
+import org.hibernate.validator.constraints.NotEmpty;
+
+import javax.annotation.Nullable;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A factory for {@link ManagedDataSource}s backed by a HikariCP connection pool.
+ * <p/>
+ * <b>Configuration Parameters:</b>
+ * <table>
+ *     <tr>
+ *         <td>Name</td>
+ *         <td>Default</td>
+ *         <td>Description</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code driverClass}</td>
+ *         <td><b>REQUIRED</b></td>
+ *         <td>The full name of the JDBC driver class.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code url}</td>
+ *         <td><b>REQUIRED</b></td>
+ *         <td>The URL of the server.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code user}</td>
+ *         <td>none</td>
+ *         <td>The username used to connect to the server.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code password}</td>
+ *         <td>none</td>
+ *         <td>The password used to connect to the server.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code properties}</td>
+ *         <td>none</td>
+ *         <td>Any additional JDBC driver parameters.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code autoCommitByDefault}</td>
+ *         <td>JDBC driver's default</td>
+ *         <td>The default auto-commit state of the connections.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code readOnlyByDefault}</td>
+ *         <td>JDBC driver's default</td>
+ *         <td>The default read-only state of the connections.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code defaultCatalog}</td>
+ *         <td>none</td>
+ *         <td>The default catalog to use for the connections.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code defaultTransactionIsolation}</td>
+ *         <td>JDBC driver's default</td>
+ *         <td>
+ *             The default transaction isolation to use for the connections. Can be one of
+ *             {@code none}, {@code default}, {@code read-uncommitted}, {@code read-committed},
+ *             {@code repeatable-read}, or {@code serializable}.
+ *         </td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code minSize}</td>
+ *         <td>10</td>
+ *         <td>The minimum number of idle connections in the pool.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code maxSize}</td>
+ *         <td>100</td>
+ *         <td>The maximum size of the connection pool.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code initializationQuery}</td>
+ *         <td>none</td>
+ *         <td>A custom query to be run when a connection is first created.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code maxConnectionAge}</td>
+ *         <td>30 minutes</td>
+ *         <td>
+ *             The maximum lifetime of a connection in the pool. In use connections are retired
+ *             once they are returned to the pool.
+ *         </td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code maxWaitForConnection}</td>
+ *         <td>30 seconds</td>
+ *         <td>
+ *             If a request for a connection is blocked for longer than this period, an exception
+ *             will be thrown.
+ *         </td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code minIdleTime}</td>
+ *         <td>10 minutes</td>
+ *         <td>
+ *             The amount of time a connection is allowed to sit idle in the pool before it is
+ *             eligible for eviction. Only applies while the pool holds more than {@code minSize}
+ *             connections.
+ *         </td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code validationQuery}</td>
+ *         <td>{@code SELECT 1}</td>
+ *         <td>
+ *             The SQL query that will be used by the health check. Connections borrowed from the
+ *             pool are validated with {@link java.sql.Connection#isValid(int)}.
+ *         </td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code validationQueryTimeout}</td>
+ *         <td>none</td>
+ *         <td>The timeout before a connection validation queries fail.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code leakDetectionThreshold}</td>
+ *         <td>none</td>
+ *         <td>
+ *             If set, a connection which has been out of the pool for longer than this period is
+ *             logged as a possible leak.
+ *         </td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code autoCommentsEnabled}</td>
+ *         <td>{@code true}</td>
+ *         <td>Whether or not ORMs should automatically add comments.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code ignoreExceptionOnPreLoad}</td>
+ *         <td>{@code false}</td>
+ *         <td>
+ *             Set to {@code true} if the pool should start even if the initial connection to the
+ *             database can't be established.
+ *         </td>
+ *     </tr>
+ * </table>
+ *
+ * @see DataSourceFactory
+ */
+@JsonTypeName("hikari")
+public class HikariDataSourceFactory implements PooledDataSourceFactory {
+    @NotEmpty
+    private String driverClass = "";
+
+    @NotEmpty
+    private String url = "";
+
+    @Nullable
+    private String user;
+
+    @Nullable
+    private String password;
+
+    @NotNull
+    private Map<String, String> properties = new LinkedHashMap<>();
+
+    @Nullable
+    private Boolean autoCommitByDefault;
+
+    @Nullable
+    private Boolean readOnlyByDefault;
+
+    @Nullable
+    private String defaultCatalog;
+
+    @NotNull
+    private DataSourceFactory.TransactionIsolation defaultTransactionIsolation =
+        DataSourceFactory.TransactionIsolation.DEFAULT;
+
+    @Min(0)
+    private int minSize = 10;
+
+    @Min(1)
+    private int maxSize = 100;
+
+    @Nullable
+    private String initializationQuery;
+
+    @MinDuration(value = 30, unit = TimeUnit.SECONDS)
+    @Nullable
+    private Duration maxConnectionAge;
+
+    @NotNull
+    @MinDuration(value = 250, unit = TimeUnit.MILLISECONDS)
+    private Duration maxWaitForConnection = Duration.seconds(30);
+
+    @NotNull
+    @MinDuration(value = 10, unit = TimeUnit.SECONDS)
+    private Duration minIdleTime = Duration.minutes(10);
+
+    @NotNull
+    private String validationQuery = "/* Health Check */ SELECT 1";
+
+    @MinDuration(value = 250, unit = TimeUnit.MILLISECONDS)
+    @Nullable
+    private Duration validationQueryTimeout;
+
+    @MinDuration(value = 2, unit = TimeUnit.SECONDS)
+    @Nullable
+    private Duration leakDetectionThreshold;
+
+    private boolean autoCommentsEnabled = true;
+
+    private boolean ignoreExceptionOnPreLoad = false;
+
+    @JsonProperty
+    @Override
+    public boolean isAutoCommentsEnabled() {
+        return autoCommentsEnabled;
+    }
+
+    @JsonProperty
+    public void setAutoCommentsEnabled(boolean autoCommentsEnabled) {
+        this.autoCommentsEnabled = autoCommentsEnabled;
+    }
+
+    @JsonProperty
+    @Override
+    public String getDriverClass() {
+        return driverClass;
+    }
+
+    @JsonProperty
+    public void setDriverClass(String driverClass) {
+        this.driverClass = driverClass;
+    }
+
+    @JsonProperty
+    @Override
+    public String getUrl() {
+        return url;
+    }
+
+    @JsonProperty
+    public void setUrl(String url) {
+        this.url = url;
+    }
+
+    @JsonProperty
+    @Nullable
+    public String getUser() {
+        return user;
+    }
+
+    @JsonProperty
+    public void setUser(@Nullable String user) {
+        this.user = user;
+    }
+
+    @JsonProperty
+    @Nullable
+    public String getPassword() {
+        return password;
+    }
+
+    @JsonProperty
+    public void setPassword(@Nullable String password) {
+        this.password = password;
+    }
+
+    @JsonProperty
+    @Override
+    public Map<String, String> getProperties() {
+        return properties;
+    }
+
+    @JsonProperty
+    public void setProperties(Map<String, String> properties) {
+        this.properties = properties;
+    }
+
+    @JsonProperty
+    @Nullable
+    public Boolean getAutoCommitByDefault() {
+        return autoCommitByDefault;
+    }
+
+    @JsonProperty
+    public void setAutoCommitByDefault(@Nullable Boolean autoCommitByDefault) {
+        this.autoCommitByDefault = autoCommitByDefault;
+    }
+
+    @JsonProperty
+    @Nullable
+    public Boolean getReadOnlyByDefault() {
+        return readOnlyByDefault;
+    }
+
+    @JsonProperty
+    public void setReadOnlyByDefault(@Nullable Boolean readOnlyByDefault) {
+        this.readOnlyByDefault = readOnlyByDefault;
+    }
+
+    @JsonProperty
+    @Nullable
+    public String getDefaultCatalog() {
+        return defaultCatalog;
+    }
+
+    @JsonProperty
+    public void setDefaultCatalog(@Nullable String defaultCatalog) {
+        this.defaultCatalog = defaultCatalog;
+    }
+
+    @JsonProperty
+    public DataSourceFactory.TransactionIsolation getDefaultTransactionIsolation() {
+        return defaultTransactionIsolation;
+    }
+
+    @JsonProperty
+    public void setDefaultTransactionIsolation(DataSourceFactory.TransactionIsolation isolation) {
+        this.defaultTransactionIsolation = isolation;
+    }
+
+    @JsonProperty
+    public int getMinSize() {
+        return minSize;
+    }
+
+    @JsonProperty
+    public void setMinSize(int minSize) {
+        this.minSize = minSize;
+    }
+
+    @JsonProperty
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    @JsonProperty
+    public void setMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    @JsonProperty
+    @Nullable
+    public String getInitializationQuery() {
+        return initializationQuery;
+    }
+
+    @JsonProperty
+    public void setInitializationQuery(@Nullable String initializationQuery) {
+        this.initializationQuery = initializationQuery;
+    }
+
+    @JsonProperty
+    public Optional<Duration> getMaxConnectionAge() {
+        return Optional.ofNullable(maxConnectionAge);
+    }
+
+    @JsonProperty
+    public void setMaxConnectionAge(@Nullable Duration age) {
+        this.maxConnectionAge = age;
+    }
+
+    @JsonProperty
+    public Duration getMaxWaitForConnection() {
+        return maxWaitForConnection;
+    }
+
+    @JsonProperty
+    public void setMaxWaitForConnection(Duration maxWaitForConnection) {
+        this.maxWaitForConnection = Objects.requireNonNull(maxWaitForConnection);
+    }
+
+    @JsonProperty
+    public Duration getMinIdleTime() {
+        return minIdleTime;
+    }
+
+    @JsonProperty
+    public void setMinIdleTime(Duration time) {
+        this.minIdleTime = Objects.requireNonNull(time);
+    }
+
+    @Override
+    @JsonProperty
+    public String getValidationQuery() {
+        return validationQuery;
+    }
+
+    @Override
+    @Deprecated
+    @JsonIgnore
+    public String getHealthCheckValidationQuery() {
+        return getValidationQuery();
+    }
+
+    @JsonProperty
+    public void setValidationQuery(String validationQuery) {
+        this.validationQuery = validationQuery;
+    }
+
+    @Override
+    @JsonProperty
+    public Optional<Duration> getValidationQueryTimeout() {
+        return Optional.ofNullable(validationQueryTimeout);
+    }
+
+    @Override
+    @Deprecated
+    @JsonIgnore
+    public Optional<Duration> getHealthCheckValidationTimeout() {
+        return getValidationQueryTimeout();
+    }
+
+    @JsonProperty
+    public void setValidationQueryTimeout(@Nullable Duration validationQueryTimeout) {
+        this.validationQueryTimeout = validationQueryTimeout;
+    }
+
+    @JsonProperty
+    public Optional<Duration> getLeakDetectionThreshold() {
+        return Optional.ofNullable(leakDetectionThreshold);
+    }
+
+    @JsonProperty
+    public void setLeakDetectionThreshold(@Nullable Duration leakDetectionThreshold) {
+        this.leakDetectionThreshold = leakDetectionThreshold;
+    }
+
+    @JsonProperty
+    public boolean isIgnoreExceptionOnPreLoad() {
+        return ignoreExceptionOnPreLoad;
+    }
+
+    @JsonProperty
+    public void setIgnoreExceptionOnPreLoad(boolean ignoreExceptionOnPreLoad) {
+        this.ignoreExceptionOnPreLoad = ignoreExceptionOnPreLoad;
+    }
+
+    @JsonIgnore
+    @ValidationMethod(message = ".minSize must be less than or equal to maxSize")
+    public boolean isMinSizeLessThanMaxSize() {
+        return minSize <= maxSize;
+    }
+
+    @Override
+    public void asSingleConnectionPool() {
+        minSize = 1;
+        maxSize = 1;
+    }
+
+    @Override
+    public ManagedDataSource build(MetricRegistry metricRegistry, String name) {
+        final HikariConfig poolConfig = new HikariConfig();
+        for (Map.Entry<String, String> property : properties.entrySet()) {
+            poolConfig.addDataSourceProperty(property.getKey(), property.getValue());
+        }
+
+        poolConfig.setPoolName(name);
+        poolConfig.setDriverClassName(driverClass);
+        poolConfig.setJdbcUrl(url);
+        poolConfig.setUsername(user);
+        poolConfig.setPassword(user != null && password == null ? "" : password);
+        if (autoCommitByDefault != null) {
+            poolConfig.setAutoCommit(autoCommitByDefault);
+        }
+        if (readOnlyByDefault != null) {
+            poolConfig.setReadOnly(readOnlyByDefault);
+        }
+        poolConfig.setCatalog(defaultCatalog);
+        if (defaultTransactionIsolation != DataSourceFactory.TransactionIsolation.DEFAULT) {
+            poolConfig.setTransactionIsolation("TRANSACTION_" + defaultTransactionIsolation.name());
+        }
+        poolConfig.setMinimumIdle(minSize);
+        poolConfig.setMaximumPoolSize(maxSize);
+        poolConfig.setConnectionInitSql(initializationQuery);
+        getMaxConnectionAge().ifPresent(age -> poolConfig.setMaxLifetime(age.toMilliseconds()));
+        poolConfig.setConnectionTimeout(maxWaitForConnection.toMilliseconds());
+        poolConfig.setIdleTimeout(minIdleTime.toMilliseconds());
+        getValidationQueryTimeout().ifPresent(timeout -> poolConfig.setValidationTimeout(timeout.toMilliseconds()));
+        getLeakDetectionThreshold().ifPresent(threshold ->
+            poolConfig.setLeakDetectionThreshold(threshold.toMilliseconds()));
+        poolConfig.setInitializationFailTimeout(ignoreExceptionOnPreLoad ? -1 : 1);
+        return new ManagedHikariDataSource(poolConfig, metricRegistry);
+    }
+}
@@ -0,0 +1,354 @@
+package io.dropwizard.db;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import io.dropwizard.util.Duration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+/**
+ * A {@link ManagedDataSource} which splits traffic between a primary and a set of read replicas.
+ * <p/>
+ * Connections are taken from the primary, unless the requesting thread has been marked as performing
+ * read-only work with {@link ReplicaRouting}. Read-only connections go to the healthy replica with the
+ * least outstanding connections. A background check runs the validation query and, if configured, the
+ * replication lag query against every replica and ejects replicas that fail or lag behind. If no replica
+ * is available, read-only connections fall back to the primary.
+ */
+public class ManagedRoutingDataSource implements ManagedDataSource {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ManagedRoutingDataSource.class);
+
+    private final String name;
+    private final ManagedDataSource primary;
+    private final List<Replica> replicas;
+    private final MetricRegistry metricRegistry;
+    private final String validationQuery;
+    private final Duration validationQueryTimeout;
+    @Nullable
+    private final String replicaLagQuery;
+    private final Duration maxReplicaLag;
+    private final Duration replicaCheckInterval;
+    private final Counter fallbacks = new Counter();
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    @Nullable
+    private ScheduledExecutorService checker;
+
+    /**
+     * Create a new routing data source.
+     *
+     * @param name                   the name of the data source
+     * @param primary                the data source receiving all writes
+     * @param replicas               the data sources receiving read-only work
+     * @param metricRegistry         the application metric registry
+     * @param validationQuery        the query used to check whether a replica is available
+     * @param validationQueryTimeout the timeout of the validation and replication lag queries
+     * @param replicaLagQuery        an optional query returning the replication lag of a replica in seconds
+     * @param maxReplicaLag          the replication lag above which a replica is ejected
+     * @param replicaCheckInterval   the interval between two checks of the replicas
+     */
+    public ManagedRoutingDataSource(String name,
+                                    ManagedDataSource primary,
+                                    List<ManagedDataSource> replicas,
+                                    MetricRegistry metricRegistry,
+                                    String validationQuery,
+                                    Duration validationQueryTimeout,
+                                    @Nullable String replicaLagQuery,
+                                    Duration maxReplicaLag,
+                                    Duration replicaCheckInterval) {
+        this.name = name;
+        this.primary = primary;
+        final List<Replica> wrapped = new ArrayList<>(replicas.size());
+        for (ManagedDataSource replica : replicas) {
+            wrapped.add(new Replica(replica));
+        }
+        this.replicas = Collections.unmodifiableList(wrapped);
+        this.metricRegistry = metricRegistry;
+        this.validationQuery = validationQuery;
+        this.validationQueryTimeout = validationQueryTimeout;
+        this.replicaLagQuery = replicaLagQuery;
+        this.maxReplicaLag = maxReplicaLag;
+        this.replicaCheckInterval = replicaCheckInterval;
+    }
+
+    /**
+     * @return the data source receiving all writes
+     */
+    public ManagedDataSource getPrimary() {
+        return primary;
+    }
+
+    /**
+     * @return the number of replicas currently accepting read-only work
+     */
+    public int getAvailableReplicas() {
+        int available = 0;
+        for (Replica replica : replicas) {
+            if (replica.healthy) {
+                available++;
+            }
+        }
+        return available;
+    }
+
+    @Override
+    public void start() throws Exception {
+        primary.start();
+        for (int i = 0; i < replicas.size(); i++) {
+            final Replica replica = replicas.get(i);
+            try {
+                replica.dataSource.start();
+            } catch (Exception e) {
+                LOGGER.warn("Unable to start replica {} of {}, ejecting it", i, name, e);
+                replica.healthy = false;
+            }
+
+            metricRegistry.register(name(getClass(), name, "replica-" + i, "outstanding"),
+                (Gauge<Integer>) replica.outstanding::get);
+
+            metricRegistry.register(name(getClass(), name, "replica-" + i, "healthy"),
+                (Gauge<Boolean>) () -> replica.healthy);
+
+            metricRegistry.register(name(getClass(), name, "replica-" + i, "lag"),
+                (Gauge<Double>) () -> replica.lag);
+        }
+        metricRegistry.register(name(getClass(), name, "available-replicas"),
+            (Gauge<Integer>) this::getAvailableReplicas);
+        metricRegistry.register(name(getClass(), name, "primary-fallbacks"), fallbacks);
+
+        if (!replicas.isEmpty()) {
+            final ScheduledExecutorService checker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                final Thread thread = new Thread(runnable, name + "-replica-checker");
+                thread.setDaemon(true);
+                return thread;
+            });
+            final long interval = replicaCheckInterval.toMilliseconds();
+            checker.scheduleWithFixedDelay(this::checkReplicas, interval, interval, TimeUnit.MILLISECONDS);
+            this.checker = checker;
+        }
+    }
+
+    @Override
+    public void stop() throws Exception {
+        final ScheduledExecutorService checker = this.checker;
+        if (checker != null) {
+            checker.shutdownNow();
+        }
+        // Every data source is stopped, even if others fail to
+        Exception failure = null;
+        try {
+            for (Replica replica : replicas) {
+                try {
+                    replica.dataSource.stop();
+                } catch (Exception e) {
+                    failure = addFailure(failure, e);
+                }
+            }
+        } finally {
+            try {
+                primary.stop();
+            } catch (Exception e) {
+                failure = addFailure(failure, e);
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private static Exception addFailure(@Nullable Exception failure, Exception e) {
+        if (failure == null) {
+            return e;
+        }
+        failure.addSuppressed(e);
+        return failure;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!ReplicaRouting.isReadOnly()) {
+            return primary.getConnection();
+        }
+
+        final Replica replica = chooseReplica();
+        if (replica == null) {
+            fallbacks.inc();
+            return primary.getConnection();
+        }
+
+        replica.outstanding.incrementAndGet();
+        final Connection connection;
+        try {
+            connection = replica.dataSource.getConnection();
+        } catch (SQLException e) {
+            replica.outstanding.decrementAndGet();
+            LOGGER.warn("Unable to get a connection from a replica of {}, ejecting it", name, e);
+            replica.healthy = false;
+            fallbacks.inc();
+            return primary.getConnection();
+        }
+        return trackOutstanding(connection, replica);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return primary.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) throws SQLException {
+        primary.setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) throws SQLException {
+        primary.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return primary.getLoginTimeout();
+    }
+
+    @Override
+    public java.util.logging.Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException("Doesn't use java.util.logging");
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return (T) this;
+        }
+        return primary.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || primary.isWrapperFor(iface);
+    }
+
+    /**
+     * Picks the healthy replica with the least outstanding connections. The scan starts at a rotating
+     * offset, so that ties are spread evenly across the replicas.
+     */
+    @Nullable
+    private Replica chooseReplica() {
+        final int size = replicas.size();
+        if (size == 0) {
+            return null;
+        }
+
+        final int offset = Math.abs(nextReplica.getAndIncrement() % size);
+        Replica best = null;
+        int bestOutstanding = Integer.MAX_VALUE;
+        for (int i = 0; i < size; i++) {
+            final Replica replica = replicas.get((offset + i) % size);
+            if (!replica.healthy) {
+                continue;
+            }
+            final int outstanding = replica.outstanding.get();
+            if (outstanding < bestOutstanding) {
+                best = replica;
+                bestOutstanding = outstanding;
+            }
+        }
+        return best;
+    }
+
+    void checkReplicas() {
+        for (int i = 0; i < replicas.size(); i++) {
+            final Replica replica = replicas.get(i);
+            final boolean wasHealthy = replica.healthy;
+            try {
+                final double lag = check(replica.dataSource);
+                replica.lag = lag;
+                replica.healthy = lag <= maxReplicaLag.toMilliseconds() / 1000.0;
+                if (!replica.healthy && wasHealthy) {
+                    LOGGER.warn("Replica {} of {} is lagging {} seconds behind, ejecting it", i, name, lag);
+                }
+            } catch (Exception e) {
+                replica.healthy = false;
+                if (wasHealthy) {
+                    LOGGER.warn("Replica {} of {} failed its check, ejecting it", i, name, e);
+                }
+            }
+            if (replica.healthy && !wasHealthy) {
+                LOGGER.info("Replica {} of {} is available again", i, name);
+            }
+        }
+    }
+
+    private double check(ManagedDataSource replica) throws SQLException {
+        final int timeout = (int) validationQueryTimeout.toSeconds();
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(timeout);
+            statement.execute(validationQuery);
+            if (replicaLagQuery == null) {
+                return 0.0;
+            }
+            try (ResultSet resultSet = statement.executeQuery(replicaLagQuery)) {
+                if (!resultSet.next()) {
+                    return 0.0;
+                }
+                final double lag = resultSet.getDouble(1);
+                return resultSet.wasNull() ? 0.0 : lag;
+            }
+        }
+    }
+
+    private static Connection trackOutstanding(Connection connection, Replica replica) {
+        final AtomicBoolean closed = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+            new Class<?>[]{Connection.class},
+            (proxy, method, args) -> {
+                if ("close".equals(method.getName()) && closed.compareAndSet(false, true)) {
+                    replica.outstanding.decrementAndGet();
+                }
+                try {
+                    return method.invoke(connection, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            });
+    }
+
+    private static class Replica {
+        private final ManagedDataSource dataSource;
+        private final AtomicInteger outstanding = new AtomicInteger();
+        private volatile boolean healthy = true;
+        private volatile double lag;
+
+        private Replica(ManagedDataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+    }
+}
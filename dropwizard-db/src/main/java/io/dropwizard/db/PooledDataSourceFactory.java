@@ -1,6 +1,8 @@
 package io.dropwizard.db;
 
 import com.codahale.metrics.MetricRegistry;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import io.dropwizard.jackson.Discoverable;
 import io.dropwizard.util.Duration;
 
 import java.util.Map;
@@ -9,8 +11,15 @@ import java.util.Optional;
 /**
  * Interface of a factory that produces JDBC data sources
  * backed by the connection pool.
+ * <p/>
+ * The pool implementation is selected with the {@code type} property
+ * and defaults to the Tomcat JDBC pool ({@code tomcat}).
+ *
+ * @see DataSourceFactory
+ * @see HikariDataSourceFactory
  */
-public interface PooledDataSourceFactory {
+@JsonTypeInfo(use = JsonTypeInfo.Id.NAME, property = "type", defaultImpl = DataSourceFactory.class)
+public interface PooledDataSourceFactory extends Discoverable {
 
     /**
      * Whether ORM tools allowed to add comments to SQL queries.
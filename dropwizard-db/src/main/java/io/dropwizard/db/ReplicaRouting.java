@@ -0,0 +1,69 @@
+package io.dropwizard.db;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Marks the current thread as performing read-only work, so that a {@link ManagedRoutingDataSource}
+ * hands out connections to one of its read replicas instead of the primary.
+ * <p/>
+ * The routing decision is made when a connection is requested, so the current thread has to be
+ * marked before the connection is acquired. Data sources which aren't routing ignore the mark.
+ * <pre>
+ * {@code
+ *   final boolean previous = ReplicaRouting.setReadOnly(true);
+ *   try {
+ *     ...                               // acquire connections and query.
+ *   } finally {
+ *     ReplicaRouting.setReadOnly(previous);
+ *   }
+ * }
+ * </pre>
+ *
+ * @see ManagedRoutingDataSource
+ */
+public final class ReplicaRouting {
+    private static final ThreadLocal<Boolean> READ_ONLY = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+    private ReplicaRouting() {
+    }
+
+    /**
+     * @return {@code true}, if connections requested by the current thread may be routed to a replica
+     */
+    public static boolean isReadOnly() {
+        return READ_ONLY.get();
+    }
+
+    /**
+     * Marks or unmarks the current thread as performing read-only work.
+     *
+     * @param readOnly whether connections requested by the current thread may be routed to a replica
+     * @return the previous value, which should be restored once the work is done
+     */
+    public static boolean setReadOnly(boolean readOnly) {
+        final boolean previous = READ_ONLY.get();
+        if (readOnly) {
+            READ_ONLY.set(Boolean.TRUE);
+        } else {
+            READ_ONLY.remove();
+        }
+        return previous;
+    }
+
+    /**
+     * Runs the given task with the current thread marked as performing read-only work.
+     *
+     * @param task the task acquiring and using connections
+     * @param <T>  the type of the result of the task
+     * @return the result of the task
+     * @throws Exception if the task failed
+     */
+    public static <T> T readOnly(Callable<T> task) throws Exception {
+        final boolean previous = setReadOnly(true);
+        try {
+            return task.call();
+        } finally {
+            setReadOnly(previous);
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package io.dropwizard.db;
+
+import com.codahale.metrics.MetricRegistry;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonTypeName;
+import io.dropwizard.util.Duration;
+import io.dropwizard.validation.MinDuration;
+
+import javax.annotation.Nullable;
+import javax.validation.Valid;
+import javax.validation.constraints.NotNull;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A factory for {@link ManagedRoutingDataSource}s, which send writes to a primary database and
+ * read-only work to a set of replicas.
+ * <p/>
+ * Everything besides the replica settings, like the validation query or the ORM properties,
+ * is taken from the primary.
+ * <p/>
+ * <b>Configuration Parameters:</b>
+ * <table>
+ *     <tr>
+ *         <td>Name</td>
+ *         <td>Default</td>
+ *         <td>Description</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code primary}</td>
+ *         <td><b>REQUIRED</b></td>
+ *         <td>The data source receiving all writes and non read-only work.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code replicas}</td>
+ *         <td>(empty)</td>
+ *         <td>The data sources receiving read-only work.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code replicaCheckInterval}</td>
+ *         <td>5 seconds</td>
+ *         <td>The interval between two health checks of the replicas.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code replicaLagQuery}</td>
+ *         <td>none</td>
+ *         <td>
+ *             A query returning the replication lag of a replica in seconds. If not set, replicas are
+ *             only ejected when they fail the validation query.
+ *         </td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code maxReplicaLag}</td>
+ *         <td>30 seconds</td>
+ *         <td>The replication lag above which a replica is ejected until it has caught up.</td>
+ *     </tr>
+ * </table>
+ *
+ * @see ReplicaRouting
+ */
+@JsonTypeName("routing")
+public class RoutingDataSourceFactory implements PooledDataSourceFactory {
+    @Valid
+    @NotNull
+    private PooledDataSourceFactory primary = new DataSourceFactory();
+
+    @Valid
+    @NotNull
+    private List<PooledDataSourceFactory> replicas = Collections.emptyList();
+
+    @NotNull
+    @MinDuration(value = 100, unit = TimeUnit.MILLISECONDS)
+    private Duration replicaCheckInterval = Duration.seconds(5);
+
+    @Nullable
+    private String replicaLagQuery;
+
+    @NotNull
+    private Duration maxReplicaLag = Duration.seconds(30);
+
+    @JsonProperty
+    public PooledDataSourceFactory getPrimary() {
+        return primary;
+    }
+
+    @JsonProperty
+    public void setPrimary(PooledDataSourceFactory primary) {
+        this.primary = primary;
+    }
+
+    @JsonProperty
+    public List<PooledDataSourceFactory> getReplicas() {
+        return replicas;
+    }
+
+    @JsonProperty
+    public void setReplicas(List<PooledDataSourceFactory> replicas) {
+        this.replicas = replicas;
+    }
+
+    @JsonProperty
+    public Duration getReplicaCheckInterval() {
+        return replicaCheckInterval;
+    }
+
+    @JsonProperty
+    public void setReplicaCheckInterval(Duration replicaCheckInterval) {
+        this.replicaCheckInterval = replicaCheckInterval;
+    }
+
+    @JsonProperty
+    public Optional<String> getReplicaLagQuery() {
+        return Optional.ofNullable(replicaLagQuery);
+    }
+
+    @JsonProperty
+    public void setReplicaLagQuery(@Nullable String replicaLagQuery) {
+        this.replicaLagQuery = replicaLagQuery;
+    }
+
+    @JsonProperty
+    public Duration getMaxReplicaLag() {
+        return maxReplicaLag;
+    }
+
+    @JsonProperty
+    public void setMaxReplicaLag(Duration maxReplicaLag) {
+        this.maxReplicaLag = maxReplicaLag;
+    }
+
+    @Override
+    @JsonIgnore
+    public boolean isAutoCommentsEnabled() {
+        return primary.isAutoCommentsEnabled();
+    }
+
+    @Override
+    @JsonIgnore
+    public Map<String, String> getProperties() {
+        return primary.getProperties();
+    }
+
+    @Override
+    @JsonIgnore
+    public Optional<Duration> getValidationQueryTimeout() {
+        return primary.getValidationQueryTimeout();
+    }
+
+    @Override
+    @Deprecated
+    @JsonIgnore
+    public Optional<Duration> getHealthCheckValidationTimeout() {
+        return getValidationQueryTimeout();
+    }
+
+    @Override
+    @JsonIgnore
+    public String getValidationQuery() {
+        return primary.getValidationQuery();
+    }
+
+    @Override
+    @Deprecated
+    @JsonIgnore
+    public String getHealthCheckValidationQuery() {
+        return getValidationQuery();
+    }
+
+    @Override
+    @JsonIgnore
+    public String getDriverClass() {
+        return primary.getDriverClass();
+    }
+
+    @Override
+    @JsonIgnore
+    public String getUrl() {
+        return primary.getUrl();
+    }
+
+    @Override
+    public void asSingleConnectionPool() {
+        primary.asSingleConnectionPool();
+        for (PooledDataSourceFactory replica : replicas) {
+            replica.asSingleConnectionPool();
+        }
+    }
+
+    @Override
+    public ManagedDataSource build(MetricRegistry metricRegistry, String name) {
+        final List<ManagedDataSource> replicaDataSources = new ArrayList<>(replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            replicaDataSources.add(replicas.get(i).build(metricRegistry, name + "-replica-" + i));
+        }
+        return new ManagedRoutingDataSource(name,
+            primary.build(metricRegistry, name),
+            replicaDataSources,
+            metricRegistry,
+            primary.getValidationQuery(),
+            primary.getValidationQueryTimeout().orElseGet(() -> Duration.seconds(5)),
+            replicaLagQuery,
+            maxReplicaLag,
+            replicaCheckInterval);
+    }
+}
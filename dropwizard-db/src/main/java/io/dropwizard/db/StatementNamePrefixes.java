@@ -0,0 +1,111 @@
+package io.dropwizard.db;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.RatioGauge;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+/**
+ * Builds the comments which name the SQL object method of a statement, like <code>/* MyDao.findPerson *&#47;</code>,
+ * and caches them per method.
+ * <p/>
+ * Only the comment is cached, not the statement, as the statement of a method may depend on its arguments. The
+ * cache holds at most one comment per SQL object method, so it doesn't need to be bounded.
+ */
+public class StatementNamePrefixes {
+    private final ConcurrentMap<Method, Prefix> prefixes = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Prepends the comment naming a SQL object method to a statement.
+     *
+     * @param type   the type of the SQL object
+     * @param method the method of the SQL object
+     * @param sql    the statement
+     * @return the statement, preceded by the comment
+     */
+    public String prepend(Class<?> type, Method method, String sql) {
+        return prefix(type, method).concat(sql);
+    }
+
+    private String prefix(Class<?> type, Method method) {
+        final Prefix cached = prefixes.get(method);
+        // A method inherited by several types gets the comment of the type it was last called on
+        if (cached != null && cached.type == type) {
+            hits.increment();
+            return cached.prefix;
+        }
+        misses.increment();
+
+        final StringBuilder prefix = new StringBuilder(64);
+        prefix.append("/* ");
+        final String className = type.getSimpleName();
+        if (!className.isEmpty()) {
+            prefix.append(className).append('.');
+        }
+        prefix.append(method.getName());
+        prefix.append(" */ ");
+
+        final Prefix built = new Prefix(type, prefix.toString());
+        prefixes.put(method, built);
+        return built.prefix;
+    }
+
+    /**
+     * @return the number of comments which have been taken from the cache
+     */
+    public long getCacheHits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return the number of comments which had to be built
+     */
+    public long getCacheMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return the number of cached comments
+     */
+    public int getCacheSize() {
+        return prefixes.size();
+    }
+
+    /**
+     * Registers the {@code cache-hits}, {@code cache-misses}, {@code cache-size} and {@code cache-hit-ratio} gauges
+     * of the cache. The gauges of an existing cache with the same name are kept.
+     *
+     * @param metrics the registry of the gauges
+     * @param name    the prefix of the names of the gauges
+     */
+    public void registerMetrics(MetricRegistry metrics, String name) {
+        metrics.gauge(name(name, "cache-hits"), () -> (Gauge<Long>) this::getCacheHits);
+        metrics.gauge(name(name, "cache-misses"), () -> (Gauge<Long>) this::getCacheMisses);
+        metrics.gauge(name(name, "cache-size"), () -> (Gauge<Integer>) this::getCacheSize);
+        metrics.gauge(name(name, "cache-hit-ratio"), () -> new RatioGauge() {
+            @Override
+            protected Ratio getRatio() {
+                final long cacheHits = getCacheHits();
+                return Ratio.of(cacheHits, cacheHits + getCacheMisses());
+            }
+        });
+    }
+
+    private static final class Prefix {
+        private final Class<?> type;
+        private final String prefix;
+
+        private Prefix(Class<?> type, String prefix) {
+            this.type = type;
+            this.prefix = prefix;
+        }
+    }
+}
@@ -115,6 +115,16 @@ public class DataSourceConfigurationTest {
         assertThat(ds.getInitialSize()).isEqualTo(0);
     }
 
+    @Test
+    public void testDefaultPoolType() throws Exception {
+        PooledDataSourceFactory ds = new YamlConfigurationFactory<>(PooledDataSourceFactory.class,
+                Validators.newValidator(), Jackson.newObjectMapper(), "dw")
+                .build(new File(Resources.getResource("yaml/minimal_db_pool.yml").toURI()));
+
+        assertThat(ds).isInstanceOf(DataSourceFactory.class);
+        assertThat(ds.getUrl()).isEqualTo("jdbc:postgresql://db.example.com/db-prod");
+    }
+
     private DataSourceFactory getDataSourceFactory(String resourceName) throws Exception {
         return new YamlConfigurationFactory<>(DataSourceFactory.class,
                 Validators.newValidator(), Jackson.newObjectMapper(), "dw")
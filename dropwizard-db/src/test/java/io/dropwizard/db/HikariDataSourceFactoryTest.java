@@ -0,0 +1,145 @@
+package io.dropwizard.db;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricFilter;
+import com.codahale.metrics.MetricRegistry;
+import io.dropwizard.configuration.ResourceConfigurationSourceProvider;
+import io.dropwizard.configuration.YamlConfigurationFactory;
+import io.dropwizard.jackson.DiscoverableSubtypeResolver;
+import io.dropwizard.jackson.Jackson;
+import io.dropwizard.util.Duration;
+import io.dropwizard.validation.BaseValidator;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.annotation.Nullable;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HikariDataSourceFactoryTest {
+    private final MetricRegistry metricRegistry = new MetricRegistry();
+
+    private HikariDataSourceFactory factory;
+
+    @Nullable
+    private ManagedDataSource dataSource;
+
+    @Before
+    public void setUp() {
+        factory = new HikariDataSourceFactory();
+        factory.setUrl("jdbc:h2:mem:HikariTest-" + System.currentTimeMillis() + ";user=sa");
+        factory.setDriverClass("org.h2.Driver");
+        factory.setValidationQuery("SELECT 1");
+        factory.setMinSize(1);
+        factory.setMaxSize(4);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        if (null != dataSource) {
+            dataSource.stop();
+        }
+    }
+
+    private ManagedDataSource dataSource() throws Exception {
+        dataSource = factory.build(metricRegistry, "test");
+        dataSource.start();
+        return dataSource;
+    }
+
+    @Test
+    public void isDiscoverable() throws Exception {
+        assertThat(new DiscoverableSubtypeResolver().getDiscoveredSubtypes())
+            .contains(DataSourceFactory.class, HikariDataSourceFactory.class);
+    }
+
+    @Test
+    public void buildsAConnectionPoolToTheDatabase() throws Exception {
+        try (Connection connection = dataSource().getConnection()) {
+            try (PreparedStatement statement = connection.prepareStatement("select 1")) {
+                try (ResultSet set = statement.executeQuery()) {
+                    while (set.next()) {
+                        assertThat(set.getInt(1)).isEqualTo(1);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testIgnoreExceptionOnPreLoad() throws Exception {
+        factory.setUrl("jdbc:h2:nonsense:invalid");
+        factory.setIgnoreExceptionOnPreLoad(true);
+        dataSource();
+    }
+
+    @Test
+    public void singleConnectionPool() throws Exception {
+        factory.asSingleConnectionPool();
+        final ManagedHikariDataSource source = (ManagedHikariDataSource) dataSource();
+
+        assertThat(source.getPoolConfig().getMinimumIdle()).isEqualTo(1);
+        assertThat(source.getPoolConfig().getMaximumPoolSize()).isEqualTo(1);
+    }
+
+    @Test
+    public void metricsRecorded() throws Exception {
+        try (Connection connection = dataSource().getConnection()) {
+            assertThat(connection.isValid(1)).isTrue();
+        }
+
+        Map<String, Gauge> poolMetrics = metricRegistry.getGauges(MetricFilter.startsWith("io.dropwizard.db.ManagedHikariDataSource.test."));
+        assertThat(poolMetrics.keySet()).containsOnly(
+            "io.dropwizard.db.ManagedHikariDataSource.test.active",
+            "io.dropwizard.db.ManagedHikariDataSource.test.idle",
+            "io.dropwizard.db.ManagedHikariDataSource.test.waiting",
+            "io.dropwizard.db.ManagedHikariDataSource.test.size",
+            "io.dropwizard.db.ManagedHikariDataSource.test.created",
+            "io.dropwizard.db.ManagedHikariDataSource.test.borrowed",
+            "io.dropwizard.db.ManagedHikariDataSource.test.returned",
+            "io.dropwizard.db.ManagedHikariDataSource.test.timeouts");
+        assertThat(poolMetrics.get("io.dropwizard.db.ManagedHikariDataSource.test.borrowed").getValue()).isEqualTo(1L);
+        assertThat(poolMetrics.get("io.dropwizard.db.ManagedHikariDataSource.test.returned").getValue()).isEqualTo(1L);
+        assertThat(poolMetrics.get("io.dropwizard.db.ManagedHikariDataSource.test.active").getValue()).isEqualTo(0);
+    }
+
+    @Test
+    public void createHikariFactory() throws Exception {
+        final PooledDataSourceFactory factory = new YamlConfigurationFactory<>(PooledDataSourceFactory.class,
+            BaseValidator.newValidator(), Jackson.newObjectMapper(), "dw")
+            .build(new ResourceConfigurationSourceProvider(), "yaml/hikari_db_pool.yml");
+
+        assertThat(factory).isInstanceOf(HikariDataSourceFactory.class);
+        final HikariDataSourceFactory hikari = (HikariDataSourceFactory) factory;
+        assertThat(hikari.getDriverClass()).isEqualTo("org.postgresql.Driver");
+        assertThat(hikari.getUser()).isEqualTo("pg-user");
+        assertThat(hikari.getPassword()).isEqualTo("iAMs00perSecrEET");
+        assertThat(hikari.getUrl()).isEqualTo("jdbc:postgresql://db.example.com/db-prod");
+        assertThat(hikari.getProperties()).containsEntry("charSet", "UTF-8");
+        assertThat(hikari.getMaxWaitForConnection()).isEqualTo(Duration.seconds(1));
+        assertThat(hikari.getMinSize()).isEqualTo(8);
+        assertThat(hikari.getMaxSize()).isEqualTo(32);
+        assertThat(hikari.getMinIdleTime()).isEqualTo(Duration.minutes(1));
+        assertThat(hikari.getMaxConnectionAge()).isEqualTo(Optional.of(Duration.hours(1)));
+        assertThat(hikari.getLeakDetectionThreshold()).isEqualTo(Optional.of(Duration.seconds(5)));
+        assertThat(hikari.getDefaultTransactionIsolation())
+            .isEqualTo(DataSourceFactory.TransactionIsolation.READ_COMMITTED);
+        assertThat(hikari.getValidationQuery()).isEqualTo("/* Health Check */ SELECT 1");
+    }
+
+    @Test
+    public void createTomcatFactoryWithoutType() throws Exception {
+        final PooledDataSourceFactory factory = new YamlConfigurationFactory<>(PooledDataSourceFactory.class,
+            BaseValidator.newValidator(), Jackson.newObjectMapper(), "dw")
+            .build(new ResourceConfigurationSourceProvider(), "yaml/minimal_db_pool.yml");
+
+        assertThat(factory).isInstanceOf(DataSourceFactory.class);
+        assertThat(factory.getDriverClass()).isEqualTo("org.postgresql.Driver");
+    }
+}
@@ -0,0 +1,188 @@
+package io.dropwizard.db;
+
+import com.codahale.metrics.MetricRegistry;
+import io.dropwizard.configuration.ResourceConfigurationSourceProvider;
+import io.dropwizard.configuration.YamlConfigurationFactory;
+import io.dropwizard.jackson.Jackson;
+import io.dropwizard.util.Duration;
+import io.dropwizard.validation.BaseValidator;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.annotation.Nullable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class ManagedRoutingDataSourceTest {
+    private final MetricRegistry metricRegistry = new MetricRegistry();
+    private final String prefix = "jdbc:h2:mem:RoutingTest-" + System.nanoTime();
+
+    private RoutingDataSourceFactory factory;
+
+    @Nullable
+    private ManagedRoutingDataSource dataSource;
+
+    @Before
+    public void setUp() {
+        factory = new RoutingDataSourceFactory();
+        factory.setPrimary(h2("primary"));
+        factory.setReplicas(Arrays.asList(h2("replica1"), h2("replica2")));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        ReplicaRouting.setReadOnly(false);
+        if (dataSource != null) {
+            dataSource.stop();
+        }
+    }
+
+    private DataSourceFactory h2(String database) {
+        final DataSourceFactory h2 = new DataSourceFactory();
+        h2.setDriverClass("org.h2.Driver");
+        h2.setUrl(prefix + "-" + database + ";user=sa");
+        h2.setValidationQuery("SELECT 1");
+        h2.setInitialSize(1);
+        h2.setMinSize(1);
+        h2.setMaxSize(4);
+        return h2;
+    }
+
+    private ManagedRoutingDataSource dataSource() throws Exception {
+        dataSource = (ManagedRoutingDataSource) factory.build(metricRegistry, "test");
+        dataSource.start();
+        return dataSource;
+    }
+
+    @Test
+    public void stopsEveryDataSourceEvenIfOneFails() throws Exception {
+        final ManagedDataSource primary = mock(ManagedDataSource.class);
+        final ManagedDataSource replica1 = mock(ManagedDataSource.class);
+        final ManagedDataSource replica2 = mock(ManagedDataSource.class);
+        final SQLException failure = new SQLException("replica1");
+        doThrow(failure).when(replica1).stop();
+        doThrow(new SQLException("primary")).when(primary).stop();
+        final ManagedRoutingDataSource routing = new ManagedRoutingDataSource("test", primary,
+            Arrays.asList(replica1, replica2), metricRegistry, "SELECT 1", Duration.seconds(1), null,
+            Duration.seconds(10), Duration.seconds(5));
+
+        assertThatThrownBy(routing::stop)
+            .isSameAs(failure)
+            .satisfies(e -> assertThat(e.getSuppressed()).extracting(Throwable::getMessage).containsExactly("primary"));
+        verify(replica2).stop();
+        verify(primary).stop();
+    }
+
+    private static String database(Connection connection) throws SQLException {
+        final String url = connection.getMetaData().getURL();
+        return url.substring(url.lastIndexOf('-') + 1);
+    }
+
+    @Test
+    public void sendsWritesToThePrimary() throws Exception {
+        try (Connection connection = dataSource().getConnection()) {
+            assertThat(database(connection)).isEqualTo("primary");
+        }
+    }
+
+    @Test
+    public void sendsReadOnlyWorkToTheReplicas() throws Exception {
+        final ManagedRoutingDataSource dataSource = dataSource();
+        final String database = ReplicaRouting.readOnly(() -> {
+            try (Connection connection = dataSource.getConnection()) {
+                return database(connection);
+            }
+        });
+        assertThat(database).startsWith("replica");
+        assertThat(ReplicaRouting.isReadOnly()).isFalse();
+    }
+
+    @Test
+    public void prefersTheReplicaWithTheLeastOutstandingConnections() throws Exception {
+        final ManagedRoutingDataSource dataSource = dataSource();
+        ReplicaRouting.setReadOnly(true);
+        try (Connection first = dataSource.getConnection();
+             Connection second = dataSource.getConnection()) {
+            assertThat(database(first)).isNotEqualTo(database(second));
+        }
+        assertThat(metricRegistry.getGauges().get("io.dropwizard.db.ManagedRoutingDataSource.test.replica-0.outstanding").getValue())
+            .isEqualTo(0);
+    }
+
+    @Test
+    public void ejectsReplicasFailingTheirCheck() throws Exception {
+        final DataSourceFactory broken = h2("broken");
+        broken.setUrl("jdbc:h2:nonsense:invalid");
+        broken.setInitialSize(0);
+        factory.setReplicas(Arrays.asList(broken, h2("replica2")));
+        final ManagedRoutingDataSource dataSource = dataSource();
+
+        dataSource.checkReplicas();
+
+        assertThat(dataSource.getAvailableReplicas()).isEqualTo(1);
+        ReplicaRouting.setReadOnly(true);
+        for (int i = 0; i < 4; i++) {
+            try (Connection connection = dataSource.getConnection()) {
+                assertThat(database(connection)).isEqualTo("replica2");
+            }
+        }
+    }
+
+    @Test
+    public void ejectsLaggingReplicasAndFallsBackToThePrimary() throws Exception {
+        factory.setReplicaLagQuery("SELECT 60");
+        factory.setMaxReplicaLag(Duration.seconds(30));
+        final ManagedRoutingDataSource dataSource = dataSource();
+
+        dataSource.checkReplicas();
+
+        assertThat(dataSource.getAvailableReplicas()).isEqualTo(0);
+        ReplicaRouting.setReadOnly(true);
+        try (Connection connection = dataSource.getConnection()) {
+            assertThat(database(connection)).isEqualTo("primary");
+        }
+        assertThat(metricRegistry.counter("io.dropwizard.db.ManagedRoutingDataSource.test.primary-fallbacks").getCount())
+            .isEqualTo(1);
+    }
+
+    @Test
+    public void readmitsReplicasWhichCaughtUp() throws Exception {
+        factory.setReplicaLagQuery("SELECT 5");
+        factory.setMaxReplicaLag(Duration.seconds(30));
+        final ManagedRoutingDataSource dataSource = dataSource();
+
+        dataSource.checkReplicas();
+
+        assertThat(dataSource.getAvailableReplicas()).isEqualTo(2);
+        assertThat(metricRegistry.getGauges().get("io.dropwizard.db.ManagedRoutingDataSource.test.replica-1.lag").getValue())
+            .isEqualTo(5.0);
+    }
+
+    @Test
+    public void createRoutingFactory() throws Exception {
+        final PooledDataSourceFactory factory = new YamlConfigurationFactory<>(PooledDataSourceFactory.class,
+            BaseValidator.newValidator(), Jackson.newObjectMapper(), "dw")
+            .build(new ResourceConfigurationSourceProvider(), "yaml/routing_db_pool.yml");
+
+        assertThat(factory).isInstanceOf(RoutingDataSourceFactory.class);
+        final RoutingDataSourceFactory routing = (RoutingDataSourceFactory) factory;
+        assertThat(routing.getUrl()).isEqualTo("jdbc:postgresql://primary.example.com/db-prod");
+        assertThat(routing.getValidationQuery()).isEqualTo("/* Health Check */ SELECT 1");
+        assertThat(routing.getReplicas()).hasSize(2);
+        assertThat(routing.getReplicas().get(0)).isInstanceOf(DataSourceFactory.class);
+        assertThat(routing.getReplicas().get(1)).isInstanceOf(HikariDataSourceFactory.class);
+        assertThat(routing.getReplicaLagQuery()).isPresent();
+        assertThat(routing.getMaxReplicaLag()).isEqualTo(Duration.seconds(10));
+        assertThat(routing.getReplicaCheckInterval()).isEqualTo(Duration.seconds(5));
+        assertThat(routing.getValidationQueryTimeout()).isEqualTo(Optional.empty());
+    }
+}
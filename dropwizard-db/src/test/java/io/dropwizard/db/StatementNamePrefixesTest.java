@@ -0,0 +1,60 @@
+package io.dropwizard.db;
+
+import com.codahale.metrics.MetricRegistry;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class StatementNamePrefixesTest {
+    public interface MyDao {
+        int myDbCall();
+    }
+
+    public interface MyOtherDao extends MyDao {
+    }
+
+    private final StatementNamePrefixes prefixes = new StatementNamePrefixes();
+
+    @Test
+    public void prependsTheNameOfTheMethod() throws NoSuchMethodException {
+        assertThat(prefixes.prepend(MyDao.class, MyDao.class.getMethod("myDbCall"), "SELECT 1"))
+            .isEqualTo("/* MyDao.myDbCall */ SELECT 1");
+        assertThat(prefixes.prepend(MyDao.class, MyDao.class.getMethod("myDbCall"), "SELECT 2"))
+            .isEqualTo("/* MyDao.myDbCall */ SELECT 2");
+
+        assertThat(prefixes.getCacheHits()).isEqualTo(1);
+        assertThat(prefixes.getCacheMisses()).isEqualTo(1);
+        assertThat(prefixes.getCacheSize()).isEqualTo(1);
+    }
+
+    @Test
+    public void namesTheTypeOfAnInheritedMethod() throws NoSuchMethodException {
+        prefixes.prepend(MyDao.class, MyDao.class.getMethod("myDbCall"), "SELECT 1");
+
+        assertThat(prefixes.prepend(MyOtherDao.class, MyDao.class.getMethod("myDbCall"), "SELECT 1"))
+            .isEqualTo("/* MyOtherDao.myDbCall */ SELECT 1");
+    }
+
+    @Test
+    public void omitsTheNameOfAnAnonymousType() throws NoSuchMethodException {
+        final Object dao = new Object() {
+        };
+
+        assertThat(prefixes.prepend(dao.getClass(), Object.class.getMethod("hashCode"), "SELECT 1"))
+            .isEqualTo("/* hashCode */ SELECT 1");
+    }
+
+    @Test
+    public void keepsTheGaugesOfAnExistingCache() throws NoSuchMethodException {
+        final MetricRegistry metrics = new MetricRegistry();
+        prefixes.registerMetrics(metrics, "db");
+        new StatementNamePrefixes().registerMetrics(metrics, "db");
+
+        prefixes.prepend(MyDao.class, MyDao.class.getMethod("myDbCall"), "SELECT 1");
+
+        assertThat(metrics.getGauges()).containsOnlyKeys(
+            "db.cache-hits", "db.cache-misses", "db.cache-size", "db.cache-hit-ratio");
+        assertThat(metrics.getGauges().get("db.cache-misses").getValue()).isEqualTo(1L);
+        assertThat(metrics.getGauges().get("db.cache-hit-ratio").getValue()).isEqualTo(0.0);
+    }
+}
@@ -18,6 +18,10 @@ import javax.ws.rs.ext.ExceptionMapper;
 public class App1 extends Application<Configuration> {
     public volatile boolean wasEofExceptionHit = false;
 
+    public static void main(String[] args) throws Exception {
+        new App1().run(args);
+    }
+
     @Override
     public void initialize(Bootstrap<Configuration> bootstrap) {
         bootstrap.addBundle(new ViewBundle<>());
@@ -9,7 +9,7 @@ import io.dropwizard.setup.Environment;
 public class FormsApp extends Application<Configuration> {
     @Override
     public void initialize(Bootstrap<Configuration> bootstrap) {
-        bootstrap.addBundle(new MultiPartBundle());
+        bootstrap.addBundle(new MultiPartBundle<>());
     }
 
     @Override
@@ -0,0 +1,161 @@
+package com.example.app1;
+
+import io.dropwizard.Configuration;
+import io.dropwizard.cli.ClassDataSharingCommand;
+import io.dropwizard.cli.Cli;
+import io.dropwizard.setup.Bootstrap;
+import io.dropwizard.testing.ResourceHelpers;
+import io.dropwizard.util.JarLocation;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assume.assumeTrue;
+
+public class ClassDataSharingTest {
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private final ByteArrayOutputStream stdOut = new ByteArrayOutputStream();
+    private final ByteArrayOutputStream stdErr = new ByteArrayOutputStream();
+    private final String config = ResourceHelpers.resourceFilePath("app1/config.yml");
+    private Cli cli;
+
+    @Before
+    public void setUp() throws Exception {
+        final App1 application = new App1();
+        final Bootstrap<Configuration> bootstrap = new Bootstrap<>(application);
+        application.initialize(bootstrap);
+        // Added by Application#run with the other default commands
+        bootstrap.addCommand(new ClassDataSharingCommand<>(application));
+        cli = new Cli(new JarLocation(App1.class), bootstrap, stdOut, stdErr);
+    }
+
+    @Test
+    public void startsAndStopsTheApplicationOfATrainingRun() throws Exception {
+        assertThat(cli.run("cds", "--training", config))
+            .as("stderr: %s", new String(stdErr.toByteArray(), StandardCharsets.UTF_8))
+            .isTrue();
+    }
+
+    @Test
+    public void createsAnArchiveWhichSpeedsUpTheStartup() throws Exception {
+        assumeTrue(!System.getProperty("java.specification.version").startsWith("1."));
+        assumeTrue(!"9".equals(System.getProperty("java.specification.version")));
+
+        // AppCDS only archives classes loaded from JAR files, so the classes of the build are packaged first
+        final String classPath = packageClassPath();
+        final File archive = new File(folder.getRoot(), "app1.jsa");
+        java(classPath, App1.class.getName(), "cds", "--archive", archive.getPath(), config);
+
+        assertThat(archive).isFile();
+        // Newer JDKs append the identifiers of the classes to their names
+        assertThat(Files.readAllLines(new File(folder.getRoot(), "app1.classlist").toPath()))
+            .anyMatch(line -> line.startsWith("com/example/app1/App1"))
+            .anyMatch(line -> line.startsWith("io/dropwizard/jersey/DropwizardResourceConfig"));
+
+        final List<String> lines = java(classPath, "-Xshare:on", "-XX:SharedArchiveFile=" + archive,
+            "-Xlog:class+load=info", App1.class.getName(), "check", config);
+        // The classes of the application are mapped from the archive
+        assertThat(lines)
+            .anyMatch(line -> line.contains(" com.example.app1.App1 source: shared objects file"))
+            .anyMatch(line -> line.contains(" io.dropwizard.Application source: shared objects file"));
+
+        // The fastest of a few runs, as a single run is at the mercy of the load of the machine
+        final long withoutArchive = startupMillis(classPath);
+        final long withArchive = startupMillis(classPath, "-Xshare:on", "-XX:SharedArchiveFile=" + archive);
+        assertThat(withArchive)
+            .as("startup in ms with the archive, and without it in %d ms", withoutArchive)
+            .isLessThan(withoutArchive);
+    }
+
+    /**
+     * Returns the shortest time to start and stop the server of the application in a few runs.
+     */
+    private long startupMillis(String classPath, String... flags) throws IOException, InterruptedException {
+        final List<String> arguments = new ArrayList<>(Arrays.asList(flags));
+        arguments.addAll(Arrays.asList(App1.class.getName(), "cds", "--training", config));
+        long fastest = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            final long start = System.nanoTime();
+            java(classPath, arguments.toArray(new String[0]));
+            fastest = Math.min(fastest, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+        return fastest;
+    }
+
+    /**
+     * Replaces the directories of the class path with JAR files of their contents.
+     */
+    private String packageClassPath() throws IOException {
+        final List<String> entries = new ArrayList<>();
+        for (String entry : System.getProperty("java.class.path").split(File.pathSeparator)) {
+            final File file = new File(entry);
+            if (file.isDirectory()) {
+                final File jar = new File(folder.getRoot(), entries.size() + "-" + file.getName() + ".jar");
+                jar(file.toPath(), jar);
+                entries.add(jar.getPath());
+            } else if (file.isFile()) {
+                entries.add(file.getPath());
+            }
+        }
+        return String.join(File.pathSeparator, entries);
+    }
+
+    private static void jar(Path directory, File jar) throws IOException {
+        try (JarOutputStream output = new JarOutputStream(Files.newOutputStream(jar.toPath()));
+             Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.filter(Files::isRegularFile).sorted().collect(Collectors.toList())) {
+                final String name = directory.relativize(file).toString().replace(File.separatorChar, '/');
+                output.putNextEntry(new JarEntry(name));
+                Files.copy(file, output);
+                output.closeEntry();
+            }
+        }
+    }
+
+    /**
+     * Runs a JVM with the given class path and arguments, and returns its output if it succeeds.
+     */
+    private List<String> java(String classPath, String... arguments) throws IOException, InterruptedException {
+        final List<String> command = new ArrayList<>();
+        command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+        if ("10".equals(System.getProperty("java.specification.version"))) {
+            command.add("-XX:+UseAppCDS");
+        }
+        command.add("-cp");
+        command.add(classPath);
+        command.addAll(Arrays.asList(arguments));
+
+        final File output = folder.newFile();
+        final Process process = new ProcessBuilder(command)
+            .redirectErrorStream(true)
+            .redirectOutput(output)
+            .start();
+        if (!process.waitFor(10, TimeUnit.MINUTES)) {
+            process.destroyForcibly();
+        }
+        final List<String> lines = Files.readAllLines(output.toPath());
+        assertThat(process.isAlive() ? -1 : process.exitValue())
+            .as("output of %s: %s", command, String.join("\n", lines))
+            .isZero();
+        return lines;
+    }
+}
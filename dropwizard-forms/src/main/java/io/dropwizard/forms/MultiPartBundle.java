@@ -3,17 +3,30 @@ package io.dropwizard.forms;
 import io.dropwizard.Configuration;
 import io.dropwizard.ConfiguredBundle;
 import io.dropwizard.setup.Environment;
-import org.glassfish.jersey.media.multipart.MultiPartFeature;
 
 /**
  * A {@link ConfiguredBundle}, which enables the processing of multi-part form data by your application.
+ * <p/>
+ * Override {@link #getMultiPartFactory(Configuration)} to configure the spooling of parts to disk and the
+ * limits of their sizes.
  *
+ * @see MultiPartFactory
  * @see org.glassfish.jersey.media.multipart.MultiPartFeature
  * @see <a href="https://jersey.java.net/documentation/latest/media.html#multipart">Jersey Multipart</a>
  */
-public class MultiPartBundle implements ConfiguredBundle<Configuration> {
+public class MultiPartBundle<T extends Configuration> implements ConfiguredBundle<T> {
+    /**
+     * Returns the configuration of the processing of multi-part form data.
+     *
+     * @param configuration the application's configuration
+     * @return the {@link MultiPartFactory}, with the defaults of Jersey unless overridden
+     */
+    public MultiPartFactory getMultiPartFactory(T configuration) {
+        return new MultiPartFactory();
+    }
+
     @Override
-    public void run(Configuration configuration, Environment environment) {
-        environment.jersey().register(MultiPartFeature.class);
+    public void run(T configuration, Environment environment) {
+        getMultiPartFactory(configuration).configure(environment);
     }
 }
@@ -0,0 +1,152 @@
+package io.dropwizard.forms;
+
+import com.codahale.metrics.MetricRegistry;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.dropwizard.setup.Environment;
+import io.dropwizard.util.Size;
+import io.dropwizard.validation.MaxSize;
+import org.glassfish.jersey.media.multipart.MultiPartFeature;
+import org.glassfish.jersey.media.multipart.MultiPartProperties;
+
+import javax.annotation.Nullable;
+import javax.validation.constraints.NotNull;
+import javax.ws.rs.ext.ContextResolver;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+/**
+ * A factory for configuring the processing of multi-part form data.
+ * <p/>
+ * Parts larger than the buffer threshold are spooled to temporary files, which are deleted at the end of
+ * the request. Resources reading a part as an {@link java.io.InputStream} read it straight from memory or
+ * from its temporary file.
+ * <p/>
+ * <b>Configuration Parameters:</b>
+ * <table>
+ *     <tr>
+ *         <td>Name</td>
+ *         <td>Default</td>
+ *         <td>Description</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code bufferThreshold}</td>
+ *         <td>4KiB</td>
+ *         <td>Parts larger than this are spooled to temporary files instead of being kept in memory.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code tempDirectory}</td>
+ *         <td>(the {@code java.io.tmpdir} system property)</td>
+ *         <td>The directory of the temporary files. It's created if it doesn't exist.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code maxPartSize}</td>
+ *         <td>(none)</td>
+ *         <td>Requests with a part larger than this, including its headers, are rejected with
+ *             {@code 413 Request Entity Too Large} as soon as the part exceeds it.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code maxRequestSize}</td>
+ *         <td>(none)</td>
+ *         <td>Multi-part requests larger than this are rejected with {@code 413 Request Entity Too Large}.
+ *             Requests which declare a larger {@code Content-Length} are rejected before they are read.</td>
+ *     </tr>
+ * </table>
+ */
+public class MultiPartFactory {
+    @NotNull
+    @MaxSize(Integer.MAX_VALUE)
+    private Size bufferThreshold = Size.bytes(MultiPartProperties.DEFAULT_BUFFER_THRESHOLD);
+
+    @Nullable
+    private String tempDirectory;
+
+    @Nullable
+    private Size maxPartSize;
+
+    @Nullable
+    private Size maxRequestSize;
+
+    @JsonProperty
+    public Size getBufferThreshold() {
+        return bufferThreshold;
+    }
+
+    @JsonProperty
+    public void setBufferThreshold(Size bufferThreshold) {
+        this.bufferThreshold = bufferThreshold;
+    }
+
+    @JsonProperty
+    @Nullable
+    public String getTempDirectory() {
+        return tempDirectory;
+    }
+
+    @JsonProperty
+    public void setTempDirectory(@Nullable String tempDirectory) {
+        this.tempDirectory = tempDirectory;
+    }
+
+    @JsonProperty
+    @Nullable
+    public Size getMaxPartSize() {
+        return maxPartSize;
+    }
+
+    @JsonProperty
+    public void setMaxPartSize(@Nullable Size maxPartSize) {
+        this.maxPartSize = maxPartSize;
+    }
+
+    @JsonProperty
+    @Nullable
+    public Size getMaxRequestSize() {
+        return maxRequestSize;
+    }
+
+    @JsonProperty
+    public void setMaxRequestSize(@Nullable Size maxRequestSize) {
+        this.maxRequestSize = maxRequestSize;
+    }
+
+    /**
+     * Enables the processing of multi-part form data in the given environment.
+     *
+     * @param environment the application's environment
+     */
+    public void configure(Environment environment) {
+        final MultiPartProperties properties = new MultiPartProperties()
+            .bufferThreshold((int) bufferThreshold.toBytes());
+        if (tempDirectory != null) {
+            try {
+                Files.createDirectories(Paths.get(tempDirectory));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to create the temporary directory " + tempDirectory, e);
+            }
+            properties.tempDir(tempDirectory);
+        }
+
+        environment.jersey().register(MultiPartFeature.class);
+        environment.jersey().register(new MultiPartPropertiesResolver(properties));
+        environment.jersey().register(new MultiPartLimitFilter(
+            maxRequestSize == null ? -1 : maxRequestSize.toBytes(),
+            maxPartSize == null ? -1 : maxPartSize.toBytes(),
+            bufferThreshold.toBytes(),
+            environment.metrics().counter(MetricRegistry.name(MultiPartBundle.class, "spooled-bytes"))));
+    }
+
+    static class MultiPartPropertiesResolver implements ContextResolver<MultiPartProperties> {
+        private final MultiPartProperties properties;
+
+        MultiPartPropertiesResolver(MultiPartProperties properties) {
+            this.properties = properties;
+        }
+
+        @Override
+        public MultiPartProperties getContext(Class<?> type) {
+            return properties;
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package io.dropwizard.forms;
+
+import com.codahale.metrics.Counter;
+
+import javax.annotation.Nullable;
+import javax.annotation.Priority;
+import javax.ws.rs.Priorities;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.core.MediaType;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A filter which enforces the size limits of multi-part requests while they are read, and counts the bytes
+ * of the parts which are spooled to disk.
+ * <p/>
+ * The parts are delimited by scanning the request for its boundary, so the limits apply to the parts as
+ * transferred, including their headers.
+ */
+@Priority(Priorities.ENTITY_CODER)
+class MultiPartLimitFilter implements ContainerRequestFilter {
+    private static final int REQUEST_ENTITY_TOO_LARGE = 413;
+
+    private final long maxRequestSize;
+    private final long maxPartSize;
+    private final long bufferThreshold;
+    private final Counter spooledBytes;
+
+    /**
+     * @param maxRequestSize  the maximum size of a request, or {@code -1} for none
+     * @param maxPartSize     the maximum size of a part, or {@code -1} for none
+     * @param bufferThreshold the size from which parts are spooled to disk, or {@code -1} if they never are
+     * @param spooledBytes    the counter of the bytes spooled to disk
+     */
+    MultiPartLimitFilter(long maxRequestSize, long maxPartSize, long bufferThreshold, Counter spooledBytes) {
+        this.maxRequestSize = maxRequestSize;
+        this.maxPartSize = maxPartSize;
+        this.bufferThreshold = bufferThreshold;
+        this.spooledBytes = spooledBytes;
+    }
+
+    @Override
+    public void filter(ContainerRequestContext requestContext) throws IOException {
+        final MediaType mediaType = requestContext.getMediaType();
+        if (mediaType == null || !"multipart".equalsIgnoreCase(mediaType.getType())) {
+            return;
+        }
+        if (maxRequestSize >= 0 && requestContext.getLength() > maxRequestSize) {
+            throw tooLarge("request", maxRequestSize);
+        }
+        final String boundary = mediaType.getParameters().get("boundary");
+        requestContext.setEntityStream(new LimitedInputStream(requestContext.getEntityStream(), boundary));
+    }
+
+    private static WebApplicationException tooLarge(String entity, long limit) {
+        return new WebApplicationException("The " + entity + " is larger than " + limit + " bytes",
+            REQUEST_ENTITY_TOO_LARGE);
+    }
+
+    private class LimitedInputStream extends FilterInputStream {
+        @Nullable
+        private final byte[] delimiter;
+        private final byte[] single = new byte[1];
+        private int matched;
+        private long requestBytes;
+        private long partBytes;
+        private boolean spooling;
+
+        LimitedInputStream(InputStream in, @Nullable String boundary) {
+            super(in);
+            this.delimiter = boundary == null ? null : ("\r\n--" + boundary).getBytes(StandardCharsets.US_ASCII);
+            // The first delimiter isn't preceded by a line break
+            this.matched = 2;
+        }
+
+        @Override
+        public int read() throws IOException {
+            final int b = super.read();
+            if (b >= 0) {
+                single[0] = (byte) b;
+                count(single, 0, 1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            final int n = super.read(b, off, len);
+            if (n > 0) {
+                count(b, off, n);
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            final byte[] buffer = new byte[(int) Math.min(n, 8192)];
+            final int skipped = read(buffer, 0, buffer.length);
+            return Math.max(skipped, 0);
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        /**
+         * Counts the bytes of a read, and checks the limits once for all of them.
+         */
+        private void count(byte[] b, int off, int len) {
+            requestBytes += len;
+            if (maxRequestSize >= 0 && requestBytes > maxRequestSize) {
+                throw tooLarge("request", maxRequestSize);
+            }
+            if (delimiter == null) {
+                return;
+            }
+
+            long largestPart = partBytes;
+            long spooled = 0;
+            for (int i = off; i < off + len; i++) {
+                if (b[i] == delimiter[matched]) {
+                    if (++matched == delimiter.length) {
+                        largestPart = Math.max(largestPart, partBytes);
+                        matched = 0;
+                        partBytes = 0;
+                        spooling = false;
+                        continue;
+                    }
+                } else {
+                    matched = b[i] == delimiter[0] ? 1 : 0;
+                }
+
+                partBytes++;
+                if (spooling) {
+                    spooled++;
+                } else if (bufferThreshold >= 0 && partBytes > bufferThreshold) {
+                    // Once a part exceeds the threshold, all of it is written to disk
+                    spooling = true;
+                    spooled += partBytes;
+                }
+            }
+            largestPart = Math.max(largestPart, partBytes);
+
+            if (spooled > 0) {
+                spooledBytes.inc(spooled);
+            }
+            if (maxPartSize >= 0 && largestPart > maxPartSize) {
+                throw tooLarge("part", maxPartSize);
+            }
+        }
+    }
+}
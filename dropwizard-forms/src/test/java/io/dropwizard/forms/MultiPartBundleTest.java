@@ -5,9 +5,27 @@ import io.dropwizard.Configuration;
 import io.dropwizard.jackson.Jackson;
 import io.dropwizard.logging.BootstrapLogging;
 import io.dropwizard.setup.Environment;
+import io.dropwizard.util.Size;
 import io.dropwizard.validation.BaseValidator;
+import org.glassfish.jersey.internal.MapPropertiesDelegate;
+import org.glassfish.jersey.media.multipart.FormDataParam;
 import org.glassfish.jersey.media.multipart.MultiPartFeature;
+import org.glassfish.jersey.media.multipart.MultiPartProperties;
+import org.glassfish.jersey.server.ApplicationHandler;
+import org.glassfish.jersey.server.ContainerRequest;
+import org.glassfish.jersey.server.ContainerResponse;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.ws.rs.Consumes;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -16,6 +34,9 @@ public class MultiPartBundleTest {
         BootstrapLogging.bootstrap();
     }
 
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     @Test
     public void testRun() throws Exception {
         final Environment environment = new Environment(
@@ -26,8 +47,111 @@ public class MultiPartBundleTest {
                 getClass().getClassLoader()
         );
 
-        new MultiPartBundle().run(new Configuration(), environment);
+        new MultiPartBundle<>().run(new Configuration(), environment);
 
         assertThat(environment.jersey().getResourceConfig().getClasses()).contains(MultiPartFeature.class);
     }
+
+    @Test
+    public void registersTheConfiguredProperties() throws Exception {
+        final Environment environment = new Environment(
+                "multipart-test",
+                Jackson.newObjectMapper(),
+                BaseValidator.newValidator(),
+                new MetricRegistry(),
+                getClass().getClassLoader()
+        );
+        final java.nio.file.Path tempDirectory = temporaryFolder.getRoot().toPath().resolve("uploads");
+
+        new MultiPartBundle<Configuration>() {
+            @Override
+            public MultiPartFactory getMultiPartFactory(Configuration configuration) {
+                final MultiPartFactory factory = new MultiPartFactory();
+                factory.setBufferThreshold(Size.kilobytes(64));
+                factory.setTempDirectory(tempDirectory.toString());
+                return factory;
+            }
+        }.run(new Configuration(), environment);
+
+        final MultiPartProperties properties = environment.jersey().getResourceConfig().getInstances().stream()
+            .filter(MultiPartFactory.MultiPartPropertiesResolver.class::isInstance)
+            .map(resolver -> ((MultiPartFactory.MultiPartPropertiesResolver) resolver).getContext(Object.class))
+            .findFirst()
+            .orElseThrow(AssertionError::new);
+        assertThat(properties.getBufferThreshold()).isEqualTo(64 * 1024);
+        assertThat(properties.getTempDir()).isEqualTo(tempDirectory.toString());
+        assertThat(tempDirectory).isDirectory();
+        assertThat(environment.jersey().getResourceConfig().getInstances())
+            .hasAtLeastOneElementOfType(MultiPartLimitFilter.class);
+    }
+
+    @Test
+    public void acceptsPartsWithinTheLimits() throws Exception {
+        final ContainerResponse response = upload(limitedApplication(), 1000);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getEntity()).isEqualTo("1000");
+    }
+
+    @Test
+    public void rejectsLargerPartsWith413() throws Exception {
+        assertThat(upload(limitedApplication(), 5000).getStatus()).isEqualTo(413);
+    }
+
+    @Test
+    public void rejectsLargerRequestsWith413() throws Exception {
+        assertThat(upload(limitedApplication(), 3000, 3000, 3000, 3000, 3000, 3000).getStatus()).isEqualTo(413);
+    }
+
+    private ApplicationHandler limitedApplication() {
+        final Environment environment = new Environment(
+                "multipart-test",
+                Jackson.newObjectMapper(),
+                BaseValidator.newValidator(),
+                new MetricRegistry(),
+                getClass().getClassLoader()
+        );
+        new MultiPartBundle<Configuration>() {
+            @Override
+            public MultiPartFactory getMultiPartFactory(Configuration configuration) {
+                final MultiPartFactory factory = new MultiPartFactory();
+                factory.setMaxPartSize(Size.kilobytes(4));
+                factory.setMaxRequestSize(Size.kilobytes(16));
+                return factory;
+            }
+        }.run(new Configuration(), environment);
+        environment.jersey().register(new UploadResource());
+        return new ApplicationHandler(environment.jersey().getResourceConfig());
+    }
+
+    /**
+     * Uploads files of the given sizes, without a content length, so the limits apply while the request is read.
+     */
+    private static ContainerResponse upload(ApplicationHandler application, int... sizes) throws Exception {
+        final StringBuilder body = new StringBuilder();
+        for (int size : sizes) {
+            body.append("--BOUNDARY\r\n")
+                .append("Content-Disposition: form-data; name=\"file\"\r\n\r\n");
+            for (int i = 0; i < size; i++) {
+                body.append('x');
+            }
+            body.append("\r\n");
+        }
+        body.append("--BOUNDARY--\r\n");
+
+        final ContainerRequest request = new ContainerRequest(URI.create("http://localhost/"),
+            URI.create("http://localhost/upload"), "POST", null, new MapPropertiesDelegate());
+        request.header(HttpHeaders.CONTENT_TYPE, MediaType.MULTIPART_FORM_DATA + "; boundary=BOUNDARY");
+        request.setEntityStream(new ByteArrayInputStream(body.toString().getBytes(StandardCharsets.US_ASCII)));
+        return application.apply(request).get();
+    }
+
+    @Path("/upload")
+    public static class UploadResource {
+        @POST
+        @Consumes(MediaType.MULTIPART_FORM_DATA)
+        public String upload(@FormDataParam("file") String file) {
+            return Integer.toString(file.length());
+        }
+    }
 }
@@ -0,0 +1,104 @@
+package io.dropwizard.forms;
+
+import com.codahale.metrics.Counter;
+import io.dropwizard.util.ByteStreams;
+import org.junit.Test;
+
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.core.MediaType;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class MultiPartLimitFilterTest {
+    private static final MediaType MULTIPART = new MediaType("multipart", "form-data",
+        Collections.singletonMap("boundary", "BOUNDARY"));
+
+    private final Counter spooledBytes = new Counter();
+    private final ContainerRequestContext request = mock(ContainerRequestContext.class);
+
+    @Test
+    public void ignoresOtherRequests() throws Exception {
+        when(request.getMediaType()).thenReturn(MediaType.APPLICATION_JSON_TYPE);
+
+        new MultiPartLimitFilter(1, 1, 1, spooledBytes).filter(request);
+
+        verify(request, never()).setEntityStream(any());
+    }
+
+    @Test
+    public void rejectsRequestsDeclaringALargerLength() {
+        when(request.getMediaType()).thenReturn(MULTIPART);
+        when(request.getLength()).thenReturn(1024);
+
+        assertThatThrownBy(() -> new MultiPartLimitFilter(100, -1, -1, spooledBytes).filter(request))
+            .isInstanceOf(WebApplicationException.class)
+            .satisfies(e -> assertThat(((WebApplicationException) e).getResponse().getStatus()).isEqualTo(413));
+    }
+
+    @Test
+    public void passesRequestsWithinTheLimits() throws Exception {
+        final String body = body(100, 100);
+
+        assertThat(read(new MultiPartLimitFilter(1024, 200, -1, spooledBytes), body)).isEqualTo(body);
+        assertThat(spooledBytes.getCount()).isZero();
+    }
+
+    @Test
+    public void rejectsLargerRequestsWhileReadingThem() {
+        assertThatThrownBy(() -> read(new MultiPartLimitFilter(150, -1, -1, spooledBytes), body(100, 100)))
+            .isInstanceOf(WebApplicationException.class)
+            .hasMessageContaining("request");
+    }
+
+    @Test
+    public void rejectsLargerParts() {
+        assertThatThrownBy(() -> read(new MultiPartLimitFilter(-1, 200, -1, spooledBytes), body(100, 300)))
+            .isInstanceOf(WebApplicationException.class)
+            .hasMessageContaining("part");
+    }
+
+    @Test
+    public void countsTheBytesOfPartsExceedingTheBufferThreshold() throws Exception {
+        read(new MultiPartLimitFilter(-1, -1, 200, spooledBytes), body(100, 300));
+
+        assertThat(spooledBytes.getCount()).isBetween(300L, 370L);
+    }
+
+    private String read(MultiPartLimitFilter filter, String body) throws IOException {
+        final InputStream[] stream = new InputStream[1];
+        when(request.getMediaType()).thenReturn(MULTIPART);
+        when(request.getLength()).thenReturn(-1);
+        when(request.getEntityStream()).thenReturn(new ByteArrayInputStream(body.getBytes(StandardCharsets.US_ASCII)));
+        doAnswer(invocation -> stream[0] = invocation.getArgument(0))
+            .when(request).setEntityStream(any());
+
+        filter.filter(request);
+        return new String(ByteStreams.toByteArray(stream[0]), StandardCharsets.US_ASCII);
+    }
+
+    private static String body(int... partSizes) {
+        final StringBuilder body = new StringBuilder();
+        for (int i = 0; i < partSizes.length; i++) {
+            body.append("--BOUNDARY\r\n")
+                .append("Content-Disposition: form-data; name=\"part").append(i).append("\"\r\n\r\n");
+            for (int j = 0; j < partSizes[i]; j++) {
+                body.append('x');
+            }
+            body.append("\r\n");
+        }
+        return body.append("--BOUNDARY--\r\n").toString();
+    }
+}
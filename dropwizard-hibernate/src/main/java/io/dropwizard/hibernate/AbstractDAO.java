@@ -1,17 +1,30 @@
 package io.dropwizard.hibernate;
 
+import io.dropwizard.db.ReplicaRouting;
 import io.dropwizard.util.Generics;
 import org.hibernate.Criteria;
 import org.hibernate.Hibernate;
 import org.hibernate.HibernateException;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
 import org.hibernate.query.Query;
 import org.hibernate.query.internal.AbstractProducedQuery;
 
 import java.io.Serializable;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
+import javax.annotation.Nullable;
 import javax.persistence.criteria.CriteriaQuery;
 
 import static java.util.Objects.requireNonNull;
@@ -36,11 +49,13 @@ public class AbstractDAO<E> {
     }
 
     /**
-     * Returns the current {@link Session}.
+     * Returns the current {@link Session}. If a {@link UnitOfWork#lazy() lazy} unit of work is running
+     * on the current thread, its session is opened by the first call.
      *
      * @return the current session
      */
     protected Session currentSession() {
+        UnitOfWorkAspect.openLazySession(sessionFactory);
         return sessionFactory.getCurrentSession();
     }
 
@@ -172,6 +187,104 @@ public class AbstractDAO<E> {
         return requireNonNull(query).list();
     }
 
+    /**
+     * Get the results of a {@link CriteriaQuery} query as a stream, which fetches the rows from the
+     * database while it is being consumed.
+     *
+     * @param criteria  the {@link CriteriaQuery} query to run
+     * @param fetchSize the number of rows fetched from the database at once
+     * @return the stream of matched query results, which must be closed
+     * @see #stream(Query, int)
+     */
+    protected Stream<E> stream(CriteriaQuery<E> criteria, int fetchSize) throws HibernateException {
+        return stream(currentSession().createQuery(requireNonNull(criteria)), fetchSize);
+    }
+
+    /**
+     * Get the results of a query as a stream, which fetches the rows from the database while it is
+     * being consumed.
+     * <p/>
+     * The results are loaded read-only, and each of them is evicted from the current session once the
+     * stream has moved on to the next one, so that the memory used by the session stays constant. Any
+     * changes made to a result are therefore discarded, and lazy associations of a result must be
+     * initialized while it is being processed.
+     * <p/>
+     * The stream holds on to a database cursor and must be closed, e.g. with a try-with-resources block.
+     *
+     * @param query     the query to run
+     * @param fetchSize the number of rows fetched from the database at once
+     * @return the stream of matched query results, which must be closed
+     * @see Query#scroll(ScrollMode)
+     */
+    protected Stream<E> stream(Query<E> query, int fetchSize) throws HibernateException {
+        final Session session = currentSession();
+        final ScrollableResults results = requireNonNull(query)
+            .setFetchSize(checkPositive(fetchSize, "fetchSize"))
+            .setReadOnly(true)
+            .scroll(ScrollMode.FORWARD_ONLY);
+        return StreamSupport.stream(new ScrollingSpliterator<E>(results, session::evict), false)
+            .onClose(results::close);
+    }
+
+    /**
+     * Get the results of an HQL query as a stream, using a new {@link StatelessSession}.
+     *
+     * @param queryString HQL query
+     * @param fetchSize   the number of rows fetched from the database at once
+     * @return the stream of matched query results, which must be closed
+     * @see #statelessStream(Function, int)
+     */
+    protected Stream<E> statelessStream(String queryString, int fetchSize) throws HibernateException {
+        requireNonNull(queryString);
+        return statelessStream(session -> session.createQuery(queryString, getEntityClass()), fetchSize);
+    }
+
+    /**
+     * Get the results of a query as a stream, using a new {@link StatelessSession} in its own read-only
+     * transaction. A stateless session doesn't keep track of the loaded entities at all, which makes it
+     * the cheapest way to read large result sets, but neither lazy loading nor caching is available.
+     * <p/>
+     * The connection of the stateless session is requested as read-only work, so that it is taken from
+     * a replica if the session factory is backed by a routing data source.
+     * <p/>
+     * The stream holds on to a database cursor and its own connection, so it must be closed, e.g. with a
+     * try-with-resources block.
+     *
+     * @param queryFactory creates the query to run with the given stateless session
+     * @param fetchSize    the number of rows fetched from the database at once
+     * @return the stream of matched query results, which must be closed
+     * @see ReplicaRouting
+     */
+    protected Stream<E> statelessStream(Function<StatelessSession, Query<E>> queryFactory,
+                                        int fetchSize) throws HibernateException {
+        requireNonNull(queryFactory);
+        checkPositive(fetchSize, "fetchSize");
+        final boolean previousRouting = ReplicaRouting.setReadOnly(true);
+        try {
+            final StatelessSession session = sessionFactory.openStatelessSession();
+            try {
+                session.beginTransaction();
+                final ScrollableResults results = queryFactory.apply(session)
+                    .setFetchSize(fetchSize)
+                    .setReadOnly(true)
+                    .scroll(ScrollMode.FORWARD_ONLY);
+                return StreamSupport.stream(new ScrollingSpliterator<E>(results, null), false)
+                    .onClose(() -> {
+                        try {
+                            results.close();
+                        } finally {
+                            closeStatelessSession(session);
+                        }
+                    });
+            } catch (RuntimeException e) {
+                closeStatelessSession(session);
+                throw e;
+            }
+        } finally {
+            ReplicaRouting.setReadOnly(previousRouting);
+        }
+    }
+
     /**
      * Return the persistent instance of {@code <E>} with the given identifier, or {@code null} if
      * there is no such persistent instance. (If the instance, or a proxy for the instance, is
@@ -203,6 +316,67 @@ public class AbstractDAO<E> {
         return entity;
     }
 
+    /**
+     * Either save or update the given instances in batches. After each batch, the current session is
+     * flushed and cleared, so that the memory used by the session stays constant.
+     * <p/>
+     * Clearing the session detaches <em>all</em> instances associated with it, including the ones loaded
+     * before this method was called. JDBC batching is enabled for the current session while this method
+     * runs, but Hibernate can't batch inserts of entities with identity-generated identifiers.
+     *
+     * @param entities  transient or detached instances containing new or updated state
+     * @param batchSize the number of instances written to the database at once
+     * @return the number of saved or updated instances
+     * @throws HibernateException
+     * @see #persist(Object)
+     */
+    protected long persistAll(Iterable<? extends E> entities, int batchSize) throws HibernateException {
+        return inBatches(entities, batchSize, Session::saveOrUpdate);
+    }
+
+    /**
+     * Update the given detached instances in batches. After each batch, the current session is flushed
+     * and cleared, so that the memory used by the session stays constant.
+     * <p/>
+     * Clearing the session detaches <em>all</em> instances associated with it, including the ones loaded
+     * before this method was called. JDBC batching is enabled for the current session while this method
+     * runs.
+     *
+     * @param entities  detached instances containing updated state
+     * @param batchSize the number of instances written to the database at once
+     * @return the number of updated instances
+     * @throws HibernateException
+     * @see Session#update(Object)
+     */
+    protected long updateAll(Iterable<? extends E> entities, int batchSize) throws HibernateException {
+        return inBatches(entities, batchSize, Session::update);
+    }
+
+    private long inBatches(Iterable<? extends E> entities, int batchSize, BiConsumer<Session, E> operation) {
+        requireNonNull(entities);
+        checkPositive(batchSize, "batchSize");
+        final Session session = currentSession();
+        final Integer previousBatchSize = session.getJdbcBatchSize();
+        session.setJdbcBatchSize(batchSize);
+        try {
+            long count = 0;
+            for (E entity : entities) {
+                operation.accept(session, requireNonNull(entity));
+                if (++count % batchSize == 0) {
+                    session.flush();
+                    session.clear();
+                }
+            }
+            if (count % batchSize != 0) {
+                session.flush();
+                session.clear();
+            }
+            return count;
+        } finally {
+            session.setJdbcBatchSize(previousBatchSize);
+        }
+    }
+
     /**
      * Force initialization of a proxy or persistent collection.
      * <p/>
@@ -218,4 +392,56 @@ public class AbstractDAO<E> {
         }
         return proxy;
     }
+
+    private static int checkPositive(int value, String name) {
+        if (value < 1) {
+            throw new IllegalArgumentException(name + " must be positive, but was " + value);
+        }
+        return value;
+    }
+
+    private static void closeStatelessSession(StatelessSession session) {
+        try {
+            final Transaction transaction = session.getTransaction();
+            if (transaction != null && transaction.getStatus().canRollback()) {
+                transaction.rollback();
+            }
+        } finally {
+            session.close();
+        }
+    }
+
+    /**
+     * Iterates over {@link ScrollableResults}, optionally releasing each result once the next one is
+     * requested.
+     */
+    private static class ScrollingSpliterator<E> extends Spliterators.AbstractSpliterator<E> {
+        private final ScrollableResults results;
+        @Nullable
+        private final Consumer<Object> release;
+        @Nullable
+        private E previous;
+
+        private ScrollingSpliterator(ScrollableResults results, @Nullable Consumer<Object> release) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.results = results;
+            this.release = release;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean tryAdvance(Consumer<? super E> action) {
+            if (previous != null && release != null) {
+                release.accept(previous);
+            }
+            previous = null;
+            if (!results.next()) {
+                return false;
+            }
+            final E result = (E) results.get(0);
+            previous = result;
+            action.accept(result);
+            return true;
+        }
+    }
 }
@@ -24,8 +24,11 @@ import static java.lang.annotation.RetentionPolicy.RUNTIME;
 public @interface UnitOfWork {
     /**
      * If {@code true}, the Hibernate session will default to loading read-only entities.
+     * <p>When the bundle uses a routing data source, the session's connection is taken from
+     * one of the read replicas.</p>
      *
      * @see org.hibernate.Session#setDefaultReadOnly(boolean)
+     * @see io.dropwizard.db.ReplicaRouting
      */
     boolean readOnly() default false;
 
@@ -35,6 +38,16 @@ public @interface UnitOfWork {
      */
     boolean transactional() default true;
 
+    /**
+     * If {@code true}, the session will not be opened and the transaction will not be started before
+     * the resource method is invoked, but only when the session is first requested by an
+     * {@link AbstractDAO}. Methods which don't touch the database, for example because they answer
+     * from a cache, then don't hold a pooled connection.
+     * <p>Code using {@link org.hibernate.SessionFactory#getCurrentSession()} directly will not see a
+     * session, until an {@link AbstractDAO} of the same session factory opened it.</p>
+     */
+    boolean lazy() default false;
+
     /**
      * The {@link CacheMode} for the session.
      *
@@ -1,15 +1,19 @@
 package io.dropwizard.hibernate;
 
 import org.glassfish.jersey.server.internal.process.MappableException;
+import org.glassfish.jersey.server.model.Resource;
 import org.glassfish.jersey.server.model.ResourceMethod;
+import org.glassfish.jersey.server.model.ResourceModel;
 import org.glassfish.jersey.server.monitoring.ApplicationEvent;
 import org.glassfish.jersey.server.monitoring.ApplicationEventListener;
 import org.glassfish.jersey.server.monitoring.RequestEvent;
 import org.glassfish.jersey.server.monitoring.RequestEventListener;
 import org.hibernate.SessionFactory;
 
+import javax.annotation.Nullable;
 import javax.ws.rs.ext.Provider;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
@@ -24,12 +28,18 @@ import java.util.concurrent.ConcurrentMap;
  * that updates the relevant metric for suitably annotated methods when it gets the
  * request events indicating that the method is about to be invoked, or just got done
  * being invoked.
+ *
+ * If none of the resource methods of the application is annotated with {@link UnitOfWork},
+ * a shared no-op {@link RequestEventListener} is returned for every request.
  */
 @Provider
 public class UnitOfWorkApplicationListener implements ApplicationEventListener {
 
+    private static final RequestEventListener NO_OP_LISTENER = event -> { };
+
     private ConcurrentMap<ResourceMethod, Optional<UnitOfWork>> methodMap = new ConcurrentHashMap<>();
     private Map<String, SessionFactory> sessionFactories = new HashMap<>();
+    private volatile boolean unitOfWorkAbsent;
 
     public UnitOfWorkApplicationListener() {
     }
@@ -60,12 +70,15 @@ public class UnitOfWorkApplicationListener implements ApplicationEventListener {
 
     private static class UnitOfWorkEventListener implements RequestEventListener {
         private ConcurrentMap<ResourceMethod, Optional<UnitOfWork>> methodMap;
-        private final UnitOfWorkAspect unitOfWorkAspect;
+        private final Map<String, SessionFactory> sessionFactories;
+
+        @Nullable
+        private UnitOfWorkAspect unitOfWorkAspect;
 
         UnitOfWorkEventListener(ConcurrentMap<ResourceMethod, Optional<UnitOfWork>> methodMap,
                                 Map<String, SessionFactory> sessionFactories) {
             this.methodMap = methodMap;
-            unitOfWorkAspect = new UnitOfWorkAspect(sessionFactories);
+            this.sessionFactories = sessionFactories;
         }
 
         @Override
@@ -74,8 +87,19 @@ public class UnitOfWorkApplicationListener implements ApplicationEventListener {
             if (eventType == RequestEvent.Type.RESOURCE_METHOD_START) {
                 Optional<UnitOfWork> unitOfWork = methodMap.computeIfAbsent(event.getUriInfo()
                         .getMatchedResourceMethod(), UnitOfWorkEventListener::registerUnitOfWorkAnnotations);
-                unitOfWorkAspect.beforeStart(unitOfWork.orElse(null));
-            } else if (eventType == RequestEvent.Type.RESP_FILTERS_START) {
+                if (unitOfWork.isPresent()) {
+                    final UnitOfWorkAspect unitOfWorkAspect = new UnitOfWorkAspect(sessionFactories);
+                    this.unitOfWorkAspect = unitOfWorkAspect;
+                    unitOfWorkAspect.beforeStart(unitOfWork.get());
+                }
+                return;
+            }
+
+            final UnitOfWorkAspect unitOfWorkAspect = this.unitOfWorkAspect;
+            if (unitOfWorkAspect == null) {
+                return;
+            }
+            if (eventType == RequestEvent.Type.RESP_FILTERS_START) {
                 try {
                     unitOfWorkAspect.afterEnd();
                 } catch (Exception e) {
@@ -88,7 +112,7 @@ public class UnitOfWorkApplicationListener implements ApplicationEventListener {
             }
         }
 
-        private static Optional<UnitOfWork> registerUnitOfWorkAnnotations(ResourceMethod method) {
+        static Optional<UnitOfWork> registerUnitOfWorkAnnotations(ResourceMethod method) {
             UnitOfWork annotation = method.getInvocable().getDefinitionMethod().getAnnotation(UnitOfWork.class);
             if (annotation == null) {
                 annotation = method.getInvocable().getHandlingMethod().getAnnotation(UnitOfWork.class);
@@ -99,12 +123,42 @@ public class UnitOfWorkApplicationListener implements ApplicationEventListener {
 
     @Override
     public void onEvent(ApplicationEvent event) {
+        final ApplicationEvent.Type eventType = event.getType();
+        if (eventType == ApplicationEvent.Type.INITIALIZATION_FINISHED ||
+            eventType == ApplicationEvent.Type.RELOAD_FINISHED) {
+            final ResourceModel resourceModel = event.getResourceModel();
+            unitOfWorkAbsent = resourceModel != null && !mayUseUnitOfWork(resourceModel.getResources());
+        }
     }
 
     @Override
     public RequestEventListener onRequest(RequestEvent event) {
+        if (unitOfWorkAbsent) {
+            return NO_OP_LISTENER;
+        }
         return new UnitOfWorkEventListener(methodMap, sessionFactories);
     }
 
+    /**
+     * Checks whether a request to the given resources may run in a unit of work. Sub-resource locators
+     * are resolved at request time, so they are assumed to lead to a unit of work.
+     */
+    private static boolean mayUseUnitOfWork(List<Resource> resources) {
+        for (Resource resource : resources) {
+            if (resource.getResourceLocator() != null) {
+                return true;
+            }
+            for (ResourceMethod method : resource.getAllMethods()) {
+                if (UnitOfWorkEventListener.registerUnitOfWorkAnnotations(method).isPresent()) {
+                    return true;
+                }
+            }
+            if (mayUseUnitOfWork(resource.getChildResources())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
 
 }
@@ -1,18 +1,22 @@
 package io.dropwizard.hibernate;
 
+import io.dropwizard.db.ReplicaRouting;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
 import org.hibernate.Transaction;
 import org.hibernate.context.internal.ManagedSessionContext;
 
 import javax.annotation.Nullable;
+import java.util.IdentityHashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static java.util.Objects.requireNonNull;
 
 /**
  * An aspect providing operations around a method with the {@link UnitOfWork} annotation.
- * It opens a Hibernate session and optionally a transaction.
+ * It opens a Hibernate session and optionally a transaction. For a {@link UnitOfWork#lazy() lazy}
+ * unit of work, both are deferred until {@link AbstractDAO#currentSession()} is first called.
  * <p>It should be created for every invocation of the method.</p>
  * <p>Usage :</p>
  * <pre>
@@ -36,6 +40,17 @@ import static java.util.Objects.requireNonNull;
  */
 public class UnitOfWorkAspect {
 
+    /**
+     * The lazy units of work of the current thread, which haven't opened their session yet, by session factory
+     */
+    private static final ThreadLocal<Map<SessionFactory, UnitOfWorkAspect>> LAZY_ASPECTS = new ThreadLocal<>();
+
+    /**
+     * The number of lazy units of work running on any thread, which spares {@link AbstractDAO#currentSession()} the
+     * lookup of {@link #LAZY_ASPECTS} while there are none
+     */
+    private static final AtomicInteger LAZY_UNITS = new AtomicInteger();
+
     private final Map<String, SessionFactory> sessionFactories;
 
     public UnitOfWorkAspect(Map<String, SessionFactory> sessionFactories) {
@@ -52,6 +67,13 @@ public class UnitOfWorkAspect {
     @Nullable
     private SessionFactory sessionFactory;
 
+    private boolean previousReadOnlyRouting;
+
+    private boolean lazy;
+
+    @Nullable
+    private UnitOfWorkAspect previousLazyAspect;
+
     public void beforeStart(@Nullable UnitOfWork unitOfWork) {
         if (unitOfWork == null) {
             return;
@@ -68,14 +90,57 @@ public class UnitOfWorkAspect {
                 throw new IllegalArgumentException("Unregistered Hibernate bundle: '" + unitOfWork.value() + "'");
             }
         }
-        session = sessionFactory.openSession();
+        if (unitOfWork.readOnly()) {
+            previousReadOnlyRouting = ReplicaRouting.setReadOnly(true);
+        }
+        if (unitOfWork.lazy()) {
+            Map<SessionFactory, UnitOfWorkAspect> aspects = LAZY_ASPECTS.get();
+            if (aspects == null) {
+                aspects = new IdentityHashMap<>();
+                LAZY_ASPECTS.set(aspects);
+            }
+            // Restored when this unit of work finishes, if it's nested in another lazy one
+            previousLazyAspect = aspects.put(sessionFactory, this);
+            lazy = true;
+            LAZY_UNITS.incrementAndGet();
+            return;
+        }
+        try {
+            openSession(unitOfWork, sessionFactory);
+        } catch (Throwable th) {
+            restoreRouting();
+            throw th;
+        }
+    }
+
+    /**
+     * Opens the session of the lazy unit of work, which is running on the current thread against the
+     * given session factory, unless it has been opened already.
+     *
+     * @param sessionFactory a {@link SessionFactory}
+     * @see UnitOfWork#lazy()
+     */
+    static void openLazySession(SessionFactory sessionFactory) {
+        if (LAZY_UNITS.get() == 0) {
+            return;
+        }
+        final Map<SessionFactory, UnitOfWorkAspect> aspects = LAZY_ASPECTS.get();
+        final UnitOfWorkAspect aspect = aspects == null ? null : aspects.remove(sessionFactory);
+        if (aspect != null && aspect.unitOfWork != null) {
+            aspect.openSession(aspect.unitOfWork, sessionFactory);
+        }
+    }
+
+    private void openSession(UnitOfWork unitOfWork, SessionFactory sessionFactory) {
+        final Session session = sessionFactory.openSession();
+        this.session = session;
         try {
             configureSession();
             ManagedSessionContext.bind(session);
             beginTransaction(unitOfWork, session);
         } catch (Throwable th) {
             session.close();
-            session = null;
+            this.session = null;
             ManagedSessionContext.unbind(sessionFactory);
             throw th;
         }
@@ -97,18 +162,24 @@ public class UnitOfWorkAspect {
     }
 
     public void onError() {
-        if (unitOfWork == null || session == null) {
+        if (unitOfWork == null) {
             return;
         }
 
         try {
-            rollbackTransaction(unitOfWork, session);
+            // A lazy unit of work may not have opened its session
+            if (session != null) {
+                rollbackTransaction(unitOfWork, session);
+            }
         } finally {
             onFinish();
         }
     }
 
     public void onFinish() {
+        if (lazy) {
+            finishLazy();
+        }
         try {
             if (session != null) {
                 session.close();
@@ -116,6 +187,32 @@ public class UnitOfWorkAspect {
         } finally {
             session = null;
             ManagedSessionContext.unbind(sessionFactory);
+            restoreRouting();
+        }
+    }
+
+    private void finishLazy() {
+        lazy = false;
+        LAZY_UNITS.decrementAndGet();
+        final Map<SessionFactory, UnitOfWorkAspect> aspects = LAZY_ASPECTS.get();
+        if (aspects == null || sessionFactory == null) {
+            return;
+        }
+        // Units of work on a thread finish in the reverse order of their start
+        if (previousLazyAspect != null) {
+            aspects.put(sessionFactory, previousLazyAspect);
+            previousLazyAspect = null;
+        } else {
+            aspects.remove(sessionFactory);
+        }
+        if (aspects.isEmpty()) {
+            LAZY_ASPECTS.remove();
+        }
+    }
+
+    private void restoreRouting() {
+        if (unitOfWork != null && unitOfWork.readOnly()) {
+            ReplicaRouting.setReadOnly(previousReadOnlyRouting);
         }
     }
 
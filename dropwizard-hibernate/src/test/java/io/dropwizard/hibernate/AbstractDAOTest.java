@@ -2,14 +2,21 @@ package io.dropwizard.hibernate;
 
 import org.hibernate.Criteria;
 import org.hibernate.HibernateException;
+import io.dropwizard.db.ReplicaRouting;
 import org.hibernate.NonUniqueResultException;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
 import org.hibernate.proxy.HibernateProxy;
 import org.hibernate.proxy.LazyInitializer;
 import org.hibernate.query.Query;
+import org.hibernate.resource.transaction.spi.TransactionStatus;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.InOrder;
 
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
@@ -17,12 +24,21 @@ import java.io.Serializable;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -83,6 +99,26 @@ public class AbstractDAOTest {
             return super.persist(entity);
         }
 
+        @Override
+        public Stream<String> stream(Query<String> query, int fetchSize) throws HibernateException {
+            return super.stream(query, fetchSize);
+        }
+
+        @Override
+        public Stream<String> statelessStream(String queryString, int fetchSize) throws HibernateException {
+            return super.statelessStream(queryString, fetchSize);
+        }
+
+        @Override
+        public long persistAll(Iterable<? extends String> entities, int batchSize) throws HibernateException {
+            return super.persistAll(entities, batchSize);
+        }
+
+        @Override
+        public long updateAll(Iterable<? extends String> entities, int batchSize) throws HibernateException {
+            return super.updateAll(entities, batchSize);
+        }
+
         @Override
         public <T> T initialize(T proxy) {
             return super.initialize(proxy);
@@ -97,6 +133,7 @@ public class AbstractDAOTest {
     @SuppressWarnings("unchecked")
     private final Query<String> query = mock(Query.class);
     private final Session session = mock(Session.class);
+    private final ScrollableResults results = mock(ScrollableResults.class);
     private final MockDAO dao = new MockDAO(factory);
 
     @Before
@@ -107,6 +144,12 @@ public class AbstractDAOTest {
         when(session.getCriteriaBuilder()).thenReturn(criteriaBuilder);
         when(session.getNamedQuery(anyString())).thenReturn(query);
         when(session.createQuery(anyString(), same(String.class))).thenReturn(query);
+        when(session.getJdbcBatchSize()).thenReturn(null);
+        when(query.setFetchSize(anyInt())).thenReturn(query);
+        when(query.setReadOnly(anyBoolean())).thenReturn(query);
+        when(query.scroll(ScrollMode.FORWARD_ONLY)).thenReturn(results);
+        when(results.next()).thenReturn(true, true, false);
+        when(results.get(0)).thenReturn("woo", "boo");
     }
 
     @Test
@@ -242,4 +285,88 @@ public class AbstractDAOTest {
 
         verify(initializer).initialize();
     }
+
+    @Test
+    public void streamsResultsFromQueries() throws Exception {
+        try (Stream<String> stream = dao.stream(query, 100)) {
+            assertThat(stream.collect(Collectors.toList()))
+                .containsExactly("woo", "boo");
+        }
+
+        verify(query).setFetchSize(100);
+        verify(query).setReadOnly(true);
+        verify(results).close();
+    }
+
+    @Test
+    public void evictsStreamedResultsOnceTheStreamMovesOn() throws Exception {
+        try (Stream<String> stream = dao.stream(query, 100)) {
+            stream.forEach(result -> verify(session, never()).evict(result));
+        }
+
+        verify(session).evict("woo");
+        verify(session).evict("boo");
+    }
+
+    @Test
+    public void rejectsNonPositiveFetchSizes() throws Exception {
+        assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() ->
+            dao.stream(query, 0));
+    }
+
+    @Test
+    public void streamsResultsWithAStatelessSession() throws Exception {
+        final StatelessSession statelessSession = mock(StatelessSession.class);
+        final Transaction transaction = mock(Transaction.class);
+        final AtomicBoolean routedToReplica = new AtomicBoolean();
+        when(factory.openStatelessSession()).thenReturn(statelessSession);
+        when(statelessSession.createQuery("HQL", String.class)).thenReturn(query);
+        when(statelessSession.getTransaction()).thenReturn(transaction);
+        when(transaction.getStatus()).thenReturn(TransactionStatus.ACTIVE);
+        doAnswer(invocation -> {
+            routedToReplica.set(ReplicaRouting.isReadOnly());
+            return transaction;
+        }).when(statelessSession).beginTransaction();
+
+        try (Stream<String> stream = dao.statelessStream("HQL", 50)) {
+            assertThat(stream.collect(Collectors.toList()))
+                .containsExactly("woo", "boo");
+        }
+
+        assertThat(routedToReplica).isTrue();
+        assertThat(ReplicaRouting.isReadOnly()).isFalse();
+        verify(query).setFetchSize(50);
+        verify(session, never()).evict(anyString());
+        verify(results).close();
+        verify(transaction).rollback();
+        verify(statelessSession).close();
+    }
+
+    @Test
+    public void persistsEntitiesInBatches() throws Exception {
+        assertThat(dao.persistAll(Arrays.asList("a", "b", "c", "d", "e"), 2))
+            .isEqualTo(5);
+
+        verify(session).setJdbcBatchSize(2);
+        verify(session, times(5)).saveOrUpdate(anyString());
+        verify(session, times(3)).flush();
+        verify(session, times(3)).clear();
+        verify(session).setJdbcBatchSize(null);
+    }
+
+    @Test
+    public void updatesEntitiesInBatches() throws Exception {
+        assertThat(dao.updateAll(Arrays.asList("a", "b", "c", "d"), 2))
+            .isEqualTo(4);
+
+        final InOrder inOrder = inOrder(session);
+        inOrder.verify(session).update("a");
+        inOrder.verify(session).update("b");
+        inOrder.verify(session).flush();
+        inOrder.verify(session).clear();
+        inOrder.verify(session).update("c");
+        inOrder.verify(session).update("d");
+        inOrder.verify(session).flush();
+        inOrder.verify(session).clear();
+    }
 }
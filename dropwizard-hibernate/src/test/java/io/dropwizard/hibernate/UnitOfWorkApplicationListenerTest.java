@@ -1,7 +1,10 @@
 package io.dropwizard.hibernate;
 
+import io.dropwizard.db.ReplicaRouting;
 import org.glassfish.jersey.server.ExtendedUriInfo;
 import org.glassfish.jersey.server.model.Resource;
+import org.glassfish.jersey.server.model.ResourceModel;
+import org.glassfish.jersey.server.monitoring.ApplicationEvent;
 import org.glassfish.jersey.server.monitoring.RequestEvent;
 import org.glassfish.jersey.server.monitoring.RequestEventListener;
 import org.hibernate.CacheMode;
@@ -14,7 +17,10 @@ import org.junit.Before;
 import org.junit.Test;
 import org.mockito.InOrder;
 
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
 import java.lang.reflect.Method;
+import java.util.Collections;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -104,6 +110,96 @@ public class UnitOfWorkApplicationListenerTest {
         verify(session).setDefaultReadOnly(true);
     }
 
+    @Test
+    public void routesReadOnlyUnitsOfWorkToReplicas() throws Exception {
+        prepareResourceMethod("methodWithReadOnlyAnnotation");
+        doAnswer(invocation -> {
+            assertThat(ReplicaRouting.isReadOnly()).isTrue();
+            return transaction;
+        }).when(session).beginTransaction();
+
+        execute();
+
+        assertThat(ReplicaRouting.isReadOnly()).isFalse();
+    }
+
+    @Test
+    public void routesReadWriteUnitsOfWorkToThePrimary() throws Exception {
+        doAnswer(invocation -> {
+            assertThat(ReplicaRouting.isReadOnly()).isFalse();
+            return transaction;
+        }).when(session).beginTransaction();
+
+        execute();
+
+        assertThat(ReplicaRouting.isReadOnly()).isFalse();
+    }
+
+    @Test
+    public void doesNotOpenASessionWithoutUnitOfWork() throws Exception {
+        prepareResourceMethod("methodWithoutUnitOfWork");
+
+        execute();
+
+        verifyZeroInteractions(sessionFactory, analyticsSessionFactory);
+    }
+
+    @Test
+    public void returnsASharedListenerIfNoMethodHasAUnitOfWork() throws Exception {
+        final ApplicationEvent initialized = mock(ApplicationEvent.class);
+        when(initialized.getType()).thenReturn(ApplicationEvent.Type.INITIALIZATION_FINISHED);
+        when(initialized.getResourceModel()).thenReturn(new ResourceModel.Builder(false)
+            .addResource(Resource.from(PlainResource.class))
+            .build());
+        listener.onEvent(initialized);
+
+        assertThat(listener.onRequest(requestStartEvent)).isSameAs(listener.onRequest(requestStartEvent));
+    }
+
+    @Test
+    public void returnsAListenerPerRequestIfAMethodHasAUnitOfWork() throws Exception {
+        final ApplicationEvent initialized = mock(ApplicationEvent.class);
+        when(initialized.getType()).thenReturn(ApplicationEvent.Type.INITIALIZATION_FINISHED);
+        when(initialized.getResourceModel()).thenReturn(new ResourceModel.Builder(false)
+            .addResource(Resource.from(PlainResource.class))
+            .addResource(Resource.from(TransactionalResource.class))
+            .build());
+        listener.onEvent(initialized);
+
+        assertThat(listener.onRequest(requestStartEvent)).isNotSameAs(listener.onRequest(requestStartEvent));
+    }
+
+    @Test
+    public void doesNotOpenALazySessionUntilItIsRequested() throws Exception {
+        prepareResourceMethod("methodWithLazyAnnotation");
+
+        execute();
+
+        verify(sessionFactory, never()).openSession();
+        UnitOfWorkAspect.openLazySession(sessionFactory);
+        verify(sessionFactory, never()).openSession();
+    }
+
+    @Test
+    public void opensALazySessionWhenItIsRequested() throws Exception {
+        prepareResourceMethod("methodWithLazyAnnotation");
+
+        final RequestEventListener requestListener = listener.onRequest(requestStartEvent);
+        requestListener.onEvent(requestMethodStartEvent);
+        verify(sessionFactory, never()).openSession();
+        UnitOfWorkAspect.openLazySession(sessionFactory);
+        UnitOfWorkAspect.openLazySession(sessionFactory);
+        requestListener.onEvent(responseFiltersStartEvent);
+        requestListener.onEvent(responseFinishedEvent);
+
+        final InOrder inOrder = inOrder(sessionFactory, session, transaction);
+        inOrder.verify(sessionFactory).openSession();
+        inOrder.verify(session).beginTransaction();
+        inOrder.verify(transaction).commit();
+        inOrder.verify(session).close();
+        verify(sessionFactory).openSession();
+    }
+
     @Test
     public void configuresTheSessionsCacheMode() throws Exception {
         prepareResourceMethod("methodWithCacheModeIgnoreAnnotation");
@@ -232,6 +328,40 @@ public class UnitOfWorkApplicationListenerTest {
         inOrder.verify(analyticsSession).close();
     }
 
+    @Test
+    public void finishesALazyUnitOfWorkWithoutASessionOnError() throws Exception {
+        final UnitOfWorkAspect aspect = new UnitOfWorkAspect(Collections.singletonMap("default", sessionFactory));
+        aspect.beforeStart(MockResource.class.getMethod("methodWithLazyReadOnlyAnnotation")
+            .getAnnotation(UnitOfWork.class));
+        assertThat(ReplicaRouting.isReadOnly()).isTrue();
+
+        aspect.onError();
+
+        assertThat(ReplicaRouting.isReadOnly()).isFalse();
+        UnitOfWorkAspect.openLazySession(sessionFactory);
+        verify(sessionFactory, never()).openSession();
+    }
+
+    @Test
+    public void restoresTheOuterLazyUnitOfWorkWhenANestedOneFinishes() throws Exception {
+        final UnitOfWork lazy = MockResource.class.getMethod("methodWithLazyAnnotation")
+            .getAnnotation(UnitOfWork.class);
+        final UnitOfWorkAspect outer = new UnitOfWorkAspect(Collections.singletonMap("default", sessionFactory));
+        final UnitOfWorkAspect inner = new UnitOfWorkAspect(Collections.singletonMap("default", sessionFactory));
+        outer.beforeStart(lazy);
+        inner.beforeStart(lazy);
+        inner.afterEnd();
+        inner.onFinish();
+
+        UnitOfWorkAspect.openLazySession(sessionFactory);
+        outer.afterEnd();
+        outer.onFinish();
+
+        verify(sessionFactory).openSession();
+        verify(transaction).commit();
+        verify(session).close();
+    }
+
     @Test
     public void throwsExceptionOnNotRegisteredDatabase() throws Exception {
         prepareResourceMethod("methodWithUnitOfWorkOnNotRegisteredDatabase");
@@ -278,8 +408,36 @@ public class UnitOfWorkApplicationListenerTest {
         requestListener.onEvent(responseFinishedEvent);
     }
 
+    @Path("/plain")
+    public static class PlainResource {
+        @GET
+        public String get() {
+            return "plain";
+        }
+    }
+
+    @Path("/transactional")
+    public static class TransactionalResource {
+        @GET
+        @UnitOfWork
+        public String get() {
+            return "transactional";
+        }
+    }
+
     public static class MockResource implements MockResourceInterface {
 
+        public void methodWithoutUnitOfWork() {
+        }
+
+        @UnitOfWork(lazy = true)
+        public void methodWithLazyAnnotation() {
+        }
+
+        @UnitOfWork(lazy = true, readOnly = true)
+        public void methodWithLazyReadOnlyAnnotation() {
+        }
+
         @UnitOfWork(readOnly = false, cacheMode = CacheMode.NORMAL, transactional = true, flushMode = FlushMode.AUTO)
         public void methodWithDefaultAnnotation() {
         }
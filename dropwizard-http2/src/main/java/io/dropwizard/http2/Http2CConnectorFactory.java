@@ -6,7 +6,6 @@ import com.fasterxml.jackson.annotation.JsonTypeName;
 import io.dropwizard.jetty.HttpConnectorFactory;
 import io.dropwizard.jetty.HttpsConnectorFactory;
 import io.dropwizard.jetty.Jetty93InstrumentedConnectionFactory;
-import org.eclipse.jetty.http2.server.HTTP2CServerConnectionFactory;
 import org.eclipse.jetty.http2.server.HTTP2ServerConnectionFactory;
 import org.eclipse.jetty.server.Connector;
 import org.eclipse.jetty.server.HttpConfiguration;
@@ -16,8 +15,13 @@ import org.eclipse.jetty.util.thread.ScheduledExecutorScheduler;
 import org.eclipse.jetty.util.thread.ThreadPool;
 
 import javax.annotation.Nullable;
+import javax.validation.constraints.DecimalMax;
+import javax.validation.constraints.DecimalMin;
 import javax.validation.constraints.Max;
 import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+
+import static com.codahale.metrics.MetricRegistry.name;
 
 /**
  * Builds HTTP/2 clear text (h2c) connectors.
@@ -45,13 +49,59 @@ import javax.validation.constraints.Min;
  *             but also risk head of line blocking if TCP/IP flow control is triggered.
  *         </td>
  *     </tr>
+ *     <tr>
+ *         <td>{@code initialSessionRecvWindow}</td>
+ *         <td>1048576</td>
+ *         <td>
+ *             The initial flow control window size for a new connection, shared by all its streams. It should be
+ *             larger than {@code initialStreamRecvWindow}, so that a single stream doesn't stall the others.
+ *         </td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code maxFrameSize}</td>
+ *         <td>16384</td>
+ *         <td>
+ *             The maximum size of the payload of a frame the server accepts, between 16384 and 16777215 bytes.
+ *             Larger frames have less overhead for bulk transfers.
+ *         </td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code maxHeaderTableSize}</td>
+ *         <td>4096</td>
+ *         <td>The maximum size of the HPACK dynamic table used to decode the headers of a connection.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code maxStreamRate}</td>
+ *         <td>0</td>
+ *         <td>
+ *             The maximum number of streams a client may open or reset per second on a connection. Connections
+ *             exceeding it are closed with {@code ENHANCE_YOUR_CALM}. {@code 0} disables the limit.
+ *         </td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code flowControl}</td>
+ *         <td>buffering</td>
+ *         <td>
+ *             The strategy for sending {@code WINDOW_UPDATE} frames, either {@code buffering}, which sends them once
+ *             {@code flowControlBufferRatio} of a window has been consumed, or {@code simple}, which sends them for
+ *             every {@code DATA} frame.
+ *         </td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code flowControlBufferRatio}</td>
+ *         <td>0.5</td>
+ *         <td>The ratio of a window consumed before the {@code buffering} strategy sends a {@code WINDOW_UPDATE}.</td>
+ *     </tr>
  * </table>
  * <p/>
+ * The connector records meters of the streams opened and reset by clients, of the times a flow control window
+ * stalled the server, and of the connections closed for exceeding {@code maxStreamRate}.
+ * <p/>
  * For more configuration parameters, see {@link HttpsConnectorFactory}.
  * @see HttpConnectorFactory
  */
 @JsonTypeName("h2c")
-public class Http2CConnectorFactory extends HttpConnectorFactory {
+public class Http2CConnectorFactory extends HttpConnectorFactory implements Http2Settings {
 
     @Min(100)
     @Max(Integer.MAX_VALUE)
@@ -61,6 +111,28 @@ public class Http2CConnectorFactory extends HttpConnectorFactory {
     @Max(Integer.MAX_VALUE)
     private int initialStreamRecvWindow = 65535;
 
+    @Min(1)
+    @Max(Integer.MAX_VALUE)
+    private int initialSessionRecvWindow = 1024 * 1024;
+
+    @Min(16384)
+    @Max(16777215)
+    private int maxFrameSize = 16384;
+
+    @Min(0)
+    private int maxHeaderTableSize = 4096;
+
+    @Min(0)
+    private int maxStreamRate = 0;
+
+    @NotNull
+    private Http2FlowControl flowControl = Http2FlowControl.BUFFERING;
+
+    @DecimalMin("0.0")
+    @DecimalMax("1.0")
+    private double flowControlBufferRatio = 0.5;
+
+    @Override
     @JsonProperty
     public int getMaxConcurrentStreams() {
         return maxConcurrentStreams;
@@ -71,6 +143,7 @@ public class Http2CConnectorFactory extends HttpConnectorFactory {
         this.maxConcurrentStreams = maxConcurrentStreams;
     }
 
+    @Override
     @JsonProperty
     public int getInitialStreamRecvWindow() {
         return initialStreamRecvWindow;
@@ -81,15 +154,80 @@ public class Http2CConnectorFactory extends HttpConnectorFactory {
         this.initialStreamRecvWindow = initialStreamRecvWindow;
     }
 
+    @Override
+    @JsonProperty
+    public int getInitialSessionRecvWindow() {
+        return initialSessionRecvWindow;
+    }
+
+    @JsonProperty
+    public void setInitialSessionRecvWindow(int initialSessionRecvWindow) {
+        this.initialSessionRecvWindow = initialSessionRecvWindow;
+    }
+
+    @Override
+    @JsonProperty
+    public int getMaxFrameSize() {
+        return maxFrameSize;
+    }
+
+    @JsonProperty
+    public void setMaxFrameSize(int maxFrameSize) {
+        this.maxFrameSize = maxFrameSize;
+    }
+
+    @Override
+    @JsonProperty
+    public int getMaxHeaderTableSize() {
+        return maxHeaderTableSize;
+    }
+
+    @JsonProperty
+    public void setMaxHeaderTableSize(int maxHeaderTableSize) {
+        this.maxHeaderTableSize = maxHeaderTableSize;
+    }
+
+    @Override
+    @JsonProperty
+    public int getMaxStreamRate() {
+        return maxStreamRate;
+    }
+
+    @JsonProperty
+    public void setMaxStreamRate(int maxStreamRate) {
+        this.maxStreamRate = maxStreamRate;
+    }
+
+    @Override
+    @JsonProperty
+    public Http2FlowControl getFlowControl() {
+        return flowControl;
+    }
+
+    @JsonProperty
+    public void setFlowControl(Http2FlowControl flowControl) {
+        this.flowControl = flowControl;
+    }
+
+    @Override
+    @JsonProperty
+    public double getFlowControlBufferRatio() {
+        return flowControlBufferRatio;
+    }
+
+    @JsonProperty
+    public void setFlowControlBufferRatio(double flowControlBufferRatio) {
+        this.flowControlBufferRatio = flowControlBufferRatio;
+    }
+
     @Override
     public Connector build(Server server, MetricRegistry metrics, String name, @Nullable ThreadPool threadPool) {
 
         // Prepare connection factories for HTTP/2c
         final HttpConfiguration httpConfig = buildHttpConfiguration();
         final HttpConnectionFactory http11 = buildHttpConnectionFactory(httpConfig);
-        final HTTP2ServerConnectionFactory http2c = new HTTP2CServerConnectionFactory(httpConfig);
-        http2c.setMaxConcurrentStreams(maxConcurrentStreams);
-        http2c.setInitialStreamRecvWindow(initialStreamRecvWindow);
+        final HTTP2ServerConnectionFactory http2c = new InstrumentedHttp2CServerConnectionFactory(httpConfig, this,
+            new Http2Instrumentation(metrics, http2Connections(), maxStreamRate));
 
         // The server connector should use HTTP/1.1 by default. It affords to the server to stay compatible
         // with old clients. New clients which want to use HTTP/2, however, will make an HTTP/1.1 OPTIONS
@@ -99,4 +237,11 @@ public class Http2CConnectorFactory extends HttpConnectorFactory {
         return buildConnector(server, new ScheduledExecutorScheduler(), buildBufferPool(), name, threadPool,
                 new Jetty93InstrumentedConnectionFactory(http11, metrics.timer(httpConnections())), http2c);
     }
+
+    /**
+     * Get the prefix of the names of the metrics of HTTP/2 connections
+     */
+    protected String http2Connections() {
+        return name(HTTP2ServerConnectionFactory.class, getBindHost(), Integer.toString(getPort()));
+    }
 }
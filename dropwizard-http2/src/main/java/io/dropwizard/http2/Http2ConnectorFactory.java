@@ -19,10 +19,15 @@ import org.eclipse.jetty.util.thread.ScheduledExecutorScheduler;
 import org.eclipse.jetty.util.thread.ThreadPool;
 
 import javax.annotation.Nullable;
+import javax.validation.constraints.DecimalMax;
+import javax.validation.constraints.DecimalMin;
 import javax.validation.constraints.Max;
 import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
 import java.util.Collections;
 
+import static com.codahale.metrics.MetricRegistry.name;
+
 /**
  * Builds HTTP/2 over TLS (h2) connectors.
  * <p/>
@@ -49,14 +54,60 @@ import java.util.Collections;
  *             but also risk head of line blocking if TCP/IP flow control is triggered.
  *         </td>
  *     </tr>
+ *     <tr>
+ *         <td>{@code initialSessionRecvWindow}</td>
+ *         <td>1048576</td>
+ *         <td>
+ *             The initial flow control window size for a new connection, shared by all its streams. It should be
+ *             larger than {@code initialStreamRecvWindow}, so that a single stream doesn't stall the others.
+ *         </td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code maxFrameSize}</td>
+ *         <td>16384</td>
+ *         <td>
+ *             The maximum size of the payload of a frame the server accepts, between 16384 and 16777215 bytes.
+ *             Larger frames have less overhead for bulk transfers.
+ *         </td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code maxHeaderTableSize}</td>
+ *         <td>4096</td>
+ *         <td>The maximum size of the HPACK dynamic table used to decode the headers of a connection.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code maxStreamRate}</td>
+ *         <td>0</td>
+ *         <td>
+ *             The maximum number of streams a client may open or reset per second on a connection. Connections
+ *             exceeding it are closed with {@code ENHANCE_YOUR_CALM}. {@code 0} disables the limit.
+ *         </td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code flowControl}</td>
+ *         <td>buffering</td>
+ *         <td>
+ *             The strategy for sending {@code WINDOW_UPDATE} frames, either {@code buffering}, which sends them once
+ *             {@code flowControlBufferRatio} of a window has been consumed, or {@code simple}, which sends them for
+ *             every {@code DATA} frame.
+ *         </td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code flowControlBufferRatio}</td>
+ *         <td>0.5</td>
+ *         <td>The ratio of a window consumed before the {@code buffering} strategy sends a {@code WINDOW_UPDATE}.</td>
+ *     </tr>
  * </table>
  * <p/>
+ * The connector records meters of the streams opened and reset by clients, of the times a flow control window
+ * stalled the server, and of the connections closed for exceeding {@code maxStreamRate}.
+ * <p/>
  * For more configuration parameters, see {@link HttpsConnectorFactory}.
  *
  * @see HttpsConnectorFactory
  */
 @JsonTypeName("h2")
-public class Http2ConnectorFactory extends HttpsConnectorFactory {
+public class Http2ConnectorFactory extends HttpsConnectorFactory implements Http2Settings {
 
     /**
      * Supported protocols
@@ -74,6 +125,28 @@ public class Http2ConnectorFactory extends HttpsConnectorFactory {
     @Max(Integer.MAX_VALUE)
     private int initialStreamRecvWindow = 65535;
 
+    @Min(1)
+    @Max(Integer.MAX_VALUE)
+    private int initialSessionRecvWindow = 1024 * 1024;
+
+    @Min(16384)
+    @Max(16777215)
+    private int maxFrameSize = 16384;
+
+    @Min(0)
+    private int maxHeaderTableSize = 4096;
+
+    @Min(0)
+    private int maxStreamRate = 0;
+
+    @NotNull
+    private Http2FlowControl flowControl = Http2FlowControl.BUFFERING;
+
+    @DecimalMin("0.0")
+    @DecimalMax("1.0")
+    private double flowControlBufferRatio = 0.5;
+
+    @Override
     @JsonProperty
     public int getMaxConcurrentStreams() {
         return maxConcurrentStreams;
@@ -84,6 +157,7 @@ public class Http2ConnectorFactory extends HttpsConnectorFactory {
         this.maxConcurrentStreams = maxConcurrentStreams;
     }
 
+    @Override
     @JsonProperty
     public int getInitialStreamRecvWindow() {
         return initialStreamRecvWindow;
@@ -94,6 +168,72 @@ public class Http2ConnectorFactory extends HttpsConnectorFactory {
         this.initialStreamRecvWindow = initialStreamRecvWindow;
     }
 
+    @Override
+    @JsonProperty
+    public int getInitialSessionRecvWindow() {
+        return initialSessionRecvWindow;
+    }
+
+    @JsonProperty
+    public void setInitialSessionRecvWindow(int initialSessionRecvWindow) {
+        this.initialSessionRecvWindow = initialSessionRecvWindow;
+    }
+
+    @Override
+    @JsonProperty
+    public int getMaxFrameSize() {
+        return maxFrameSize;
+    }
+
+    @JsonProperty
+    public void setMaxFrameSize(int maxFrameSize) {
+        this.maxFrameSize = maxFrameSize;
+    }
+
+    @Override
+    @JsonProperty
+    public int getMaxHeaderTableSize() {
+        return maxHeaderTableSize;
+    }
+
+    @JsonProperty
+    public void setMaxHeaderTableSize(int maxHeaderTableSize) {
+        this.maxHeaderTableSize = maxHeaderTableSize;
+    }
+
+    @Override
+    @JsonProperty
+    public int getMaxStreamRate() {
+        return maxStreamRate;
+    }
+
+    @JsonProperty
+    public void setMaxStreamRate(int maxStreamRate) {
+        this.maxStreamRate = maxStreamRate;
+    }
+
+    @Override
+    @JsonProperty
+    public Http2FlowControl getFlowControl() {
+        return flowControl;
+    }
+
+    @JsonProperty
+    public void setFlowControl(Http2FlowControl flowControl) {
+        this.flowControl = flowControl;
+    }
+
+    @Override
+    @JsonProperty
+    public double getFlowControlBufferRatio() {
+        return flowControlBufferRatio;
+    }
+
+    @JsonProperty
+    public void setFlowControlBufferRatio(double flowControlBufferRatio) {
+        this.flowControlBufferRatio = flowControlBufferRatio;
+    }
+
     @Override
     public Connector build(Server server, MetricRegistry metrics, String name, @Nullable ThreadPool threadPool) {
         // HTTP/2 requires that a server MUST support TLSv1.2 and TLS_ECDHE_RSA_WITH_AES_128_GCM_SHA256 cipher
@@ -104,9 +244,8 @@ public class Http2ConnectorFactory extends HttpsConnectorFactory {
         // Setup connection factories
         final HttpConfiguration httpConfig = buildHttpConfiguration();
         final HttpConnectionFactory http1 = buildHttpConnectionFactory(httpConfig);
-        final HTTP2ServerConnectionFactory http2 = new HTTP2ServerConnectionFactory(httpConfig);
-        http2.setMaxConcurrentStreams(maxConcurrentStreams);
-        http2.setInitialStreamRecvWindow(initialStreamRecvWindow);
+        final HTTP2ServerConnectionFactory http2 = new InstrumentedHttp2ServerConnectionFactory(httpConfig, this,
+            new Http2Instrumentation(metrics, http2Connections(), maxStreamRate));
 
         final NegotiatingServerConnectionFactory alpn = new ALPNServerConnectionFactory(H2, H2_17);
         alpn.setDefaultProtocol(HTTP_1_1); // Speak HTTP 1.1 over TLS if negotiation fails
@@ -133,4 +272,11 @@ public class Http2ConnectorFactory extends HttpsConnectorFactory {
             throw new IllegalArgumentException("HTTP/2 server configuration must include cipher: " + HTTP2_DEFAULT_CIPHER);
         }
     }
+
+    /**
+     * Get the prefix of the names of the metrics of HTTP/2 connections
+     */
+    protected String http2Connections() {
+        return name(HTTP2ServerConnectionFactory.class, getBindHost(), Integer.toString(getPort()));
+    }
 }
@@ -0,0 +1,18 @@
+package io.dropwizard.http2;
+
+/**
+ * The strategies for sending HTTP/2 {@code WINDOW_UPDATE} frames.
+ */
+public enum Http2FlowControl {
+    /**
+     * Sends a {@code WINDOW_UPDATE} once a ratio of the window has been consumed. Sends fewer frames, so it's
+     * better suited to bulk transfers.
+     */
+    BUFFERING,
+
+    /**
+     * Sends a {@code WINDOW_UPDATE} for every consumed {@code DATA} frame, so the window of the sender never
+     * shrinks for long.
+     */
+    SIMPLE
+}
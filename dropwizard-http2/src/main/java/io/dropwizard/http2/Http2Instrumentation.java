@@ -0,0 +1,143 @@
+package io.dropwizard.http2;
+
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import org.eclipse.jetty.http2.BufferingFlowControlStrategy;
+import org.eclipse.jetty.http2.ErrorCode;
+import org.eclipse.jetty.http2.FlowControlStrategy;
+import org.eclipse.jetty.http2.ISession;
+import org.eclipse.jetty.http2.IStream;
+import org.eclipse.jetty.http2.SimpleFlowControlStrategy;
+import org.eclipse.jetty.http2.api.Session;
+import org.eclipse.jetty.util.Callback;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+/**
+ * Records the metrics of the HTTP/2 connections of a connector, and limits the rate at which a client may open and
+ * reset streams on a connection.
+ * <p/>
+ * The metrics are meters of the streams opened, the streams reset, the times a flow control window stalled the
+ * sender, and the connections closed for exceeding the rate of streams.
+ */
+class Http2Instrumentation {
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final Meter streamsOpened;
+    private final Meter resets;
+    private final Meter windowStalls;
+    private final Meter rateLimited;
+    private final int maxStreamRate;
+
+    /**
+     * @param metrics       the registry of the metrics
+     * @param prefix        the prefix of the names of the metrics
+     * @param maxStreamRate the maximum number of streams a client may open or reset per second on a connection,
+     *                      or {@code 0} for no limit
+     */
+    Http2Instrumentation(MetricRegistry metrics, String prefix, int maxStreamRate) {
+        this.streamsOpened = metrics.meter(name(prefix, "streams-opened"));
+        this.resets = metrics.meter(name(prefix, "streams-reset"));
+        this.windowStalls = metrics.meter(name(prefix, "window-stalls"));
+        this.rateLimited = metrics.meter(name(prefix, "rate-limited"));
+        this.maxStreamRate = maxStreamRate;
+    }
+
+    FlowControlStrategy.Factory flowControlStrategyFactory(Http2FlowControl flowControl, float bufferRatio) {
+        switch (flowControl) {
+            case SIMPLE:
+                return InstrumentedSimpleFlowControlStrategy::new;
+            case BUFFERING:
+            default:
+                return () -> new InstrumentedBufferingFlowControlStrategy(bufferRatio);
+        }
+    }
+
+    StreamRate newStreamRate() {
+        return new StreamRate();
+    }
+
+    /**
+     * Records a stream opened by the client.
+     *
+     * @return whether the stream may proceed; otherwise the connection has been closed
+     */
+    boolean onNewStream(Session session, StreamRate rate) {
+        streamsOpened.mark();
+        return rate.acquire(session);
+    }
+
+    /**
+     * Records a stream reset by the client.
+     */
+    void onReset(Session session, StreamRate rate) {
+        resets.mark();
+        rate.acquire(session);
+    }
+
+    /**
+     * The rate of the streams opened and reset on a connection, over windows of a second.
+     */
+    class StreamRate {
+        private long windowStart = System.nanoTime();
+        private int events;
+        private boolean exceeded;
+
+        private boolean acquire(Session session) {
+            if (maxStreamRate <= 0) {
+                return true;
+            }
+            synchronized (this) {
+                if (exceeded) {
+                    return false;
+                }
+                final long now = System.nanoTime();
+                if (now - windowStart >= SECOND) {
+                    windowStart = now;
+                    events = 0;
+                }
+                if (++events <= maxStreamRate) {
+                    return true;
+                }
+                exceeded = true;
+            }
+            rateLimited.mark();
+            session.close(ErrorCode.ENHANCE_YOUR_CALM_ERROR.code, "stream rate exceeded", Callback.NOOP);
+            return false;
+        }
+    }
+
+    private class InstrumentedBufferingFlowControlStrategy extends BufferingFlowControlStrategy {
+        InstrumentedBufferingFlowControlStrategy(float bufferRatio) {
+            super(bufferRatio);
+        }
+
+        @Override
+        protected void onSessionStalled(ISession session) {
+            super.onSessionStalled(session);
+            windowStalls.mark();
+        }
+
+        @Override
+        protected void onStreamStalled(IStream stream) {
+            super.onStreamStalled(stream);
+            windowStalls.mark();
+        }
+    }
+
+    private class InstrumentedSimpleFlowControlStrategy extends SimpleFlowControlStrategy {
+        @Override
+        protected void onSessionStalled(ISession session) {
+            super.onSessionStalled(session);
+            windowStalls.mark();
+        }
+
+        @Override
+        protected void onStreamStalled(IStream stream) {
+            super.onStreamStalled(stream);
+            windowStalls.mark();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package io.dropwizard.http2;
+
+import org.eclipse.jetty.http2.server.AbstractHTTP2ServerConnectionFactory;
+
+/**
+ * The HTTP/2 settings shared by the h2 and h2c connectors.
+ */
+interface Http2Settings {
+    int getMaxConcurrentStreams();
+
+    int getInitialStreamRecvWindow();
+
+    int getInitialSessionRecvWindow();
+
+    int getMaxFrameSize();
+
+    int getMaxHeaderTableSize();
+
+    int getMaxStreamRate();
+
+    Http2FlowControl getFlowControl();
+
+    double getFlowControlBufferRatio();
+
+    /**
+     * Applies settings to a connection factory.
+     *
+     * @param factory         the connection factory
+     * @param settings        the settings of the connector
+     * @param instrumentation the instrumentation of the connector
+     */
+    static void configure(AbstractHTTP2ServerConnectionFactory factory, Http2Settings settings,
+                          Http2Instrumentation instrumentation) {
+        factory.setMaxConcurrentStreams(settings.getMaxConcurrentStreams());
+        factory.setInitialStreamRecvWindow(settings.getInitialStreamRecvWindow());
+        factory.setInitialSessionRecvWindow(settings.getInitialSessionRecvWindow());
+        factory.setMaxFrameLength(settings.getMaxFrameSize());
+        factory.setMaxDynamicTableSize(settings.getMaxHeaderTableSize());
+        factory.setFlowControlStrategyFactory(instrumentation.flowControlStrategyFactory(
+            settings.getFlowControl(), (float) settings.getFlowControlBufferRatio()));
+    }
+}
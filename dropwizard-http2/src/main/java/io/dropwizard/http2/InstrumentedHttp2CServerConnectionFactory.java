@@ -0,0 +1,27 @@
+package io.dropwizard.http2;
+
+import org.eclipse.jetty.http2.api.server.ServerSessionListener;
+import org.eclipse.jetty.http2.server.HTTP2CServerConnectionFactory;
+import org.eclipse.jetty.io.EndPoint;
+import org.eclipse.jetty.server.Connector;
+import org.eclipse.jetty.server.HttpConfiguration;
+
+/**
+ * A connection factory for HTTP/2 clear text (h2c) connections, which records their streams with an {@link Http2Instrumentation}.
+ */
+class InstrumentedHttp2CServerConnectionFactory extends HTTP2CServerConnectionFactory {
+    private final Http2Instrumentation instrumentation;
+
+    InstrumentedHttp2CServerConnectionFactory(HttpConfiguration httpConfiguration, Http2Settings settings,
+                                          Http2Instrumentation instrumentation) {
+        super(httpConfiguration);
+        this.instrumentation = instrumentation;
+        Http2Settings.configure(this, settings, instrumentation);
+    }
+
+    @Override
+    protected ServerSessionListener newSessionListener(Connector connector, EndPoint endPoint) {
+        return new InstrumentedHttp2ServerConnectionFactory.InstrumentedSessionListener(this, connector, endPoint,
+            instrumentation);
+    }
+}
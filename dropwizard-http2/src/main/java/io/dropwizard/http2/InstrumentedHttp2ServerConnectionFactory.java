@@ -0,0 +1,72 @@
+package io.dropwizard.http2;
+
+import org.eclipse.jetty.http2.api.Session;
+import org.eclipse.jetty.http2.api.Stream;
+import org.eclipse.jetty.http2.api.server.ServerSessionListener;
+import org.eclipse.jetty.http2.frames.HeadersFrame;
+import org.eclipse.jetty.http2.frames.ResetFrame;
+import org.eclipse.jetty.http2.server.HTTP2ServerConnectionFactory;
+import org.eclipse.jetty.io.EndPoint;
+import org.eclipse.jetty.server.Connector;
+import org.eclipse.jetty.server.HttpConfiguration;
+
+import javax.annotation.Nullable;
+
+/**
+ * A connection factory for HTTP/2 over TLS (h2) connections, which records their streams with an {@link Http2Instrumentation}.
+ */
+class InstrumentedHttp2ServerConnectionFactory extends HTTP2ServerConnectionFactory {
+    private final Http2Instrumentation instrumentation;
+
+    InstrumentedHttp2ServerConnectionFactory(HttpConfiguration httpConfiguration, Http2Settings settings,
+                                         Http2Instrumentation instrumentation) {
+        super(httpConfiguration);
+        this.instrumentation = instrumentation;
+        Http2Settings.configure(this, settings, instrumentation);
+    }
+
+    @Override
+    protected ServerSessionListener newSessionListener(Connector connector, EndPoint endPoint) {
+        return new InstrumentedSessionListener(this, connector, endPoint, instrumentation);
+    }
+
+    /**
+     * The session listener of the connection factories, which records the streams opened and reset by the client
+     * with an {@link Http2Instrumentation}, and refuses new streams once the client exceeded the rate of streams.
+     * <p/>
+     * It's shared with {@link InstrumentedHttp2CServerConnectionFactory}, whose superclass extends the one of this
+     * factory, so both can be the enclosing instance of its superclass.
+     */
+    static class InstrumentedSessionListener extends HTTPServerSessionListener {
+        private final Http2Instrumentation instrumentation;
+        private final Http2Instrumentation.StreamRate rate;
+
+        InstrumentedSessionListener(HTTP2ServerConnectionFactory factory, Connector connector, EndPoint endPoint,
+                                    Http2Instrumentation instrumentation) {
+            factory.super(connector, endPoint);
+            this.instrumentation = instrumentation;
+            this.rate = instrumentation.newStreamRate();
+        }
+
+        @Override
+        @Nullable
+        public Stream.Listener onNewStream(Stream stream, HeadersFrame frame) {
+            if (!instrumentation.onNewStream(stream.getSession(), rate)) {
+                return null;
+            }
+            return super.onNewStream(stream, frame);
+        }
+
+        @Override
+        public void onReset(Session session, ResetFrame frame) {
+            instrumentation.onReset(session, rate);
+            super.onReset(session, frame);
+        }
+
+        @Override
+        public void onReset(Stream stream, ResetFrame frame) {
+            instrumentation.onReset(stream.getSession(), rate);
+            super.onReset(stream, frame);
+        }
+    }
+}
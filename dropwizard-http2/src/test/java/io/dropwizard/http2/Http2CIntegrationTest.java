@@ -3,10 +3,12 @@ package io.dropwizard.http2;
 import io.dropwizard.Configuration;
 import io.dropwizard.testing.ResourceHelpers;
 import io.dropwizard.testing.junit.DropwizardAppRule;
+import org.assertj.core.api.Condition;
 import org.eclipse.jetty.client.HttpClient;
 import org.eclipse.jetty.http2.client.HTTP2Client;
 import org.eclipse.jetty.http2.client.HTTP2ClientConnectionFactory;
 import org.eclipse.jetty.http2.client.http.HttpClientTransportOverHTTP2;
+import org.eclipse.jetty.http2.server.HTTP2ServerConnectionFactory;
 import org.glassfish.jersey.client.JerseyClient;
 import org.glassfish.jersey.client.JerseyClientBuilder;
 import org.junit.After;
@@ -62,4 +64,14 @@ public class Http2CIntegrationTest  extends AbstractHttp2Test {
     public void testHttp2cManyRequests() throws Exception {
         performManyAsyncRequests(client, "http://localhost:" + appRule.getLocalPort() + "/api/test");
     }
+
+    @Test
+    public void testHttp2cMetrics() throws Exception {
+        performManyAsyncRequests(client, "http://localhost:" + appRule.getLocalPort() + "/api/test");
+
+        assertThat(appRule.getEnvironment().metrics().getMeters((name, metric) -> name.startsWith(
+            HTTP2ServerConnectionFactory.class.getName()) && name.endsWith(".streams-opened")))
+            .hasSize(1)
+            .hasValueSatisfying(new Condition<>(meter -> meter.getCount() >= 100, "at least 100 streams"));
+    }
 }
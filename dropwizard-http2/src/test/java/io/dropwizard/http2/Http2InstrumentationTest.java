@@ -0,0 +1,94 @@
+package io.dropwizard.http2;
+
+import com.codahale.metrics.MetricRegistry;
+import org.eclipse.jetty.http2.BufferingFlowControlStrategy;
+import org.eclipse.jetty.http2.ErrorCode;
+import org.eclipse.jetty.http2.SimpleFlowControlStrategy;
+import org.eclipse.jetty.http2.api.Session;
+import org.eclipse.jetty.http2.server.HTTP2ServerConnectionFactory;
+import org.eclipse.jetty.server.HttpConfiguration;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class Http2InstrumentationTest {
+    private final MetricRegistry metrics = new MetricRegistry();
+    private final Session session = mock(Session.class);
+
+    @Test
+    public void appliesTheSettingsOfTheConnector() {
+        final Http2CConnectorFactory connector = new Http2CConnectorFactory();
+        connector.setInitialSessionRecvWindow(8 * 1024 * 1024);
+        connector.setMaxFrameSize(1024 * 1024);
+        connector.setMaxHeaderTableSize(8192);
+        connector.setFlowControl(Http2FlowControl.SIMPLE);
+
+        final HTTP2ServerConnectionFactory factory = new InstrumentedHttp2CServerConnectionFactory(
+            new HttpConfiguration(), connector, new Http2Instrumentation(metrics, "h2c", 0));
+
+        assertThat(factory.getMaxConcurrentStreams()).isEqualTo(1024);
+        assertThat(factory.getInitialStreamRecvWindow()).isEqualTo(65535);
+        assertThat(factory.getInitialSessionRecvWindow()).isEqualTo(8 * 1024 * 1024);
+        assertThat(factory.getMaxFrameLength()).isEqualTo(1024 * 1024);
+        assertThat(factory.getMaxDynamicTableSize()).isEqualTo(8192);
+        assertThat(factory.getFlowControlStrategyFactory().newFlowControlStrategy())
+            .isInstanceOf(SimpleFlowControlStrategy.class);
+    }
+
+    @Test
+    public void usesTheBufferingFlowControlByDefault() {
+        final HTTP2ServerConnectionFactory factory = new InstrumentedHttp2ServerConnectionFactory(
+            new HttpConfiguration(), new Http2ConnectorFactory(), new Http2Instrumentation(metrics, "h2", 0));
+
+        assertThat(factory.getFlowControlStrategyFactory().newFlowControlStrategy())
+            .isInstanceOf(BufferingFlowControlStrategy.class);
+    }
+
+    @Test
+    public void recordsStreamsAndResets() {
+        final Http2Instrumentation instrumentation = new Http2Instrumentation(metrics, "h2", 0);
+        final Http2Instrumentation.StreamRate rate = instrumentation.newStreamRate();
+
+        for (int i = 0; i < 1000; i++) {
+            assertThat(instrumentation.onNewStream(session, rate)).isTrue();
+        }
+        instrumentation.onReset(session, rate);
+
+        assertThat(metrics.meter("h2.streams-opened").getCount()).isEqualTo(1000);
+        assertThat(metrics.meter("h2.streams-reset").getCount()).isEqualTo(1);
+        assertThat(metrics.meter("h2.rate-limited").getCount()).isZero();
+        verify(session, never()).close(anyInt(), anyString(), any());
+    }
+
+    @Test
+    public void closesConnectionsExceedingTheStreamRate() {
+        final Http2Instrumentation instrumentation = new Http2Instrumentation(metrics, "h2", 10);
+        final Http2Instrumentation.StreamRate rate = instrumentation.newStreamRate();
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(instrumentation.onNewStream(session, rate)).isTrue();
+            instrumentation.onReset(session, rate);
+        }
+
+        assertThat(instrumentation.onNewStream(session, rate)).isFalse();
+        assertThat(instrumentation.onNewStream(session, rate)).isFalse();
+        assertThat(metrics.meter("h2.rate-limited").getCount()).isEqualTo(1);
+        verify(session, times(1)).close(eq(ErrorCode.ENHANCE_YOUR_CALM_ERROR.code), anyString(), any());
+    }
+
+    @Test
+    public void limitsTheRateOfEachConnectionSeparately() {
+        final Http2Instrumentation instrumentation = new Http2Instrumentation(metrics, "h2", 1);
+
+        assertThat(instrumentation.onNewStream(session, instrumentation.newStreamRate())).isTrue();
+        assertThat(instrumentation.onNewStream(session, instrumentation.newStreamRate())).isTrue();
+    }
+}
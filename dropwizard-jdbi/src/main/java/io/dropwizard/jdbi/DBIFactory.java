@@ -149,7 +149,11 @@ public class DBIFactory {
             new SanerNamingStrategy()));
 
         if (configuration.isAutoCommentsEnabled()) {
-            dbi.setStatementRewriter(new NamePrependingStatementRewriter(new ColonPrefixNamedParamStatementRewriter()));
+            final NamePrependingStatementRewriter rewriter =
+                new NamePrependingStatementRewriter(new ColonPrefixNamedParamStatementRewriter());
+            dbi.setStatementRewriter(rewriter);
+            rewriter.getPrefixes().registerMetrics(environment.metrics(),
+                name(NamePrependingStatementRewriter.class, name));
         }
 
         // Add the default argument and column mapper factories.
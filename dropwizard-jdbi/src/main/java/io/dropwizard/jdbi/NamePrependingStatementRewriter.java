@@ -1,12 +1,22 @@
 package io.dropwizard.jdbi;
 
+import io.dropwizard.db.StatementNamePrefixes;
 import org.skife.jdbi.v2.Binding;
 import org.skife.jdbi.v2.StatementContext;
 import org.skife.jdbi.v2.tweak.RewrittenStatement;
 import org.skife.jdbi.v2.tweak.StatementRewriter;
 
+import java.lang.reflect.Method;
+
+/**
+ * A {@link StatementRewriter} which prepends the SQL object's type and method name in front of every
+ * statement sent to the database.
+ * <p/>
+ * The comments naming the methods are cached per SQL object method.
+ */
 public class NamePrependingStatementRewriter implements StatementRewriter {
     private final StatementRewriter rewriter;
+    private final StatementNamePrefixes prefixes = new StatementNamePrefixes();
 
     public NamePrependingStatementRewriter(StatementRewriter rewriter) {
         this.rewriter = rewriter;
@@ -14,18 +24,18 @@ public class NamePrependingStatementRewriter implements StatementRewriter {
 
     @Override
     public RewrittenStatement rewrite(String sql, Binding params, StatementContext ctx) {
-        if ((ctx.getSqlObjectType() != null) && (ctx.getSqlObjectMethod() != null)) {
-            final StringBuilder query = new StringBuilder(sql.length() + 100);
-            query.append("/* ");
-            final String className = ctx.getSqlObjectType().getSimpleName();
-            if (!className.isEmpty()) {
-                query.append(className).append('.');
-            }
-            query.append(ctx.getSqlObjectMethod().getName());
-            query.append(" */ ");
-            query.append(sql);
-            return rewriter.rewrite(query.toString(), params, ctx);
+        final Class<?> sqlObjectType = ctx.getSqlObjectType();
+        final Method sqlObjectMethod = ctx.getSqlObjectMethod();
+        if ((sqlObjectType != null) && (sqlObjectMethod != null)) {
+            return rewriter.rewrite(prefixes.prepend(sqlObjectType, sqlObjectMethod, sql), params, ctx);
         }
         return rewriter.rewrite(sql, params, ctx);
     }
+
+    /**
+     * @return the cache of the comments naming the SQL object methods
+     */
+    public StatementNamePrefixes getPrefixes() {
+        return prefixes;
+    }
 }
@@ -0,0 +1,75 @@
+package io.dropwizard.jdbi;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.skife.jdbi.v2.Binding;
+import org.skife.jdbi.v2.StatementContext;
+import org.skife.jdbi.v2.tweak.RewrittenStatement;
+import org.skife.jdbi.v2.tweak.StatementRewriter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class NamePrependingStatementRewriterTest {
+    private static final String SQL = "SELECT 1";
+
+    public interface MyDao {
+        int myDbCall();
+
+        int myOtherDbCall();
+    }
+
+    private final StatementRewriter original = mock(StatementRewriter.class);
+    private final RewrittenStatement rewritten = mock(RewrittenStatement.class);
+    private final Binding params = new Binding();
+    private final StatementContext ctx = mock(StatementContext.class);
+    private NamePrependingStatementRewriter sut;
+
+    @Before
+    public void setup() {
+        when(original.rewrite(anyString(), same(params), same(ctx))).thenReturn(rewritten);
+        sut = new NamePrependingStatementRewriter(original);
+    }
+
+    @Test
+    public void passesStatementsWithoutSqlObjectMethodsThrough() {
+        assertThat(sut.rewrite(SQL, params, ctx)).isSameAs(rewritten);
+
+        verify(original).rewrite(SQL, params, ctx);
+        assertThat(sut.getPrefixes().getCacheMisses()).isZero();
+    }
+
+    @Test
+    public void prependsTheSqlObjectMethod() throws NoSuchMethodException {
+        when(ctx.getSqlObjectType()).thenAnswer(invocation -> MyDao.class);
+        when(ctx.getSqlObjectMethod()).thenReturn(MyDao.class.getMethod("myDbCall"));
+
+        assertThat(sut.rewrite(SQL, params, ctx)).isSameAs(rewritten);
+
+        verify(original).rewrite("/* MyDao.myDbCall */ SELECT 1", params, ctx);
+    }
+
+    @Test
+    public void cachesTheNamesOfMethods() throws NoSuchMethodException {
+        when(ctx.getSqlObjectType()).thenAnswer(invocation -> MyDao.class);
+        when(ctx.getSqlObjectMethod())
+            .thenReturn(MyDao.class.getMethod("myDbCall"))
+            .thenReturn(MyDao.class.getMethod("myDbCall"))
+            .thenReturn(MyDao.class.getMethod("myOtherDbCall"));
+
+        sut.rewrite(SQL, params, ctx);
+        sut.rewrite("SELECT 2", params, ctx);
+        sut.rewrite(SQL, params, ctx);
+
+        verify(original).rewrite("/* MyDao.myDbCall */ SELECT 1", params, ctx);
+        verify(original).rewrite("/* MyDao.myDbCall */ SELECT 2", params, ctx);
+        verify(original).rewrite("/* MyDao.myOtherDbCall */ SELECT 1", params, ctx);
+        assertThat(sut.getPrefixes().getCacheHits()).isEqualTo(1);
+        assertThat(sut.getPrefixes().getCacheMisses()).isEqualTo(2);
+        assertThat(sut.getPrefixes().getCacheSize()).isEqualTo(2);
+    }
+}
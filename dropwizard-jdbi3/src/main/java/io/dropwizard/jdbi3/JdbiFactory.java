@@ -1,5 +1,6 @@
 package io.dropwizard.jdbi3;
 
+import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.jdbi3.InstrumentedTimingCollector;
 import com.codahale.metrics.jdbi3.strategies.SmartNameStrategy;
 import com.codahale.metrics.jdbi3.strategies.StatementNameStrategy;
@@ -82,7 +83,10 @@ public class JdbiFactory {
 
         if (configuration.isAutoCommentsEnabled()) {
             final TemplateEngine original = jdbi.getConfig(SqlStatements.class).getTemplateEngine();
-            jdbi.setTemplateEngine(new NamePrependingTemplateEngine(original));
+            final NamePrependingTemplateEngine templateEngine = new NamePrependingTemplateEngine(original);
+            jdbi.setTemplateEngine(templateEngine);
+            templateEngine.getPrefixes().registerMetrics(environment.metrics(),
+                MetricRegistry.name(NamePrependingTemplateEngine.class, name));
         }
 
         configure(jdbi);
@@ -1,5 +1,6 @@
 package io.dropwizard.jdbi3;
 
+import io.dropwizard.db.StatementNamePrefixes;
 import org.jdbi.v3.core.extension.ExtensionMethod;
 import org.jdbi.v3.core.statement.StatementContext;
 import org.jdbi.v3.core.statement.TemplateEngine;
@@ -9,9 +10,13 @@ import java.util.Objects;
 /**
  * Jdbi {@link TemplateEngine} that prepends the SQLObject's type and method name in front of every
  * statement sent to the database.
+ * <p/>
+ * The comments naming the methods are cached per SQLObject method. The statements themselves are rendered by
+ * the original engine on every call, as they may depend on the attributes of the statement.
  */
 public class NamePrependingTemplateEngine implements TemplateEngine {
     private final TemplateEngine originalEngine;
+    private final StatementNamePrefixes prefixes = new StatementNamePrefixes();
 
     /**
      * @param originalEngine    The original {@link TemplateEngine} to use to create the actual statements
@@ -28,17 +33,13 @@ public class NamePrependingTemplateEngine implements TemplateEngine {
         if (extensionMethod == null) {
             return originalResult;
         }
+        return prefixes.prepend(extensionMethod.getType(), extensionMethod.getMethod(), originalResult);
+    }
 
-        final StringBuilder query = new StringBuilder(originalResult.length() + 100);
-        query.append("/* ");
-        final String className = extensionMethod.getType().getSimpleName();
-        if (!className.isEmpty()) {
-            query.append(className).append('.');
-        }
-        query.append(extensionMethod.getMethod().getName());
-        query.append(" */ ");
-        query.append(originalResult);
-
-        return query.toString();
+    /**
+     * @return the cache of the comments naming the SQLObject methods
+     */
+    public StatementNamePrefixes getPrefixes() {
+        return prefixes;
     }
 }
@@ -0,0 +1,64 @@
+package io.dropwizard.jdbi3;
+
+import io.dropwizard.db.ReplicaRouting;
+import org.jdbi.v3.core.Handle;
+import org.jdbi.v3.core.HandleCallback;
+import org.jdbi.v3.core.HandleConsumer;
+import org.jdbi.v3.core.Jdbi;
+
+/**
+ * Opens {@link Handle}s which are marked as read-only. When the {@link Jdbi} instance is backed by a
+ * routing data source, the connections of these handles are taken from one of the read replicas.
+ *
+ * @see io.dropwizard.db.ReplicaRouting
+ * @see io.dropwizard.db.RoutingDataSourceFactory
+ */
+public final class ReadOnlyHandles {
+    private ReadOnlyHandles() {
+    }
+
+    /**
+     * Opens a read-only handle; the caller is responsible for closing it.
+     *
+     * @param jdbi the {@link Jdbi} instance
+     * @return a new read-only handle
+     */
+    public static Handle open(Jdbi jdbi) {
+        final boolean previous = ReplicaRouting.setReadOnly(true);
+        try {
+            return jdbi.open();
+        } finally {
+            ReplicaRouting.setReadOnly(previous);
+        }
+    }
+
+    /**
+     * Runs the callback with a read-only handle, which is closed afterwards.
+     *
+     * @param jdbi     the {@link Jdbi} instance
+     * @param callback the callback receiving the handle
+     * @param <R>      the type of the result of the callback
+     * @param <X>      the type of the exception thrown by the callback
+     * @return the result of the callback
+     * @throws X if the callback failed
+     */
+    public static <R, X extends Exception> R withHandle(Jdbi jdbi, HandleCallback<R, X> callback) throws X {
+        try (Handle handle = open(jdbi)) {
+            return callback.withHandle(handle);
+        }
+    }
+
+    /**
+     * Runs the consumer with a read-only handle, which is closed afterwards.
+     *
+     * @param jdbi     the {@link Jdbi} instance
+     * @param consumer the consumer receiving the handle
+     * @param <X>      the type of the exception thrown by the consumer
+     * @throws X if the consumer failed
+     */
+    public static <X extends Exception> void useHandle(Jdbi jdbi, HandleConsumer<X> consumer) throws X {
+        try (Handle handle = open(jdbi)) {
+            consumer.useHandle(handle);
+        }
+    }
+}
@@ -18,6 +18,8 @@ public class NamePrependingTemplateEngineTest {
 
     public interface MyDao {
         String myDbCall();
+
+        String myOtherDbCall();
     }
 
     private TemplateEngine original;
@@ -58,4 +60,30 @@ public class NamePrependingTemplateEngineTest {
             " */ " +
             ORIGINAL_RENDERED);
     }
+
+    @Test
+    public void testCachesTheNamesOfMethods() throws NoSuchMethodException {
+        when(ctx.getExtensionMethod())
+            .thenReturn(new ExtensionMethod(MyDao.class, MyDao.class.getMethod("myDbCall")))
+            .thenReturn(new ExtensionMethod(MyDao.class, MyDao.class.getMethod("myDbCall")))
+            .thenReturn(new ExtensionMethod(MyDao.class, MyDao.class.getMethod("myOtherDbCall")));
+
+        assertThat(sut.render(TEMPLATE, ctx)).isEqualTo("/* MyDao.myDbCall */ " + ORIGINAL_RENDERED);
+        assertThat(sut.render(TEMPLATE, ctx)).isEqualTo("/* MyDao.myDbCall */ " + ORIGINAL_RENDERED);
+        assertThat(sut.render(TEMPLATE, ctx)).isEqualTo("/* MyDao.myOtherDbCall */ " + ORIGINAL_RENDERED);
+        assertThat(sut.getPrefixes().getCacheHits()).isEqualTo(1);
+        assertThat(sut.getPrefixes().getCacheMisses()).isEqualTo(2);
+        assertThat(sut.getPrefixes().getCacheSize()).isEqualTo(2);
+    }
+
+    @Test
+    public void testRendersEveryStatement() throws NoSuchMethodException {
+        when(ctx.getExtensionMethod())
+            .thenReturn(new ExtensionMethod(MyDao.class, MyDao.class.getMethod("myDbCall")));
+        when(original.render(TEMPLATE, ctx)).thenReturn("SELECT 1", "SELECT 2");
+
+        assertThat(sut.render(TEMPLATE, ctx)).isEqualTo("/* MyDao.myDbCall */ SELECT 1");
+        assertThat(sut.render(TEMPLATE, ctx)).isEqualTo("/* MyDao.myDbCall */ SELECT 2");
+        assertThat(sut.getPrefixes().getCacheHits()).isEqualTo(1);
+    }
 }
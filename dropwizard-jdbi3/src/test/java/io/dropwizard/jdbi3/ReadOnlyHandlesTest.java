@@ -0,0 +1,42 @@
+package io.dropwizard.jdbi3;
+
+import io.dropwizard.db.ReplicaRouting;
+import org.jdbi.v3.core.Handle;
+import org.jdbi.v3.core.Jdbi;
+import org.junit.Test;
+
+import java.sql.Connection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+public class ReadOnlyHandlesTest {
+    private final Connection connection = mock(Connection.class);
+    private final Jdbi jdbi = Jdbi.create(() -> ReplicaRouting.isReadOnly() ? connection : mock(Connection.class));
+
+    @Test
+    public void opensHandlesMarkedAsReadOnly() throws Exception {
+        final Connection used = ReadOnlyHandles.withHandle(jdbi, Handle::getConnection);
+
+        assertThat(used).isSameAs(connection);
+        assertThat(ReplicaRouting.isReadOnly()).isFalse();
+    }
+
+    @Test
+    public void regularHandlesAreNotReadOnly() throws Exception {
+        final Connection used = jdbi.withHandle(Handle::getConnection);
+
+        assertThat(used).isNotSameAs(connection);
+    }
+
+    @Test
+    public void restoresAnOuterReadOnlyMark() throws Exception {
+        ReplicaRouting.setReadOnly(true);
+        try {
+            ReadOnlyHandles.useHandle(jdbi, h -> assertThat(h.getConnection()).isSameAs(connection));
+            assertThat(ReplicaRouting.isReadOnly()).isTrue();
+        } finally {
+            ReplicaRouting.setReadOnly(false);
+        }
+    }
+}
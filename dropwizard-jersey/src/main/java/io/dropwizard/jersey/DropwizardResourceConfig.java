@@ -11,8 +11,6 @@ import io.dropwizard.jersey.params.AbstractParamConverterProvider;
 import io.dropwizard.jersey.sessions.SessionFactoryProvider;
 import io.dropwizard.jersey.validation.FuzzyEnumParamConverterProvider;
 import io.dropwizard.util.Strings;
-import javassist.ClassPool;
-import javassist.CtClass;
 import org.glassfish.hk2.utilities.Binder;
 import org.glassfish.jersey.internal.inject.AbstractBinder;
 import org.glassfish.jersey.internal.inject.Providers;
@@ -36,7 +34,6 @@ import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 import java.util.TreeSet;
-import java.util.UUID;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import javax.annotation.Nullable;
@@ -51,6 +48,7 @@ public class DropwizardResourceConfig extends ResourceConfig {
     private String urlPattern = "/*";
     private String contextPath = "/";
     private final ComponentLoggingListener loggingListener = new ComponentLoggingListener(this);
+    private final InstanceBinder instanceBinder = new InstanceBinder();
 
     public DropwizardResourceConfig() {
         this(null);
@@ -65,6 +63,7 @@ public class DropwizardResourceConfig extends ResourceConfig {
 
         property(ServerProperties.WADL_FEATURE_DISABLE, Boolean.TRUE);
         register(loggingListener);
+        register(instanceBinder);
 
         register(new InstrumentedResourceMethodApplicationListener(metricRegistry));
         register(CacheControlledResponseFeature.class);
@@ -143,19 +142,10 @@ public class DropwizardResourceConfig extends ResourceConfig {
             // If jersey supports this component's class (including hk2 Binders), register directly
             return super.register(object);
         } else {
-            // Else register a binder that binds the instance to its class type
-            try {
-                // Need to create a new subclass dynamically here because hk2/jersey
-                // doesn't add new bindings for the same class
-                ClassPool pool = ClassPool.getDefault();
-                CtClass cc = pool.makeClass(SpecificBinder.class.getName() + UUID.randomUUID());
-                cc.setSuperclass(pool.get(SpecificBinder.class.getName()));
-                Object binderProxy = cc.toClass().getConstructor(Object.class, Class.class).newInstance(object, clazz);
-                super.register(binderProxy);
-                return super.register(clazz);
-            } catch (Exception e) {
-                throw new RuntimeException(e);
-            }
+            // Else bind the instance to its class type. Jersey doesn't register a second component of the
+            // same class, so all instances share a single binder instead of a binder per instance.
+            instanceBinder.add(object, clazz);
+            return super.register(clazz);
         }
     }
 
@@ -163,6 +153,10 @@ public class DropwizardResourceConfig extends ResourceConfig {
         return PATH_DIRTY_SLASHES.matcher(path).replaceAll("/").trim();
     }
 
+    /**
+     * @deprecated instances registered with {@link #register(Object)} are bound by a single binder
+     */
+    @Deprecated
     public static class SpecificBinder extends AbstractBinder {
         private Object object;
         private Class clazz;
@@ -178,6 +172,24 @@ public class DropwizardResourceConfig extends ResourceConfig {
         }
     }
 
+    private static class InstanceBinder extends AbstractBinder {
+        private final List<Object> objects = new ArrayList<>();
+        private final List<Class<?>> classes = new ArrayList<>();
+
+        void add(Object object, Class<?> clazz) {
+            objects.add(object);
+            classes.add(clazz);
+        }
+
+        @Override
+        @SuppressWarnings({"rawtypes", "unchecked"})
+        protected void configure() {
+            for (int i = 0; i < objects.size(); i++) {
+                bind(objects.get(i)).to((Class) classes.get(i));
+            }
+        }
+    }
+
     private static class EndpointLogLine {
         private final String httpMethod;
         private final String basePath;
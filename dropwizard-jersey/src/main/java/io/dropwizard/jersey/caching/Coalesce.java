@@ -0,0 +1,43 @@
+package io.dropwizard.jersey.caching;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An annotation which lets concurrent, identical {@code GET} requests to the annotated method share a single
+ * invocation of it and its serialized response. Only applies if a {@link CoalescingFeature} is registered.
+ * <p/>
+ * Requests are identical if they have the same request URI, the same values of the given {@link #headers()}
+ * and the same authenticated principal. Only use this annotation on methods whose result doesn't depend on
+ * anything else.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Coalesce {
+    /**
+     * The maximum time a request waits for the response of an identical request in flight, before it
+     * invokes the resource method itself.
+     *
+     * @return the maximum time to wait for an identical request
+     */
+    long timeout() default 10;
+
+    /**
+     * The time unit of {@link #timeout()}.
+     *
+     * @return the time unit of the timeout
+     */
+    TimeUnit timeoutUnit() default TimeUnit.SECONDS;
+
+    /**
+     * The request headers, which have to be equal for requests to be coalesced.
+     *
+     * @return the names of the request headers, which are part of the identity of a request
+     */
+    String[] headers() default {"Accept", "Accept-Language"};
+}
@@ -0,0 +1,275 @@
+package io.dropwizard.jersey.caching;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import org.glassfish.jersey.server.model.AnnotatedMethod;
+import org.glassfish.jersey.server.monitoring.ApplicationEvent;
+import org.glassfish.jersey.server.monitoring.ApplicationEventListener;
+import org.glassfish.jersey.server.monitoring.RequestEvent;
+import org.glassfish.jersey.server.monitoring.RequestEventListener;
+
+import javax.annotation.Nullable;
+import javax.ws.rs.GET;
+import javax.ws.rs.Priorities;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ContainerResponseFilter;
+import javax.ws.rs.container.DynamicFeature;
+import javax.ws.rs.container.ResourceInfo;
+import javax.ws.rs.core.FeatureContext;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.Response;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+/**
+ * An opt-in feature for GET methods annotated with {@link Coalesce}, which lets concurrent, identical requests
+ * share a single invocation of the resource method.
+ * <pre>
+ * {@code
+ *   environment.jersey().register(new CoalescingFeature(environment.metrics()));
+ * }
+ * </pre>
+ * The first request becomes the leader and invokes the resource method, while identical requests arriving in the
+ * meantime wait for it and receive a copy of its serialized response. If the leader doesn't produce a successful,
+ * serializable response, one of the waiting requests becomes the next leader. Requests which wait longer than the
+ * {@link Coalesce#timeout()} invoke the resource method themselves.
+ * <p/>
+ * The feature is also an {@link ApplicationEventListener}, which releases the waiting requests when their leader
+ * fails without a response, e.g. because of an exception which isn't mapped to one.
+ * <p/>
+ * The following metrics are recorded:
+ * <ul>
+ *     <li>{@code leaders}: requests which invoked the resource method on behalf of others</li>
+ *     <li>{@code collapsed}: requests which received the response of a leader</li>
+ *     <li>{@code failures}: requests whose leader didn't produce a shareable response</li>
+ *     <li>{@code timeouts}: requests which stopped waiting for their leader</li>
+ *     <li>{@code in-flight}: the number of leaders currently in flight</li>
+ * </ul>
+ */
+public class CoalescingFeature implements DynamicFeature, ApplicationEventListener {
+    private static final String FLIGHT_PROPERTY = CoalescingFeature.class.getName() + ".flight";
+
+    private final ConcurrentMap<ResponseCache.Key, CompletableFuture<SharedResponse>> inFlight =
+        new ConcurrentHashMap<>();
+    private final Meter leaders;
+    private final Meter collapsed;
+    private final Meter failures;
+    private final Meter timeouts;
+    private final RequestEventListener flightListener = this::onRequestEvent;
+    private volatile boolean coalescing;
+
+    /**
+     * Creates a new feature.
+     *
+     * @param metricRegistry the application's registry of metrics
+     */
+    public CoalescingFeature(MetricRegistry metricRegistry) {
+        this.leaders = metricRegistry.meter(name(CoalescingFeature.class, "leaders"));
+        this.collapsed = metricRegistry.meter(name(CoalescingFeature.class, "collapsed"));
+        this.failures = metricRegistry.meter(name(CoalescingFeature.class, "failures"));
+        this.timeouts = metricRegistry.meter(name(CoalescingFeature.class, "timeouts"));
+        metricRegistry.register(name(CoalescingFeature.class, "in-flight"), (Gauge<Integer>) inFlight::size);
+    }
+
+    @Override
+    public void configure(ResourceInfo resourceInfo, FeatureContext context) {
+        final AnnotatedMethod am = new AnnotatedMethod(resourceInfo.getResourceMethod());
+        final Coalesce coalesce = am.getAnnotation(Coalesce.class);
+        if (coalesce == null || am.getAnnotation(GET.class) == null) {
+            return;
+        }
+
+        coalescing = true;
+
+        // The Cache-Control header of annotated methods is added to every response, including shared ones
+        final List<String> omittedHeaders = am.getAnnotation(CacheControl.class) == null ?
+            Collections.emptyList() : Collections.singletonList(HttpHeaders.CACHE_CONTROL);
+
+        // Runs after authentication, so the principal is known, but before any other user filters
+        context.register(new CoalescingFilter(resourceInfo.getResourceMethod(), Arrays.asList(coalesce.headers()),
+            omittedHeaders, coalesce.timeoutUnit().toNanos(coalesce.timeout())), Priorities.USER - 100);
+    }
+
+    @Override
+    public void onEvent(ApplicationEvent event) {
+    }
+
+    @Override
+    @Nullable
+    public RequestEventListener onRequest(RequestEvent requestEvent) {
+        return coalescing ? flightListener : null;
+    }
+
+    private void onRequestEvent(RequestEvent event) {
+        if (event.getType() != RequestEvent.Type.ON_EXCEPTION && event.getType() != RequestEvent.Type.FINISHED) {
+            return;
+        }
+        // Does nothing if the response filter already landed the flight
+        final Object flight = event.getContainerRequest().getProperty(FLIGHT_PROPERTY);
+        if (flight instanceof Flight) {
+            land((Flight) flight, null);
+        }
+    }
+
+    /**
+     * Ends the flight of a leader, and passes its response to the waiting requests, or lets one of them lead if
+     * there is none.
+     */
+    private void land(Flight flight, @Nullable SharedResponse shared) {
+        inFlight.remove(flight.key, flight.response);
+        flight.response.complete(shared);
+    }
+
+    private class CoalescingFilter implements ContainerRequestFilter, ContainerResponseFilter {
+        private final Method resourceMethod;
+        private final List<String> headers;
+        private final List<String> omittedHeaders;
+        private final long timeoutNanos;
+
+        CoalescingFilter(Method resourceMethod, List<String> headers, List<String> omittedHeaders,
+                         long timeoutNanos) {
+            this.resourceMethod = resourceMethod;
+            this.headers = headers;
+            this.omittedHeaders = omittedHeaders;
+            this.timeoutNanos = timeoutNanos;
+        }
+
+        @Override
+        public void filter(ContainerRequestContext request) throws IOException {
+            final ResponseCache.Key key = ResponseCache.Key.of(resourceMethod, headers, request);
+            final long deadline = System.nanoTime() + timeoutNanos;
+            while (true) {
+                final CompletableFuture<SharedResponse> flight = new CompletableFuture<>();
+                final CompletableFuture<SharedResponse> leader = inFlight.putIfAbsent(key, flight);
+                if (leader == null) {
+                    leaders.mark();
+                    request.setProperty(FLIGHT_PROPERTY, new Flight(key, flight));
+                    return;
+                }
+
+                final SharedResponse response;
+                try {
+                    response = leader.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                } catch (TimeoutException e) {
+                    // Let the next request lead, in case the leader never completes
+                    inFlight.remove(key, leader);
+                    timeouts.mark();
+                    return;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException(e.getCause());
+                }
+
+                if (response != null) {
+                    collapsed.mark();
+                    request.abortWith(response.toResponse());
+                    return;
+                }
+                failures.mark();
+            }
+        }
+
+        @Override
+        public void filter(ContainerRequestContext request, ContainerResponseContext response) throws IOException {
+            final Flight flight = (Flight) request.getProperty(FLIGHT_PROPERTY);
+            if (flight == null) {
+                return;
+            }
+
+            SharedResponse shared = null;
+            try {
+                shared = share(request, response);
+            } finally {
+                land(flight, shared);
+            }
+        }
+
+        @Nullable
+        private SharedResponse share(ContainerRequestContext request, ContainerResponseContext response)
+            throws IOException {
+            if (response.getStatusInfo().getFamily() != Response.Status.Family.SUCCESSFUL ||
+                response.getHeaders().containsKey(HttpHeaders.SET_COOKIE)) {
+                return null;
+            }
+            if (!response.hasEntity()) {
+                return new SharedResponse(response.getStatus(), null, null, response.getHeaders(), omittedHeaders);
+            }
+
+            final byte[] body = EntitySerializer.serialize(request, response);
+            final MediaType mediaType = response.getMediaType();
+            if (body == null || mediaType == null) {
+                return null;
+            }
+            response.setEntity(body, response.getEntityAnnotations(), mediaType);
+            return new SharedResponse(response.getStatus(), body, mediaType, response.getHeaders(),
+                omittedHeaders);
+        }
+
+    }
+
+    private static final class Flight {
+        private final ResponseCache.Key key;
+        private final CompletableFuture<SharedResponse> response;
+
+        private Flight(ResponseCache.Key key, CompletableFuture<SharedResponse> response) {
+            this.key = key;
+            this.response = response;
+        }
+    }
+
+    private static final class SharedResponse {
+        private final int status;
+        @Nullable
+        private final byte[] body;
+        @Nullable
+        private final MediaType mediaType;
+        private final List<Map.Entry<String, Object>> headers;
+
+        private SharedResponse(int status, @Nullable byte[] body, @Nullable MediaType mediaType,
+                               MultivaluedMap<String, Object> headers, List<String> omittedHeaders) {
+            this.status = status;
+            this.body = body;
+            this.mediaType = mediaType;
+            final List<Map.Entry<String, Object>> copy = new ArrayList<>();
+            for (Map.Entry<String, List<Object>> header : headers.entrySet()) {
+                if (!HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(header.getKey()) &&
+                    !HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(header.getKey()) &&
+                    omittedHeaders.stream().noneMatch(header.getKey()::equalsIgnoreCase)) {
+                    for (Object value : header.getValue()) {
+                        copy.add(new AbstractMap.SimpleImmutableEntry<>(header.getKey(), value));
+                    }
+                }
+            }
+            this.headers = Collections.unmodifiableList(copy);
+        }
+
+        private Response toResponse() {
+            final Response.ResponseBuilder builder = Response.status(status).entity(body).type(mediaType);
+            for (Map.Entry<String, Object> header : headers) {
+                builder.header(header.getKey(), header.getValue());
+            }
+            return builder.build();
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package io.dropwizard.jersey.caching;
+
+import org.glassfish.jersey.server.model.AnnotatedMethod;
+
+import javax.annotation.Nullable;
+import javax.ws.rs.GET;
+import javax.ws.rs.Priorities;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ContainerResponseFilter;
+import javax.ws.rs.container.DynamicFeature;
+import javax.ws.rs.container.ResourceInfo;
+import javax.ws.rs.core.FeatureContext;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An opt-in feature for GET methods annotated with {@link CacheControl}, which adds a strong {@code ETag}
+ * computed over the serialized entity to their responses and answers requests with a matching
+ * {@code If-None-Match} header with {@code 304 Not Modified}, without sending the entity.
+ * <p/>
+ * The resource method still runs for every request, unless a {@link ResponseCache} is given. In that case,
+ * responses of methods with a {@code max-age} are cached and served without running the resource method
+ * until they expire or are invalidated.
+ * <pre>
+ * {@code
+ *   environment.jersey().register(new ConditionalGetFeature(
+ *       new ResponseCache(environment.metrics(), "responses", 64 * 1024 * 1024)));
+ * }
+ * </pre>
+ * Responses which already carry an {@code ETag}, which don't have a status of {@code 200 OK}, or whose entity
+ * is streamed, e.g. a {@link StreamingOutput}, are left alone. Responses setting cookies are never cached.
+ */
+public class ConditionalGetFeature implements DynamicFeature {
+    private static final long ONE_YEAR_IN_NANOS = TimeUnit.DAYS.toNanos(365);
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    @Nullable
+    private final ResponseCache cache;
+
+    /**
+     * Creates a feature which only answers conditional requests.
+     */
+    public ConditionalGetFeature() {
+        this.cache = null;
+    }
+
+    /**
+     * Creates a feature which answers conditional requests and caches responses.
+     *
+     * @param cache the cache of serialized responses
+     */
+    public ConditionalGetFeature(ResponseCache cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    public void configure(ResourceInfo resourceInfo, FeatureContext context) {
+        final AnnotatedMethod am = new AnnotatedMethod(resourceInfo.getResourceMethod());
+        final CacheControl cc = am.getAnnotation(CacheControl.class);
+        if (cc == null || am.getAnnotation(GET.class) == null) {
+            return;
+        }
+
+        final long timeToLiveNanos = timeToLiveNanos(cc);
+        context.register(new ConditionalGetFilter(resourceInfo.getResourceMethod(),
+            timeToLiveNanos > 0 ? cache : null, timeToLiveNanos), Priorities.USER);
+    }
+
+    private static long timeToLiveNanos(CacheControl cc) {
+        if (cc.noStore()) {
+            return 0;
+        }
+        if (cc.immutable()) {
+            return ONE_YEAR_IN_NANOS;
+        }
+        return cc.maxAge() > 0 ? cc.maxAgeUnit().toNanos(cc.maxAge()) : 0;
+    }
+
+    /**
+     * Checks an {@code If-None-Match} header against an entity tag, using the weak comparison
+     * mandated by RFC 7232.
+     */
+    static boolean matches(@Nullable String ifNoneMatch, String entityTag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(entityTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static String entityTag(byte[] body) {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        final byte[] hash = digest.digest(body);
+        final char[] tag = new char[hash.length * 2 + 2];
+        tag[0] = '"';
+        for (int i = 0; i < hash.length; i++) {
+            tag[i * 2 + 1] = HEX_DIGITS[(hash[i] >> 4) & 0xf];
+            tag[i * 2 + 2] = HEX_DIGITS[hash[i] & 0xf];
+        }
+        tag[tag.length - 1] = '"';
+        return new String(tag);
+    }
+
+    private static class ConditionalGetFilter implements ContainerRequestFilter, ContainerResponseFilter {
+        private static final String CACHE_KEY = ConditionalGetFilter.class.getName() + ".cacheKey";
+        private static final String FROM_CACHE = ConditionalGetFilter.class.getName() + ".fromCache";
+
+        private final Method resourceMethod;
+        @Nullable
+        private final ResponseCache cache;
+        private final long timeToLiveNanos;
+
+        ConditionalGetFilter(Method resourceMethod, @Nullable ResponseCache cache, long timeToLiveNanos) {
+            this.resourceMethod = resourceMethod;
+            this.cache = cache;
+            this.timeToLiveNanos = timeToLiveNanos;
+        }
+
+        @Override
+        public void filter(ContainerRequestContext request) throws IOException {
+            if (cache == null) {
+                return;
+            }
+
+            final ResponseCache.Key key = cache.key(resourceMethod, request);
+            final ResponseCache.CachedResponse cached = cache.get(key);
+            if (cached == null) {
+                request.setProperty(CACHE_KEY, key);
+                return;
+            }
+
+            request.setProperty(FROM_CACHE, Boolean.TRUE);
+            final boolean notModified = matches(request.getHeaderString(HttpHeaders.IF_NONE_MATCH),
+                cached.getEntityTag());
+            if (notModified) {
+                cache.markNotModified();
+            }
+            request.abortWith(cached.toResponse(notModified).build());
+        }
+
+        @Override
+        public void filter(ContainerRequestContext request, ContainerResponseContext response) throws IOException {
+            if (request.getProperty(FROM_CACHE) != null ||
+                response.getStatus() != Response.Status.OK.getStatusCode() ||
+                !response.hasEntity() ||
+                response.getHeaders().containsKey(HttpHeaders.ETAG)) {
+                return;
+            }
+
+            final byte[] body = EntitySerializer.serialize(request, response);
+            if (body == null) {
+                return;
+            }
+
+            final String entityTag = entityTag(body);
+            response.getHeaders().putSingle(HttpHeaders.ETAG, entityTag);
+
+            final ResponseCache.Key key = (ResponseCache.Key) request.getProperty(CACHE_KEY);
+            final MediaType mediaType = response.getMediaType();
+            if (cache != null && key != null && mediaType != null &&
+                !response.getHeaders().containsKey(HttpHeaders.SET_COOKIE)) {
+                cache.put(key, new ResponseCache.CachedResponse(body, mediaType, entityTag,
+                    response.getHeaders(), timeToLiveNanos));
+            }
+
+            if (matches(request.getHeaderString(HttpHeaders.IF_NONE_MATCH), entityTag)) {
+                if (cache != null) {
+                    cache.markNotModified();
+                }
+                response.setStatus(Response.Status.NOT_MODIFIED.getStatusCode());
+                response.setEntity(null);
+                response.getHeaders().remove(HttpHeaders.CONTENT_TYPE);
+            } else {
+                response.setEntity(body, response.getEntityAnnotations(), mediaType);
+            }
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package io.dropwizard.jersey.caching;
+
+import org.glassfish.jersey.server.ContainerRequest;
+
+import javax.annotation.Nullable;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.StreamingOutput;
+import javax.ws.rs.ext.MessageBodyWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.stream.BaseStream;
+
+/**
+ * Serializes response entities in a response filter, so they can be hashed, cached or shared.
+ */
+final class EntitySerializer {
+    private EntitySerializer() {
+    }
+
+    /**
+     * Serializes the entity of a response with the message body writer Jersey would use for it.
+     *
+     * @return the serialized entity, or {@code null} if the entity is streamed or can't be serialized
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    static byte[] serialize(ContainerRequestContext request, ContainerResponseContext response) throws IOException {
+        final Object entity = response.getEntity();
+        if (entity instanceof byte[]) {
+            return (byte[]) entity;
+        }
+        final MediaType mediaType = response.getMediaType();
+        if (!(request instanceof ContainerRequest) || mediaType == null || isStreamed(entity)) {
+            return null;
+        }
+
+        final MessageBodyWriter<Object> writer = (MessageBodyWriter<Object>) ((ContainerRequest) request)
+            .getWorkers()
+            .getMessageBodyWriter(response.getEntityClass(), response.getEntityType(),
+                response.getEntityAnnotations(), mediaType);
+        if (writer == null) {
+            return null;
+        }
+
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        writer.writeTo(entity, response.getEntityClass(), response.getEntityType(),
+            response.getEntityAnnotations(), mediaType, response.getHeaders(), output);
+        return output.toByteArray();
+    }
+
+    /**
+     * Whether the entity is written as it's produced, so that buffering it would defeat the constant memory use
+     * of streaming it, and could exhaust the heap.
+     */
+    private static boolean isStreamed(@Nullable Object entity) {
+        return entity instanceof StreamingOutput || entity instanceof InputStream || entity instanceof File ||
+            entity instanceof BaseStream || entity instanceof Iterator;
+    }
+}
@@ -0,0 +1,281 @@
+package io.dropwizard.jersey.caching;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import javax.annotation.Nullable;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.Response;
+import java.lang.reflect.Method;
+import java.net.URI;
+import java.security.Principal;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+import static com.codahale.metrics.MetricRegistry.name;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A bounded, in-process cache of serialized responses, used by the {@link ConditionalGetFeature}.
+ * <p/>
+ * Responses are cached per resource method, request URI, the values of a set of request headers and the
+ * name of the authenticated principal. They are kept for the {@code max-age} of the {@link CacheControl}
+ * annotation of their resource method; methods without a {@code max-age}, or with {@code no-store}, aren't
+ * cached. The cache is limited by the total size of the cached response bodies.
+ * <p/>
+ * If the state behind a cached response changes, the response has to be invalidated explicitly, e.g. by
+ * calling {@link #invalidate(String)} with the path of the resource.
+ */
+public class ResponseCache {
+    /**
+     * The request headers, which are part of the cache key by default.
+     */
+    public static final List<String> DEFAULT_KEY_HEADERS =
+        Collections.unmodifiableList(Arrays.asList(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_LANGUAGE));
+
+    /**
+     * The approximate memory used by a cache entry in addition to its body.
+     */
+    private static final int ENTRY_OVERHEAD = 512;
+
+    private final Cache<Key, CachedResponse> cache;
+    private final List<String> keyHeaders;
+    private final Meter hits;
+    private final Meter misses;
+    private final Meter notModified;
+
+    /**
+     * Creates a new response cache, which uses the {@link #DEFAULT_KEY_HEADERS}.
+     *
+     * @param metricRegistry the application's registry of metrics
+     * @param name           the name of the cache, used for its metrics
+     * @param maximumBytes   the maximum total size of the cached response bodies
+     */
+    public ResponseCache(MetricRegistry metricRegistry, String name, long maximumBytes) {
+        this(metricRegistry, name, maximumBytes, DEFAULT_KEY_HEADERS);
+    }
+
+    /**
+     * Creates a new response cache.
+     *
+     * @param metricRegistry the application's registry of metrics
+     * @param name           the name of the cache, used for its metrics
+     * @param maximumBytes   the maximum total size of the cached response bodies
+     * @param keyHeaders     the request headers, which are part of the cache key
+     */
+    public ResponseCache(MetricRegistry metricRegistry, String name, long maximumBytes, List<String> keyHeaders) {
+        this.keyHeaders = Collections.unmodifiableList(new ArrayList<>(keyHeaders));
+        this.cache = Caffeine.newBuilder()
+            .maximumWeight(maximumBytes)
+            .weigher((Key key, CachedResponse response) -> response.body.length + ENTRY_OVERHEAD)
+            .expireAfter(new Expiry<Key, CachedResponse>() {
+                @Override
+                public long expireAfterCreate(Key key, CachedResponse response, long currentTime) {
+                    return response.timeToLiveNanos;
+                }
+
+                @Override
+                public long expireAfterUpdate(Key key, CachedResponse response, long currentTime,
+                                              long currentDuration) {
+                    return response.timeToLiveNanos;
+                }
+
+                @Override
+                public long expireAfterRead(Key key, CachedResponse response, long currentTime,
+                                            long currentDuration) {
+                    return currentDuration;
+                }
+            })
+            .recordStats()
+            .build();
+
+        this.hits = metricRegistry.meter(name(ResponseCache.class, name, "hits"));
+        this.misses = metricRegistry.meter(name(ResponseCache.class, name, "misses"));
+        this.notModified = metricRegistry.meter(name(ResponseCache.class, name, "not-modified"));
+        metricRegistry.register(name(ResponseCache.class, name, "size"), (Gauge<Long>) cache::estimatedSize);
+        metricRegistry.register(name(ResponseCache.class, name, "evictions"),
+            (Gauge<Long>) () -> cache.stats().evictionCount());
+        metricRegistry.register(name(ResponseCache.class, name, "bytes"),
+            (Gauge<Long>) () -> cache.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0L))
+                .orElse(0L));
+    }
+
+    /**
+     * Discards all cached responses of the resource with the given path, regardless of their query
+     * parameters, request headers or principal.
+     *
+     * @param path the absolute path of the resource, e.g. {@code /people/1}
+     */
+    public void invalidate(String path) {
+        requireNonNull(path);
+        invalidateAll(uri -> path.equals(uri.getPath()));
+    }
+
+    /**
+     * Discards all cached responses whose request URI satisfies the given predicate.
+     *
+     * @param predicate a predicate on request URIs
+     */
+    public void invalidateAll(Predicate<? super URI> predicate) {
+        cache.asMap().keySet().removeIf(key -> predicate.test(key.requestUri));
+    }
+
+    /**
+     * Discards all cached responses.
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Returns the number of cached responses.
+     *
+     * @return the number of cached responses
+     */
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    /**
+     * Returns a set of statistics about the cache contents and usage.
+     *
+     * @return a set of statistics about the cache contents and usage
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    Key key(Method resourceMethod, ContainerRequestContext request) {
+        return Key.of(resourceMethod, keyHeaders, request);
+    }
+
+    @Nullable
+    CachedResponse get(Key key) {
+        final CachedResponse response = cache.getIfPresent(key);
+        if (response == null) {
+            misses.mark();
+        } else {
+            hits.mark();
+        }
+        return response;
+    }
+
+    void put(Key key, CachedResponse response) {
+        cache.put(key, response);
+    }
+
+    void markNotModified() {
+        notModified.mark();
+    }
+
+    /**
+     * Identifies the responses of a resource method to a request, which may be shared with other requests.
+     */
+    static final class Key {
+        private final Method resourceMethod;
+        private final URI requestUri;
+        private final List<String> headerValues;
+        @Nullable
+        private final String principal;
+        private final int hashCode;
+
+        private Key(Method resourceMethod, URI requestUri, List<String> headerValues, @Nullable String principal) {
+            this.resourceMethod = resourceMethod;
+            this.requestUri = requestUri;
+            this.headerValues = headerValues;
+            this.principal = principal;
+            this.hashCode = Objects.hash(resourceMethod, requestUri, headerValues, principal);
+        }
+
+        static Key of(Method resourceMethod, List<String> headers, ContainerRequestContext request) {
+            final List<String> headerValues = new ArrayList<>(headers.size());
+            for (String header : headers) {
+                headerValues.add(request.getHeaderString(header));
+            }
+            final Principal principal = request.getSecurityContext() == null ? null :
+                request.getSecurityContext().getUserPrincipal();
+            return new Key(resourceMethod, request.getUriInfo().getRequestUri(), headerValues,
+                principal == null ? null : principal.getName());
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            final Key that = (Key) o;
+            return resourceMethod.equals(that.resourceMethod) &&
+                requestUri.equals(that.requestUri) &&
+                headerValues.equals(that.headerValues) &&
+                Objects.equals(principal, that.principal);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    static final class CachedResponse {
+        private final byte[] body;
+        private final MediaType mediaType;
+        private final String entityTag;
+        private final List<Map.Entry<String, Object>> headers;
+        private final long timeToLiveNanos;
+
+        CachedResponse(byte[] body, MediaType mediaType, String entityTag, MultivaluedMap<String, Object> headers,
+                       long timeToLiveNanos) {
+            this.body = body;
+            this.mediaType = mediaType;
+            this.entityTag = entityTag;
+            this.timeToLiveNanos = timeToLiveNanos;
+            final List<Map.Entry<String, Object>> copy = new ArrayList<>();
+            for (Map.Entry<String, List<Object>> header : headers.entrySet()) {
+                if (isReplayed(header.getKey())) {
+                    for (Object value : header.getValue()) {
+                        copy.add(new AbstractMap.SimpleImmutableEntry<>(header.getKey(), value));
+                    }
+                }
+            }
+            this.headers = Collections.unmodifiableList(copy);
+        }
+
+        String getEntityTag() {
+            return entityTag;
+        }
+
+        Response.ResponseBuilder toResponse(boolean notModified) {
+            final Response.ResponseBuilder builder = notModified ?
+                Response.notModified() : Response.ok(body, mediaType);
+            for (Map.Entry<String, Object> header : headers) {
+                builder.header(header.getKey(), header.getValue());
+            }
+            return builder.header(HttpHeaders.ETAG, entityTag);
+        }
+
+        private static boolean isReplayed(String header) {
+            return !(HttpHeaders.CACHE_CONTROL.equalsIgnoreCase(header) ||
+                HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(header) ||
+                HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(header) ||
+                HttpHeaders.DATE.equalsIgnoreCase(header) ||
+                HttpHeaders.ETAG.equalsIgnoreCase(header));
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package io.dropwizard.jersey.jackson;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+
+import javax.annotation.Nullable;
+import javax.ws.rs.core.MediaType;
+
+/**
+ * A Jersey provider which reads and writes entities in the binary CBOR format (RFC 7049), using the
+ * configuration, modules and serializers of the application's {@link ObjectMapper}.
+ * <p/>
+ * Selected for requests and responses with the media type {@link #APPLICATION_CBOR}, e.g. if a client sends
+ * {@code Accept: application/cbor} and the resource method produces it.
+ */
+public class JacksonCborMessageBodyProvider extends JacksonMessageBodyProvider {
+    /**
+     * The media type of CBOR encoded entities.
+     */
+    public static final String APPLICATION_CBOR = "application/cbor";
+
+    /**
+     * The media type of CBOR encoded entities.
+     */
+    public static final MediaType APPLICATION_CBOR_TYPE = new MediaType("application", "cbor");
+
+    public JacksonCborMessageBodyProvider(ObjectMapper mapper) {
+        super(mapper, new CBORFactory());
+    }
+
+    @Override
+    protected boolean hasMatchingMediaType(@Nullable MediaType mediaType) {
+        return mediaType != null && !mediaType.isWildcardSubtype() && mediaType.isCompatible(APPLICATION_CBOR_TYPE);
+    }
+}
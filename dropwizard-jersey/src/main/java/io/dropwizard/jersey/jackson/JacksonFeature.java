@@ -9,6 +9,10 @@ import javax.ws.rs.ext.MessageBodyWriter;
 
 /**
  * An HK2 binder that registers the Jackson JSON provider while allowing users to override.
+ * <p/>
+ * Also registers providers for the binary Smile and CBOR formats, which share the configuration of the
+ * JSON provider's {@link ObjectMapper} and are used for the media types {@code application/x-jackson-smile}
+ * and {@code application/cbor}.
  */
 public class JacksonFeature implements Feature {
     private final ObjectMapper mapper;
@@ -20,6 +24,8 @@ public class JacksonFeature implements Feature {
     @Override
     public boolean configure(FeatureContext context) {
         context.register(new JacksonMessageBodyProvider(mapper), MessageBodyReader.class, MessageBodyWriter.class);
+        context.register(new JacksonSmileMessageBodyProvider(mapper), MessageBodyReader.class, MessageBodyWriter.class);
+        context.register(new JacksonCborMessageBodyProvider(mapper), MessageBodyReader.class, MessageBodyWriter.class);
         return true;
     }
 }
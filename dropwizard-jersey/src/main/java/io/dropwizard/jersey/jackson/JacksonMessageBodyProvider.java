@@ -1,25 +1,83 @@
 package io.dropwizard.jersey.jackson;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreType;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.jaxrs.json.JacksonJaxbJsonProvider;
+import com.fasterxml.jackson.jaxrs.json.JsonEndpointConfig;
 
 import javax.annotation.Nullable;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.lang.annotation.Annotation;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
 import java.lang.reflect.Type;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * A Jersey provider which enables using Jackson to parse request entities into objects and generate
  * response entities from objects.
  * <p/>
  * (Essentially, extends {@link JacksonJaxbJsonProvider} with support for {@link JsonIgnoreType}.)
+ * <p/>
+ * Entities of type {@link Stream} or {@link Iterator} are written incrementally, one element at a time, as a JSON
+ * array or, for the media type {@link #APPLICATION_NDJSON}, as newline-delimited JSON. Streams are closed once
+ * written. Likewise, request entities of type {@link Stream} are parsed incrementally while the stream is consumed,
+ * from either a JSON array or newline-delimited JSON; malformed elements fail the stream when they're reached.
  */
 public class JacksonMessageBodyProvider extends JacksonJaxbJsonProvider {
+    /**
+     * The media type of newline-delimited JSON, i.e. one JSON value per line.
+     */
+    public static final String APPLICATION_NDJSON = "application/x-ndjson";
+
+    /**
+     * The media type of newline-delimited JSON, i.e. one JSON value per line.
+     */
+    public static final MediaType APPLICATION_NDJSON_TYPE = new MediaType("application", "x-ndjson");
+
+    /**
+     * The number of elements of a stream, after which the written elements are flushed to the client.
+     */
+    private static final int FLUSH_INTERVAL = 1000;
+
+    private static final SerializedString LINE_SEPARATOR = new SerializedString("\n");
+
     private final ObjectMapper mapper;
+    private final JsonFactory factory;
 
     public JacksonMessageBodyProvider(ObjectMapper mapper) {
+        this(mapper, mapper.getFactory());
+    }
+
+    /**
+     * Creates a provider, which reads and writes entities in the format of the given factory, e.g. Smile, while
+     * using the configuration, modules and serializers of the given mapper.
+     *
+     * @param mapper  the configured object mapper
+     * @param factory the factory of the parsers and generators of the provided format
+     */
+    protected JacksonMessageBodyProvider(ObjectMapper mapper, JsonFactory factory) {
         this.mapper = mapper;
+        this.factory = factory;
         setMapper(mapper);
     }
 
@@ -39,6 +97,116 @@ public class JacksonMessageBodyProvider extends JacksonJaxbJsonProvider {
         return isProvidable(type) && super.isWriteable(type, genericType, annotations, mediaType);
     }
 
+    @Override
+    protected boolean hasMatchingMediaType(@Nullable MediaType mediaType) {
+        return super.hasMatchingMediaType(mediaType) || isNdjson(mediaType);
+    }
+
+    @Override
+    protected JsonEndpointConfig _configForReading(ObjectReader reader, Annotation[] annotations) {
+        return super._configForReading(reader.with(factory), annotations);
+    }
+
+    @Override
+    protected JsonEndpointConfig _configForWriting(ObjectWriter writer, Annotation[] annotations) {
+        return super._configForWriting(writer.with(factory), annotations);
+    }
+
+    @Override
+    public Object readFrom(Class<Object> type,
+                           Type genericType,
+                           Annotation[] annotations,
+                           MediaType mediaType,
+                           MultivaluedMap<String, String> httpHeaders,
+                           InputStream entityStream) throws IOException {
+        if (!Stream.class.equals(type)) {
+            return super.readFrom(type, genericType, annotations, mediaType, httpHeaders, entityStream);
+        }
+
+        // Unwraps a top-level JSON array, and reads whitespace-separated values otherwise
+        final MappingIterator<Object> values = mapper.readerFor(elementType(genericType))
+            .with(factory)
+            .readValues(entityStream);
+        final Stream<Object> stream = StreamSupport
+            .stream(Spliterators.spliteratorUnknownSize(values, Spliterator.ORDERED), false)
+            .onClose(() -> {
+                try {
+                    values.close();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+
+        // Jersey closes the entity stream after reading the entity, unless the entity is Closeable. Its close()
+        // is dispatched as the one of Stream, which comes first, so every call is delegated to the stream.
+        return Proxy.newProxyInstance(Stream.class.getClassLoader(), new Class<?>[]{Stream.class, Closeable.class},
+            (proxy, method, args) -> {
+                try {
+                    return method.invoke(stream, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            });
+    }
+
+    @Override
+    public void writeTo(Object value,
+                        Class<?> type,
+                        Type genericType,
+                        Annotation[] annotations,
+                        MediaType mediaType,
+                        MultivaluedMap<String, Object> httpHeaders,
+                        OutputStream entityStream) throws IOException {
+        if (value instanceof Stream) {
+            try (Stream<?> stream = (Stream<?>) value) {
+                writeElements(stream.iterator(), genericType, mediaType, entityStream);
+            }
+        } else if (value instanceof Iterator) {
+            writeElements((Iterator<?>) value, genericType, mediaType, entityStream);
+        } else {
+            super.writeTo(value, type, genericType, annotations, mediaType, httpHeaders, entityStream);
+        }
+    }
+
+    private void writeElements(Iterator<?> elements,
+                               Type genericType,
+                               MediaType mediaType,
+                               OutputStream entityStream) throws IOException {
+        final boolean ndjson = isNdjson(mediaType);
+        final ObjectWriter writer = mapper.writerFor(elementType(genericType))
+            .with(factory)
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        final JsonGenerator generator = factory.createGenerator(entityStream);
+        // The entity stream is closed by Jersey
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        if (ndjson) {
+            generator.setRootValueSeparator(LINE_SEPARATOR);
+        }
+
+        try (SequenceWriter sequence = ndjson ? writer.writeValues(generator) : writer.writeValuesAsArray(generator)) {
+            int written = 0;
+            while (elements.hasNext()) {
+                sequence.write(elements.next());
+                if (++written % FLUSH_INTERVAL == 0) {
+                    sequence.flush();
+                }
+            }
+        }
+        if (ndjson) {
+            generator.writeRaw('\n');
+        }
+        generator.close();
+    }
+
+    private JavaType elementType(@Nullable Type genericType) {
+        return genericType == null ? mapper.constructType(Object.class) :
+            mapper.constructType(genericType).containedTypeOrUnknown(0);
+    }
+
+    private static boolean isNdjson(@Nullable MediaType mediaType) {
+        return mediaType != null && mediaType.isCompatible(APPLICATION_NDJSON_TYPE) && !mediaType.isWildcardSubtype();
+    }
+
     private boolean isProvidable(Class<?> type) {
         final JsonIgnoreType ignore = type.getAnnotation(JsonIgnoreType.class);
         return (ignore == null) || !ignore.value();
@@ -0,0 +1,35 @@
+package io.dropwizard.jersey.jackson;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+import javax.annotation.Nullable;
+import javax.ws.rs.core.MediaType;
+
+/**
+ * A Jersey provider which reads and writes entities in the binary Smile format, using the configuration,
+ * modules and serializers of the application's {@link ObjectMapper}.
+ * <p/>
+ * Selected for requests and responses with the media type {@link #APPLICATION_SMILE}, e.g. if a client sends
+ * {@code Accept: application/x-jackson-smile} and the resource method produces it.
+ */
+public class JacksonSmileMessageBodyProvider extends JacksonMessageBodyProvider {
+    /**
+     * The media type of Smile encoded entities.
+     */
+    public static final String APPLICATION_SMILE = "application/x-jackson-smile";
+
+    /**
+     * The media type of Smile encoded entities.
+     */
+    public static final MediaType APPLICATION_SMILE_TYPE = new MediaType("application", "x-jackson-smile");
+
+    public JacksonSmileMessageBodyProvider(ObjectMapper mapper) {
+        super(mapper, new SmileFactory());
+    }
+
+    @Override
+    protected boolean hasMatchingMediaType(@Nullable MediaType mediaType) {
+        return mediaType != null && !mediaType.isWildcardSubtype() && mediaType.isCompatible(APPLICATION_SMILE_TYPE);
+    }
+}
@@ -8,25 +8,39 @@ import org.glassfish.jersey.server.model.Parameter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
 import javax.validation.ConstraintViolation;
 import javax.validation.ConstraintViolationException;
 import javax.validation.Validator;
 import javax.validation.executable.ExecutableValidator;
 import javax.validation.groups.Default;
 import javax.validation.metadata.BeanDescriptor;
+import javax.validation.metadata.MethodDescriptor;
 import javax.ws.rs.WebApplicationException;
+import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import static java.util.Objects.requireNonNull;
 
 public class DropwizardConfiguredValidator implements ConfiguredValidator {
     private static final Logger LOGGER = LoggerFactory.getLogger(DropwizardConfiguredValidator.class);
 
+    private static final Class<?>[] DEFAULT_GROUP = {Default.class};
+
+    /**
+     * Invocables are usually part of a fixed resource model, but resource locators may create new ones
+     * for every request, so the number of cached plans is limited.
+     */
+    private static final int MAXIMUM_PLANS = 10_000;
+
     private final Validator validator;
+    private final ConcurrentMap<Invocable, ValidationPlan> plans = new ConcurrentHashMap<>();
 
     public DropwizardConfiguredValidator(Validator validator) {
         this.validator = requireNonNull(validator);
@@ -35,15 +49,20 @@ public class DropwizardConfiguredValidator implements ConfiguredValidator {
     @Override
     public void validateResourceAndInputParams(Object resource, final Invocable invocable, Object[] objects)
             throws ConstraintViolationException {
-        final Class<?>[] groups = getGroup(invocable);
-        final Set<ConstraintViolation<Object>> violations = new HashSet<>();
-        final BeanDescriptor beanDescriptor = getConstraintsForClass(resource.getClass());
+        final ValidationPlan plan = getPlan(resource, invocable);
+        final Class<?>[] groups = plan.getParameterGroups(invocable);
+        if (!plan.resourceConstrained && !plan.parametersConstrained) {
+            return;
+        }
 
-        if (beanDescriptor.isBeanConstrained()) {
+        final Set<ConstraintViolation<Object>> violations = new HashSet<>();
+        if (plan.resourceConstrained) {
             violations.addAll(validate(resource, groups));
         }
 
-        violations.addAll(forExecutables().validateParameters(resource, invocable.getHandlingMethod(), objects, groups));
+        if (plan.parametersConstrained) {
+            violations.addAll(forExecutables().validateParameters(resource, invocable.getHandlingMethod(), objects, groups));
+        }
         if (!violations.isEmpty()) {
             throw new JerseyViolationException(violations, invocable);
         }
@@ -53,8 +72,11 @@ public class DropwizardConfiguredValidator implements ConfiguredValidator {
      * If the request entity is annotated with {@link Validated} then run
      * validations in the specified constraint group else validate with the
      * {@link Default} group
+     *
+     * @return the groups, or {@code null} if the parameters are annotated with different groups
      */
-    private Class<?>[] getGroup(Invocable invocable) {
+    @Nullable
+    private static Class<?>[] getGroup(Invocable invocable) {
         final List<Class<?>[]> groups = new ArrayList<>();
         for (Parameter parameter : invocable.getParameters()) {
             if (parameter.isAnnotationPresent(Validated.class)) {
@@ -64,22 +86,20 @@ public class DropwizardConfiguredValidator implements ConfiguredValidator {
 
         switch (groups.size()) {
             // No parameters were annotated with Validated, so validate under the default group
-            case 0: return new Class<?>[] {Default.class};
+            case 0: return DEFAULT_GROUP;
 
             // A single parameter was annotated with Validated, so use their group
             case 1: return groups.get(0);
 
             // Multiple parameters were annotated with Validated, so we must check if
-            // all groups are equal to each other, if not, throw an exception because
-            // the validator is unable to handle parameters validated under different
-            // groups. If the parameters have the same group, we can grab the first
-            // group.
+            // all groups are equal to each other, if not, the validator is unable to
+            // handle parameters validated under different groups. If the parameters
+            // have the same group, we can grab the first group.
             default:
                 for (int i = 0; i < groups.size(); i++) {
                     for (int j = i; j < groups.size(); j++) {
                         if (!Arrays.deepEquals(groups.get(i), groups.get(j))) {
-                            throw new WebApplicationException("Parameters must have the same validation groups in " +
-                                invocable.getHandlingMethod().getName(), 500);
+                            return null;
                         }
                     }
                 }
@@ -90,23 +110,50 @@ public class DropwizardConfiguredValidator implements ConfiguredValidator {
     @Override
     public void validateResult(Object resource, Invocable invocable, Object returnValue)
             throws ConstraintViolationException {
-        // If the Validated annotation is on a method, then validate the response with
-        // the specified constraint group.
-        final Class<?>[] groups;
-        if (invocable.getHandlingMethod().isAnnotationPresent(Validated.class)) {
-            groups = invocable.getHandlingMethod().getAnnotation(Validated.class).value();
-        } else {
-            groups = new Class<?>[]{Default.class};
+        final ValidationPlan plan = getPlan(resource, invocable);
+        if (!plan.returnValueConstrained) {
+            return;
         }
 
         final Set<ConstraintViolation<Object>> violations =
-            forExecutables().validateReturnValue(resource, invocable.getHandlingMethod(), returnValue, groups);
+            forExecutables().validateReturnValue(resource, invocable.getHandlingMethod(), returnValue, plan.resultGroups);
         if (!violations.isEmpty()) {
             LOGGER.trace("Response validation failed: {}", ConstraintViolations.copyOf(violations));
             throw new JerseyViolationException(violations, invocable);
         }
     }
 
+    private ValidationPlan getPlan(Object resource, Invocable invocable) {
+        final Class<?> resourceClass = resource.getClass();
+        final ValidationPlan cached = plans.get(invocable);
+        if (cached != null && cached.resourceClass == resourceClass) {
+            return cached;
+        }
+
+        final ValidationPlan plan = createPlan(resourceClass, invocable);
+        if (cached != null || plans.size() < MAXIMUM_PLANS) {
+            plans.put(invocable, plan);
+        }
+        return plan;
+    }
+
+    private ValidationPlan createPlan(Class<?> resourceClass, Invocable invocable) {
+        final Method method = invocable.getHandlingMethod();
+        final BeanDescriptor beanDescriptor = getConstraintsForClass(resourceClass);
+        final MethodDescriptor methodDescriptor =
+            beanDescriptor.getConstraintsForMethod(method.getName(), method.getParameterTypes());
+
+        // If the Validated annotation is on a method, then validate the response with
+        // the specified constraint group.
+        final Validated validated = method.getAnnotation(Validated.class);
+        return new ValidationPlan(resourceClass,
+            getGroup(invocable),
+            validated == null ? DEFAULT_GROUP : validated.value(),
+            beanDescriptor.isBeanConstrained(),
+            methodDescriptor != null && methodDescriptor.hasConstrainedParameters(),
+            methodDescriptor != null && methodDescriptor.hasConstrainedReturnValue());
+    }
+
     @Override
     public <T> Set<ConstraintViolation<T>> validate(T t, Class<?>... classes) {
         return validator.validate(t, classes);
@@ -136,4 +183,40 @@ public class DropwizardConfiguredValidator implements ConfiguredValidator {
     public ExecutableValidator forExecutables() {
         return validator.forExecutables();
     }
+
+    /**
+     * What has to be validated for an {@link Invocable}, which is resolved once from its annotations
+     * and the constraint metadata of its resource class.
+     */
+    private static final class ValidationPlan {
+        private final Class<?> resourceClass;
+        @Nullable
+        private final Class<?>[] parameterGroups;
+        private final Class<?>[] resultGroups;
+        private final boolean resourceConstrained;
+        private final boolean parametersConstrained;
+        private final boolean returnValueConstrained;
+
+        private ValidationPlan(Class<?> resourceClass,
+                               @Nullable Class<?>[] parameterGroups,
+                               Class<?>[] resultGroups,
+                               boolean resourceConstrained,
+                               boolean parametersConstrained,
+                               boolean returnValueConstrained) {
+            this.resourceClass = resourceClass;
+            this.parameterGroups = parameterGroups;
+            this.resultGroups = resultGroups;
+            this.resourceConstrained = resourceConstrained;
+            this.parametersConstrained = parametersConstrained;
+            this.returnValueConstrained = returnValueConstrained;
+        }
+
+        private Class<?>[] getParameterGroups(Invocable invocable) {
+            if (parameterGroups == null) {
+                throw new WebApplicationException("Parameters must have the same validation groups in " +
+                    invocable.getHandlingMethod().getName(), 500);
+            }
+            return parameterGroups;
+        }
+    }
 }
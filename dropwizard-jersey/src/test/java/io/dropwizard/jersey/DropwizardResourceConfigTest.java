@@ -246,6 +246,20 @@ public class DropwizardResourceConfigTest {
                 .contains("GET     /context/pattern/another (io.dropwizard.jersey.DropwizardResourceConfigTest.ImplementingResource)");
     }
 
+    @Test
+    public void bindsRegisteredInstancesWithoutAdditionalComponents() {
+        final int singletons = rc.getSingletons().size();
+        rc.register(new GreetingResource("hello"));
+        rc.register(new TestResource());
+
+        assertThat(rc.getSingletons()).hasSize(singletons);
+        assertThat(rc.getClasses()).contains(GreetingResource.class, TestResource.class);
+
+        runJersey();
+        assertThat(jerseyTest.target("/greeting").request().get(String.class)).isEqualTo("hello");
+        assertThat(jerseyTest.target("/dummy").request().get(String.class)).isEqualTo("bar");
+    }
+
     @Test
     public void logsEndpointsContextPath() {
         rc.setContextPath("/context");
@@ -278,6 +292,20 @@ public class DropwizardResourceConfigTest {
         }
     }
 
+    @Path("/greeting")
+    public static class GreetingResource {
+        private final String greeting;
+
+        public GreetingResource(String greeting) {
+            this.greeting = greeting;
+        }
+
+        @GET
+        public String greet() {
+            return greeting;
+        }
+    }
+
     @Path("/dummy")
     public static class TestResource2 {
         @POST
@@ -0,0 +1,155 @@
+package io.dropwizard.jersey.caching;
+
+import com.codahale.metrics.MetricRegistry;
+import io.dropwizard.jersey.AbstractJerseyTest;
+import io.dropwizard.jersey.DropwizardResourceConfig;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.ws.rs.core.Application;
+import javax.ws.rs.core.Response;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CoalescingFeatureTest extends AbstractJerseyTest {
+    private MetricRegistry metricRegistry;
+
+    @Override
+    protected Application configure() {
+        // Called by the constructor of JerseyTest, before any field initializers
+        metricRegistry = new MetricRegistry();
+        final ResourceConfig rc = DropwizardResourceConfig.forTesting();
+        rc.register(CoalescingResource.class);
+        rc.register(new CoalescingFeature(metricRegistry));
+        return rc;
+    }
+
+    @Before
+    public void resetResource() {
+        CoalescingResource.INVOCATIONS.set(0);
+        CoalescingResource.entered = new CountDownLatch(1);
+        CoalescingResource.release = new CountDownLatch(1);
+        CoalescingResource.failFirst = false;
+        CoalescingResource.throwFirst = false;
+    }
+
+    @After
+    public void releaseResource() {
+        CoalescingResource.release.countDown();
+    }
+
+    @Test
+    public void sharesTheResponseOfConcurrentIdenticalRequests() throws Exception {
+        final Future<Response> leader = get("/coalesced/greeting/coda");
+        awaitLeader();
+        final Future<Response> follower = getConcurrently("/coalesced/greeting/coda");
+
+        CoalescingResource.release.countDown();
+
+        assertThat(leader.get(5, TimeUnit.SECONDS).readEntity(String.class))
+            .isEqualTo("{\"greeting\":\"hello, coda #1\"}");
+        final Response response = follower.get(5, TimeUnit.SECONDS);
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getMediaType().toString()).isEqualTo("application/json");
+        assertThat(response.readEntity(String.class)).isEqualTo("{\"greeting\":\"hello, coda #1\"}");
+        assertThat(CoalescingResource.INVOCATIONS).hasValue(1);
+        assertThat(meter("leaders")).isEqualTo(1);
+        assertThat(meter("collapsed")).isEqualTo(1);
+        assertThat(metricRegistry.getGauges().get("io.dropwizard.jersey.caching.CoalescingFeature.in-flight")
+            .getValue()).isEqualTo(0);
+    }
+
+    @Test
+    public void doesNotCoalesceDifferentRequests() throws Exception {
+        get("/coalesced/greeting/coda");
+        awaitLeader();
+
+        final Response other = get("/coalesced/greeting/other?lang=en").get(5, TimeUnit.SECONDS);
+
+        assertThat(other.readEntity(String.class)).isEqualTo("{\"greeting\":\"hello, other #2\"}");
+        assertThat(meter("collapsed")).isZero();
+    }
+
+    @Test
+    public void letsAFollowerLeadIfTheLeaderFails() throws Exception {
+        CoalescingResource.failFirst = true;
+        final Future<Response> leader = get("/coalesced/greeting/coda");
+        awaitLeader();
+        final Future<Response> follower = getConcurrently("/coalesced/greeting/coda");
+
+        CoalescingResource.release.countDown();
+
+        assertThat(leader.get(5, TimeUnit.SECONDS).getStatus()).isEqualTo(503);
+        assertThat(follower.get(5, TimeUnit.SECONDS).readEntity(String.class))
+            .isEqualTo("{\"greeting\":\"hello, coda #2\"}");
+        assertThat(CoalescingResource.INVOCATIONS).hasValue(2);
+        assertThat(meter("leaders")).isEqualTo(2);
+        assertThat(meter("failures")).isEqualTo(1);
+    }
+
+    @Test
+    public void letsAFollowerLeadIfTheLeaderThrowsAnUnmappedException() throws Exception {
+        CoalescingResource.throwFirst = true;
+        get("/coalesced/greeting/coda");
+        awaitLeader();
+        final Future<Response> follower = getConcurrently("/coalesced/greeting/coda");
+
+        CoalescingResource.release.countDown();
+
+        // Without a response, the leader's flight ends when its request finishes, long before the timeout
+        assertThat(follower.get(5, TimeUnit.SECONDS).readEntity(String.class))
+            .isEqualTo("{\"greeting\":\"hello, coda #2\"}");
+        assertThat(meter("failures")).isEqualTo(1);
+        assertThat(meter("timeouts")).isZero();
+        assertThat(metricRegistry.getGauges().get("io.dropwizard.jersey.caching.CoalescingFeature.in-flight")
+            .getValue()).isEqualTo(0);
+    }
+
+    @Test
+    public void invokesTheResourceMethodAfterTheTimeout() throws Exception {
+        get("/coalesced/impatient/coda");
+        awaitLeader();
+
+        final Response follower = get("/coalesced/impatient/coda").get(5, TimeUnit.SECONDS);
+
+        assertThat(follower.readEntity(String.class)).isEqualTo("{\"greeting\":\"hello, coda #2\"}");
+        assertThat(meter("timeouts")).isEqualTo(1);
+    }
+
+    @Test
+    public void ignoresMethodsWithoutCoalesce() throws Exception {
+        get("/coalesced/uncoalesced/coda");
+        awaitLeader();
+
+        final Response other = get("/coalesced/uncoalesced/coda").get(5, TimeUnit.SECONDS);
+
+        assertThat(other.readEntity(String.class)).isEqualTo("{\"greeting\":\"hello, coda #2\"}");
+        assertThat(meter("leaders")).isZero();
+    }
+
+    private Future<Response> get(String uri) {
+        final String[] parts = uri.split("\\?");
+        return parts.length == 1 ? target(uri).request().async().get() :
+            target(parts[0]).queryParam(parts[1].split("=")[0], parts[1].split("=")[1]).request().async().get();
+    }
+
+    private Future<Response> getConcurrently(String uri) throws InterruptedException {
+        final Future<Response> response = get(uri);
+        // Give the request time to reach the server and start waiting for the leader
+        Thread.sleep(250);
+        return response;
+    }
+
+    private static void awaitLeader() throws InterruptedException {
+        assertThat(CoalescingResource.entered.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private long meter(String name) {
+        return metricRegistry.meter(MetricRegistry.name(CoalescingFeature.class, name)).getCount();
+    }
+}
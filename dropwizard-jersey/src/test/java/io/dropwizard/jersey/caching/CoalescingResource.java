@@ -0,0 +1,58 @@
+package io.dropwizard.jersey.caching;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.MediaType;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Path("/coalesced/")
+@Produces(MediaType.APPLICATION_JSON)
+public class CoalescingResource {
+    static final AtomicInteger INVOCATIONS = new AtomicInteger();
+    static volatile CountDownLatch entered = new CountDownLatch(1);
+    static volatile CountDownLatch release = new CountDownLatch(0);
+    static volatile boolean failFirst;
+    static volatile boolean throwFirst;
+
+    @GET
+    @Path("/greeting/{name}")
+    @Coalesce
+    public Map<String, String> greeting(@PathParam("name") String name) throws InterruptedException {
+        return greet(name);
+    }
+
+    @GET
+    @Path("/impatient/{name}")
+    @Coalesce(timeout = 100, timeoutUnit = TimeUnit.MILLISECONDS)
+    public Map<String, String> impatient(@PathParam("name") String name) throws InterruptedException {
+        return greet(name);
+    }
+
+    @GET
+    @Path("/uncoalesced/{name}")
+    public Map<String, String> uncoalesced(@PathParam("name") String name) throws InterruptedException {
+        return greet(name);
+    }
+
+    private static Map<String, String> greet(String name) throws InterruptedException {
+        final int invocation = INVOCATIONS.incrementAndGet();
+        if (invocation == 1) {
+            entered.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            if (failFirst) {
+                throw new WebApplicationException(503);
+            }
+            if (throwFirst) {
+                throw new IllegalStateException("Unmapped");
+            }
+        }
+        return Collections.singletonMap("greeting", "hello, " + name + " #" + invocation);
+    }
+}
@@ -0,0 +1,162 @@
+package io.dropwizard.jersey.caching;
+
+import com.codahale.metrics.MetricRegistry;
+import io.dropwizard.jersey.AbstractJerseyTest;
+import io.dropwizard.jersey.DropwizardResourceConfig;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.core.Application;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ConditionalGetFeatureTest extends AbstractJerseyTest {
+    private MetricRegistry metricRegistry;
+    private ResponseCache cache;
+
+    @Override
+    protected Application configure() {
+        // Called by the constructor of JerseyTest, before any field initializers
+        metricRegistry = new MetricRegistry();
+        cache = new ResponseCache(metricRegistry, "test", 1024 * 1024);
+        final ResourceConfig rc = DropwizardResourceConfig.forTesting();
+        rc.register(ConditionalGetResource.class);
+        rc.register(new ConditionalGetFeature(cache));
+        return rc;
+    }
+
+    @Before
+    public void resetResource() {
+        ConditionalGetResource.INVOCATIONS.set(0);
+        ConditionalGetResource.greeting = "hello";
+    }
+
+    @Test
+    public void addsStrongEntityTags() {
+        final Response response = target("/conditional/no-max-age").request().get();
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getHeaderString(HttpHeaders.ETAG)).matches("\"[0-9a-f]{32}\"");
+        assertThat(response.getHeaderString(HttpHeaders.CACHE_CONTROL)).isEqualTo("private, no-transform");
+        assertThat(response.readEntity(String.class)).isEqualTo("{\"greeting\":\"hello\"}");
+    }
+
+    @Test
+    public void answersMatchingRequestsWithNotModified() {
+        final String entityTag = target("/conditional/no-max-age").request().get().getHeaderString(HttpHeaders.ETAG);
+
+        final Response response = target("/conditional/no-max-age").request()
+            .header(HttpHeaders.IF_NONE_MATCH, "\"other\", " + entityTag)
+            .get();
+
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(response.getHeaderString(HttpHeaders.ETAG)).isEqualTo(entityTag);
+        assertThat(response.hasEntity()).isFalse();
+        assertThat(ConditionalGetResource.INVOCATIONS).hasValue(2);
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    public void answersChangedResourcesWithTheirEntity() {
+        final String entityTag = target("/conditional/no-max-age").request().get().getHeaderString(HttpHeaders.ETAG);
+        ConditionalGetResource.greeting = "bonjour";
+
+        final Response response = target("/conditional/no-max-age").request()
+            .header(HttpHeaders.IF_NONE_MATCH, entityTag)
+            .get();
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getHeaderString(HttpHeaders.ETAG)).isNotEqualTo(entityTag);
+        assertThat(response.readEntity(String.class)).isEqualTo("{\"greeting\":\"bonjour\"}");
+    }
+
+    @Test
+    public void servesFreshResponsesFromTheCache() {
+        final Response first = target("/conditional/fresh/coda").request().get();
+        final Response second = target("/conditional/fresh/coda").request().get();
+
+        assertThat(second.getStatus()).isEqualTo(200);
+        assertThat(second.getHeaderString(HttpHeaders.ETAG)).isEqualTo(first.getHeaderString(HttpHeaders.ETAG));
+        assertThat(second.getHeaderString(HttpHeaders.CACHE_CONTROL)).isEqualTo("no-transform, max-age=3600");
+        assertThat(second.getMediaType()).isEqualTo(first.getMediaType());
+        assertThat(second.readEntity(String.class)).isEqualTo("{\"greeting\":\"hello, coda\"}");
+        assertThat(ConditionalGetResource.INVOCATIONS).hasValue(1);
+        assertThat(metricRegistry.meter("io.dropwizard.jersey.caching.ResponseCache.test.hits").getCount())
+            .isEqualTo(1);
+    }
+
+    @Test
+    public void answersConditionalRequestsFromTheCache() {
+        final String entityTag = target("/conditional/fresh/coda").request().get().getHeaderString(HttpHeaders.ETAG);
+
+        final Response response = target("/conditional/fresh/coda").request()
+            .header(HttpHeaders.IF_NONE_MATCH, "W/" + entityTag)
+            .get();
+
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(response.getHeaderString(HttpHeaders.ETAG)).isEqualTo(entityTag);
+        assertThat(ConditionalGetResource.INVOCATIONS).hasValue(1);
+        assertThat(metricRegistry.meter("io.dropwizard.jersey.caching.ResponseCache.test.not-modified").getCount())
+            .isEqualTo(1);
+    }
+
+    @Test
+    public void cachesResponsesPerUriAndKeyHeaders() {
+        target("/conditional/fresh/coda").request().get();
+        target("/conditional/fresh/other").request().get();
+        target("/conditional/fresh/coda").request().header(HttpHeaders.ACCEPT_LANGUAGE, "fr").get();
+
+        assertThat(ConditionalGetResource.INVOCATIONS).hasValue(3);
+        assertThat(cache.size()).isEqualTo(3);
+    }
+
+    @Test
+    public void invalidatesCachedResponses() {
+        target("/conditional/fresh/coda").request().get();
+        ConditionalGetResource.greeting = "bonjour";
+
+        cache.invalidate("/conditional/fresh/coda");
+        final Response response = target("/conditional/fresh/coda").request().get();
+
+        assertThat(response.readEntity(String.class)).isEqualTo("{\"greeting\":\"bonjour, coda\"}");
+        assertThat(ConditionalGetResource.INVOCATIONS).hasValue(2);
+    }
+
+    @Test
+    public void doesNotCacheResponsesWhichMustNotBeStored() {
+        target("/conditional/no-store").request().get();
+        final Response response = target("/conditional/no-store").request().get();
+
+        assertThat(response.getHeaderString(HttpHeaders.ETAG)).isNotNull();
+        assertThat(ConditionalGetResource.INVOCATIONS).hasValue(2);
+    }
+
+    @Test
+    public void leavesOwnEntityTagsAlone() {
+        target("/conditional/own-etag").request().get();
+        final Response response = target("/conditional/own-etag").request().get();
+
+        assertThat(response.getHeaderString(HttpHeaders.ETAG)).isEqualTo("\"v1\"");
+        assertThat(ConditionalGetResource.INVOCATIONS).hasValue(2);
+    }
+
+    @Test
+    public void ignoresMethodsWithoutCacheControl() {
+        final Response response = target("/conditional/uncached").request().get();
+
+        assertThat(response.getHeaderString(HttpHeaders.ETAG)).isNull();
+    }
+
+    @Test
+    public void ignoresOtherMethods() {
+        target("/conditional/fresh/coda").request().post(Entity.text(""));
+        final Response response = target("/conditional/fresh/coda").request().post(Entity.text(""));
+
+        assertThat(response.getHeaderString(HttpHeaders.ETAG)).isNull();
+        assertThat(ConditionalGetResource.INVOCATIONS).hasValue(2);
+    }
+}
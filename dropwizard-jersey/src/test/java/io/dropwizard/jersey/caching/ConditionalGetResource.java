@@ -0,0 +1,67 @@
+package io.dropwizard.jersey.caching;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Path("/conditional/")
+@Produces(MediaType.APPLICATION_JSON)
+public class ConditionalGetResource {
+    static final AtomicInteger INVOCATIONS = new AtomicInteger();
+    static volatile String greeting = "hello";
+
+    @GET
+    @Path("/fresh/{name}")
+    @CacheControl(maxAge = 1, maxAgeUnit = TimeUnit.HOURS)
+    public Map<String, String> fresh(@PathParam("name") String name) {
+        INVOCATIONS.incrementAndGet();
+        return Collections.singletonMap("greeting", greeting + ", " + name);
+    }
+
+    @GET
+    @Path("/no-max-age")
+    @CacheControl(isPrivate = true)
+    public Map<String, String> noMaxAge() {
+        INVOCATIONS.incrementAndGet();
+        return Collections.singletonMap("greeting", greeting);
+    }
+
+    @GET
+    @Path("/no-store")
+    @CacheControl(noStore = true, maxAge = 1, maxAgeUnit = TimeUnit.HOURS)
+    public Map<String, String> noStore() {
+        INVOCATIONS.incrementAndGet();
+        return Collections.singletonMap("greeting", greeting);
+    }
+
+    @GET
+    @Path("/own-etag")
+    @CacheControl(maxAge = 1, maxAgeUnit = TimeUnit.HOURS)
+    public Response ownEntityTag() {
+        INVOCATIONS.incrementAndGet();
+        return Response.ok(Collections.singletonMap("greeting", greeting)).tag("v1").build();
+    }
+
+    @GET
+    @Path("/uncached")
+    public Map<String, String> uncached() {
+        INVOCATIONS.incrementAndGet();
+        return Collections.singletonMap("greeting", greeting);
+    }
+
+    @POST
+    @Path("/fresh/{name}")
+    @CacheControl(maxAge = 1, maxAgeUnit = TimeUnit.HOURS)
+    public Map<String, String> post(@PathParam("name") String name) {
+        INVOCATIONS.incrementAndGet();
+        return Collections.singletonMap("greeting", greeting + ", " + name);
+    }
+}
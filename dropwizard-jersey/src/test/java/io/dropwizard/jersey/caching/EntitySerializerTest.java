@@ -0,0 +1,52 @@
+package io.dropwizard.jersey.caching;
+
+import org.glassfish.jersey.server.ContainerRequest;
+import org.junit.Test;
+
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.StreamingOutput;
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class EntitySerializerTest {
+    private final ContainerRequest request = mock(ContainerRequest.class);
+    private final ContainerResponseContext response = mock(ContainerResponseContext.class);
+
+    @Test
+    public void doesNotBufferStreams() throws Exception {
+        assertNotSerialized(Stream.of("a", "b"));
+    }
+
+    @Test
+    public void doesNotBufferIterators() throws Exception {
+        assertNotSerialized(Arrays.asList("a", "b").iterator());
+    }
+
+    @Test
+    public void doesNotBufferStreamingOutputs() throws Exception {
+        assertNotSerialized((StreamingOutput) output -> output.write(1));
+    }
+
+    @Test
+    public void returnsByteArrays() throws Exception {
+        final byte[] entity = {1, 2, 3};
+        when(response.getEntity()).thenReturn(entity);
+
+        assertThat(EntitySerializer.serialize(request, response)).isSameAs(entity);
+    }
+
+    private void assertNotSerialized(Object entity) throws Exception {
+        when(response.getEntity()).thenReturn(entity);
+        when(response.getMediaType()).thenReturn(MediaType.APPLICATION_JSON_TYPE);
+
+        assertThat(EntitySerializer.serialize(request, response)).isNull();
+        verify(request, never()).getWorkers();
+    }
+}
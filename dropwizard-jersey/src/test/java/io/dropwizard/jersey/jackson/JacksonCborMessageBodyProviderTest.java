@@ -0,0 +1,78 @@
+package io.dropwizard.jersey.jackson;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import io.dropwizard.jackson.Jackson;
+import io.dropwizard.jersey.jackson.JacksonMessageBodyProviderTest.Example;
+import org.junit.Test;
+
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedHashMap;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.lang.annotation.Annotation;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SuppressWarnings("unchecked")
+public class JacksonCborMessageBodyProviderTest {
+    private static final Annotation[] NONE = new Annotation[0];
+
+    public static class OptionalExample {
+        public Optional<String> name = Optional.empty();
+    }
+
+    private final ObjectMapper mapper = Jackson.newObjectMapper();
+    private final JacksonCborMessageBodyProvider provider = new JacksonCborMessageBodyProvider(mapper);
+
+    @Test
+    public void providesCbor() {
+        assertThat(provider.isWriteable(Example.class, null, null, JacksonCborMessageBodyProvider.APPLICATION_CBOR_TYPE))
+                .isTrue();
+        assertThat(provider.isReadable(Example.class, null, null, JacksonCborMessageBodyProvider.APPLICATION_CBOR_TYPE))
+                .isTrue();
+    }
+
+    @Test
+    public void doesNotProvideOtherMediaTypes() {
+        assertThat(provider.isWriteable(Example.class, null, null, MediaType.APPLICATION_JSON_TYPE))
+                .isFalse();
+        assertThat(provider.isReadable(Example.class, null, null, MediaType.APPLICATION_JSON_TYPE))
+                .isFalse();
+        assertThat(provider.isWriteable(Example.class, null, null, MediaType.WILDCARD_TYPE))
+                .isFalse();
+        assertThat(provider.isWriteable(Example.class, null, null, null))
+                .isFalse();
+    }
+
+    @Test
+    public void writesCbor() throws Exception {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final Example example = new Example();
+        example.id = 500;
+
+        provider.writeTo(example, Example.class, Example.class, NONE,
+                JacksonCborMessageBodyProvider.APPLICATION_CBOR_TYPE, new MultivaluedHashMap<>(), output);
+
+        // CBOR maps of indefinite length start with 0xbf
+        assertThat(output.toByteArray()).startsWith((byte) 0xbf);
+        assertThat(new ObjectMapper(new CBORFactory()).readValue(output.toByteArray(), Example.class))
+                .isEqualTo(example);
+    }
+
+    @Test
+    public void readsCborWithTheModulesOfTheMapper() throws Exception {
+        final ByteArrayOutputStream cbor = new ByteArrayOutputStream();
+        final OptionalExample example = new OptionalExample();
+        example.name = Optional.of("Coda");
+        provider.writeTo(example, OptionalExample.class, OptionalExample.class, NONE,
+                JacksonCborMessageBodyProvider.APPLICATION_CBOR_TYPE, new MultivaluedHashMap<>(), cbor);
+
+        final Object read = provider.readFrom((Class<Object>) (Class<?>) OptionalExample.class,
+                OptionalExample.class, NONE, JacksonCborMessageBodyProvider.APPLICATION_CBOR_TYPE,
+                new MultivaluedHashMap<>(), new ByteArrayInputStream(cbor.toByteArray()));
+
+        assertThat(((OptionalExample) read).name).contains("Coda");
+    }
+}
@@ -0,0 +1,91 @@
+package io.dropwizard.jersey.jackson;
+
+import io.dropwizard.jackson.Jackson;
+import io.dropwizard.jersey.AbstractJerseyTest;
+import io.dropwizard.jersey.DropwizardResourceConfig;
+import io.dropwizard.jersey.jackson.JacksonMessageBodyProviderTest.Example;
+import org.glassfish.jersey.client.ClientConfig;
+import org.junit.Test;
+
+import javax.ws.rs.Consumes;
+import javax.ws.rs.GET;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.core.Application;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class JacksonFeatureTest extends AbstractJerseyTest {
+    @Path("/negotiated")
+    @Produces({MediaType.APPLICATION_JSON, JacksonSmileMessageBodyProvider.APPLICATION_SMILE,
+        JacksonCborMessageBodyProvider.APPLICATION_CBOR})
+    @Consumes({MediaType.APPLICATION_JSON, JacksonSmileMessageBodyProvider.APPLICATION_SMILE,
+        JacksonCborMessageBodyProvider.APPLICATION_CBOR})
+    public static class NegotiatedResource {
+        @GET
+        public Example get() {
+            final Example example = new Example();
+            example.id = 42;
+            return example;
+        }
+
+        @POST
+        public Example post(Example example) {
+            example.id++;
+            return example;
+        }
+    }
+
+    @Override
+    protected Application configure() {
+        return DropwizardResourceConfig.forTesting()
+                .register(NegotiatedResource.class)
+                .register(new JacksonFeature(Jackson.newObjectMapper()));
+    }
+
+    @Override
+    protected void configureClient(ClientConfig config) {
+        config.register(new JacksonFeature(Jackson.newObjectMapper()));
+    }
+
+    @Test
+    public void producesJsonByDefault() {
+        final Response response = target("/negotiated").request().get();
+
+        assertThat(response.getMediaType()).isEqualTo(MediaType.APPLICATION_JSON_TYPE);
+        assertThat(response.readEntity(String.class)).isEqualTo("{\"id\":42}");
+    }
+
+    @Test
+    public void producesSmileIfAccepted() {
+        final Response response = target("/negotiated").request(JacksonSmileMessageBodyProvider.APPLICATION_SMILE)
+                .get();
+
+        assertThat(response.getMediaType()).isEqualTo(JacksonSmileMessageBodyProvider.APPLICATION_SMILE_TYPE);
+        assertThat(response.readEntity(Example.class).id).isEqualTo(42);
+    }
+
+    @Test
+    public void producesCborIfAccepted() {
+        final Response response = target("/negotiated").request(JacksonCborMessageBodyProvider.APPLICATION_CBOR)
+                .get();
+
+        assertThat(response.getMediaType()).isEqualTo(JacksonCborMessageBodyProvider.APPLICATION_CBOR_TYPE);
+        assertThat(response.readEntity(Example.class).id).isEqualTo(42);
+    }
+
+    @Test
+    public void consumesBinaryEntities() {
+        final Example example = new Example();
+        example.id = 1;
+
+        final Response response = target("/negotiated").request(MediaType.APPLICATION_JSON)
+                .post(Entity.entity(example, JacksonSmileMessageBodyProvider.APPLICATION_SMILE_TYPE));
+
+        assertThat(response.readEntity(String.class)).isEqualTo("{\"id\":2}");
+    }
+}
@@ -2,6 +2,7 @@ package io.dropwizard.jersey.jackson;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreType;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonParseException;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -21,6 +22,7 @@ import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.MultivaluedHashMap;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
 import java.io.IOException;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Type;
@@ -32,8 +34,13 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
 import static org.assertj.core.api.Assumptions.assumeThat;
 import static org.mockito.Mockito.doReturn;
@@ -257,6 +264,123 @@ public class JacksonMessageBodyProviderTest {
                 .isEqualTo("{\"id\":500}");
     }
 
+    @Test
+    public void writesStreamsAsJsonArrays() throws Exception {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final AtomicBoolean closed = new AtomicBoolean();
+
+        provider.writeTo(examples(1, 2, 3).stream().onClose(() -> closed.set(true)),
+                         Stream.class,
+                         new TypeReference<Stream<Example>>() {
+                         }.getType(),
+                         NONE,
+                         MediaType.APPLICATION_JSON_TYPE,
+                         new MultivaluedHashMap<>(),
+                         output);
+
+        assertThat(output.toString())
+                .isEqualTo("[{\"id\":1},{\"id\":2},{\"id\":3}]");
+        assertThat(closed).isTrue();
+    }
+
+    @Test
+    public void writesIteratorsAsNewlineDelimitedJson() throws Exception {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        provider.writeTo(examples(1, 2).iterator(),
+                         Iterator.class,
+                         Iterator.class,
+                         NONE,
+                         JacksonMessageBodyProvider.APPLICATION_NDJSON_TYPE,
+                         new MultivaluedHashMap<>(),
+                         output);
+
+        assertThat(output.toString())
+                .isEqualTo("{\"id\":1}\n{\"id\":2}\n");
+    }
+
+    @Test
+    public void writesEmptyStreams() throws Exception {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        provider.writeTo(Stream.empty(),
+                         Stream.class,
+                         Stream.class,
+                         NONE,
+                         MediaType.APPLICATION_JSON_TYPE,
+                         new MultivaluedHashMap<>(),
+                         output);
+
+        assertThat(output.toString())
+                .isEqualTo("[]");
+    }
+
+    @Test
+    public void writesNewlineDelimitedJson() throws Exception {
+        assertThat(provider.isWriteable(Stream.class, null, null, JacksonMessageBodyProvider.APPLICATION_NDJSON_TYPE))
+                .isTrue();
+        assertThat(provider.isReadable(Stream.class, null, null, JacksonMessageBodyProvider.APPLICATION_NDJSON_TYPE))
+                .isTrue();
+    }
+
+    @Test
+    public void readsStreamsFromJsonArrays() throws Exception {
+        assertThat(readStream("[{\"id\":1}, {\"id\":2}]", MediaType.APPLICATION_JSON_TYPE))
+                .containsExactlyElementsOf(examples(1, 2));
+    }
+
+    @Test
+    public void readsStreamsFromNewlineDelimitedJson() throws Exception {
+        assertThat(readStream("{\"id\":1}\n{\"id\":2}\n", JacksonMessageBodyProvider.APPLICATION_NDJSON_TYPE))
+                .containsExactlyElementsOf(examples(1, 2));
+    }
+
+    @Test
+    public void readsStreamsIncrementally() throws Exception {
+        final ByteArrayInputStream entity = new ByteArrayInputStream("[{\"id\":1}, {\"id\":-1d".getBytes(StandardCharsets.UTF_8));
+
+        final Stream<Example> stream = (Stream<Example>) provider.readFrom((Class<Object>) (Class<?>) Stream.class,
+            new TypeReference<Stream<Example>>() {
+            }.getType(),
+            NONE,
+            MediaType.APPLICATION_JSON_TYPE,
+            new MultivaluedHashMap<>(),
+            entity);
+
+        final Iterator<Example> iterator = stream.iterator();
+        assertThat(iterator.next().id).isEqualTo(1);
+        assertThatExceptionOfType(RuntimeException.class).isThrownBy(iterator::hasNext)
+                .withCauseInstanceOf(JsonParseException.class);
+    }
+
+    private List<Example> readStream(String json, MediaType mediaType) throws IOException {
+        final ByteArrayInputStream entity = new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+
+        final Object obj = provider.readFrom((Class<Object>) (Class<?>) Stream.class,
+            new TypeReference<Stream<Example>>() {
+            }.getType(),
+            NONE,
+            mediaType,
+            new MultivaluedHashMap<>(),
+            entity);
+
+        // Keeps Jersey from closing the entity stream before the resource consumed it
+        assertThat(obj)
+                .isInstanceOf(Stream.class)
+                .isInstanceOf(Closeable.class);
+        try (Stream<Example> stream = (Stream<Example>) obj) {
+            return stream.collect(Collectors.toList());
+        }
+    }
+
+    private static List<Example> examples(int... ids) {
+        return IntStream.of(ids).mapToObj(id -> {
+            final Example example = new Example();
+            example.id = id;
+            return example;
+        }).collect(Collectors.toList());
+    }
+
     @Test
     public void returnsValidatedCollectionRequestEntities() throws Exception {
         testValidatedCollectionType(Collection.class,
@@ -0,0 +1,78 @@
+package io.dropwizard.jersey.jackson;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.dropwizard.jackson.Jackson;
+import io.dropwizard.jersey.jackson.JacksonMessageBodyProviderTest.Example;
+import org.junit.Test;
+
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedHashMap;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.lang.annotation.Annotation;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SuppressWarnings("unchecked")
+public class JacksonSmileMessageBodyProviderTest {
+    private static final Annotation[] NONE = new Annotation[0];
+
+    public static class OptionalExample {
+        public Optional<String> name = Optional.empty();
+    }
+
+    private final ObjectMapper mapper = Jackson.newObjectMapper();
+    private final JacksonSmileMessageBodyProvider provider = new JacksonSmileMessageBodyProvider(mapper);
+
+    @Test
+    public void providesSmile() {
+        assertThat(provider.isWriteable(Example.class, null, null, JacksonSmileMessageBodyProvider.APPLICATION_SMILE_TYPE))
+                .isTrue();
+        assertThat(provider.isReadable(Example.class, null, null, JacksonSmileMessageBodyProvider.APPLICATION_SMILE_TYPE))
+                .isTrue();
+    }
+
+    @Test
+    public void doesNotProvideOtherMediaTypes() {
+        assertThat(provider.isWriteable(Example.class, null, null, MediaType.APPLICATION_JSON_TYPE))
+                .isFalse();
+        assertThat(provider.isReadable(Example.class, null, null, MediaType.APPLICATION_JSON_TYPE))
+                .isFalse();
+        assertThat(provider.isWriteable(Example.class, null, null, MediaType.WILDCARD_TYPE))
+                .isFalse();
+        assertThat(provider.isWriteable(Example.class, null, null, null))
+                .isFalse();
+    }
+
+    @Test
+    public void writesSmile() throws Exception {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final Example example = new Example();
+        example.id = 500;
+
+        provider.writeTo(example, Example.class, Example.class, NONE,
+                JacksonSmileMessageBodyProvider.APPLICATION_SMILE_TYPE, new MultivaluedHashMap<>(), output);
+
+        // Smile documents start with the header ":)\n"
+        assertThat(output.toByteArray()).startsWith((byte) ':', (byte) ')', (byte) '\n');
+        assertThat(new ObjectMapper(new SmileFactory()).readValue(output.toByteArray(), Example.class))
+                .isEqualTo(example);
+    }
+
+    @Test
+    public void readsSmileWithTheModulesOfTheMapper() throws Exception {
+        final ByteArrayOutputStream smile = new ByteArrayOutputStream();
+        final OptionalExample example = new OptionalExample();
+        example.name = Optional.of("Coda");
+        provider.writeTo(example, OptionalExample.class, OptionalExample.class, NONE,
+                JacksonSmileMessageBodyProvider.APPLICATION_SMILE_TYPE, new MultivaluedHashMap<>(), smile);
+
+        final Object read = provider.readFrom((Class<Object>) (Class<?>) OptionalExample.class,
+                OptionalExample.class, NONE, JacksonSmileMessageBodyProvider.APPLICATION_SMILE_TYPE,
+                new MultivaluedHashMap<>(), new ByteArrayInputStream(smile.toByteArray()));
+
+        assertThat(((OptionalExample) read).name).contains("Coda");
+    }
+}
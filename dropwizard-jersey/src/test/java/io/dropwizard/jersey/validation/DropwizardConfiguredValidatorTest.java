@@ -0,0 +1,125 @@
+package io.dropwizard.jersey.validation;
+
+import io.dropwizard.validation.Validated;
+import org.glassfish.jersey.server.model.Invocable;
+import org.glassfish.jersey.server.model.MethodHandler;
+import org.hibernate.validator.constraints.NotEmpty;
+import org.junit.Test;
+
+import javax.validation.Valid;
+import javax.validation.Validator;
+import javax.validation.constraints.NotNull;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.WebApplicationException;
+import java.lang.reflect.Method;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+public class DropwizardConfiguredValidatorTest {
+    public interface Group {
+    }
+
+    public static class ExampleResource {
+        public String plain(@QueryParam("name") String name) {
+            return name;
+        }
+
+        @NotNull
+        public String constrained(@QueryParam("name") @NotEmpty String name) {
+            return name;
+        }
+
+        public String cascaded(@Valid ValidRepresentation representation) {
+            return representation.getName();
+        }
+
+        public String grouped(@Valid @Validated(Group.class) ValidRepresentation representation) {
+            return representation.getName();
+        }
+
+        public String mixed(@Validated(Group.class) ValidRepresentation first,
+                            @Validated ValidRepresentation second) {
+            return first.getName();
+        }
+    }
+
+    private final Validator validator = mock(Validator.class, delegatesTo(Validators.newValidator()));
+    private final DropwizardConfiguredValidator configuredValidator = new DropwizardConfiguredValidator(validator);
+    private final ExampleResource resource = new ExampleResource();
+
+    @Test
+    public void skipsValidationOfUnconstrainedMethods() {
+        final Invocable invocable = invocable("plain");
+
+        configuredValidator.validateResourceAndInputParams(resource, invocable, new Object[]{""});
+        configuredValidator.validateResult(resource, invocable, null);
+
+        verify(validator).getConstraintsForClass(ExampleResource.class);
+        verifyNoMoreInteractions(validator);
+    }
+
+    @Test
+    public void validatesConstrainedParametersAndReturnValues() {
+        final Invocable invocable = invocable("constrained");
+
+        assertThatExceptionOfType(JerseyViolationException.class).isThrownBy(() ->
+            configuredValidator.validateResourceAndInputParams(resource, invocable, new Object[]{""}));
+        assertThatExceptionOfType(JerseyViolationException.class).isThrownBy(() ->
+            configuredValidator.validateResult(resource, invocable, null));
+        assertThatCode(() -> configuredValidator.validateResourceAndInputParams(resource, invocable, new Object[]{"a"}))
+            .doesNotThrowAnyException();
+    }
+
+    @Test
+    public void resolvesTheConstraintMetadataOnce() {
+        final Invocable invocable = invocable("constrained");
+
+        configuredValidator.validateResourceAndInputParams(resource, invocable, new Object[]{"a"});
+        configuredValidator.validateResourceAndInputParams(resource, invocable, new Object[]{"b"});
+
+        verify(validator, times(1)).getConstraintsForClass(ExampleResource.class);
+    }
+
+    @Test
+    public void validatesCascadedParameters() {
+        final Invocable invocable = invocable("cascaded");
+
+        assertThatExceptionOfType(JerseyViolationException.class).isThrownBy(() ->
+            configuredValidator.validateResourceAndInputParams(resource, invocable, new Object[]{new ValidRepresentation()}));
+    }
+
+    @Test
+    public void validatesCascadedParametersInTheirGroup() {
+        final Invocable invocable = invocable("grouped");
+
+        // The name of a ValidRepresentation is only required in the default group
+        assertThatCode(() ->
+            configuredValidator.validateResourceAndInputParams(resource, invocable, new Object[]{new ValidRepresentation()}))
+            .doesNotThrowAnyException();
+    }
+
+    @Test
+    public void rejectsParametersWithDifferentGroups() {
+        final Invocable invocable = invocable("mixed");
+
+        assertThatExceptionOfType(WebApplicationException.class).isThrownBy(() ->
+            configuredValidator.validateResourceAndInputParams(resource, invocable, new Object[2]));
+        assertThatExceptionOfType(WebApplicationException.class).isThrownBy(() ->
+            configuredValidator.validateResourceAndInputParams(resource, invocable, new Object[2]));
+    }
+
+    private static Invocable invocable(String methodName) {
+        for (Method method : ExampleResource.class.getMethods()) {
+            if (method.getName().equals(methodName)) {
+                return Invocable.create(MethodHandler.create(ExampleResource.class), method);
+            }
+        }
+        throw new IllegalArgumentException(methodName);
+    }
+}
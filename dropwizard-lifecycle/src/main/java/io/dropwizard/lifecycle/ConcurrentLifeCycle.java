@@ -0,0 +1,386 @@
+package io.dropwizard.lifecycle;
+
+import com.codahale.metrics.MetricRegistry;
+import io.dropwizard.util.Duration;
+import org.eclipse.jetty.util.component.AbstractLifeCycle;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.codahale.metrics.MetricRegistry.name;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A Jetty {@link org.eclipse.jetty.util.component.LifeCycle} which starts a group of {@link Managed} objects
+ * concurrently, each one after the objects it depends on, and stops them concurrently in the reverse order.
+ * <p/>
+ * The objects are started and stopped on a bounded pool of threads, which only exists while starting or
+ * stopping. An object which doesn't start within its timeout fails the startup, and the objects which have been
+ * started are stopped again. An object which doesn't stop within its timeout is abandoned.
+ * <p/>
+ * Once started, the timeline of the startup is logged and the startup time of every object is exposed as a
+ * gauge, named after the object's class.
+ * <p/>
+ * Only the objects which have been started are stopped, each one once, even if the group is stopped after a
+ * failed startup.
+ */
+public class ConcurrentLifeCycle extends AbstractLifeCycle {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConcurrentLifeCycle.class);
+
+    @Nullable
+    private final MetricRegistry metricRegistry;
+    private final int maxThreads;
+    private final Map<Managed, Node> nodes = new IdentityHashMap<>();
+    private final Map<String, Integer> names = new HashMap<>();
+    private volatile long startupMillis;
+
+    /**
+     * Creates a new, empty group of managed objects.
+     *
+     * @param metricRegistry the registry of the startup time gauges, or {@code null} to not expose them
+     * @param maxThreads     the maximum number of objects which are started or stopped at the same time
+     */
+    public ConcurrentLifeCycle(@Nullable MetricRegistry metricRegistry, int maxThreads) {
+        if (maxThreads < 1) {
+            throw new IllegalArgumentException("maxThreads must be positive");
+        }
+        this.metricRegistry = metricRegistry;
+        this.maxThreads = maxThreads;
+        if (metricRegistry != null) {
+            metricRegistry.gauge(name(ConcurrentLifeCycle.class, "startup-time"), () -> () -> startupMillis);
+        }
+    }
+
+    /**
+     * Adds a managed object to the group.
+     *
+     * @param managed      the managed object
+     * @param timeout      the maximum time to start or stop the object
+     * @param dependencies the objects which have to be started before, and stopped after, the managed object
+     * @throws IllegalStateException if the group has already been started
+     */
+    public synchronized void manage(Managed managed, Duration timeout, Collection<Managed> dependencies) {
+        requireNonNull(managed);
+        if (!isStopped()) {
+            throw new IllegalStateException("Can't add " + managed + " to a running lifecycle");
+        }
+        if (nodes.containsKey(managed)) {
+            throw new IllegalArgumentException(managed + " is already managed");
+        }
+
+        final String className = managed.getClass().getName();
+        final int index = names.merge(className, 1, Integer::sum);
+        final Node node = new Node(managed, index == 1 ? className : className + "-" + index,
+            timeout.toNanoseconds(), new ArrayList<>(dependencies));
+        nodes.put(managed, node);
+        if (metricRegistry != null) {
+            metricRegistry.gauge(name(ConcurrentLifeCycle.class, node.name, "startup-time"),
+                () -> () -> TimeUnit.NANOSECONDS.toMillis(node.durationNanos));
+        }
+    }
+
+    /**
+     * Returns whether the given object is part of this group.
+     *
+     * @param managed a managed object
+     * @return whether the object is started and stopped by this group
+     */
+    public synchronized boolean contains(Managed managed) {
+        return nodes.containsKey(managed);
+    }
+
+    /**
+     * Returns the dependencies of the objects in this group, which aren't part of it. They have to be started
+     * before this group.
+     *
+     * @return the dependencies outside of this group
+     */
+    public synchronized Set<Managed> getExternalDependencies() {
+        final Set<Managed> external = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Node node : nodes.values()) {
+            for (Managed dependency : node.dependencies) {
+                if (!nodes.containsKey(dependency)) {
+                    external.add(dependency);
+                }
+            }
+        }
+        return external;
+    }
+
+    @Override
+    protected synchronized void doStart() throws Exception {
+        final List<Node> order = topologicalOrder();
+        final long origin = System.nanoTime();
+        try {
+            run(order, true);
+        } catch (Exception e) {
+            // Roll back, so pools and connections of the started objects don't leak
+            Collections.reverse(order);
+            for (Node node : order) {
+                if (node.started) {
+                    node.started = false;
+                    try {
+                        node.managed.stop();
+                    } catch (Exception suppressed) {
+                        e.addSuppressed(suppressed);
+                    }
+                }
+            }
+            throw e;
+        }
+        startupMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - origin);
+        logTimeline(order, origin);
+    }
+
+    @Override
+    protected synchronized void doStop() throws Exception {
+        // After a failed startup, the started objects have already been stopped
+        final List<Node> order = new ArrayList<>();
+        for (Node node : topologicalOrder()) {
+            if (node.started) {
+                order.add(node);
+            }
+        }
+        Collections.reverse(order);
+        run(order, false);
+    }
+
+    /**
+     * Starts or stops the given objects, each one as soon as its prerequisites among them have been started or
+     * stopped.
+     */
+    private void run(List<Node> order, boolean starting) throws Exception {
+        if (order.isEmpty()) {
+            return;
+        }
+
+        // When stopping, an object waits for the objects which depend on it
+        final Map<Node, Integer> pending = new IdentityHashMap<>();
+        final Map<Node, List<Node>> waiting = new IdentityHashMap<>();
+        for (Node node : order) {
+            pending.putIfAbsent(node, 0);
+        }
+        for (Node node : order) {
+            for (Managed dependency : node.dependencies) {
+                final Node prerequisite = nodes.get(dependency);
+                if (prerequisite == null || !pending.containsKey(prerequisite)) {
+                    continue;
+                }
+                final Node before = starting ? prerequisite : node;
+                final Node after = starting ? node : prerequisite;
+                pending.merge(after, 1, Integer::sum);
+                waiting.computeIfAbsent(before, n -> new ArrayList<>()).add(after);
+            }
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.min(maxThreads, order.size()),
+            new LifeCycleThreadFactory(starting ? "start" : "stop"));
+        final CompletionService<Node> completion = new ExecutorCompletionService<>(executor);
+        final Map<Future<Node>, Node> running = new LinkedHashMap<>();
+        final long origin = System.nanoTime();
+        try {
+            for (Node node : order) {
+                if (pending.get(node) == 0) {
+                    submit(completion, running, node, starting, origin);
+                }
+            }
+
+            while (!running.isEmpty()) {
+                final long now = System.nanoTime();
+                final long nextDeadline = running.values().stream().mapToLong(node -> node.deadline).min()
+                    .orElse(now);
+                final Future<Node> done = completion.poll(Math.max(0, nextDeadline - now), TimeUnit.NANOSECONDS);
+
+                final List<Node> finished = new ArrayList<>();
+                if (done == null) {
+                    for (Map.Entry<Future<Node>, Node> entry : new ArrayList<>(running.entrySet())) {
+                        final Node node = entry.getValue();
+                        if (node.deadline - System.nanoTime() <= 0) {
+                            entry.getKey().cancel(true);
+                            running.remove(entry.getKey());
+                            if (starting) {
+                                throw new TimeoutException("Timed out starting " + node.managed + " after " +
+                                    TimeUnit.NANOSECONDS.toMillis(node.timeoutNanos) + " ms");
+                            }
+                            LOGGER.warn("Timed out stopping {} after {} ms", node.managed,
+                                TimeUnit.NANOSECONDS.toMillis(node.timeoutNanos));
+                            finished.add(node);
+                        }
+                    }
+                } else {
+                    final Node node = running.remove(done);
+                    if (node == null) {
+                        // Cancelled after timing out, and already handled
+                        continue;
+                    }
+                    try {
+                        done.get();
+                    } catch (ExecutionException e) {
+                        if (starting) {
+                            throw unwrap(e);
+                        }
+                        LOGGER.warn("Unable to stop {}", node.managed, e.getCause());
+                    }
+                    finished.add(node);
+                }
+
+                for (Node node : finished) {
+                    for (Node next : waiting.getOrDefault(node, Collections.emptyList())) {
+                        if (pending.merge(next, -1, Integer::sum) == 0) {
+                            submit(completion, running, next, starting, origin);
+                        }
+                    }
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+            if (!executor.awaitTermination(1, TimeUnit.SECONDS)) {
+                LOGGER.warn("Abandoned managed objects, which don't react to interruption");
+            }
+        }
+    }
+
+    private void submit(CompletionService<Node> completion, Map<Future<Node>, Node> running, Node node,
+                        boolean starting, long origin) {
+        final long now = System.nanoTime();
+        node.deadline = now + node.timeoutNanos;
+        running.put(completion.submit(() -> {
+            final long start = System.nanoTime();
+            if (starting) {
+                node.managed.start();
+                node.started = true;
+                node.offsetNanos = start - origin;
+                node.durationNanos = System.nanoTime() - start;
+            } else {
+                node.started = false;
+                node.managed.stop();
+            }
+            return node;
+        }), node);
+    }
+
+    private static Exception unwrap(ExecutionException e) {
+        final Throwable cause = e.getCause();
+        if (cause instanceof Exception) {
+            return (Exception) cause;
+        }
+        return e;
+    }
+
+    /**
+     * Orders the objects of this group, so that every object comes after its dependencies.
+     *
+     * @throws IllegalStateException if the dependencies are cyclic
+     */
+    private List<Node> topologicalOrder() {
+        final List<Node> order = new ArrayList<>(nodes.size());
+        final Set<Node> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        final Set<Node> visiting = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Node node : nodes.values()) {
+            visit(node, visited, visiting, new ArrayDeque<>(), order);
+        }
+        return order;
+    }
+
+    private void visit(Node node, Set<Node> visited, Set<Node> visiting, Deque<Node> path, List<Node> order) {
+        if (visited.contains(node)) {
+            return;
+        }
+        path.push(node);
+        if (!visiting.add(node)) {
+            final Set<String> cycle = new LinkedHashSet<>();
+            path.descendingIterator().forEachRemaining(n -> cycle.add(n.managed.toString()));
+            throw new IllegalStateException("Cyclic dependencies between managed objects: " + cycle);
+        }
+        for (Managed dependency : node.dependencies) {
+            final Node prerequisite = nodes.get(dependency);
+            if (prerequisite != null) {
+                visit(prerequisite, visited, visiting, path, order);
+            }
+        }
+        visiting.remove(node);
+        visited.add(node);
+        path.pop();
+        order.add(node);
+    }
+
+    private void logTimeline(List<Node> order, long origin) {
+        if (!LOGGER.isInfoEnabled()) {
+            return;
+        }
+        final List<Node> byOffset = new ArrayList<>(order);
+        byOffset.sort((a, b) -> Long.compare(a.offsetNanos, b.offsetNanos));
+        final StringBuilder timeline = new StringBuilder()
+            .append("Started ").append(order.size()).append(" managed objects in ").append(startupMillis)
+            .append(" ms").append(System.lineSeparator());
+        for (Node node : byOffset) {
+            timeline.append(String.format("    %6d ms + %6d ms  %s%n", TimeUnit.NANOSECONDS.toMillis(node.offsetNanos),
+                TimeUnit.NANOSECONDS.toMillis(node.durationNanos), node.managed));
+        }
+        LOGGER.info(timeline.toString().trim());
+    }
+
+    @Override
+    public String toString() {
+        return "ConcurrentLifeCycle" + nodes.keySet();
+    }
+
+    private static final class Node {
+        private final Managed managed;
+        private final String name;
+        private final long timeoutNanos;
+        private final List<Managed> dependencies;
+        private volatile boolean started;
+        private volatile long deadline;
+        private volatile long offsetNanos;
+        private volatile long durationNanos;
+
+        private Node(Managed managed, String name, long timeoutNanos, List<Managed> dependencies) {
+            this.managed = managed;
+            this.name = name;
+            this.timeoutNanos = timeoutNanos;
+            this.dependencies = dependencies;
+        }
+    }
+
+    private static final class LifeCycleThreadFactory implements ThreadFactory {
+        private final ThreadFactory delegate = Executors.defaultThreadFactory();
+        private final AtomicInteger counter = new AtomicInteger();
+        private final String action;
+
+        private LifeCycleThreadFactory(String action) {
+            this.action = action;
+        }
+
+        @Override
+        public Thread newThread(Runnable r) {
+            final Thread thread = delegate.newThread(r);
+            thread.setName("managed-" + action + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -1,8 +1,11 @@
 package io.dropwizard.lifecycle.setup;
 
+import com.codahale.metrics.MetricRegistry;
+import io.dropwizard.lifecycle.ConcurrentLifeCycle;
 import io.dropwizard.lifecycle.JettyManaged;
 import io.dropwizard.lifecycle.Managed;
 import io.dropwizard.lifecycle.ServerLifecycleListener;
+import io.dropwizard.util.Duration;
 import org.eclipse.jetty.server.Server;
 import org.eclipse.jetty.util.component.AbstractLifeCycle;
 import org.eclipse.jetty.util.component.ContainerLifeCycle;
@@ -10,7 +13,9 @@ import org.eclipse.jetty.util.component.LifeCycle;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.ThreadFactory;
 
@@ -21,10 +26,31 @@ public class LifecycleEnvironment {
 
     private final List<LifeCycle> managedObjects;
     private final List<LifeCycle.Listener> lifecycleListeners;
+    @Nullable
+    private final MetricRegistry metricRegistry;
+    @Nullable
+    private ConcurrentLifeCycle concurrentObjects;
+    private int maxConcurrentThreads = Math.max(4, Runtime.getRuntime().availableProcessors());
+    private Duration concurrentTimeout = Duration.minutes(1);
 
+    /**
+     * Creates a new lifecycle environment, which doesn't expose the startup times of concurrently managed objects.
+     */
     public LifecycleEnvironment() {
         this.managedObjects = new ArrayList<>();
         this.lifecycleListeners = new ArrayList<>();
+        this.metricRegistry = null;
+    }
+
+    /**
+     * Creates a new lifecycle environment.
+     *
+     * @param metricRegistry the registry of the startup time gauges of concurrently managed objects
+     */
+    public LifecycleEnvironment(MetricRegistry metricRegistry) {
+        this.managedObjects = new ArrayList<>();
+        this.lifecycleListeners = new ArrayList<>();
+        this.metricRegistry = requireNonNull(metricRegistry);
     }
 
     public List<LifeCycle> getManagedObjects() {
@@ -42,6 +68,61 @@ public class LifecycleEnvironment {
         managedObjects.add(new JettyManaged(requireNonNull(managed)));
     }
 
+    /**
+     * Adds the given {@link Managed} instance to the objects which are started concurrently, once its
+     * dependencies have been started, and stopped concurrently, before its dependencies are stopped.
+     * <p/>
+     * All concurrently managed objects are started as one group, at the position of the first one among the
+     * objects managed by the server's lifecycle. Their dependencies have to be either concurrently managed as
+     * well, or {@linkplain #manage(Managed) managed} before the first concurrently managed object.
+     *
+     * @param managed      a managed object
+     * @param dependencies the managed objects which have to be started before {@code managed}
+     * @see ConcurrentLifeCycle
+     */
+    public void manageConcurrently(Managed managed, Managed... dependencies) {
+        manageConcurrently(managed, concurrentTimeout, dependencies);
+    }
+
+    /**
+     * Adds the given {@link Managed} instance to the objects which are started concurrently, once its
+     * dependencies have been started, and stopped concurrently, before its dependencies are stopped.
+     *
+     * @param managed      a managed object
+     * @param timeout      the maximum time to start or stop {@code managed}
+     * @param dependencies the managed objects which have to be started before {@code managed}
+     * @see #manageConcurrently(Managed, Managed...)
+     */
+    public void manageConcurrently(Managed managed, Duration timeout, Managed... dependencies) {
+        if (concurrentObjects == null) {
+            concurrentObjects = new ConcurrentLifeCycle(metricRegistry, maxConcurrentThreads);
+            managedObjects.add(concurrentObjects);
+        }
+        concurrentObjects.manage(requireNonNull(managed), requireNonNull(timeout), Arrays.asList(dependencies));
+    }
+
+    /**
+     * Sets the maximum number of concurrently managed objects, which are started or stopped at the same time.
+     *
+     * @param maxThreads the maximum number of threads starting or stopping managed objects
+     * @throws IllegalStateException if objects are already managed concurrently
+     */
+    public void setMaxConcurrentThreads(int maxThreads) {
+        if (concurrentObjects != null) {
+            throw new IllegalStateException("Objects are already managed concurrently");
+        }
+        this.maxConcurrentThreads = maxThreads;
+    }
+
+    /**
+     * Sets the default maximum time to start or stop a concurrently managed object.
+     *
+     * @param timeout the default timeout of concurrently managed objects
+     */
+    public void setConcurrentTimeout(Duration timeout) {
+        this.concurrentTimeout = requireNonNull(timeout);
+    }
+
     /**
      * Adds the given Jetty {@link LifeCycle} instances to the server's lifecycle.
      *
@@ -80,6 +161,9 @@ public class LifecycleEnvironment {
     }
 
     public void attach(ContainerLifeCycle container) {
+        if (concurrentObjects != null) {
+            checkExternalDependencies(concurrentObjects);
+        }
         for (LifeCycle object : managedObjects) {
             container.addBean(object);
         }
@@ -94,6 +178,19 @@ public class LifecycleEnvironment {
         }
     }
 
+    private void checkExternalDependencies(ConcurrentLifeCycle group) {
+        final List<Object> startedBefore = new ArrayList<>();
+        for (LifeCycle object : managedObjects.subList(0, managedObjects.indexOf(group))) {
+            startedBefore.add(object instanceof JettyManaged ? ((JettyManaged) object).getManaged() : object);
+        }
+        for (Managed dependency : group.getExternalDependencies()) {
+            if (startedBefore.stream().noneMatch(object -> object == dependency)) {
+                throw new IllegalStateException(dependency + " must be managed before the concurrently " +
+                    "managed objects depending on it");
+            }
+        }
+    }
+
     private static class ServerListener extends AbstractLifeCycle.AbstractLifeCycleListener {
         private final ServerLifecycleListener listener;
 
@@ -0,0 +1,227 @@
+package io.dropwizard.lifecycle;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import io.dropwizard.util.Duration;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+public class ConcurrentLifeCycleTest {
+    private static final Duration TIMEOUT = Duration.seconds(10);
+
+    private final MetricRegistry metricRegistry = new MetricRegistry();
+    private final ConcurrentLifeCycle lifeCycle = new ConcurrentLifeCycle(metricRegistry, 4);
+    private final List<String> events = new CopyOnWriteArrayList<>();
+
+    @Test
+    public void startsDependenciesFirstAndStopsThemLast() throws Exception {
+        final Recorder database = new Recorder("database");
+        final Recorder cache = new Recorder("cache");
+        final Recorder client = new Recorder("client");
+        lifeCycle.manage(client, TIMEOUT, Arrays.asList(database, cache));
+        lifeCycle.manage(cache, TIMEOUT, Collections.singletonList(database));
+        lifeCycle.manage(database, TIMEOUT, Collections.emptyList());
+
+        lifeCycle.start();
+        assertThat(events).containsExactly("start database", "start cache", "start client");
+
+        events.clear();
+        lifeCycle.stop();
+        assertThat(events).containsExactly("stop client", "stop cache", "stop database");
+    }
+
+    @Test
+    public void startsIndependentObjectsConcurrently() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(2);
+        final Managed first = new Latched(latch);
+        final Managed second = new Latched(latch);
+        lifeCycle.manage(first, TIMEOUT, Collections.emptyList());
+        lifeCycle.manage(second, TIMEOUT, Collections.emptyList());
+
+        // Each object waits for the other one to start, so a sequential startup would time out
+        lifeCycle.start();
+
+        assertThat(lifeCycle.isStarted()).isTrue();
+    }
+
+    @Test
+    public void rejectsCyclicDependencies() {
+        final Recorder first = new Recorder("first");
+        final Recorder second = new Recorder("second");
+        lifeCycle.manage(first, TIMEOUT, Collections.singletonList(second));
+        lifeCycle.manage(second, TIMEOUT, Collections.singletonList(first));
+
+        assertThatExceptionOfType(IllegalStateException.class)
+            .isThrownBy(lifeCycle::start)
+            .withMessageContaining("Cyclic dependencies");
+        assertThat(events).isEmpty();
+    }
+
+    @Test
+    public void stopsStartedObjectsIfAnObjectFails() {
+        final Recorder database = new Recorder("database");
+        final Managed broken = new Recorder("broken") {
+            @Override
+            public void start() throws Exception {
+                throw new IllegalArgumentException("broken");
+            }
+        };
+        lifeCycle.manage(database, TIMEOUT, Collections.emptyList());
+        lifeCycle.manage(broken, TIMEOUT, Collections.singletonList(database));
+
+        assertThatExceptionOfType(IllegalArgumentException.class)
+            .isThrownBy(lifeCycle::start)
+            .withMessage("broken");
+        assertThat(events).containsExactly("start database", "stop database");
+    }
+
+    @Test
+    public void stopsEveryStartedObjectOnceAfterAFailedStartup() throws Exception {
+        final Recorder database = new Recorder("database");
+        final Recorder client = new Recorder("client");
+        final Managed broken = new Recorder("broken") {
+            @Override
+            public void start() throws Exception {
+                throw new IllegalArgumentException("broken");
+            }
+        };
+        lifeCycle.manage(database, TIMEOUT, Collections.emptyList());
+        lifeCycle.manage(broken, TIMEOUT, Collections.singletonList(database));
+        lifeCycle.manage(client, TIMEOUT, Collections.singletonList(broken));
+
+        assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(lifeCycle::start);
+        lifeCycle.stop();
+
+        assertThat(events).containsExactly("start database", "stop database");
+    }
+
+    @Test
+    public void failsObjectsWhichDoNotStartInTime() {
+        final Managed slow = new Latched(new CountDownLatch(2));
+        lifeCycle.manage(slow, Duration.milliseconds(50), Collections.emptyList());
+
+        assertThatExceptionOfType(TimeoutException.class)
+            .isThrownBy(lifeCycle::start)
+            .withMessageContaining("Timed out starting");
+    }
+
+    @Test
+    public void abandonsObjectsWhichDoNotStopInTime() throws Exception {
+        final CountDownLatch never = new CountDownLatch(1);
+        final Recorder database = new Recorder("database");
+        final Managed stuck = new Recorder("stuck") {
+            @Override
+            public void stop() throws Exception {
+                never.await();
+            }
+        };
+        lifeCycle.manage(database, TIMEOUT, Collections.emptyList());
+        lifeCycle.manage(stuck, Duration.milliseconds(50), Collections.singletonList(database));
+        lifeCycle.start();
+
+        lifeCycle.stop();
+
+        assertThat(events).endsWith("stop database");
+    }
+
+    @Test
+    public void reportsStartupTimes() throws Exception {
+        lifeCycle.manage(new Recorder("first"), TIMEOUT, Collections.emptyList());
+        lifeCycle.manage(new Recorder("second"), TIMEOUT, Collections.emptyList());
+
+        lifeCycle.start();
+
+        assertThat(metricRegistry.getGauges().keySet()).containsOnly(
+            "io.dropwizard.lifecycle.ConcurrentLifeCycle.startup-time",
+            "io.dropwizard.lifecycle.ConcurrentLifeCycle.io.dropwizard.lifecycle.ConcurrentLifeCycleTest$Recorder" +
+                ".startup-time",
+            "io.dropwizard.lifecycle.ConcurrentLifeCycle.io.dropwizard.lifecycle.ConcurrentLifeCycleTest$Recorder-2" +
+                ".startup-time");
+        final Gauge<?> total = metricRegistry.getGauges().get("io.dropwizard.lifecycle.ConcurrentLifeCycle.startup-time");
+        assertThat((Long) total.getValue()).isGreaterThanOrEqualTo(0L);
+    }
+
+    @Test
+    public void reportsNoStartupTimesWithoutARegistry() throws Exception {
+        final ConcurrentLifeCycle unmetered = new ConcurrentLifeCycle(null, 4);
+        unmetered.manage(new Recorder("first"), TIMEOUT, Collections.emptyList());
+
+        unmetered.start();
+        unmetered.stop();
+
+        assertThat(events).containsExactly("start first", "stop first");
+    }
+
+    @Test
+    public void listsExternalDependencies() {
+        final Recorder database = new Recorder("database");
+        final Recorder cache = new Recorder("cache");
+        lifeCycle.manage(cache, TIMEOUT, Collections.singletonList(database));
+
+        assertThat(lifeCycle.contains(cache)).isTrue();
+        assertThat(lifeCycle.getExternalDependencies()).containsOnly(database);
+    }
+
+    @Test
+    public void rejectsObjectsManagedTwice() {
+        final Recorder database = new Recorder("database");
+        lifeCycle.manage(database, TIMEOUT, Collections.emptyList());
+
+        assertThatExceptionOfType(IllegalArgumentException.class)
+            .isThrownBy(() -> lifeCycle.manage(database, TIMEOUT, Collections.emptyList()));
+    }
+
+    private class Recorder implements Managed {
+        private final String name;
+
+        Recorder(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public void start() throws Exception {
+            events.add("start " + name);
+        }
+
+        @Override
+        public void stop() throws Exception {
+            events.add("stop " + name);
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    private static class Latched implements Managed {
+        private final CountDownLatch latch;
+
+        Latched(CountDownLatch latch) {
+            this.latch = latch;
+        }
+
+        @Override
+        public void start() throws Exception {
+            latch.countDown();
+            latch.await(5, TimeUnit.SECONDS);
+            if (latch.getCount() > 0) {
+                throw new IllegalStateException("Not started concurrently");
+            }
+        }
+
+        @Override
+        public void stop() throws Exception {
+        }
+    }
+}
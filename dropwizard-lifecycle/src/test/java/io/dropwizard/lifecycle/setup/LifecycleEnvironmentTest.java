@@ -1,5 +1,6 @@
 package io.dropwizard.lifecycle.setup;
 
+import io.dropwizard.lifecycle.ConcurrentLifeCycle;
 import io.dropwizard.lifecycle.JettyManaged;
 import io.dropwizard.lifecycle.Managed;
 import org.eclipse.jetty.util.component.ContainerLifeCycle;
@@ -7,6 +8,7 @@ import org.eclipse.jetty.util.component.LifeCycle;
 import org.junit.Test;
 
 import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -16,6 +18,7 @@ import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicLong;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.mockito.Mockito.mock;
 
 public class LifecycleEnvironmentTest {
@@ -52,6 +55,38 @@ public class LifecycleEnvironmentTest {
             .isEqualTo(managed);
     }
 
+    @Test
+    public void managesConcurrentObjectsAsOneGroup() throws Exception {
+        final Managed database = mock(Managed.class);
+        final Managed cache = mock(Managed.class);
+        final Managed client = mock(Managed.class);
+        environment.manage(database);
+        environment.manageConcurrently(cache, database);
+        environment.manageConcurrently(client, cache);
+
+        final ContainerLifeCycle container = new ContainerLifeCycle();
+        environment.attach(container);
+
+        final List<Object> beans = new ArrayList<>(container.getBeans());
+        assertThat(beans).hasSize(2);
+        assertThat(beans.get(0)).isInstanceOf(JettyManaged.class);
+        assertThat(beans.get(1)).isInstanceOfSatisfying(ConcurrentLifeCycle.class, group -> {
+            assertThat(group.contains(cache)).isTrue();
+            assertThat(group.contains(client)).isTrue();
+        });
+    }
+
+    @Test
+    public void rejectsConcurrentObjectsDependingOnLaterObjects() {
+        final Managed database = mock(Managed.class);
+        final Managed cache = mock(Managed.class);
+        environment.manageConcurrently(cache, database);
+        environment.manage(database);
+
+        assertThatExceptionOfType(IllegalStateException.class)
+            .isThrownBy(() -> environment.attach(new ContainerLifeCycle()));
+    }
+
     @Test
     public void scheduledExecutorServiceBuildsDaemonThreads() throws ExecutionException, InterruptedException {
         final ScheduledExecutorService executorService = environment.scheduledExecutorService("daemon-%d", true).build();
@@ -0,0 +1,167 @@
+package io.dropwizard.metrics.graphite;
+
+import com.codahale.metrics.graphite.GraphiteSender;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * A {@link GraphiteSender}, which keeps its connection open between reports, and keeps the data points it failed
+ * to send in a bounded backlog, to send them with the next report.
+ * <p/>
+ * {@link com.codahale.metrics.graphite.GraphiteReporter} connects and closes its sender for every report. This
+ * sender only closes the connection of its delegate after a failure, or when it is {@link #shutdown() shut down}.
+ * While Graphite is unavailable, the data points of a report go to the backlog, and {@link #flush()} fails.
+ * Once the backlog is full, the oldest data points are dropped.
+ */
+public class BacklogGraphiteSender implements GraphiteSender {
+    private final GraphiteSender delegate;
+    private final boolean reuseConnection;
+    private final int maxBacklog;
+
+    private final Deque<DataPoint> backlog = new ArrayDeque<>();
+    private final List<DataPoint> pending = new ArrayList<>();
+    private boolean unavailable;
+    private int failures;
+    private long dropped;
+
+    /**
+     * @param delegate        the sender to Graphite
+     * @param reuseConnection whether to keep the connection of the delegate open between reports
+     * @param maxBacklog      the maximum number of data points kept while Graphite is unavailable, or {@code 0} to
+     *                        drop them
+     */
+    public BacklogGraphiteSender(GraphiteSender delegate, boolean reuseConnection, int maxBacklog) {
+        this.delegate = delegate;
+        this.reuseConnection = reuseConnection;
+        this.maxBacklog = maxBacklog;
+    }
+
+    @Override
+    public synchronized void connect() throws IllegalStateException, IOException {
+        unavailable = false;
+        try {
+            if (!delegate.isConnected()) {
+                delegate.connect();
+            }
+            while (!backlog.isEmpty()) {
+                final DataPoint dataPoint = backlog.removeFirst();
+                pending.add(dataPoint);
+                delegate.send(dataPoint.name, dataPoint.value, dataPoint.timestamp);
+            }
+        } catch (IOException e) {
+            fail();
+        }
+    }
+
+    @Override
+    public synchronized void send(String name, String value, long timestamp) throws IOException {
+        final DataPoint dataPoint = new DataPoint(name, value, timestamp);
+        if (unavailable) {
+            addToBacklog(dataPoint);
+            return;
+        }
+        pending.add(dataPoint);
+        try {
+            delegate.send(name, value, timestamp);
+        } catch (IOException e) {
+            fail();
+        }
+    }
+
+    @Override
+    public synchronized void flush() throws IOException {
+        if (!unavailable) {
+            try {
+                delegate.flush();
+                pending.clear();
+                return;
+            } catch (IOException e) {
+                fail();
+            }
+        }
+        throw new IOException("Unable to send to Graphite, " + backlog.size() + " data points are in the backlog");
+    }
+
+    @Override
+    public synchronized boolean isConnected() {
+        return !unavailable && delegate.isConnected();
+    }
+
+    @Override
+    public synchronized int getFailures() {
+        return failures;
+    }
+
+    /**
+     * Returns the number of data points in the backlog.
+     */
+    public synchronized int getBacklogSize() {
+        return backlog.size();
+    }
+
+    /**
+     * Returns the number of data points dropped because the backlog was full.
+     */
+    public synchronized long getDropped() {
+        return dropped;
+    }
+
+    /**
+     * Closes the connection of the delegate, unless it is reused by the next report.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (!reuseConnection || unavailable) {
+            delegate.close();
+        }
+    }
+
+    /**
+     * Closes the connection of the delegate.
+     */
+    public synchronized void shutdown() throws IOException {
+        delegate.close();
+    }
+
+    private void fail() {
+        failures++;
+        unavailable = true;
+        for (DataPoint dataPoint : pending) {
+            addToBacklog(dataPoint);
+        }
+        pending.clear();
+        try {
+            delegate.close();
+        } catch (IOException ignored) {
+            // The connection is reopened by the next report
+        }
+    }
+
+    private void addToBacklog(DataPoint dataPoint) {
+        if (maxBacklog <= 0) {
+            dropped++;
+            return;
+        }
+        if (backlog.size() >= maxBacklog) {
+            backlog.removeFirst();
+            dropped++;
+        }
+        backlog.addLast(dataPoint);
+    }
+
+    private static class DataPoint {
+        private final String name;
+        private final String value;
+        private final long timestamp;
+
+        private DataPoint(String name, String value, long timestamp) {
+            this.name = name;
+            this.value = value;
+            this.timestamp = timestamp;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package io.dropwizard.metrics.graphite;
+
+import com.codahale.metrics.graphite.GraphiteSender;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A {@link GraphiteSender} which counts the failures to connect of its delegate with its failures to send.
+ * <p/>
+ * The senders of the metrics library only count the failures to send, and
+ * {@link com.codahale.metrics.graphite.GraphiteReporter} only logs a failure to connect, so an unavailable Graphite
+ * would otherwise go unnoticed.
+ */
+class ConnectionCountingGraphiteSender implements GraphiteSender {
+    private final GraphiteSender delegate;
+    private final AtomicInteger failuresToConnect = new AtomicInteger();
+
+    ConnectionCountingGraphiteSender(GraphiteSender delegate) {
+        this.delegate = delegate;
+    }
+
+    GraphiteSender getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public void connect() throws IllegalStateException, IOException {
+        try {
+            delegate.connect();
+        } catch (IOException e) {
+            failuresToConnect.incrementAndGet();
+            throw e;
+        }
+    }
+
+    @Override
+    public void send(String name, String value, long timestamp) throws IOException {
+        delegate.send(name, value, timestamp);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        delegate.flush();
+    }
+
+    @Override
+    public boolean isConnected() {
+        return delegate.isConnected();
+    }
+
+    @Override
+    public int getFailures() {
+        return delegate.getFailures() + failuresToConnect.get();
+    }
+
+    @Override
+    public void close() throws IOException {
+        delegate.close();
+    }
+}
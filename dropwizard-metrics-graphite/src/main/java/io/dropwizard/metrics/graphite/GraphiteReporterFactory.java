@@ -4,7 +4,9 @@ import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.ScheduledReporter;
 import com.codahale.metrics.graphite.Graphite;
 import com.codahale.metrics.graphite.GraphiteReporter;
+import com.codahale.metrics.graphite.GraphiteSender;
 import com.codahale.metrics.graphite.GraphiteUDP;
+import com.codahale.metrics.graphite.PickledGraphite;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonTypeName;
 import io.dropwizard.metrics.BaseReporterFactory;
@@ -12,8 +14,11 @@ import io.dropwizard.validation.OneOf;
 import io.dropwizard.validation.PortRange;
 import org.hibernate.validator.constraints.NotEmpty;
 
+import javax.validation.constraints.Min;
 import javax.validation.constraints.NotNull;
 
+import static com.codahale.metrics.MetricRegistry.name;
+
 /**
  * A factory for {@link GraphiteReporter} instances.
  * <p/>
@@ -42,10 +47,30 @@ import javax.validation.constraints.NotNull;
  *     <tr>
  *         <td>transport</td>
  *         <td><i>tcp</i></td>
- *         <td>The transport used to report to Graphite. One of {@code tcp} or
- *         {@code udp}.</td>
+ *         <td>The transport used to report to Graphite. One of {@code tcp}, {@code udp} or
+ *         {@code pickle}, which sends batches of data points in Python's pickle format, usually to port 2004.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>batchSize</td>
+ *         <td>100</td>
+ *         <td>The number of data points sent in a batch by the {@code pickle} transport.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>reuseConnection</td>
+ *         <td>false</td>
+ *         <td>Whether to keep the connection to Graphite open between reports, instead of connecting for every
+ *         report.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>backlogSize</td>
+ *         <td>0</td>
+ *         <td>The maximum number of data points kept in memory while Graphite is unavailable, to be sent with the
+ *         next report. When the backlog is full, the oldest data points are dropped.</td>
  *     </tr>
  * </table>
+ * <p/>
+ * The reporter records the duration of its reports, its failures to send to Graphite, and the size of its
+ * backlog in metrics named after {@link GraphiteReporter}, the host and the port.
  */
 @JsonTypeName("graphite")
 public class GraphiteReporterFactory extends BaseReporterFactory {
@@ -59,9 +84,17 @@ public class GraphiteReporterFactory extends BaseReporterFactory {
     private String prefix = "";
 
     @NotNull
-    @OneOf(value = {"tcp", "udp"}, ignoreCase = true)
+    @OneOf(value = {"tcp", "udp", "pickle"}, ignoreCase = true)
     private String transport = "tcp";
 
+    @Min(1)
+    private int batchSize = 100;
+
+    private boolean reuseConnection = false;
+
+    @Min(0)
+    private int backlogSize = 0;
+
     @JsonProperty
     public String getHost() {
         return host;
@@ -102,14 +135,62 @@ public class GraphiteReporterFactory extends BaseReporterFactory {
         this.transport = transport;
     }
 
+    @JsonProperty
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    @JsonProperty
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    @JsonProperty
+    public boolean isReuseConnection() {
+        return reuseConnection;
+    }
+
+    @JsonProperty
+    public void setReuseConnection(boolean reuseConnection) {
+        this.reuseConnection = reuseConnection;
+    }
+
+    @JsonProperty
+    public int getBacklogSize() {
+        return backlogSize;
+    }
+
+    @JsonProperty
+    public void setBacklogSize(int backlogSize) {
+        this.backlogSize = backlogSize;
+    }
+
     @Override
     public ScheduledReporter build(MetricRegistry registry) {
-        GraphiteReporter.Builder builder = builder(registry);
+        GraphiteSender sender = buildSender();
+        if (reuseConnection || backlogSize > 0) {
+            sender = new BacklogGraphiteSender(sender, reuseConnection, backlogSize);
+        } else {
+            sender = new ConnectionCountingGraphiteSender(sender);
+        }
+
+        return new InstrumentedGraphiteReporter(registry,
+            name(GraphiteReporter.class, host, Integer.toString(port)),
+            builder(registry).build(sender),
+            sender,
+            getFilter(registry),
+            getRateUnit(),
+            getDurationUnit(),
+            getDisabledAttributes());
+    }
 
+    protected GraphiteSender buildSender() {
         if ("udp".equalsIgnoreCase(transport)) {
-            return builder.build(new GraphiteUDP(host, port));
+            return new GraphiteUDP(host, port);
+        } else if ("pickle".equalsIgnoreCase(transport)) {
+            return new PickledGraphite(host, port, batchSize);
         } else {
-            return builder.build(new Graphite(host, port));
+            return new Graphite(host, port);
         }
     }
 
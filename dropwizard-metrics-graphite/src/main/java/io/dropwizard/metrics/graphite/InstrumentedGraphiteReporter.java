@@ -0,0 +1,97 @@
+package io.dropwizard.metrics.graphite;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricAttribute;
+import com.codahale.metrics.MetricFilter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.ScheduledReporter;
+import com.codahale.metrics.Timer;
+import com.codahale.metrics.graphite.GraphiteReporter;
+import com.codahale.metrics.graphite.GraphiteSender;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.concurrent.TimeUnit;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+/**
+ * A reporter which times the reports of a {@link GraphiteReporter}, and meters the failures of its sender.
+ * <p/>
+ * It records, under the given prefix:
+ * <ul>
+ *     <li>{@code report-duration}, a timer of the reports,</li>
+ *     <li>{@code failed-sends}, a meter of the failures of the sender, including its failures to connect, and</li>
+ *     <li>{@code backlog}, a gauge of the data points waiting to be sent, if the sender is a
+ *     {@link BacklogGraphiteSender}.</li>
+ * </ul>
+ */
+class InstrumentedGraphiteReporter extends ScheduledReporter {
+    private static final Logger LOGGER = LoggerFactory.getLogger(InstrumentedGraphiteReporter.class);
+
+    private final GraphiteReporter reporter;
+    private final GraphiteSender sender;
+    private final Timer reportDuration;
+    private final Meter failedSends;
+
+    InstrumentedGraphiteReporter(MetricRegistry registry,
+                                 String prefix,
+                                 GraphiteReporter reporter,
+                                 GraphiteSender sender,
+                                 MetricFilter filter,
+                                 TimeUnit rateUnit,
+                                 TimeUnit durationUnit,
+                                 Set<MetricAttribute> disabledMetricAttributes) {
+        super(registry, "graphite-reporter", filter, rateUnit, durationUnit, null, true, disabledMetricAttributes);
+        this.reporter = reporter;
+        this.sender = sender;
+        this.reportDuration = registry.timer(name(prefix, "report-duration"));
+        this.failedSends = registry.meter(name(prefix, "failed-sends"));
+        if (sender instanceof BacklogGraphiteSender) {
+            final BacklogGraphiteSender backlog = (BacklogGraphiteSender) sender;
+            final String backlogName = name(prefix, "backlog");
+            registry.remove(backlogName);
+            registry.register(backlogName, (Gauge<Integer>) backlog::getBacklogSize);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public void report(SortedMap<String, Gauge> gauges,
+                       SortedMap<String, Counter> counters,
+                       SortedMap<String, Histogram> histograms,
+                       SortedMap<String, Meter> meters,
+                       SortedMap<String, Timer> timers) {
+        final int failures = sender.getFailures();
+        try (Timer.Context ignored = reportDuration.time()) {
+            reporter.report(gauges, counters, histograms, meters, timers);
+        }
+        final int failed = sender.getFailures() - failures;
+        if (failed > 0) {
+            failedSends.mark(failed);
+        }
+    }
+
+    @Override
+    public void stop() {
+        try {
+            super.stop();
+        } finally {
+            try {
+                if (sender instanceof BacklogGraphiteSender) {
+                    ((BacklogGraphiteSender) sender).shutdown();
+                } else {
+                    sender.close();
+                }
+            } catch (IOException e) {
+                LOGGER.debug("Error closing the connection to Graphite", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package io.dropwizard.metrics.graphite;
+
+import com.codahale.metrics.graphite.GraphiteSender;
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIOException;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class BacklogGraphiteSenderTest {
+    private final GraphiteSender delegate = mock(GraphiteSender.class);
+
+    @Test
+    public void keepsTheConnectionOpenBetweenReports() throws Exception {
+        final BacklogGraphiteSender sender = new BacklogGraphiteSender(delegate, true, 0);
+
+        report(sender);
+        when(delegate.isConnected()).thenReturn(true);
+        report(sender);
+
+        verify(delegate, times(1)).connect();
+        verify(delegate, never()).close();
+        verify(delegate, times(2)).send("a", "1", 1L);
+
+        sender.shutdown();
+        verify(delegate).close();
+    }
+
+    @Test
+    public void closesTheConnectionAfterEveryReportWithoutReuse() throws Exception {
+        final BacklogGraphiteSender sender = new BacklogGraphiteSender(delegate, false, 10);
+
+        report(sender);
+
+        verify(delegate).close();
+    }
+
+    @Test
+    public void resendsTheBacklogAfterAFailure() throws Exception {
+        final BacklogGraphiteSender sender = new BacklogGraphiteSender(delegate, true, 10);
+        doThrow(new IOException("unavailable")).when(delegate).connect();
+
+        sender.connect();
+        sender.send("a", "1", 1L);
+        sender.send("b", "2", 1L);
+        assertThatIOException().isThrownBy(sender::flush);
+        sender.close();
+
+        assertThat(sender.getBacklogSize()).isEqualTo(2);
+        assertThat(sender.getFailures()).isEqualTo(1);
+        verify(delegate, never()).send("a", "1", 1L);
+
+        doNothing().when(delegate).connect();
+        sender.connect();
+        sender.flush();
+
+        assertThat(sender.getBacklogSize()).isZero();
+        verify(delegate).send("a", "1", 1L);
+        verify(delegate).send("b", "2", 1L);
+    }
+
+    @Test
+    public void keepsTheDataPointsOfAFailedFlush() throws Exception {
+        final BacklogGraphiteSender sender = new BacklogGraphiteSender(delegate, true, 10);
+        doThrow(new IOException("broken pipe")).when(delegate).flush();
+
+        sender.connect();
+        sender.send("a", "1", 1L);
+        assertThatIOException().isThrownBy(sender::flush);
+
+        assertThat(sender.getBacklogSize()).isEqualTo(1);
+        verify(delegate).close();
+    }
+
+    @Test
+    public void dropsTheOldestDataPointsOnceTheBacklogIsFull() throws Exception {
+        final BacklogGraphiteSender sender = new BacklogGraphiteSender(delegate, true, 2);
+        doThrow(new IOException("unavailable")).when(delegate).connect();
+
+        sender.connect();
+        sender.send("a", "1", 1L);
+        sender.send("b", "2", 1L);
+        sender.send("c", "3", 1L);
+
+        assertThat(sender.getBacklogSize()).isEqualTo(2);
+        assertThat(sender.getDropped()).isEqualTo(1);
+    }
+
+    private static void report(BacklogGraphiteSender sender) throws IOException {
+        sender.connect();
+        sender.send("a", "1", 1L);
+        sender.flush();
+        sender.close();
+    }
+}
@@ -1,9 +1,14 @@
 package io.dropwizard.metrics.graphite;
 
+import com.codahale.metrics.Meter;
 import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.graphite.Graphite;
+import com.codahale.metrics.ScheduledReporter;
+import com.codahale.metrics.Timer;
 import com.codahale.metrics.graphite.GraphiteReporter;
+import com.codahale.metrics.graphite.GraphiteSender;
 import com.codahale.metrics.graphite.GraphiteUDP;
+import com.codahale.metrics.graphite.PickledGraphite;
 import io.dropwizard.configuration.YamlConfigurationFactory;
 import io.dropwizard.jackson.DiscoverableSubtypeResolver;
 import io.dropwizard.jackson.Jackson;
@@ -12,11 +17,19 @@ import org.apache.commons.lang3.reflect.FieldUtils;
 import org.junit.Test;
 import org.mockito.ArgumentCaptor;
 
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 public class GraphiteReporterFactoryTest {
 
@@ -47,10 +60,7 @@ public class GraphiteReporterFactoryTest {
     public void testNoAddressResolutionForGraphite() throws Exception {
         graphiteReporterFactory.build(new MetricRegistry());
 
-        final ArgumentCaptor<Graphite> argument = ArgumentCaptor.forClass(Graphite.class);
-        verify(builderSpy).build(argument.capture());
-
-        final Graphite graphite = argument.getValue();
+        final Graphite graphite = (Graphite) builtSender();
         assertThat(getField(graphite, "hostname")).isEqualTo("localhost");
         assertThat(getField(graphite, "port")).isEqualTo(2003);
         assertThat(getField(graphite, "address")).isNull();
@@ -61,15 +71,112 @@ public class GraphiteReporterFactoryTest {
         graphiteReporterFactory.setTransport("udp");
         graphiteReporterFactory.build(new MetricRegistry());
 
-        final ArgumentCaptor<GraphiteUDP> argument = ArgumentCaptor.forClass(GraphiteUDP.class);
-        verify(builderSpy).build(argument.capture());
-
-        final GraphiteUDP graphite = argument.getValue();
+        final GraphiteUDP graphite = (GraphiteUDP) builtSender();
         assertThat(getField(graphite, "hostname")).isEqualTo("localhost");
         assertThat(getField(graphite, "port")).isEqualTo(2003);
         assertThat(getField(graphite, "address")).isNull();
     }
 
+    @Test
+    public void testCorrectTransportForPickledGraphite() throws Exception {
+        graphiteReporterFactory.setTransport("pickle");
+        graphiteReporterFactory.setPort(2004);
+        graphiteReporterFactory.setBatchSize(500);
+        graphiteReporterFactory.build(new MetricRegistry());
+
+        final GraphiteSender graphite = builtSender();
+        assertThat(graphite).isInstanceOf(PickledGraphite.class);
+        assertThat(FieldUtils.readDeclaredField(graphite, "batchSize", true)).isEqualTo(500);
+        assertThat(FieldUtils.readDeclaredField(graphite, "port", true)).isEqualTo(2004);
+    }
+
+    @Test
+    public void wrapsTheSenderToReuseConnectionsAndKeepABacklog() throws Exception {
+        graphiteReporterFactory.setReuseConnection(true);
+        graphiteReporterFactory.setBacklogSize(10_000);
+        final MetricRegistry registry = new MetricRegistry();
+        graphiteReporterFactory.build(registry);
+
+        final ArgumentCaptor<GraphiteSender> argument = ArgumentCaptor.forClass(GraphiteSender.class);
+        verify(builderSpy).build(argument.capture());
+
+        assertThat(argument.getValue()).isInstanceOf(BacklogGraphiteSender.class);
+        assertThat(registry.getGauges()).containsKey(
+            "com.codahale.metrics.graphite.GraphiteReporter.localhost.2003.backlog");
+    }
+
+    @Test
+    public void recordsTheDurationAndFailuresOfReports() throws Exception {
+        final GraphiteReporter graphiteReporter = mock(GraphiteReporter.class);
+        when(builderSpy.build(any(GraphiteSender.class))).thenReturn(graphiteReporter);
+        final MetricRegistry registry = new MetricRegistry();
+        graphiteReporterFactory.setReuseConnection(true);
+
+        final ScheduledReporter reporter = graphiteReporterFactory.build(registry);
+        reporter.report();
+
+        verify(graphiteReporter).report(any(), any(), any(), any(), any());
+        assertThat(registry.timer("com.codahale.metrics.graphite.GraphiteReporter.localhost.2003.report-duration")
+            .getCount()).isEqualTo(1);
+        assertThat(registry.meter("com.codahale.metrics.graphite.GraphiteReporter.localhost.2003.failed-sends")
+            .getCount()).isZero();
+        reporter.stop();
+    }
+
+    @Test
+    public void reportsToGraphite() throws Exception {
+        final MetricRegistry registry = new MetricRegistry();
+        registry.counter("requests").inc(3);
+
+        try (ServerSocket graphite = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            graphite.setSoTimeout(5_000);
+            final GraphiteReporterFactory factory = new GraphiteReporterFactory();
+            factory.setHost(graphite.getInetAddress().getHostAddress());
+            factory.setPort(graphite.getLocalPort());
+            final ScheduledReporter reporter = factory.build(registry);
+
+            reporter.report();
+            try (Socket connection = graphite.accept();
+                 BufferedReader reader = new BufferedReader(
+                     new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8))) {
+                assertThat(reader.readLine()).startsWith("requests.count 3 ");
+            }
+            reporter.stop();
+        }
+
+        assertThat(registry.getTimers().values()).extracting(Timer::getCount).containsExactly(1L);
+        assertThat(registry.getMeters().values()).extracting(Meter::getCount).containsExactly(0L);
+    }
+
+    @Test
+    public void recordsTheFailuresToConnect() throws Exception {
+        final int port;
+        try (ServerSocket closed = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            port = closed.getLocalPort();
+        }
+        final MetricRegistry registry = new MetricRegistry();
+        final GraphiteReporterFactory factory = new GraphiteReporterFactory();
+        factory.setHost("127.0.0.1");
+        factory.setPort(port);
+
+        final ScheduledReporter reporter = factory.build(registry);
+        reporter.report();
+        reporter.report();
+        reporter.stop();
+
+        final String prefix = "com.codahale.metrics.graphite.GraphiteReporter.127.0.0.1." + port + ".";
+        assertThat(registry.meter(prefix + "failed-sends").getCount()).isEqualTo(2);
+        assertThat(registry.timer(prefix + "report-duration").getCount()).isEqualTo(2);
+    }
+
+    private GraphiteSender builtSender() {
+        final ArgumentCaptor<GraphiteSender> argument = ArgumentCaptor.forClass(GraphiteSender.class);
+        verify(builderSpy).build(argument.capture());
+
+        assertThat(argument.getValue()).isInstanceOf(ConnectionCountingGraphiteSender.class);
+        return ((ConnectionCountingGraphiteSender) argument.getValue()).getDelegate();
+    }
+
     private static Object getField(GraphiteUDP graphite, String name) {
         try {
             return FieldUtils.getDeclaredField(GraphiteUDP.class, name, true).get(graphite);
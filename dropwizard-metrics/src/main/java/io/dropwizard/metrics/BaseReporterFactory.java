@@ -2,6 +2,7 @@ package io.dropwizard.metrics;
 
 import com.codahale.metrics.MetricAttribute;
 import com.codahale.metrics.MetricFilter;
+import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.ScheduledReporter;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
@@ -9,6 +10,7 @@ import io.dropwizard.util.Duration;
 import io.dropwizard.validation.MinDuration;
 import org.hibernate.validator.valuehandling.UnwrapValidatedValue;
 
+import javax.annotation.Nullable;
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 import java.util.Collections;
@@ -74,6 +76,18 @@ import java.util.concurrent.TimeUnit;
  *         treated as regular expressions or not.</td>
  *     </tr>
  *     <tr>
+ *         <td>skipUnchanged</td>
+ *         <td>false</td>
+ *         <td>Whether to skip the counters whose count is unchanged since the last report, and the histograms,
+ *         meters and timers which recorded no new events since the last report.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>counterDeltas</td>
+ *         <td>false</td>
+ *         <td>Whether to report the changes of the counters since the last report, instead of their
+ *         counts.</td>
+ *     </tr>
+ *     <tr>
  *         <td>frequency</td>
  *         <td>none</td>
  *         <td>The frequency to report metrics. Overrides the {@link
@@ -117,6 +131,16 @@ public abstract class BaseReporterFactory implements ReporterFactory {
 
     private EnumSet<MetricAttribute> includesAttributes = EnumSet.allOf(MetricAttribute.class);
 
+    private boolean skipUnchanged = false;
+
+    private boolean counterDeltas = false;
+
+    @Nullable
+    private MetricRegistry filteredRegistry;
+
+    @Nullable
+    private MetricNameFilter registryFilter;
+
     public TimeUnit getDurationUnit() {
         return durationUnit;
     }
@@ -207,6 +231,26 @@ public abstract class BaseReporterFactory implements ReporterFactory {
         this.includesAttributes = EnumSet.copyOf(includesAttributes);
     }
 
+    @JsonProperty
+    public boolean isSkipUnchanged() {
+        return skipUnchanged;
+    }
+
+    @JsonProperty
+    public void setSkipUnchanged(boolean skipUnchanged) {
+        this.skipUnchanged = skipUnchanged;
+    }
+
+    @JsonProperty
+    public boolean isCounterDeltas() {
+        return counterDeltas;
+    }
+
+    @JsonProperty
+    public void setCounterDeltas(boolean counterDeltas) {
+        this.counterDeltas = counterDeltas;
+    }
+
     /**
      * Gets a {@link MetricFilter} that specifically includes and excludes configured metrics.
      * <p/>
@@ -223,6 +267,8 @@ public abstract class BaseReporterFactory implements ReporterFactory {
      *     <em>not</em> listed in <i>excludes</i> are reported;
      *     <i>excludes</i> takes precedence over <i>includes</i>.</dd>
      * </dl>
+     * The expressions are compiled when the filter is built, so it isn't affected by later changes of
+     * <i>includes</i> and <i>excludes</i>.
      *
      * @return the filter for selecting metrics based on the configured excludes/includes.
      * @see #getIncludes()
@@ -230,15 +276,56 @@ public abstract class BaseReporterFactory implements ReporterFactory {
      */
     @JsonIgnore
     public MetricFilter getFilter() {
-        final StringMatchingStrategy stringMatchingStrategy = getUseRegexFilters() ?
+        return new MetricNameFilter(getStringMatchingStrategy(), getExcludes(), getIncludes(), false);
+    }
+
+    /**
+     * Gets a {@link MetricFilter} like {@link #getFilter()}, which caches its decision for every metric name of
+     * the given registry, so that the expressions aren't evaluated again by every report.
+     * <p/>
+     * The filter is built once and shared by the reporters of this factory, so the registry has a single listener
+     * for it. When asked for the filter of another registry, the factory replaces it, and removes the listener from
+     * the previous registry.
+     *
+     * @param registry the registry of the filtered metrics, which notifies the filter of added and removed
+     *                 metrics
+     * @return the filter for selecting metrics based on the configured excludes/includes.
+     */
+    public synchronized MetricFilter getFilter(MetricRegistry registry) {
+        if (registryFilter != null && filteredRegistry == registry) {
+            return registryFilter;
+        }
+        if (registryFilter != null && filteredRegistry != null) {
+            filteredRegistry.removeListener(registryFilter);
+        }
+        final MetricNameFilter filter =
+            new MetricNameFilter(getStringMatchingStrategy(), getExcludes(), getIncludes(), true);
+        registry.addListener(filter);
+        filteredRegistry = registry;
+        registryFilter = filter;
+        return filter;
+    }
+
+    private StringMatchingStrategy getStringMatchingStrategy() {
+        return getUseRegexFilters() ?
                 REGEX_STRING_MATCHING_STRATEGY : (getUseSubstringMatching() ? SUBSTRING_MATCHING_STRATEGY : DEFAULT_STRING_MATCHING_STRATEGY);
+    }
 
-        return (name, metric) -> {
-            // Include the metric if its name is not excluded and its name is included
-            // Where, by default, with no includes setting, all names are included.
-            return !stringMatchingStrategy.containsMatch(getExcludes(), name) &&
-                    (getIncludes().isEmpty() || stringMatchingStrategy.containsMatch(getIncludes(), name));
-        };
+    /**
+     * Wraps a reporter built by this factory, so that it skips the unchanged metrics, or reports the deltas of
+     * the counters, as configured.
+     *
+     * @param registry the registry of the reported metrics
+     * @param reporter the reporter built by this factory
+     * @return the given reporter, if neither {@link #isSkipUnchanged() skipUnchanged} nor
+     * {@link #isCounterDeltas() counterDeltas} are enabled
+     */
+    public ScheduledReporter reportChanges(MetricRegistry registry, ScheduledReporter reporter) {
+        if (!skipUnchanged && !counterDeltas) {
+            return reporter;
+        }
+        return new ChangeReportingReporter(registry, reporter, getFilter(registry), getRateUnit(), getDurationUnit(),
+            getDisabledAttributes(), skipUnchanged, counterDeltas);
     }
 
     protected Set<MetricAttribute> getDisabledAttributes() {
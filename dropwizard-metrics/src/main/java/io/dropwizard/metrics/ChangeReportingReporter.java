@@ -0,0 +1,112 @@
+package io.dropwizard.metrics;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Counting;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.Metric;
+import com.codahale.metrics.MetricAttribute;
+import com.codahale.metrics.MetricFilter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.ScheduledReporter;
+import com.codahale.metrics.Timer;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A reporter which passes to another reporter only the metrics which changed since the last report, or the
+ * changes of the counters instead of their counts.
+ * <p/>
+ * A counter is unchanged if its count is the same, and a histogram, meter or timer is unchanged if it recorded
+ * no new events. Gauges are always reported. A metric is compared to a count of {@code 0} the first time it
+ * is reported, so the metrics which never recorded anything are skipped too.
+ */
+class ChangeReportingReporter extends ScheduledReporter {
+    private final ScheduledReporter reporter;
+    private final boolean skipUnchanged;
+    private final boolean counterDeltas;
+    private final MetricChangeTracker tracker = new MetricChangeTracker();
+
+    /**
+     * @param registry           the registry of the metrics
+     * @param reporter           the reporter to pass the changed metrics to
+     * @param filter             the filter of the metrics
+     * @param rateUnit           the unit of the rates
+     * @param durationUnit       the unit of the durations
+     * @param disabledAttributes the attributes which aren't reported
+     * @param skipUnchanged      whether to skip the metrics which are unchanged since the last report
+     * @param counterDeltas      whether to report the changes of the counters since the last report, instead of
+     *                           their counts
+     */
+    ChangeReportingReporter(MetricRegistry registry,
+                            ScheduledReporter reporter,
+                            MetricFilter filter,
+                            TimeUnit rateUnit,
+                            TimeUnit durationUnit,
+                            Set<MetricAttribute> disabledAttributes,
+                            boolean skipUnchanged,
+                            boolean counterDeltas) {
+        super(registry, "change-reporter", filter, rateUnit, durationUnit, null, true, disabledAttributes);
+        this.reporter = reporter;
+        this.skipUnchanged = skipUnchanged;
+        this.counterDeltas = counterDeltas;
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public void report(SortedMap<String, Gauge> gauges,
+                       SortedMap<String, Counter> counters,
+                       SortedMap<String, Histogram> histograms,
+                       SortedMap<String, Meter> meters,
+                       SortedMap<String, Timer> timers) {
+        tracker.nextReport();
+        reporter.report(gauges,
+            counterDeltas ? deltas(counters) : changed(counters),
+            changed(histograms),
+            changed(meters),
+            changed(timers));
+    }
+
+    @Override
+    public void stop() {
+        try {
+            super.stop();
+        } finally {
+            reporter.stop();
+        }
+    }
+
+    private <T extends Metric & Counting> SortedMap<String, T> changed(SortedMap<String, T> metrics) {
+        if (!skipUnchanged) {
+            return metrics;
+        }
+        final SortedMap<String, T> changed = new TreeMap<>();
+        for (Map.Entry<String, T> entry : metrics.entrySet()) {
+            final long count = entry.getValue().getCount();
+            if (tracker.update(entry.getValue(), count) != count) {
+                changed.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return changed;
+    }
+
+    private SortedMap<String, Counter> deltas(SortedMap<String, Counter> counters) {
+        final SortedMap<String, Counter> deltas = new TreeMap<>();
+        for (Map.Entry<String, Counter> entry : counters.entrySet()) {
+            final long count = entry.getValue().getCount();
+            final long previous = tracker.update(entry.getValue(), count);
+            final long delta = count - previous;
+            if (delta != 0 || !skipUnchanged) {
+                final Counter counter = new Counter();
+                counter.inc(delta);
+                deltas.put(entry.getKey(), counter);
+            }
+        }
+        return deltas;
+    }
+}
@@ -0,0 +1,192 @@
+package io.dropwizard.metrics;
+
+import com.codahale.metrics.MetricFilter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.jmx.JmxReporter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.dropwizard.lifecycle.Managed;
+import org.hibernate.validator.constraints.NotEmpty;
+
+import javax.validation.constraints.NotNull;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * A factory for the {@link JmxReporter}, which exposes every reported metric as an MBean.
+ * <p/>
+ * Each MBean costs startup time and memory, so the reporter is disabled by default, and should be
+ * restricted to the metrics of interest when enabled.
+ * <p/>
+ * <b>Configuration Parameters:</b>
+ * <table>
+ *     <tr>
+ *         <td>Name</td>
+ *         <td>Default</td>
+ *         <td>Description</td>
+ *     </tr>
+ *     <tr>
+ *         <td>enabled</td>
+ *         <td>false</td>
+ *         <td>Whether to expose the metrics via JMX.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>domain</td>
+ *         <td>metrics</td>
+ *         <td>The JMX domain of the MBeans.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>excludes</td>
+ *         <td>No excluded metrics.</td>
+ *         <td>Metrics to exclude, by name. Exclusion rules take precedence over <i>includes</i>.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>includes</td>
+ *         <td>All metrics included.</td>
+ *         <td>Metrics to include, by name. When defined, only these metrics are exposed.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>useRegexFilters</td>
+ *         <td>false</td>
+ *         <td>Indicates whether the values of the 'includes' and 'excludes' fields should be
+ *         treated as regular expressions or not.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>useSubstringMatching</td>
+ *         <td>false</td>
+ *         <td>Uses a substring matching strategy to determine whether a metric should be exposed.</td>
+ *     </tr>
+ * </table>
+ */
+public class JmxReporterFactory {
+    private boolean enabled = false;
+
+    @NotEmpty
+    private String domain = "metrics";
+
+    @NotNull
+    private Set<String> excludes = Collections.emptySet();
+
+    @NotNull
+    private Set<String> includes = Collections.emptySet();
+
+    private boolean useRegexFilters = false;
+
+    private boolean useSubstringMatching = false;
+
+    @JsonProperty
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @JsonProperty
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @JsonProperty
+    public String getDomain() {
+        return domain;
+    }
+
+    @JsonProperty
+    public void setDomain(String domain) {
+        this.domain = domain;
+    }
+
+    @JsonProperty
+    public Set<String> getExcludes() {
+        return excludes;
+    }
+
+    @JsonProperty
+    public void setExcludes(Set<String> excludes) {
+        this.excludes = new HashSet<>(excludes);
+    }
+
+    @JsonProperty
+    public Set<String> getIncludes() {
+        return includes;
+    }
+
+    @JsonProperty
+    public void setIncludes(Set<String> includes) {
+        this.includes = new HashSet<>(includes);
+    }
+
+    @JsonProperty
+    public boolean getUseRegexFilters() {
+        return useRegexFilters;
+    }
+
+    @JsonProperty
+    public void setUseRegexFilters(boolean useRegexFilters) {
+        this.useRegexFilters = useRegexFilters;
+    }
+
+    @JsonProperty
+    public boolean getUseSubstringMatching() {
+        return useSubstringMatching;
+    }
+
+    @JsonProperty
+    public void setUseSubstringMatching(boolean useSubstringMatching) {
+        this.useSubstringMatching = useSubstringMatching;
+    }
+
+    /**
+     * Gets a {@link MetricFilter} which selects the exposed metrics, with the same rules as
+     * {@link BaseReporterFactory#getFilter()}.
+     *
+     * @return the filter for selecting metrics based on the configured excludes/includes.
+     */
+    @JsonIgnore
+    public MetricFilter getFilter() {
+        final StringMatchingStrategy stringMatchingStrategy = useRegexFilters ? new RegexStringMatchingStrategy() :
+            (useSubstringMatching ? new SubstringMatchingStrategy() : new DefaultStringMatchingStrategy());
+
+        return new MetricNameFilter(stringMatchingStrategy, excludes, includes, false);
+    }
+
+    /**
+     * Builds a {@link JmxReporter} which exposes the filtered metrics of the given registry.
+     *
+     * @param registry the registry to expose
+     * @return the reporter, which still has to be started
+     */
+    public JmxReporter build(MetricRegistry registry) {
+        return JmxReporter.forRegistry(registry)
+                          .inDomain(domain)
+                          .filter(getFilter())
+                          .build();
+    }
+
+    /**
+     * Builds a {@link Managed} object which exposes the filtered metrics of the given registry while it
+     * is started.
+     *
+     * @param registry the registry to expose
+     * @return the managed reporter
+     */
+    public Managed buildManaged(MetricRegistry registry) {
+        final JmxReporter reporter = build(registry);
+        return new Managed() {
+            @Override
+            public void start() {
+                reporter.start();
+            }
+
+            @Override
+            public void stop() {
+                reporter.stop();
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        return "JmxReporterFactory{enabled=" + enabled + ", domain=" + domain + ", excludes=" + excludes +
+            ", includes=" + includes + '}';
+    }
+}
@@ -0,0 +1,219 @@
+package io.dropwizard.metrics;
+
+import com.codahale.metrics.Metric;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.MetricSet;
+import com.codahale.metrics.jvm.BufferPoolMetricSet;
+import com.codahale.metrics.jvm.CachedThreadStatesGaugeSet;
+import com.codahale.metrics.jvm.ClassLoadingGaugeSet;
+import com.codahale.metrics.jvm.FileDescriptorRatioGauge;
+import com.codahale.metrics.jvm.GarbageCollectorMetricSet;
+import com.codahale.metrics.jvm.JvmAttributeGaugeSet;
+import com.codahale.metrics.jvm.MemoryUsageGaugeSet;
+import com.codahale.metrics.jvm.ThreadStatesGaugeSet;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.dropwizard.util.Duration;
+import io.dropwizard.validation.MinDuration;
+
+import javax.validation.constraints.NotNull;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A factory for registering the metric sets of the JVM.
+ * <p/>
+ * <b>Configuration Parameters:</b>
+ * <table>
+ *     <tr>
+ *         <td>Name</td>
+ *         <td>Default</td>
+ *         <td>Description</td>
+ *     </tr>
+ *     <tr>
+ *         <td>attributes</td>
+ *         <td>true</td>
+ *         <td>Whether to register the attributes of the JVM as {@code jvm.attribute}.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>buffers</td>
+ *         <td>true</td>
+ *         <td>Whether to register the direct and mapped buffer pools as {@code jvm.buffers}.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>classLoader</td>
+ *         <td>true</td>
+ *         <td>Whether to register the loaded and unloaded classes as {@code jvm.classloader}.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>fileDescriptors</td>
+ *         <td>true</td>
+ *         <td>Whether to register the ratio of used file descriptors as {@code jvm.filedescriptor}.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>gc</td>
+ *         <td>true</td>
+ *         <td>Whether to register the garbage collections as {@code jvm.gc}.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>memory</td>
+ *         <td>true</td>
+ *         <td>Whether to register the memory usage as {@code jvm.memory}.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>threads</td>
+ *         <td>true</td>
+ *         <td>Whether to register the thread states as {@code jvm.threads}.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>threadStatesCacheInterval</td>
+ *         <td>5 seconds</td>
+ *         <td>How long the thread states are cached. Each refresh takes a dump of all threads. A zero
+ *         interval disables the cache.</td>
+ *     </tr>
+ * </table>
+ */
+public class JvmMetricsFactory {
+    private boolean attributes = true;
+    private boolean buffers = true;
+    private boolean classLoader = true;
+    private boolean fileDescriptors = true;
+    private boolean gc = true;
+    private boolean memory = true;
+    private boolean threads = true;
+
+    @NotNull
+    @MinDuration(0)
+    private Duration threadStatesCacheInterval = Duration.seconds(5);
+
+    @JsonProperty
+    public boolean isAttributes() {
+        return attributes;
+    }
+
+    @JsonProperty
+    public void setAttributes(boolean attributes) {
+        this.attributes = attributes;
+    }
+
+    @JsonProperty
+    public boolean isBuffers() {
+        return buffers;
+    }
+
+    @JsonProperty
+    public void setBuffers(boolean buffers) {
+        this.buffers = buffers;
+    }
+
+    @JsonProperty
+    public boolean isClassLoader() {
+        return classLoader;
+    }
+
+    @JsonProperty
+    public void setClassLoader(boolean classLoader) {
+        this.classLoader = classLoader;
+    }
+
+    @JsonProperty
+    public boolean isFileDescriptors() {
+        return fileDescriptors;
+    }
+
+    @JsonProperty
+    public void setFileDescriptors(boolean fileDescriptors) {
+        this.fileDescriptors = fileDescriptors;
+    }
+
+    @JsonProperty
+    public boolean isGc() {
+        return gc;
+    }
+
+    @JsonProperty
+    public void setGc(boolean gc) {
+        this.gc = gc;
+    }
+
+    @JsonProperty
+    public boolean isMemory() {
+        return memory;
+    }
+
+    @JsonProperty
+    public void setMemory(boolean memory) {
+        this.memory = memory;
+    }
+
+    @JsonProperty
+    public boolean isThreads() {
+        return threads;
+    }
+
+    @JsonProperty
+    public void setThreads(boolean threads) {
+        this.threads = threads;
+    }
+
+    @JsonProperty
+    public Duration getThreadStatesCacheInterval() {
+        return threadStatesCacheInterval;
+    }
+
+    @JsonProperty
+    public void setThreadStatesCacheInterval(Duration threadStatesCacheInterval) {
+        this.threadStatesCacheInterval = threadStatesCacheInterval;
+    }
+
+    /**
+     * Registers the enabled metric sets of the JVM with the given registry. Metrics which are already
+     * registered, e.g. by {@code Bootstrap#registerMetrics()}, are kept.
+     *
+     * @param registry the registry to register the metrics with
+     */
+    public void configure(MetricRegistry registry) {
+        if (attributes) {
+            register(registry, "jvm.attribute", new JvmAttributeGaugeSet());
+        }
+        if (buffers) {
+            register(registry, "jvm.buffers", new BufferPoolMetricSet(ManagementFactory.getPlatformMBeanServer()));
+        }
+        if (classLoader) {
+            register(registry, "jvm.classloader", new ClassLoadingGaugeSet());
+        }
+        if (fileDescriptors && !registry.getNames().contains("jvm.filedescriptor")) {
+            registry.register("jvm.filedescriptor", new FileDescriptorRatioGauge());
+        }
+        if (gc) {
+            register(registry, "jvm.gc", new GarbageCollectorMetricSet());
+        }
+        if (memory) {
+            register(registry, "jvm.memory", new MemoryUsageGaugeSet());
+        }
+        if (threads) {
+            final long interval = threadStatesCacheInterval.toMilliseconds();
+            register(registry, "jvm.threads", interval > 0 ?
+                new CachedThreadStatesGaugeSet(interval, TimeUnit.MILLISECONDS) :
+                new ThreadStatesGaugeSet());
+        }
+    }
+
+    private static void register(MetricRegistry registry, String prefix, MetricSet metrics) {
+        final Map<String, Metric> registered = registry.getMetrics();
+        for (Map.Entry<String, Metric> entry : metrics.getMetrics().entrySet()) {
+            final String name = MetricRegistry.name(prefix, entry.getKey());
+            if (!registered.containsKey(name)) {
+                registry.register(name, entry.getValue());
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "JvmMetricsFactory{attributes=" + attributes + ", buffers=" + buffers +
+            ", classLoader=" + classLoader + ", fileDescriptors=" + fileDescriptors + ", gc=" + gc +
+            ", memory=" + memory + ", threads=" + threads +
+            ", threadStatesCacheInterval=" + threadStatesCacheInterval + '}';
+    }
+}
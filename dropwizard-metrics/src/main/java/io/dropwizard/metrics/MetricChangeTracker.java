@@ -0,0 +1,113 @@
+package io.dropwizard.metrics;
+
+import com.codahale.metrics.Metric;
+
+/**
+ * Tracks the counts of metrics between reports, to find the metrics which changed since the last report.
+ * <p/>
+ * The metrics are keyed by identity in an open-addressing table, so a report looks up each metric without
+ * allocating, and the state of a metric is a slot in primitive arrays rather than an object. The slots of
+ * metrics which were not seen by the last two reports are dropped when the table grows, so removed metrics
+ * are eventually released.
+ * <p/>
+ * This class is not thread-safe, it's meant to be used by the single thread of a reporter.
+ */
+class MetricChangeTracker {
+    private static final int INITIAL_CAPACITY = 64;
+
+    private Metric[] metrics;
+    private long[] counts;
+    private int[] reports;
+    private int size;
+    private int report;
+
+    MetricChangeTracker() {
+        allocate(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Starts a new report.
+     */
+    void nextReport() {
+        report++;
+    }
+
+    /**
+     * Records the count of a metric in the current report.
+     *
+     * @param metric the metric
+     * @param count  its current count
+     * @return the count of the metric in the last report, or {@code 0} if it wasn't reported before
+     */
+    long update(Metric metric, long count) {
+        int slot = slotOf(metric, metrics);
+        if (metrics[slot] == null) {
+            if ((size + 1) * 2 > metrics.length) {
+                rehash();
+                slot = slotOf(metric, metrics);
+            }
+            metrics[slot] = metric;
+            counts[slot] = count;
+            reports[slot] = report;
+            size++;
+            return 0;
+        }
+        final long previous = counts[slot];
+        counts[slot] = count;
+        reports[slot] = report;
+        return previous;
+    }
+
+    /**
+     * Returns the number of tracked metrics.
+     */
+    int size() {
+        return size;
+    }
+
+    private void rehash() {
+        final Metric[] oldMetrics = metrics;
+        final long[] oldCounts = counts;
+        final int[] oldReports = reports;
+
+        int live = 0;
+        for (int i = 0; i < oldMetrics.length; i++) {
+            if (oldMetrics[i] != null && isLive(oldReports[i])) {
+                live++;
+            }
+        }
+        // Only grow if dropping the stale slots doesn't free enough of the table
+        allocate((live + 1) * 4 > oldMetrics.length ? oldMetrics.length * 2 : oldMetrics.length);
+
+        size = 0;
+        for (int i = 0; i < oldMetrics.length; i++) {
+            if (oldMetrics[i] != null && isLive(oldReports[i])) {
+                final int slot = slotOf(oldMetrics[i], metrics);
+                metrics[slot] = oldMetrics[i];
+                counts[slot] = oldCounts[i];
+                reports[slot] = oldReports[i];
+                size++;
+            }
+        }
+    }
+
+    private boolean isLive(int seen) {
+        return report - seen <= 1;
+    }
+
+    private void allocate(int capacity) {
+        metrics = new Metric[capacity];
+        counts = new long[capacity];
+        reports = new int[capacity];
+    }
+
+    private static int slotOf(Metric metric, Metric[] table) {
+        final int mask = table.length - 1;
+        final int hash = System.identityHashCode(metric);
+        int slot = (hash ^ (hash >>> 16)) & mask;
+        while (table[slot] != null && table[slot] != metric) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+}
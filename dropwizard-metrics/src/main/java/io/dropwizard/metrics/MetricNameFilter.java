@@ -0,0 +1,126 @@
+package io.dropwizard.metrics;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.Metric;
+import com.codahale.metrics.MetricFilter;
+import com.codahale.metrics.MetricRegistryListener;
+import com.codahale.metrics.Timer;
+
+import javax.annotation.Nullable;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Predicate;
+
+/**
+ * A {@link MetricFilter} which includes and excludes metrics by name, with the expressions compiled once when
+ * the filter is built.
+ * <p/>
+ * A caching filter also remembers its decision for every name. As the decision only depends on the name, a
+ * cached decision stays valid while the metric is registered: the filter listens to its registry to decide
+ * about new metrics before they are first reported, and to forget the names of removed metrics.
+ */
+class MetricNameFilter implements MetricFilter, MetricRegistryListener {
+    private final Predicate<String> excludes;
+    @Nullable
+    private final Predicate<String> includes;
+    @Nullable
+    private final ConcurrentMap<String, Boolean> decisions;
+
+    /**
+     * @param strategy the strategy to match the names with the expressions
+     * @param excludes the expressions of the excluded names
+     * @param includes the expressions of the included names, or an empty set to include all the names
+     * @param caching  whether to cache the decisions by name
+     */
+    MetricNameFilter(StringMatchingStrategy strategy, Set<String> excludes, Set<String> includes, boolean caching) {
+        this.excludes = strategy.compile(excludes);
+        this.includes = includes.isEmpty() ? null : strategy.compile(includes);
+        this.decisions = caching ? new ConcurrentHashMap<>() : null;
+    }
+
+    @Override
+    public boolean matches(String name, Metric metric) {
+        if (decisions == null) {
+            return decide(name);
+        }
+        final Boolean decision = decisions.get(name);
+        if (decision != null) {
+            return decision;
+        }
+        final boolean matches = decide(name);
+        decisions.put(name, matches);
+        return matches;
+    }
+
+    private boolean decide(String name) {
+        // Include the metric if its name is not excluded and its name is included
+        // Where, by default, with no includes setting, all names are included.
+        return !excludes.test(name) && (includes == null || includes.test(name));
+    }
+
+    private void added(String name) {
+        if (decisions != null) {
+            decisions.put(name, decide(name));
+        }
+    }
+
+    private void removed(String name) {
+        if (decisions != null) {
+            decisions.remove(name);
+        }
+    }
+
+    @Override
+    public void onGaugeAdded(String name, Gauge<?> gauge) {
+        added(name);
+    }
+
+    @Override
+    public void onGaugeRemoved(String name) {
+        removed(name);
+    }
+
+    @Override
+    public void onCounterAdded(String name, Counter counter) {
+        added(name);
+    }
+
+    @Override
+    public void onCounterRemoved(String name) {
+        removed(name);
+    }
+
+    @Override
+    public void onHistogramAdded(String name, Histogram histogram) {
+        added(name);
+    }
+
+    @Override
+    public void onHistogramRemoved(String name) {
+        removed(name);
+    }
+
+    @Override
+    public void onMeterAdded(String name, Meter meter) {
+        added(name);
+    }
+
+    @Override
+    public void onMeterRemoved(String name) {
+        removed(name);
+    }
+
+    @Override
+    public void onTimerAdded(String name, Timer timer) {
+        added(name);
+    }
+
+    @Override
+    public void onTimerRemoved(String name) {
+        removed(name);
+    }
+}
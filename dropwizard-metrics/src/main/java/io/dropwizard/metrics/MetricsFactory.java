@@ -1,6 +1,7 @@
 package io.dropwizard.metrics;
 
 import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.ScheduledReporter;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import io.dropwizard.lifecycle.setup.LifecycleEnvironment;
 import io.dropwizard.util.Duration;
@@ -36,6 +37,21 @@ import java.util.List;
  *         <td>No reporters.</td>
  *         <td>A list of {@link ReporterFactory reporters} to report metrics.</td>
  *     </tr>
+ *     <tr>
+ *         <td>jvm</td>
+ *         <td>All JVM metric sets.</td>
+ *         <td>The {@link JvmMetricsFactory metric sets of the JVM} to register.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>jmx</td>
+ *         <td>Disabled.</td>
+ *         <td>The {@link JmxReporterFactory JMX reporter} of the metrics.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>prometheus</td>
+ *         <td>Disabled.</td>
+ *         <td>The {@link PrometheusFactory Prometheus exposition} of the metrics on the admin connector.</td>
+ *     </tr>
  * </table>
  */
 public class MetricsFactory {
@@ -49,6 +65,18 @@ public class MetricsFactory {
     @NotNull
     private List<ReporterFactory> reporters = Collections.emptyList();
 
+    @Valid
+    @NotNull
+    private JvmMetricsFactory jvm = new JvmMetricsFactory();
+
+    @Valid
+    @NotNull
+    private JmxReporterFactory jmx = new JmxReporterFactory();
+
+    @Valid
+    @NotNull
+    private PrometheusFactory prometheus = new PrometheusFactory();
+
     @JsonProperty
     public List<ReporterFactory> getReporters() {
         return reporters;
@@ -69,6 +97,36 @@ public class MetricsFactory {
         this.frequency = frequency;
     }
 
+    @JsonProperty
+    public JvmMetricsFactory getJvm() {
+        return jvm;
+    }
+
+    @JsonProperty
+    public void setJvm(JvmMetricsFactory jvm) {
+        this.jvm = jvm;
+    }
+
+    @JsonProperty
+    public JmxReporterFactory getJmx() {
+        return jmx;
+    }
+
+    @JsonProperty
+    public void setJmx(JmxReporterFactory jmx) {
+        this.jmx = jmx;
+    }
+
+    @JsonProperty
+    public PrometheusFactory getPrometheus() {
+        return prometheus;
+    }
+
+    @JsonProperty
+    public void setPrometheus(PrometheusFactory prometheus) {
+        this.prometheus = prometheus;
+    }
+
     /**
      * Configures the given lifecycle with the {@link com.codahale.metrics.ScheduledReporter
      * reporters} configured for the given registry.
@@ -76,16 +134,27 @@ public class MetricsFactory {
      * The reporters are tied in to the given lifecycle, such that their {@link #getFrequency()
      * frequency} for reporting metrics begins when the lifecycle {@link
      * io.dropwizard.lifecycle.Managed#start() starts}, and stops when the lifecycle
-     * {@link io.dropwizard.lifecycle.Managed#stop() stops}.
+     * {@link io.dropwizard.lifecycle.Managed#stop() stops}. The enabled {@link #getJvm() JVM metrics} are
+     * registered with the registry, and the {@link #getJmx() JMX reporter} is tied in to the lifecycle if
+     * it's enabled.
      *
      * @param environment the lifecycle to manage the reporters.
      * @param registry the metric registry to report metrics from.
      */
     public void configure(LifecycleEnvironment environment, MetricRegistry registry) {
+        jvm.configure(registry);
+        if (jmx.isEnabled()) {
+            environment.manage(jmx.buildManaged(registry));
+        }
+
         for (ReporterFactory reporter : reporters) {
             try {
+                ScheduledReporter scheduledReporter = reporter.build(registry);
+                if (reporter instanceof BaseReporterFactory) {
+                    scheduledReporter = ((BaseReporterFactory) reporter).reportChanges(registry, scheduledReporter);
+                }
                 final ScheduledReporterManager manager =
-                        new ScheduledReporterManager(reporter.build(registry),
+                        new ScheduledReporterManager(scheduledReporter,
                                                      reporter.getFrequency().orElseGet(this::getFrequency));
                 environment.manage(manager);
             } catch (Exception e) {
@@ -96,6 +165,7 @@ public class MetricsFactory {
 
     @Override
     public String toString() {
-        return "MetricsFactory{frequency=" + frequency + ", reporters=" + reporters + '}';
+        return "MetricsFactory{frequency=" + frequency + ", reporters=" + reporters + ", jvm=" + jvm +
+            ", jmx=" + jmx + ", prometheus=" + prometheus + '}';
     }
 }
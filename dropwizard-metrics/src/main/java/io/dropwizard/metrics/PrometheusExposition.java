@@ -0,0 +1,406 @@
+package io.dropwizard.metrics;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.Metric;
+import com.codahale.metrics.MetricFilter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.MetricRegistryListener;
+import com.codahale.metrics.Snapshot;
+import com.codahale.metrics.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Writes the metrics of a registry in the Prometheus text exposition format.
+ * <p/>
+ * The names of the metrics are mapped to series by the first matching {@link PrometheusMapping}, or else by
+ * replacing the characters which Prometheus doesn't allow with underscores. Gauges with a numeric or boolean
+ * value and counters are exposed as gauges, as a counter can be decremented, meters as counters with a
+ * {@code _total} suffix, and histograms and timers as summaries, with the durations of timers in seconds.
+ * <p/>
+ * The series are mapped, filtered and sorted once, and again only after metrics are added to or removed from the
+ * registry, so a scrape only reads the values of the metrics and writes them straight to the output. The
+ * exposition follows the registry until it's {@link #stop() stopped}.
+ */
+public class PrometheusExposition implements MetricRegistryListener {
+    /**
+     * The content type of the text exposition format
+     */
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PrometheusExposition.class);
+
+    private static final double[] QUANTILES = {0.5, 0.75, 0.95, 0.98, 0.99, 0.999};
+    private static final String[] QUANTILE_LABELS = {"0.5", "0.75", "0.95", "0.98", "0.99", "0.999"};
+    private static final double NANOSECONDS_PER_SECOND = 1_000_000_000.0;
+    private static final Pattern REFERENCE = Pattern.compile("\\$\\{(\\d+)}");
+
+    private enum Kind {
+        GAUGE("gauge", ""),
+        COUNTER("gauge", ""),
+        METER("counter", "_total"),
+        HISTOGRAM("summary", ""),
+        TIMER("summary", "");
+
+        private final String type;
+        private final String suffix;
+
+        Kind(String type, String suffix) {
+            this.type = type;
+            this.suffix = suffix;
+        }
+
+        @Nullable
+        private static Kind of(Metric metric) {
+            if (metric instanceof Gauge) {
+                return GAUGE;
+            } else if (metric instanceof Counter) {
+                return COUNTER;
+            } else if (metric instanceof Timer) {
+                return TIMER;
+            } else if (metric instanceof Histogram) {
+                return HISTOGRAM;
+            } else if (metric instanceof Meter) {
+                return METER;
+            }
+            return null;
+        }
+    }
+
+    private final MetricRegistry registry;
+    private final MetricFilter filter;
+    private final List<Pattern> patterns = new ArrayList<>();
+    private final List<PrometheusMapping> mappings;
+    private final AtomicLong changes = new AtomicLong();
+
+    @Nullable
+    private volatile Series[] series;
+    private volatile boolean stopped;
+
+    /**
+     * @param registry the registry of the metrics
+     * @param filter   the filter of the exposed metrics
+     * @param mappings the mappings of the names of the metrics to labelled series
+     */
+    public PrometheusExposition(MetricRegistry registry, MetricFilter filter, List<PrometheusMapping> mappings) {
+        this.registry = registry;
+        this.filter = filter;
+        this.mappings = new ArrayList<>(mappings);
+        for (PrometheusMapping mapping : mappings) {
+            patterns.add(mapping.toPattern());
+        }
+        registry.addListener(this);
+    }
+
+    /**
+     * Writes the current values of the metrics.
+     *
+     * @param output the output, which should be buffered
+     * @throws IOException if the output can't be written
+     */
+    public void write(Writer output) throws IOException {
+        Series[] current = series;
+        if (current == null) {
+            current = plan();
+        }
+
+        String typed = null;
+        for (Series s : current) {
+            if (s.write(output, !s.family.equals(typed))) {
+                typed = s.family;
+            }
+        }
+        output.flush();
+    }
+
+    /**
+     * Stops following the metrics added to and removed from the registry. The series are then mapped again by
+     * every call of {@link #write(Writer)}.
+     */
+    public void stop() {
+        registry.removeListener(this);
+        stopped = true;
+        series = null;
+    }
+
+    private synchronized Series[] plan() {
+        final Series[] planned = series;
+        if (planned != null) {
+            return planned;
+        }
+
+        final long version = changes.get();
+        final List<Series> list = new ArrayList<>();
+        for (Map.Entry<String, Metric> entry : registry.getMetrics().entrySet()) {
+            final Kind kind = Kind.of(entry.getValue());
+            if (kind != null && filter.matches(entry.getKey(), entry.getValue())) {
+                list.add(map(entry.getKey(), entry.getValue(), kind));
+            }
+        }
+        list.sort(Comparator.comparing((Series s) -> s.family)
+            .thenComparing(s -> s.labels)
+            .thenComparing(s -> s.name));
+
+        // A family has a single type, and a series a single value
+        final List<Series> unique = new ArrayList<>(list.size());
+        Series previous = null;
+        for (Series s : list) {
+            if (previous != null && previous.family.equals(s.family) &&
+                (!previous.kind.type.equals(s.kind.type) || previous.labels.equals(s.labels))) {
+                LOGGER.warn("Not exposing {}, it conflicts with {} as {}", s.name, previous.name, s.family);
+                continue;
+            }
+            unique.add(s);
+            previous = s;
+        }
+
+        final Series[] built = unique.toArray(new Series[0]);
+        if (changes.get() == version && !stopped) {
+            series = built;
+        }
+        return built;
+    }
+
+    private Series map(String name, Metric metric, Kind kind) {
+        for (int i = 0; i < patterns.size(); i++) {
+            final Matcher matcher = patterns.get(i).matcher(name);
+            if (matcher.matches()) {
+                final PrometheusMapping mapping = mappings.get(i);
+                final StringBuilder labels = new StringBuilder();
+                for (Map.Entry<String, String> label : new TreeMap<>(mapping.getLabels()).entrySet()) {
+                    if (labels.length() > 0) {
+                        labels.append(',');
+                    }
+                    labels.append(sanitize(label.getKey(), false)).append("=\"");
+                    escape(expand(label.getValue(), matcher), labels);
+                    labels.append('"');
+                }
+                return new Series(name, metric, kind,
+                    sanitize(expand(mapping.getName(), matcher), true) + kind.suffix, labels.toString());
+            }
+        }
+        return new Series(name, metric, kind, sanitize(name, true) + kind.suffix, "");
+    }
+
+    private static String expand(String template, Matcher matcher) {
+        final Matcher reference = REFERENCE.matcher(template);
+        final StringBuffer expanded = new StringBuffer();
+        while (reference.find()) {
+            final int group = Integer.parseInt(reference.group(1));
+            final String value = group <= matcher.groupCount() ? matcher.group(group) : "";
+            reference.appendReplacement(expanded, Matcher.quoteReplacement(value));
+        }
+        reference.appendTail(expanded);
+        return expanded.toString();
+    }
+
+    /**
+     * Replaces the characters which aren't allowed in the names of metrics or labels with underscores.
+     */
+    static String sanitize(String name, boolean metric) {
+        final StringBuilder sanitized = new StringBuilder(name.length() + 1);
+        if (name.isEmpty() || (name.charAt(0) >= '0' && name.charAt(0) <= '9')) {
+            // Names can't start with a digit
+            sanitized.append('_');
+        }
+        for (int i = 0; i < name.length(); i++) {
+            final char c = name.charAt(i);
+            final boolean allowed = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') ||
+                c == '_' || (c == ':' && metric);
+            sanitized.append(allowed ? c : '_');
+        }
+        return sanitized.toString();
+    }
+
+    private static void escape(String value, StringBuilder output) {
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            if (c == '\\' || c == '"') {
+                output.append('\\').append(c);
+            } else if (c == '\n') {
+                output.append("\\n");
+            } else {
+                output.append(c);
+            }
+        }
+    }
+
+    private static String format(double value) {
+        if (value == Double.POSITIVE_INFINITY) {
+            return "+Inf";
+        } else if (value == Double.NEGATIVE_INFINITY) {
+            return "-Inf";
+        } else if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            return Long.toString((long) value);
+        }
+        return Double.toString(value);
+    }
+
+    private void changed() {
+        changes.incrementAndGet();
+        series = null;
+    }
+
+    @Override
+    public void onGaugeAdded(String name, Gauge<?> gauge) {
+        changed();
+    }
+
+    @Override
+    public void onGaugeRemoved(String name) {
+        changed();
+    }
+
+    @Override
+    public void onCounterAdded(String name, Counter counter) {
+        changed();
+    }
+
+    @Override
+    public void onCounterRemoved(String name) {
+        changed();
+    }
+
+    @Override
+    public void onHistogramAdded(String name, Histogram histogram) {
+        changed();
+    }
+
+    @Override
+    public void onHistogramRemoved(String name) {
+        changed();
+    }
+
+    @Override
+    public void onMeterAdded(String name, Meter meter) {
+        changed();
+    }
+
+    @Override
+    public void onMeterRemoved(String name) {
+        changed();
+    }
+
+    @Override
+    public void onTimerAdded(String name, Timer timer) {
+        changed();
+    }
+
+    @Override
+    public void onTimerRemoved(String name) {
+        changed();
+    }
+
+    private static class Series {
+        private final String name;
+        private final Metric metric;
+        private final Kind kind;
+        private final String family;
+        private final String labels;
+
+        private Series(String name, Metric metric, Kind kind, String family, String labels) {
+            this.name = name;
+            this.metric = metric;
+            this.kind = kind;
+            this.family = family;
+            this.labels = labels;
+        }
+
+        /**
+         * Writes the samples of the series, preceded by the type of its family if requested.
+         *
+         * @return whether the series had a value, as a gauge may have a value which isn't a number
+         */
+        private boolean write(Writer output, boolean withType) throws IOException {
+            switch (kind) {
+                case GAUGE:
+                    final Object value = ((Gauge<?>) metric).getValue();
+                    final String formatted;
+                    if (value instanceof Number) {
+                        formatted = format(((Number) value).doubleValue());
+                    } else if (value instanceof Boolean) {
+                        formatted = (Boolean) value ? "1" : "0";
+                    } else {
+                        return false;
+                    }
+                    type(output, withType);
+                    sample(output, "", null, formatted);
+                    return true;
+                case COUNTER:
+                    type(output, withType);
+                    sample(output, "", null, Long.toString(((Counter) metric).getCount()));
+                    return true;
+                case METER:
+                    type(output, withType);
+                    sample(output, "", null, Long.toString(((Meter) metric).getCount()));
+                    return true;
+                case HISTOGRAM:
+                    final Histogram histogram = (Histogram) metric;
+                    type(output, withType);
+                    summary(output, histogram.getSnapshot(), 1, histogram.getCount());
+                    return true;
+                case TIMER:
+                    final Timer timer = (Timer) metric;
+                    type(output, withType);
+                    summary(output, timer.getSnapshot(), NANOSECONDS_PER_SECOND, timer.getCount());
+                    return true;
+                default:
+                    return false;
+            }
+        }
+
+        private void type(Writer output, boolean withType) throws IOException {
+            if (withType) {
+                output.write("# TYPE ");
+                output.write(family);
+                output.write(' ');
+                output.write(kind.type);
+                output.write('\n');
+            }
+        }
+
+        private void summary(Writer output, Snapshot snapshot, double divisor, long count) throws IOException {
+            for (int i = 0; i < QUANTILES.length; i++) {
+                sample(output, "", QUANTILE_LABELS[i], format(snapshot.getValue(QUANTILES[i]) / divisor));
+            }
+            sample(output, "_count", null, Long.toString(count));
+        }
+
+        private void sample(Writer output, String suffix, @Nullable String quantile, String value)
+            throws IOException {
+            output.write(family);
+            output.write(suffix);
+            if (!labels.isEmpty() || quantile != null) {
+                output.write('{');
+                output.write(labels);
+                if (quantile != null) {
+                    if (!labels.isEmpty()) {
+                        output.write(',');
+                    }
+                    output.write("quantile=\"");
+                    output.write(quantile);
+                    output.write('"');
+                }
+                output.write('}');
+            }
+            output.write(' ');
+            output.write(value);
+            output.write('\n');
+        }
+    }
+}
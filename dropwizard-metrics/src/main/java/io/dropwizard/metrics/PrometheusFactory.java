@@ -0,0 +1,203 @@
+package io.dropwizard.metrics;
+
+import com.codahale.metrics.MetricFilter;
+import com.codahale.metrics.MetricRegistry;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.hibernate.validator.constraints.NotEmpty;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotNull;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A factory for the {@link PrometheusExposition} of the metrics, which is served by the admin connector for
+ * Prometheus to scrape.
+ * <p/>
+ * <b>Configuration Parameters:</b>
+ * <table>
+ *     <tr>
+ *         <td>Name</td>
+ *         <td>Default</td>
+ *         <td>Description</td>
+ *     </tr>
+ *     <tr>
+ *         <td>enabled</td>
+ *         <td>false</td>
+ *         <td>Whether to serve the metrics in the Prometheus text format.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>path</td>
+ *         <td>/prometheus</td>
+ *         <td>The path of the metrics on the admin connector.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>gzip</td>
+ *         <td>true</td>
+ *         <td>Whether to compress the metrics for clients which accept gzip.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>excludes</td>
+ *         <td>No excluded metrics.</td>
+ *         <td>Metrics to exclude, by name. Exclusion rules take precedence over <i>includes</i>.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>includes</td>
+ *         <td>All metrics included.</td>
+ *         <td>Metrics to include, by name. When defined, only these metrics are exposed.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>useRegexFilters</td>
+ *         <td>false</td>
+ *         <td>Indicates whether the values of the 'includes' and 'excludes' fields should be
+ *         treated as regular expressions or not.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>useSubstringMatching</td>
+ *         <td>false</td>
+ *         <td>Uses a substring matching strategy to determine whether a metric should be exposed.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>mappings</td>
+ *         <td>No mappings.</td>
+ *         <td>The {@link PrometheusMapping mappings} of metric names to labelled series. The first matching
+ *         mapping applies.</td>
+ *     </tr>
+ * </table>
+ */
+public class PrometheusFactory {
+    private boolean enabled = false;
+
+    @NotEmpty
+    private String path = "/prometheus";
+
+    private boolean gzip = true;
+
+    @NotNull
+    private Set<String> excludes = Collections.emptySet();
+
+    @NotNull
+    private Set<String> includes = Collections.emptySet();
+
+    private boolean useRegexFilters = false;
+
+    private boolean useSubstringMatching = false;
+
+    @Valid
+    @NotNull
+    private List<PrometheusMapping> mappings = Collections.emptyList();
+
+    @JsonProperty
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @JsonProperty
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @JsonProperty
+    public String getPath() {
+        return path;
+    }
+
+    @JsonProperty
+    public void setPath(String path) {
+        this.path = path;
+    }
+
+    @JsonProperty
+    public boolean isGzip() {
+        return gzip;
+    }
+
+    @JsonProperty
+    public void setGzip(boolean gzip) {
+        this.gzip = gzip;
+    }
+
+    @JsonProperty
+    public Set<String> getExcludes() {
+        return excludes;
+    }
+
+    @JsonProperty
+    public void setExcludes(Set<String> excludes) {
+        this.excludes = new HashSet<>(excludes);
+    }
+
+    @JsonProperty
+    public Set<String> getIncludes() {
+        return includes;
+    }
+
+    @JsonProperty
+    public void setIncludes(Set<String> includes) {
+        this.includes = new HashSet<>(includes);
+    }
+
+    @JsonProperty
+    public boolean getUseRegexFilters() {
+        return useRegexFilters;
+    }
+
+    @JsonProperty
+    public void setUseRegexFilters(boolean useRegexFilters) {
+        this.useRegexFilters = useRegexFilters;
+    }
+
+    @JsonProperty
+    public boolean getUseSubstringMatching() {
+        return useSubstringMatching;
+    }
+
+    @JsonProperty
+    public void setUseSubstringMatching(boolean useSubstringMatching) {
+        this.useSubstringMatching = useSubstringMatching;
+    }
+
+    @JsonProperty
+    public List<PrometheusMapping> getMappings() {
+        return mappings;
+    }
+
+    @JsonProperty
+    public void setMappings(List<PrometheusMapping> mappings) {
+        this.mappings = new ArrayList<>(mappings);
+    }
+
+    /**
+     * Gets a {@link MetricFilter} which selects the exposed metrics, with the same rules as
+     * {@link BaseReporterFactory#getFilter()}.
+     *
+     * @return the filter for selecting metrics based on the configured excludes/includes.
+     */
+    @JsonIgnore
+    public MetricFilter getFilter() {
+        final StringMatchingStrategy stringMatchingStrategy = useRegexFilters ? new RegexStringMatchingStrategy() :
+            (useSubstringMatching ? new SubstringMatchingStrategy() : new DefaultStringMatchingStrategy());
+
+        return new MetricNameFilter(stringMatchingStrategy, excludes, includes, false);
+    }
+
+    /**
+     * Builds a {@link PrometheusExposition} of the filtered metrics of the given registry.
+     *
+     * @param registry the registry to expose
+     * @return the exposition, which follows the metrics added to and removed from the registry
+     */
+    public PrometheusExposition build(MetricRegistry registry) {
+        return new PrometheusExposition(registry, getFilter(), mappings);
+    }
+
+    @Override
+    public String toString() {
+        return "PrometheusFactory{enabled=" + enabled + ", path=" + path + ", gzip=" + gzip +
+            ", excludes=" + excludes + ", includes=" + includes + ", mappings=" + mappings + '}';
+    }
+}
@@ -0,0 +1,106 @@
+package io.dropwizard.metrics;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.hibernate.validator.constraints.NotEmpty;
+
+import javax.validation.constraints.NotNull;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Maps the metrics whose names match a pattern to a labelled Prometheus series.
+ * <p/>
+ * In the pattern, {@code *} matches any characters except a dot. The name and the label values may refer to the
+ * characters matched by the n-th {@code *} as <code>${n}</code>.
+ * <p/>
+ * For example, the pattern {@code io.dropwizard.jetty.MutableServletContextHandler.*-responses} with the name
+ * {@code http_responses} and the label {@code status: ${1}} maps the metric
+ * {@code io.dropwizard.jetty.MutableServletContextHandler.2xx-responses} to {@code http_responses{status="2xx"}},
+ * which is exposed as {@code http_responses_total}, like every meter.
+ * <p/>
+ * <b>Configuration Parameters:</b>
+ * <table>
+ *     <tr>
+ *         <td>Name</td>
+ *         <td>Default</td>
+ *         <td>Description</td>
+ *     </tr>
+ *     <tr>
+ *         <td>match</td>
+ *         <td><b>REQUIRED</b></td>
+ *         <td>The pattern of the names of the mapped metrics.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>name</td>
+ *         <td><b>REQUIRED</b></td>
+ *         <td>The name of the series.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>labels</td>
+ *         <td>No labels.</td>
+ *         <td>The labels of the series, by name.</td>
+ *     </tr>
+ * </table>
+ */
+public class PrometheusMapping {
+    @NotEmpty
+    private String match = "";
+
+    @NotEmpty
+    private String name = "";
+
+    @NotNull
+    private Map<String, String> labels = Collections.emptyMap();
+
+    @JsonProperty
+    public String getMatch() {
+        return match;
+    }
+
+    @JsonProperty
+    public void setMatch(String match) {
+        this.match = match;
+    }
+
+    @JsonProperty
+    public String getName() {
+        return name;
+    }
+
+    @JsonProperty
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    @JsonProperty
+    public Map<String, String> getLabels() {
+        return labels;
+    }
+
+    @JsonProperty
+    public void setLabels(Map<String, String> labels) {
+        this.labels = new LinkedHashMap<>(labels);
+    }
+
+    /**
+     * Compiles the pattern into a regular expression, with a group for every {@code *}.
+     */
+    Pattern toPattern() {
+        final StringBuilder regex = new StringBuilder();
+        int start = 0;
+        int wildcard;
+        while ((wildcard = match.indexOf('*', start)) >= 0) {
+            regex.append(Pattern.quote(match.substring(start, wildcard))).append("([^.]*)");
+            start = wildcard + 1;
+        }
+        regex.append(Pattern.quote(match.substring(start)));
+        return Pattern.compile(regex.toString());
+    }
+
+    @Override
+    public String toString() {
+        return "PrometheusMapping{match=" + match + ", name=" + name + ", labels=" + labels + '}';
+    }
+}
@@ -4,10 +4,14 @@ import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.benmanes.caffeine.cache.LoadingCache;
 
 import java.util.Set;
+import java.util.StringJoiner;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
 import java.util.regex.Pattern;
 
 class RegexStringMatchingStrategy implements StringMatchingStrategy {
+    private static final Pattern BACK_REFERENCE = Pattern.compile("\\\\(?:[1-9]|k<)");
+
     private final LoadingCache<String, Pattern> patternCache;
 
     RegexStringMatchingStrategy() {
@@ -27,4 +31,28 @@ class RegexStringMatchingStrategy implements StringMatchingStrategy {
         }
         return false;
     }
+
+    /**
+     * Compiles the expressions into a single alternation, so a name is matched in one pass of the regex engine.
+     * Expressions with back references are matched one by one, as the alternation renumbers their groups.
+     */
+    @Override
+    public Predicate<String> compile(Set<String> matchExpressions) {
+        if (matchExpressions.isEmpty()) {
+            return metricName -> false;
+        }
+        for (String regexExpression : matchExpressions) {
+            if (BACK_REFERENCE.matcher(regexExpression).find()) {
+                return StringMatchingStrategy.super.compile(matchExpressions);
+            }
+        }
+        final StringJoiner alternation = new StringJoiner("|");
+        for (String regexExpression : matchExpressions) {
+            // Validate each expression on its own, so a dangling group can't swallow its neighbours
+            Pattern.compile(regexExpression);
+            alternation.add("(?:" + regexExpression + ")");
+        }
+        final Pattern pattern = Pattern.compile(alternation.toString());
+        return metricName -> pattern.matcher(metricName).matches();
+    }
 }
@@ -1,7 +1,19 @@
 package io.dropwizard.metrics;
 
 import java.util.Set;
+import java.util.function.Predicate;
 
 interface StringMatchingStrategy {
     boolean containsMatch(Set<String> matchExpressions, String metricName);
+
+    /**
+     * Compiles the expressions into a predicate, which matches a metric name the same way as
+     * {@link #containsMatch(Set, String)}, without evaluating each expression in turn.
+     *
+     * @param matchExpressions the expressions to match
+     * @return a predicate which is true for the names which match any of the expressions
+     */
+    default Predicate<String> compile(Set<String> matchExpressions) {
+        return metricName -> containsMatch(matchExpressions, metricName);
+    }
 }
@@ -1,6 +1,13 @@
 package io.dropwizard.metrics;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Predicate;
 
 class SubstringMatchingStrategy implements StringMatchingStrategy {
     @Override
@@ -13,4 +20,116 @@ class SubstringMatchingStrategy implements StringMatchingStrategy {
         }
         return false;
     }
+
+    /**
+     * Compiles the expressions into an Aho-Corasick automaton, so a name is scanned once for all of them.
+     */
+    @Override
+    public Predicate<String> compile(Set<String> matchExpressions) {
+        if (matchExpressions.isEmpty()) {
+            return metricName -> false;
+        }
+        return new Automaton(matchExpressions)::matches;
+    }
+
+    private static class Automaton {
+        /**
+         * The sorted characters of the expressions, the column of a character is its index
+         */
+        private final char[] alphabet;
+        /**
+         * The next state, by state and column
+         */
+        private final int[][] transitions;
+        /**
+         * Whether an expression ends at a state
+         */
+        private final boolean[] accepting;
+
+        Automaton(Set<String> expressions) {
+            final Set<Character> characters = new TreeSet<>();
+            for (String expression : expressions) {
+                for (int i = 0; i < expression.length(); i++) {
+                    characters.add(expression.charAt(i));
+                }
+            }
+            alphabet = new char[characters.size()];
+            int column = 0;
+            for (Character c : characters) {
+                alphabet[column++] = c;
+            }
+
+            // Build the trie of the expressions
+            final List<int[]> trie = new ArrayList<>();
+            final List<Boolean> ends = new ArrayList<>();
+            trie.add(newState());
+            ends.add(false);
+            for (String expression : expressions) {
+                int state = 0;
+                for (int i = 0; i < expression.length(); i++) {
+                    final int c = Arrays.binarySearch(alphabet, expression.charAt(i));
+                    if (trie.get(state)[c] < 0) {
+                        trie.get(state)[c] = trie.size();
+                        trie.add(newState());
+                        ends.add(false);
+                    }
+                    state = trie.get(state)[c];
+                }
+                ends.set(state, true);
+            }
+
+            // Turn it into an automaton, following the failure links breadth-first
+            transitions = trie.toArray(new int[0][]);
+            accepting = new boolean[transitions.length];
+            for (int state = 0; state < accepting.length; state++) {
+                accepting[state] = ends.get(state);
+            }
+            final int[] failures = new int[transitions.length];
+            final Deque<Integer> queue = new ArrayDeque<>();
+            for (int c = 0; c < alphabet.length; c++) {
+                final int child = transitions[0][c];
+                if (child < 0) {
+                    transitions[0][c] = 0;
+                } else {
+                    failures[child] = 0;
+                    queue.add(child);
+                }
+            }
+            while (!queue.isEmpty()) {
+                final int state = queue.remove();
+                accepting[state] |= accepting[failures[state]];
+                for (int c = 0; c < alphabet.length; c++) {
+                    final int child = transitions[state][c];
+                    if (child < 0) {
+                        transitions[state][c] = transitions[failures[state]][c];
+                    } else {
+                        failures[child] = transitions[failures[state]][c];
+                        queue.add(child);
+                    }
+                }
+            }
+        }
+
+        private int[] newState() {
+            final int[] state = new int[alphabet.length];
+            Arrays.fill(state, -1);
+            return state;
+        }
+
+        boolean matches(String metricName) {
+            if (accepting[0]) {
+                // An empty expression is contained in every name
+                return true;
+            }
+            int state = 0;
+            for (int i = 0; i < metricName.length(); i++) {
+                final int c = Arrays.binarySearch(alphabet, metricName.charAt(i));
+                state = c < 0 ? 0 : transitions[state][c];
+                if (accepting[state]) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
 }
@@ -0,0 +1,155 @@
+package io.dropwizard.metrics;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricFilter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.ScheduledReporter;
+import com.codahale.metrics.Timer;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.SortedMap;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ChangeReportingReporterTest {
+    private final MetricRegistry registry = new MetricRegistry();
+    private final RecordingReporter recorder = new RecordingReporter(registry);
+
+    @Before
+    public void setUp() {
+        registry.counter("counter").inc(3);
+        registry.counter("idle");
+        registry.meter("meter").mark();
+        registry.timer("timer").update(1, TimeUnit.MILLISECONDS);
+        registry.histogram("histogram").update(5);
+        registry.register("gauge", (Gauge<Integer>) () -> 42);
+    }
+
+    @Test
+    public void reportsEverythingWhenNotConfigured() {
+        final ConsoleReporterFactory factory = new ConsoleReporterFactory();
+
+        assertThat(factory.reportChanges(registry, recorder)).isSameAs(recorder);
+    }
+
+    @Test
+    public void skipsUnchangedMetrics() {
+        final ScheduledReporter reporter = changeReporter(true, false);
+
+        reporter.report();
+        assertThat(recorder.counters).containsOnlyKeys("counter");
+        assertThat(recorder.counters.get("counter").getCount()).isEqualTo(3);
+        assertThat(recorder.meters).containsOnlyKeys("meter");
+        assertThat(recorder.timers).containsOnlyKeys("timer");
+        assertThat(recorder.histograms).containsOnlyKeys("histogram");
+        assertThat(recorder.gauges).containsOnlyKeys("gauge");
+
+        reporter.report();
+        assertThat(recorder.counters).isEmpty();
+        assertThat(recorder.meters).isEmpty();
+        assertThat(recorder.timers).isEmpty();
+        assertThat(recorder.histograms).isEmpty();
+        assertThat(recorder.gauges).containsOnlyKeys("gauge");
+
+        registry.counter("idle").inc();
+        registry.meter("meter").mark();
+        reporter.report();
+        assertThat(recorder.counters).containsOnlyKeys("idle");
+        assertThat(recorder.meters).containsOnlyKeys("meter");
+        assertThat(recorder.timers).isEmpty();
+    }
+
+    @Test
+    public void reportsCounterDeltas() {
+        final ScheduledReporter reporter = changeReporter(false, true);
+
+        reporter.report();
+        assertThat(recorder.counters.get("counter").getCount()).isEqualTo(3);
+        assertThat(recorder.counters.get("idle").getCount()).isEqualTo(0);
+
+        registry.counter("counter").inc(2);
+        registry.counter("idle").dec();
+        reporter.report();
+        assertThat(recorder.counters.get("counter").getCount()).isEqualTo(2);
+        assertThat(recorder.counters.get("idle").getCount()).isEqualTo(-1);
+        assertThat(registry.counter("counter").getCount()).isEqualTo(5);
+        assertThat(recorder.meters).containsOnlyKeys("meter");
+    }
+
+    @Test
+    public void reportsOnlyChangedCounterDeltas() {
+        final ScheduledReporter reporter = changeReporter(true, true);
+
+        reporter.report();
+        registry.counter("counter").inc(4);
+        reporter.report();
+
+        assertThat(recorder.counters).containsOnlyKeys("counter");
+        assertThat(recorder.counters.get("counter").getCount()).isEqualTo(4);
+    }
+
+    @Test
+    public void appliesTheFilterOfTheFactory() {
+        final ConsoleReporterFactory factory = new ConsoleReporterFactory();
+        factory.setSkipUnchanged(true);
+        factory.setExcludes(Collections.singleton("counter"));
+
+        factory.reportChanges(registry, recorder).report();
+
+        assertThat(recorder.counters).isEmpty();
+        assertThat(recorder.meters).containsOnlyKeys("meter");
+    }
+
+    @Test
+    public void stopsTheWrappedReporter() {
+        changeReporter(true, false).stop();
+
+        assertThat(recorder.stopped).isTrue();
+    }
+
+    private ScheduledReporter changeReporter(boolean skipUnchanged, boolean counterDeltas) {
+        final ConsoleReporterFactory factory = new ConsoleReporterFactory();
+        factory.setSkipUnchanged(skipUnchanged);
+        factory.setCounterDeltas(counterDeltas);
+        return factory.reportChanges(registry, recorder);
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static class RecordingReporter extends ScheduledReporter {
+        private SortedMap<String, Gauge> gauges;
+        private SortedMap<String, Counter> counters;
+        private SortedMap<String, Histogram> histograms;
+        private SortedMap<String, Meter> meters;
+        private SortedMap<String, Timer> timers;
+        private boolean stopped;
+
+        RecordingReporter(MetricRegistry registry) {
+            super(registry, "recording-reporter", MetricFilter.ALL, TimeUnit.SECONDS, TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public void report(SortedMap<String, Gauge> gauges,
+                           SortedMap<String, Counter> counters,
+                           SortedMap<String, Histogram> histograms,
+                           SortedMap<String, Meter> meters,
+                           SortedMap<String, Timer> timers) {
+            this.gauges = gauges;
+            this.counters = counters;
+            this.histograms = histograms;
+            this.meters = meters;
+            this.timers = timers;
+        }
+
+        @Override
+        public void stop() {
+            super.stop();
+            stopped = true;
+        }
+    }
+}
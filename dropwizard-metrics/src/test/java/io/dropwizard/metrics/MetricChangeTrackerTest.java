@@ -0,0 +1,55 @@
+package io.dropwizard.metrics;
+
+import com.codahale.metrics.Counter;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MetricChangeTrackerTest {
+    private final MetricChangeTracker tracker = new MetricChangeTracker();
+
+    @Test
+    public void returnsTheCountOfTheLastReport() {
+        final Counter counter = new Counter();
+
+        tracker.nextReport();
+        assertThat(tracker.update(counter, 3)).isEqualTo(0);
+        tracker.nextReport();
+        assertThat(tracker.update(counter, 5)).isEqualTo(3);
+        tracker.nextReport();
+        assertThat(tracker.update(counter, 5)).isEqualTo(5);
+    }
+
+    @Test
+    public void tracksMoreMetricsThanTheInitialCapacity() {
+        final Counter[] counters = new Counter[1000];
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] = new Counter();
+        }
+
+        tracker.nextReport();
+        for (int i = 0; i < counters.length; i++) {
+            tracker.update(counters[i], i);
+        }
+        tracker.nextReport();
+        for (int i = 0; i < counters.length; i++) {
+            assertThat(tracker.update(counters[i], i + 1)).isEqualTo(i);
+        }
+        assertThat(tracker.size()).isEqualTo(counters.length);
+    }
+
+    @Test
+    public void dropsMetricsWhichAreNoLongerReported() {
+        tracker.nextReport();
+        for (int i = 0; i < 1000; i++) {
+            tracker.update(new Counter(), i);
+        }
+        tracker.nextReport();
+        tracker.nextReport();
+        for (int i = 0; i < 100; i++) {
+            tracker.update(new Counter(), i);
+        }
+
+        assertThat(tracker.size()).isLessThan(1000);
+    }
+}
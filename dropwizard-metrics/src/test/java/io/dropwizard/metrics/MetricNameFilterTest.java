@@ -0,0 +1,134 @@
+package io.dropwizard.metrics;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.MetricFilter;
+import com.codahale.metrics.MetricRegistry;
+import io.dropwizard.util.Sets;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.regex.PatternSyntaxException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class MetricNameFilterTest {
+    private final Counter counter = new Counter();
+
+    @Test
+    public void compilesRegularExpressionsIntoOneAlternation() {
+        final Set<String> expressions = Sets.of("jvm\\.memory\\..+", "(requests|responses)\\.[0-9]xx", "a|b");
+        final MetricNameFilter filter = new MetricNameFilter(new RegexStringMatchingStrategy(),
+            Collections.emptySet(), expressions, false);
+
+        assertThat(filter.matches("jvm.memory.heap", counter)).isTrue();
+        assertThat(filter.matches("responses.5xx", counter)).isTrue();
+        assertThat(filter.matches("b", counter)).isTrue();
+        assertThat(filter.matches("ab", counter)).isFalse();
+        assertThat(filter.matches("jvm.threads", counter)).isFalse();
+    }
+
+    @Test
+    public void matchesRegularExpressionsWithBackReferences() {
+        final MetricNameFilter filter = new MetricNameFilter(new RegexStringMatchingStrategy(),
+            Sets.of("x", "(a)\\1"), Collections.emptySet(), false);
+
+        assertThat(filter.matches("aa", counter)).isFalse();
+        assertThat(filter.matches("ab", counter)).isTrue();
+    }
+
+    @Test
+    public void rejectsInvalidRegularExpressions() {
+        assertThatThrownBy(() -> new MetricNameFilter(new RegexStringMatchingStrategy(),
+            Sets.of("(a", "b)"), Collections.emptySet(), false))
+            .isInstanceOf(PatternSyntaxException.class);
+    }
+
+    @Test
+    public void compilesSubstringsIntoOneAutomaton() {
+        final MetricNameFilter filter = new MetricNameFilter(new SubstringMatchingStrategy(),
+            Sets.of("heap", "pool"), Sets.of("memory", "emo", "threads"), false);
+
+        assertThat(filter.matches("jvm.memory.total", counter)).isTrue();
+        assertThat(filter.matches("jvm.demos", counter)).isTrue();
+        assertThat(filter.matches("jvm.threads.count", counter)).isTrue();
+        assertThat(filter.matches("jvm.memory.heap.used", counter)).isFalse();
+        assertThat(filter.matches("jvm.memory.pools.eden", counter)).isFalse();
+        assertThat(filter.matches("jvm.gc", counter)).isFalse();
+    }
+
+    @Test
+    public void matchesEveryNameWithAnEmptySubstring() {
+        final MetricNameFilter filter = new MetricNameFilter(new SubstringMatchingStrategy(),
+            Collections.emptySet(), Sets.of(""), false);
+
+        assertThat(filter.matches("anything", counter)).isTrue();
+    }
+
+    @Test
+    public void cachesDecisionsByName() {
+        final StringMatchingStrategy strategy = spy(new DefaultStringMatchingStrategy());
+        final MetricNameFilter filter = new MetricNameFilter(strategy, Sets.of("excluded"), Collections.emptySet(),
+            true);
+
+        assertThat(filter.matches("excluded", counter)).isFalse();
+        assertThat(filter.matches("excluded", counter)).isFalse();
+        assertThat(filter.matches("included", counter)).isTrue();
+        assertThat(filter.matches("included", counter)).isTrue();
+
+        verify(strategy, times(1)).containsMatch(Sets.of("excluded"), "excluded");
+        verify(strategy, times(1)).containsMatch(Sets.of("excluded"), "included");
+    }
+
+    @Test
+    public void decidesAboutTheMetricsOfTheRegistry() {
+        final MetricRegistry registry = new MetricRegistry();
+        registry.counter("before");
+        final ConsoleReporterFactory factory = new ConsoleReporterFactory();
+        factory.setExcludes(Sets.of("excluded"));
+
+        final MetricFilter filter = factory.getFilter(registry);
+        registry.counter("excluded");
+        registry.meter("after");
+
+        assertThat(registry.getCounters(filter)).containsOnlyKeys("before");
+        assertThat(registry.getMeters(filter)).containsOnlyKeys("after");
+    }
+
+    @Test
+    public void sharesTheFilterOfARegistry() {
+        final MetricRegistry registry = new MetricRegistry();
+        final MetricRegistry other = new MetricRegistry();
+        final ConsoleReporterFactory factory = new ConsoleReporterFactory();
+        factory.setSkipUnchanged(true);
+
+        final MetricFilter filter = factory.getFilter(registry);
+        factory.reportChanges(registry, factory.build(registry));
+        assertThat(factory.getFilter(registry)).isSameAs(filter);
+
+        final MetricFilter otherFilter = factory.getFilter(other);
+        assertThat(otherFilter).isNotSameAs(filter);
+        assertThat(factory.getFilter(other)).isSameAs(otherFilter);
+    }
+
+    @Test
+    public void forgetsTheRemovedMetrics() {
+        final MetricRegistry registry = new MetricRegistry();
+        final StringMatchingStrategy strategy = spy(new DefaultStringMatchingStrategy());
+        final MetricNameFilter filter = new MetricNameFilter(strategy, Sets.of("excluded"), Collections.emptySet(),
+            true);
+        registry.addListener(filter);
+
+        registry.counter("removed");
+        assertThat(filter.matches("removed", counter)).isTrue();
+        verify(strategy, times(1)).containsMatch(Sets.of("excluded"), "removed");
+
+        registry.remove("removed");
+        assertThat(filter.matches("removed", counter)).isTrue();
+        verify(strategy, times(2)).containsMatch(Sets.of("excluded"), "removed");
+    }
+}
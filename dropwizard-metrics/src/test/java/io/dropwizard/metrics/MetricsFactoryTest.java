@@ -1,9 +1,11 @@
 package io.dropwizard.metrics;
 
 import com.codahale.metrics.MetricAttribute;
+import com.codahale.metrics.MetricRegistry;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.dropwizard.configuration.YamlConfigurationFactory;
 import io.dropwizard.jackson.Jackson;
+import io.dropwizard.lifecycle.setup.LifecycleEnvironment;
 import io.dropwizard.logging.BootstrapLogging;
 import io.dropwizard.util.Duration;
 import io.dropwizard.util.Resources;
@@ -13,6 +15,7 @@ import org.junit.Test;
 
 import java.io.File;
 import java.util.EnumSet;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -66,4 +69,48 @@ public class MetricsFactoryTest {
         assertThat(csvReporterFactory.getIncludesAttributes()).isEqualTo(EnumSet.allOf(MetricAttribute.class));
         assertThat(csvReporterFactory.getExcludesAttributes()).isEmpty();
     }
+
+    @Test
+    public void canReadJvmMetrics() {
+        assertThat(config.getJvm().isGc()).isFalse();
+        assertThat(config.getJvm().isMemory()).isTrue();
+        assertThat(config.getJvm().getThreadStatesCacheInterval()).isEqualTo(Duration.seconds(1));
+    }
+
+    @Test
+    public void canReadJmx() {
+        assertThat(config.getJmx().isEnabled()).isTrue();
+        assertThat(config.getJmx().getDomain()).isEqualTo("app");
+        assertThat(config.getJmx().getFilter().matches("jvm.memory.heap.usage", null)).isTrue();
+        assertThat(config.getJmx().getFilter().matches("jvm.memory.heap.used", null)).isFalse();
+    }
+
+    @Test
+    public void disablesJmxByDefault() {
+        assertThat(new MetricsFactory().getJmx().isEnabled()).isFalse();
+    }
+
+    @Test
+    public void registersTheEnabledJvmMetrics() {
+        final MetricRegistry registry = new MetricRegistry();
+        config.configure(new LifecycleEnvironment(), registry);
+
+        final Set<String> names = registry.getNames();
+        assertThat(names)
+            .contains("jvm.buffers.mapped.capacity", "jvm.threads.count", "jvm.memory.heap.usage",
+                "jvm.attribute.vendor", "jvm.classloader.loaded", "jvm.filedescriptor");
+        assertThat(names).noneMatch(name -> name.startsWith("jvm.gc."));
+    }
+
+    @Test
+    public void keepsAlreadyRegisteredJvmMetrics() {
+        final MetricRegistry registry = new MetricRegistry();
+        final JvmMetricsFactory jvm = new JvmMetricsFactory();
+        jvm.configure(registry);
+        final Set<String> names = registry.getNames();
+
+        jvm.configure(registry);
+
+        assertThat(registry.getNames()).isEqualTo(names);
+    }
 }
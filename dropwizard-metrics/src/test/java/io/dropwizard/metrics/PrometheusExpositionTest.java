@@ -0,0 +1,190 @@
+package io.dropwizard.metrics;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import io.dropwizard.util.Sets;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PrometheusExpositionTest {
+    private final MetricRegistry registry = new MetricRegistry();
+    private final PrometheusFactory factory = new PrometheusFactory();
+
+    @Test
+    public void exposesGaugesAndCounters() throws Exception {
+        registry.register("jvm.memory.heap.used", (Gauge<Long>) () -> 1024L);
+        registry.register("ratio", (Gauge<Double>) () -> 0.25);
+        registry.register("healthy", (Gauge<Boolean>) () -> true);
+        registry.register("version", (Gauge<String>) () -> "1.0");
+        registry.counter("2xx-responses").inc(3);
+
+        assertThat(scrape()).isEqualTo(
+            "# TYPE _2xx_responses gauge\n" +
+            "_2xx_responses 3\n" +
+            "# TYPE healthy gauge\n" +
+            "healthy 1\n" +
+            "# TYPE jvm_memory_heap_used gauge\n" +
+            "jvm_memory_heap_used 1024\n" +
+            "# TYPE ratio gauge\n" +
+            "ratio 0.25\n");
+    }
+
+    @Test
+    public void typesFamiliesOnlyWithAValue() throws Exception {
+        final PrometheusMapping mapping = new PrometheusMapping();
+        mapping.setMatch("info.*");
+        mapping.setName("info");
+        mapping.setLabels(Collections.singletonMap("key", "${1}"));
+        factory.setMappings(Collections.singletonList(mapping));
+        registry.register("info.a", (Gauge<String>) () -> "text");
+        registry.register("info.b", (Gauge<Integer>) () -> 1);
+
+        assertThat(scrape()).isEqualTo(
+            "# TYPE info gauge\n" +
+            "info{key=\"b\"} 1\n");
+    }
+
+    @Test
+    public void exposesMetersAsCounters() throws Exception {
+        registry.meter("requests").mark(5);
+
+        assertThat(scrape()).isEqualTo(
+            "# TYPE requests_total counter\n" +
+            "requests_total 5\n");
+    }
+
+    @Test
+    public void exposesTimersAsSummariesInSeconds() throws Exception {
+        registry.timer("latency").update(250, TimeUnit.MILLISECONDS);
+
+        assertThat(scrape()).isEqualTo(
+            "# TYPE latency summary\n" +
+            "latency{quantile=\"0.5\"} 0.25\n" +
+            "latency{quantile=\"0.75\"} 0.25\n" +
+            "latency{quantile=\"0.95\"} 0.25\n" +
+            "latency{quantile=\"0.98\"} 0.25\n" +
+            "latency{quantile=\"0.99\"} 0.25\n" +
+            "latency{quantile=\"0.999\"} 0.25\n" +
+            "latency_count 1\n");
+    }
+
+    @Test
+    public void exposesHistogramsAsSummaries() throws Exception {
+        registry.histogram("sizes").update(42);
+
+        assertThat(scrape())
+            .startsWith("# TYPE sizes summary\nsizes{quantile=\"0.5\"} 42\n")
+            .endsWith("sizes_count 1\n");
+    }
+
+    @Test
+    public void mapsNamesToLabelledSeries() throws Exception {
+        final PrometheusMapping mapping = new PrometheusMapping();
+        mapping.setMatch("io.dropwizard.jetty.MutableServletContextHandler.*-responses");
+        mapping.setName("http_responses");
+        mapping.setLabels(Collections.singletonMap("status", "${1}"));
+        factory.setMappings(Collections.singletonList(mapping));
+        registry.counter("io.dropwizard.jetty.MutableServletContextHandler.5xx-responses").inc();
+        registry.counter("io.dropwizard.jetty.MutableServletContextHandler.2xx-responses").inc(2);
+        registry.counter("io.dropwizard.jetty.MutableServletContextHandler.active-requests");
+
+        assertThat(scrape()).isEqualTo(
+            "# TYPE http_responses gauge\n" +
+            "http_responses{status=\"2xx\"} 2\n" +
+            "http_responses{status=\"5xx\"} 1\n" +
+            "# TYPE io_dropwizard_jetty_MutableServletContextHandler_active_requests gauge\n" +
+            "io_dropwizard_jetty_MutableServletContextHandler_active_requests 0\n");
+    }
+
+    @Test
+    public void escapesLabelValues() throws Exception {
+        final PrometheusMapping mapping = new PrometheusMapping();
+        mapping.setMatch("db.*");
+        mapping.setName("db");
+        mapping.setLabels(Collections.singletonMap("query", "\"${1}\""));
+        factory.setMappings(Collections.singletonList(mapping));
+        registry.counter("db.select\\1");
+
+        assertThat(scrape()).contains("db{query=\"\\\"select\\\\1\\\"\"} 0\n");
+    }
+
+    @Test
+    public void skipsConflictingSeries() throws Exception {
+        registry.counter("a.b").inc();
+        registry.counter("a_b").inc(2);
+        registry.meter("c");
+        registry.timer("c_total");
+
+        assertThat(scrape()).isEqualTo(
+            "# TYPE a_b gauge\n" +
+            "a_b 1\n" +
+            "# TYPE c_total counter\n" +
+            "c_total 0\n");
+    }
+
+    @Test
+    public void appliesTheFilters() throws Exception {
+        factory.setUseSubstringMatching(true);
+        factory.setIncludes(Sets.of("jvm"));
+        factory.setExcludes(Sets.of("heap"));
+        registry.counter("jvm.threads");
+        registry.counter("jvm.memory.heap");
+        registry.counter("requests");
+
+        assertThat(scrape()).isEqualTo(
+            "# TYPE jvm_threads gauge\n" +
+            "jvm_threads 0\n");
+    }
+
+    @Test
+    public void followsTheRegistry() throws Exception {
+        final PrometheusExposition exposition = factory.build(registry);
+        registry.counter("before").inc();
+        assertThat(scrape(exposition)).isEqualTo("# TYPE before gauge\nbefore 1\n");
+
+        registry.counter("after").inc(2);
+        registry.counter("before").inc();
+        assertThat(scrape(exposition)).isEqualTo("# TYPE after gauge\nafter 2\n# TYPE before gauge\nbefore 2\n");
+
+        registry.remove("before");
+        assertThat(scrape(exposition)).isEqualTo("# TYPE after gauge\nafter 2\n");
+    }
+
+    @Test
+    public void mapsTheMetricsOnEveryScrapeOnceStopped() throws Exception {
+        final PrometheusExposition exposition = factory.build(registry);
+        registry.counter("before").inc();
+        scrape(exposition);
+
+        exposition.stop();
+        registry.counter("after").inc(2);
+
+        assertThat(scrape(exposition)).isEqualTo("# TYPE after gauge\nafter 2\n# TYPE before gauge\nbefore 1\n");
+    }
+
+    @Test
+    public void sanitizesNames() {
+        assertThat(PrometheusExposition.sanitize("jvm.gc.G1-Young-Generation.count", true))
+            .isEqualTo("jvm_gc_G1_Young_Generation_count");
+        assertThat(PrometheusExposition.sanitize("a:b", true)).isEqualTo("a:b");
+        assertThat(PrometheusExposition.sanitize("a:b", false)).isEqualTo("a_b");
+        assertThat(PrometheusExposition.sanitize("1m", true)).isEqualTo("_1m");
+        assertThat(PrometheusExposition.sanitize("", true)).isEqualTo("_");
+    }
+
+    private String scrape() throws IOException {
+        return scrape(factory.build(registry));
+    }
+
+    private static String scrape(PrometheusExposition exposition) throws IOException {
+        final StringWriter output = new StringWriter();
+        exposition.write(output);
+        return output.toString();
+    }
+}
@@ -0,0 +1,62 @@
+package io.dropwizard.servlets;
+
+import javax.annotation.Nullable;
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+
+/**
+ * A servlet filter which records the method and URI of the request in the {@link InFlightRequests} for the
+ * duration of the request. It's a low-overhead alternative to the {@link ThreadNameFilter}.
+ * <p/>
+ * The registry is taken from the {@link InFlightRequests#ATTRIBUTE} attribute of the servlet context, or
+ * created if the attribute isn't set.
+ */
+public class InFlightRequestFilter implements Filter {
+    @Nullable
+    private InFlightRequests requests;
+
+    public InFlightRequestFilter() {
+        this(null);
+    }
+
+    /**
+     * Creates a filter which records the requests in the given registry.
+     *
+     * @param requests the registry, or {@code null} to use the one of the servlet context
+     */
+    public InFlightRequestFilter(@Nullable InFlightRequests requests) {
+        this.requests = requests;
+    }
+
+    @Override
+    public void init(FilterConfig filterConfig) throws ServletException {
+        if (requests == null) {
+            final Object attribute = filterConfig.getServletContext().getAttribute(InFlightRequests.ATTRIBUTE);
+            requests = attribute instanceof InFlightRequests ? (InFlightRequests) attribute : new InFlightRequests();
+        }
+    }
+
+    @Override
+    public void destroy() { /* unused */ }
+
+    @Override
+    public void doFilter(ServletRequest request,
+                         ServletResponse response,
+                         FilterChain chain) throws IOException, ServletException {
+        final HttpServletRequest req = (HttpServletRequest) request;
+        final boolean entered = requests.enter(req.getMethod(), req.getRequestURI(), req.getQueryString());
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (entered) {
+                requests.exit();
+            }
+        }
+    }
+}
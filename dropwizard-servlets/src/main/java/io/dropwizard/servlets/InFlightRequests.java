@@ -0,0 +1,195 @@
+package io.dropwizard.servlets;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A registry of the requests which are being processed, by thread.
+ * <p/>
+ * Each thread gets a slot on its first request, which is reused by its later requests, and removed after the
+ * thread died, when another thread gets a slot or the requests are listed. Recording a
+ * request only stores its method, URI, query string and start time in the slot, so unlike renaming the
+ * thread, it neither builds strings nor makes native calls. The slots are read when listing the requests
+ * or dumping the threads.
+ *
+ * @see InFlightRequestFilter
+ */
+public class InFlightRequests {
+    /**
+     * The servlet context attribute of the registry, which is used by {@link InFlightRequestFilter}.
+     */
+    public static final String ATTRIBUTE = InFlightRequests.class.getName();
+
+    private final Map<Thread, Slot> slots = new ConcurrentHashMap<>();
+    private final ThreadLocal<Slot> slot = ThreadLocal.withInitial(this::newSlot);
+
+    private Slot newSlot() {
+        // New threads replace dead ones in pools, so this bounds the slots even if the requests are never listed
+        removeDeadThreads();
+        final Slot newSlot = new Slot();
+        slots.put(Thread.currentThread(), newSlot);
+        return newSlot;
+    }
+
+    private void removeDeadThreads() {
+        slots.keySet().removeIf(thread -> !thread.isAlive());
+    }
+
+    /**
+     * Records the start of a request on the current thread.
+     *
+     * @param method the method of the request
+     * @param uri    the URI of the request
+     * @param query  the query string of the request
+     * @return whether the request has been recorded, and has to be {@link #exit() ended}; {@code false} if
+     * the current thread is already processing a request
+     */
+    public boolean enter(String method, String uri, @Nullable String query) {
+        return slot.get().enter(method, uri, query, System.nanoTime());
+    }
+
+    /**
+     * Records the end of the request on the current thread.
+     */
+    public void exit() {
+        slot.get().exit();
+    }
+
+    /**
+     * Returns the request which the given thread is processing.
+     *
+     * @param thread a thread
+     * @return the request, if the thread is processing one
+     */
+    public Optional<InFlightRequest> get(Thread thread) {
+        final Slot threadSlot = slots.get(thread);
+        return threadSlot == null ? Optional.empty() : Optional.ofNullable(threadSlot.read(thread, System.nanoTime()));
+    }
+
+    /**
+     * Returns the requests which are being processed, the oldest first.
+     *
+     * @return the requests being processed
+     */
+    public List<InFlightRequest> getRequests() {
+        final long now = System.nanoTime();
+        final List<InFlightRequest> requests = new ArrayList<>();
+        removeDeadThreads();
+        for (Map.Entry<Thread, Slot> entry : slots.entrySet()) {
+            final InFlightRequest request = entry.getValue().read(entry.getKey(), now);
+            if (request != null) {
+                requests.add(request);
+            }
+        }
+        requests.sort(Comparator.comparingLong(InFlightRequest::getAgeMillis).reversed());
+        return requests;
+    }
+
+    /**
+     * The slot of a thread. Only the thread itself writes to it. Its sequence is odd while the thread is
+     * processing a request, and changes with every start and end of a request, so a reader detects
+     * fields which are overwritten while reading them.
+     * <p/>
+     * The reader has to read the fields before it reads the sequence again. Plain reads may be reordered after
+     * that volatile read, and Java 8 lacks the load fence of {@code VarHandle#loadLoadFence()}, so the fields are
+     * volatile too, and their reads stay in program order.
+     */
+    private static class Slot {
+        private volatile long sequence;
+        private volatile String method = "";
+        private volatile String uri = "";
+        @Nullable
+        private volatile String query;
+        private volatile long start;
+
+        boolean enter(String method, String uri, @Nullable String query, long start) {
+            if ((sequence & 1) == 1) {
+                return false;
+            }
+            this.method = method;
+            this.uri = uri;
+            this.query = query;
+            this.start = start;
+            sequence++;
+            return true;
+        }
+
+        void exit() {
+            sequence++;
+        }
+
+        @Nullable
+        InFlightRequest read(Thread thread, long now) {
+            final long before = sequence;
+            if ((before & 1) == 0) {
+                return null;
+            }
+            final String readMethod = method;
+            final String readUri = uri;
+            final String readQuery = query;
+            final long readStart = start;
+            if (sequence != before) {
+                return null;
+            }
+            return new InFlightRequest(thread.getName(), thread.getId(), readMethod,
+                readQuery == null ? readUri : readUri + '?' + readQuery,
+                TimeUnit.NANOSECONDS.toMillis(now - readStart));
+        }
+    }
+
+    /**
+     * A request which is being processed.
+     */
+    public static class InFlightRequest {
+        private final String threadName;
+        private final long threadId;
+        private final String method;
+        private final String uri;
+        private final long ageMillis;
+
+        InFlightRequest(String threadName, long threadId, String method, String uri, long ageMillis) {
+            this.threadName = threadName;
+            this.threadId = threadId;
+            this.method = method;
+            this.uri = uri;
+            this.ageMillis = ageMillis;
+        }
+
+        public String getThreadName() {
+            return threadName;
+        }
+
+        public long getThreadId() {
+            return threadId;
+        }
+
+        public String getMethod() {
+            return method;
+        }
+
+        /**
+         * Returns the URI of the request, including its query string.
+         */
+        public String getUri() {
+            return uri;
+        }
+
+        /**
+         * Returns how long the request has been processed, in milliseconds.
+         */
+        public long getAgeMillis() {
+            return ageMillis;
+        }
+
+        @Override
+        public String toString() {
+            return method + ' ' + uri + " (" + ageMillis + "ms)";
+        }
+    }
+}
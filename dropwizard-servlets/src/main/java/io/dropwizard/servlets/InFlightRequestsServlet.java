@@ -0,0 +1,40 @@
+package io.dropwizard.servlets;
+
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * An admin servlet which lists the {@link InFlightRequests requests being processed}, the oldest first.
+ * With the {@code threads} parameter, it dumps all threads instead, annotated with their requests (see
+ * {@link InFlightThreadDump}).
+ */
+public class InFlightRequestsServlet extends HttpServlet {
+    private static final long serialVersionUID = 1L;
+    private static final String CONTENT_TYPE = "text/plain";
+
+    private final transient InFlightRequests requests;
+
+    public InFlightRequestsServlet(InFlightRequests requests) {
+        this.requests = requests;
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        resp.setStatus(HttpServletResponse.SC_OK);
+        resp.setHeader("Cache-Control", "must-revalidate,no-cache,no-store");
+        resp.setContentType(CONTENT_TYPE);
+        try (PrintWriter output = resp.getWriter()) {
+            if (req.getParameter("threads") != null) {
+                new InFlightThreadDump(requests).dump(true, true, output);
+            } else {
+                for (InFlightRequests.InFlightRequest request : requests.getRequests()) {
+                    output.printf("%-7s %s (%dms) on \"%s\"%n", request.getMethod(), request.getUri(),
+                        request.getAgeMillis(), request.getThreadName());
+                }
+            }
+        }
+    }
+}
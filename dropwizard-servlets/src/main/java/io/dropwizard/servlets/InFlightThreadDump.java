@@ -0,0 +1,81 @@
+package io.dropwizard.servlets;
+
+import java.io.PrintWriter;
+import java.lang.management.LockInfo;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MonitorInfo;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A thread dump which annotates the threads with the requests they are processing, according to the
+ * {@link InFlightRequests}. It keeps thread dumps readable without renaming the threads.
+ */
+public class InFlightThreadDump {
+    private final ThreadMXBean threads;
+    private final InFlightRequests requests;
+
+    public InFlightThreadDump(InFlightRequests requests) {
+        this(ManagementFactory.getThreadMXBean(), requests);
+    }
+
+    public InFlightThreadDump(ThreadMXBean threads, InFlightRequests requests) {
+        this.threads = threads;
+        this.requests = requests;
+    }
+
+    /**
+     * Dumps all threads, with their stack traces and locks, to the given writer.
+     *
+     * @param lockedMonitors      whether to include the locked monitors
+     * @param lockedSynchronizers whether to include the locked ownable synchronizers
+     * @param writer              the writer to dump the threads to
+     */
+    public void dump(boolean lockedMonitors, boolean lockedSynchronizers, PrintWriter writer) {
+        final Map<Long, InFlightRequests.InFlightRequest> byThread = new HashMap<>();
+        for (InFlightRequests.InFlightRequest request : requests.getRequests()) {
+            byThread.put(request.getThreadId(), request);
+        }
+
+        for (ThreadInfo thread : threads.dumpAllThreads(lockedMonitors, lockedSynchronizers)) {
+            writer.printf("\"%s\" id=%d state=%s", thread.getThreadName(), thread.getThreadId(),
+                thread.getThreadState());
+            final LockInfo lock = thread.getLockInfo();
+            if (lock != null) {
+                writer.printf(" on %s", lock);
+                if (thread.getLockOwnerName() != null) {
+                    writer.printf(" owned by \"%s\" id=%d", thread.getLockOwnerName(), thread.getLockOwnerId());
+                }
+            }
+            writer.println();
+
+            final InFlightRequests.InFlightRequest request = byThread.get(thread.getThreadId());
+            if (request != null) {
+                writer.printf("    processing %s%n", request);
+            }
+
+            final StackTraceElement[] elements = thread.getStackTrace();
+            final MonitorInfo[] monitors = thread.getLockedMonitors();
+            for (int i = 0; i < elements.length; i++) {
+                writer.printf("    at %s%n", elements[i]);
+                for (MonitorInfo monitor : monitors) {
+                    if (monitor.getLockedStackDepth() == i) {
+                        writer.printf("      - locked %s%n", monitor);
+                    }
+                }
+            }
+
+            final LockInfo[] synchronizers = thread.getLockedSynchronizers();
+            if (synchronizers.length > 0) {
+                writer.printf("    Locked synchronizers: count = %d%n", synchronizers.length);
+                for (LockInfo synchronizer : synchronizers) {
+                    writer.printf("      - %s%n", synchronizer);
+                }
+            }
+            writer.println();
+        }
+        writer.flush();
+    }
+}
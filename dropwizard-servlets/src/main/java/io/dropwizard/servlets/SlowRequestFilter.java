@@ -4,6 +4,7 @@ import io.dropwizard.util.Duration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
 import javax.servlet.Filter;
 import javax.servlet.FilterChain;
 import javax.servlet.FilterConfig;
@@ -20,10 +21,17 @@ import static java.util.concurrent.TimeUnit.NANOSECONDS;
 /**
  * A servlet filter which logs the methods and URIs of requests which take longer than a given
  * duration of time to complete.
+ * <p/>
+ * With a {@link StackSampler}, the stack of a request is sampled once it takes longer than a fraction
+ * of the threshold. The log record of a slow request then contains the sampled stacks in the collapsed
+ * format of flame graph tools, and the sampler keeps them for the admin interface.
  */
 @SuppressWarnings("UnusedDeclaration")
 public class SlowRequestFilter implements Filter {
     private final long threshold;
+    private final long samplingDelay;
+    @Nullable
+    private final StackSampler sampler;
 
     private Supplier<Long> currentTimeProvider = System::nanoTime;
     private Logger logger = LoggerFactory.getLogger(SlowRequestFilter.class);
@@ -41,7 +49,24 @@ public class SlowRequestFilter implements Filter {
      * @param threshold    the threshold for considering a request slow
      */
     public SlowRequestFilter(Duration threshold) {
+        this(threshold, 1.0, null);
+    }
+
+    /**
+     * Creates a filter which logs requests which take longer than the given duration, and samples their
+     * stacks once they take longer than the given fraction of it.
+     *
+     * @param threshold        the threshold for considering a request slow
+     * @param samplingFraction the fraction of the threshold after which the stack of a request is sampled
+     * @param sampler          the sampler of the stacks, or {@code null} to not sample them
+     */
+    public SlowRequestFilter(Duration threshold, double samplingFraction, @Nullable StackSampler sampler) {
+        if (samplingFraction < 0 || samplingFraction > 1) {
+            throw new IllegalArgumentException("samplingFraction must be between 0 and 1, not " + samplingFraction);
+        }
         this.threshold = threshold.toNanoseconds();
+        this.samplingDelay = (long) (this.threshold * samplingFraction);
+        this.sampler = sampler;
     }
 
     void setCurrentTimeProvider(Supplier<Long> currentTimeProvider) {
@@ -56,7 +81,11 @@ public class SlowRequestFilter implements Filter {
     public void init(FilterConfig filterConfig) throws ServletException { /* unused */ }
 
     @Override
-    public void destroy() { /* unused */ }
+    public void destroy() {
+        if (sampler != null) {
+            sampler.stop();
+        }
+    }
 
     @Override
     public void doFilter(ServletRequest request,
@@ -64,16 +93,33 @@ public class SlowRequestFilter implements Filter {
                          FilterChain chain) throws IOException, ServletException {
         final HttpServletRequest req = (HttpServletRequest) request;
         final long startTime = currentTimeProvider.get();
+        if (sampler != null) {
+            sampler.begin(samplingDelay);
+        }
         try {
             chain.doFilter(request, response);
         } finally {
+            final StackSampler.Profile profile = sampler == null ? null : sampler.end();
             final long elapsedNS = currentTimeProvider.get() - startTime;
             final long elapsedMS = NANOSECONDS.toMillis(elapsedNS);
             if (elapsedNS >= threshold) {
-                logger.warn("Slow request: {} {} ({}ms)",
-                            req.getMethod(),
-                            getFullUrl(req), elapsedMS);
+                if (profile == null) {
+                    logger.warn("Slow request: {} {} ({}ms)",
+                                req.getMethod(),
+                                getFullUrl(req), elapsedMS);
+                } else {
+                    logSampled(req, elapsedMS, profile);
+                }
             }
         }
     }
+
+    private void logSampled(HttpServletRequest req, long elapsedMS, StackSampler.Profile profile) {
+        final String summary = String.format("Slow request: %s %s (%dms), %d stack samples:%n%s",
+            req.getMethod(), getFullUrl(req), elapsedMS, profile.getSamples(), profile);
+        logger.warn("{}", summary);
+        if (sampler != null) {
+            sampler.record(summary);
+        }
+    }
 }
@@ -0,0 +1,300 @@
+package io.dropwizard.servlets;
+
+import io.dropwizard.util.Duration;
+
+import javax.annotation.Nullable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Samples the stacks of threads whose requests take long, which shows where the time of slow requests
+ * went.
+ * <p/>
+ * A request thread {@link #begin(long) begins} a request with the delay after which it should be sampled,
+ * and {@link #end() ends} it, which returns the samples taken meanwhile. Beginning and ending a request
+ * only writes to a slot of the thread, which is allocated on its first request. A single daemon thread
+ * checks the slots at the sampling interval, and samples the stacks of the threads whose requests are
+ * older than their delay. Fast requests are never sampled.
+ * <p/>
+ * The overhead is bounded: at most {@code maxSampledRequests} requests are sampled at the same time, the
+ * samples of a request are aggregated into at most {@code maxStacks} distinct stacks of at most
+ * {@code maxDepth} frames, and only the last {@code maxProfiles} {@link #record(String) recorded}
+ * profiles are kept.
+ *
+ * @see SlowRequestFilter
+ */
+public class StackSampler {
+    private final long intervalNanos;
+    private final int maxSampledRequests;
+    private final int maxStacks;
+    private final int maxDepth;
+    private final int maxProfiles;
+
+    private final Map<Thread, Slot> slots = new ConcurrentHashMap<>();
+    private final ThreadLocal<Slot> slot = ThreadLocal.withInitial(this::newSlot);
+    private final AtomicInteger sampledRequests = new AtomicInteger();
+    private final Deque<String> profiles = new ArrayDeque<>();
+
+    @Nullable
+    private volatile ScheduledExecutorService scheduler;
+
+    /**
+     * Creates a sampler which samples every 10 milliseconds, at most 8 requests at the same time, into at
+     * most 64 distinct stacks of 64 frames, and keeps the last 16 profiles.
+     */
+    public StackSampler() {
+        this(Duration.milliseconds(10), 8, 64, 64, 16);
+    }
+
+    /**
+     * Creates a sampler.
+     *
+     * @param interval           the interval at which the stacks are sampled
+     * @param maxSampledRequests the maximum number of requests which are sampled at the same time
+     * @param maxStacks          the maximum number of distinct stacks per request; further stacks are
+     *                           counted as dropped
+     * @param maxDepth           the maximum number of frames of a stack, from its root
+     * @param maxProfiles        the number of recorded profiles which are kept
+     */
+    public StackSampler(Duration interval, int maxSampledRequests, int maxStacks, int maxDepth, int maxProfiles) {
+        this.intervalNanos = interval.toNanoseconds();
+        this.maxSampledRequests = maxSampledRequests;
+        this.maxStacks = maxStacks;
+        this.maxDepth = maxDepth;
+        this.maxProfiles = maxProfiles;
+    }
+
+    private Slot newSlot() {
+        final Slot newSlot = new Slot(Thread.currentThread());
+        slots.put(newSlot.thread, newSlot);
+        return newSlot;
+    }
+
+    private synchronized void start() {
+        if (scheduler == null) {
+            final ScheduledExecutorService newScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                final Thread thread = new Thread(runnable, "stack-sampler");
+                thread.setDaemon(true);
+                return thread;
+            });
+            newScheduler.scheduleAtFixedRate(this::sample, intervalNanos, intervalNanos, TimeUnit.NANOSECONDS);
+            scheduler = newScheduler;
+        }
+    }
+
+    /**
+     * Stops sampling. A later request starts it again.
+     */
+    public synchronized void stop() {
+        final ScheduledExecutorService running = scheduler;
+        if (running != null) {
+            running.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    synchronized boolean isSampling() {
+        return scheduler != null;
+    }
+
+    /**
+     * Begins a request on the current thread.
+     *
+     * @param delayNanos how long the request has to take before its stack is sampled
+     */
+    public void begin(long delayNanos) {
+        if (scheduler == null) {
+            start();
+        }
+        slot.get().begin(System.nanoTime(), delayNanos);
+    }
+
+    /**
+     * Ends the request on the current thread.
+     *
+     * @return the samples of the request, or {@code null} if its stack hasn't been sampled
+     */
+    @Nullable
+    public Profile end() {
+        final Profile profile = slot.get().end();
+        if (profile != null) {
+            sampledRequests.decrementAndGet();
+        }
+        return profile;
+    }
+
+    /**
+     * Keeps the given profile, dropping the oldest one if {@code maxProfiles} are kept already.
+     *
+     * @param profile a formatted profile
+     */
+    public void record(String profile) {
+        synchronized (profiles) {
+            if (profiles.size() >= maxProfiles) {
+                profiles.removeFirst();
+            }
+            profiles.addLast(profile);
+        }
+    }
+
+    /**
+     * Returns the kept profiles, the oldest first.
+     */
+    public List<String> getProfiles() {
+        synchronized (profiles) {
+            return new ArrayList<>(profiles);
+        }
+    }
+
+    void sample() {
+        final long now = System.nanoTime();
+        slots.entrySet().removeIf(entry -> !entry.getKey().isAlive());
+        for (Slot threadSlot : slots.values()) {
+            threadSlot.sample(now);
+        }
+    }
+
+    /**
+     * The slot of a request thread. The sampler sets {@code sampled} before it checks whether the request
+     * is still running, and the request thread clears {@code start} before it checks whether the request
+     * has been sampled. So either the sampler sees the end of the request, or the request thread waits for
+     * the sample and takes it.
+     */
+    private class Slot {
+        private final Thread thread;
+        private volatile long start;
+        private volatile long delay;
+        private volatile boolean sampled;
+        @Nullable
+        private Profile profile;
+
+        Slot(Thread thread) {
+            this.thread = thread;
+        }
+
+        void begin(long now, long delayNanos) {
+            this.delay = delayNanos;
+            // Zero marks an idle slot
+            this.start = now == 0 ? 1 : now;
+        }
+
+        @Nullable
+        Profile end() {
+            start = 0;
+            if (!sampled) {
+                return null;
+            }
+            synchronized (this) {
+                sampled = false;
+                final Profile taken = profile;
+                profile = null;
+                return taken;
+            }
+        }
+
+        void sample(long now) {
+            final long begun = start;
+            if (begun == 0 || now - begun < delay) {
+                return;
+            }
+            synchronized (this) {
+                sampled = true;
+                if (start != begun) {
+                    return;
+                }
+                if (profile == null) {
+                    if (sampledRequests.incrementAndGet() > maxSampledRequests) {
+                        sampledRequests.decrementAndGet();
+                        return;
+                    }
+                    profile = new Profile(maxStacks, maxDepth);
+                }
+                profile.add(thread.getStackTrace());
+            }
+        }
+    }
+
+    /**
+     * The samples of a request, aggregated by stack.
+     */
+    public static class Profile {
+        private final int maxStacks;
+        private final int maxDepth;
+        private final Map<String, Integer> stacks = new HashMap<>();
+        private int samples;
+        private int dropped;
+
+        Profile(int maxStacks, int maxDepth) {
+            this.maxStacks = maxStacks;
+            this.maxDepth = maxDepth;
+        }
+
+        void add(StackTraceElement[] frames) {
+            if (frames.length == 0) {
+                return;
+            }
+            samples++;
+            final StringBuilder stack = new StringBuilder(1024);
+            for (int i = frames.length - 1; i >= Math.max(0, frames.length - maxDepth); i--) {
+                if (stack.length() > 0) {
+                    stack.append(';');
+                }
+                stack.append(frames[i].getClassName()).append('.').append(frames[i].getMethodName());
+            }
+            final String key = stack.toString();
+            if (stacks.containsKey(key) || stacks.size() < maxStacks) {
+                stacks.merge(key, 1, Integer::sum);
+            } else {
+                dropped++;
+            }
+        }
+
+        /**
+         * Returns the number of samples.
+         */
+        public int getSamples() {
+            return samples;
+        }
+
+        /**
+         * Returns the number of samples per stack. The frames of a stack are separated by {@code ;}, from
+         * the root to the sampled frame.
+         */
+        public Map<String, Integer> getStacks() {
+            return stacks;
+        }
+
+        /**
+         * Returns the number of samples which exceeded the maximum number of distinct stacks.
+         */
+        public int getDropped() {
+            return dropped;
+        }
+
+        /**
+         * Returns the stacks in the collapsed format of flame graph tools, one stack followed by its number
+         * of samples per line, the most frequent first.
+         */
+        @Override
+        public String toString() {
+            final StringBuilder output = new StringBuilder();
+            stacks.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .forEach(stack -> output.append(stack.getKey()).append(' ').append(stack.getValue())
+                    .append(System.lineSeparator()));
+            if (dropped > 0) {
+                output.append("(other stacks) ").append(dropped).append(System.lineSeparator());
+            }
+            return output.toString();
+        }
+    }
+}
@@ -1,6 +1,11 @@
 package io.dropwizard.servlets.tasks;
 
+import io.dropwizard.util.CharStreams;
+
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.io.PrintWriter;
+import java.nio.charset.Charset;
 import java.util.List;
 import java.util.Map;
 
@@ -30,6 +35,24 @@ public abstract class PostBodyTask extends Task {
                                  String body,
                                  PrintWriter output) throws Exception;
 
+    /**
+     * Executes the task with the body as a stream, which the {@link TaskServlet} calls. Override it to
+     * process large bodies without reading them into memory; by default, it reads the body with its charset
+     * and calls {@link #execute(Map, String, PrintWriter)}.
+     *
+     * @param parameters the query string parameters
+     * @param body       the request body
+     * @param charset    the charset of the request body, or UTF-8 if the request doesn't declare one
+     * @param output     a {@link PrintWriter} wrapping the output stream of the task
+     * @throws Exception if something goes wrong
+     */
+    public void execute(Map<String, List<String>> parameters,
+                        InputStream body,
+                        Charset charset,
+                        PrintWriter output) throws Exception {
+        execute(parameters, CharStreams.toString(new InputStreamReader(body, charset)), output);
+    }
+
     /**
      * Deprecated, use `execute(parameters, body, output)` or inherit from Task instead.
      *
@@ -0,0 +1,33 @@
+package io.dropwizard.servlets.tasks;
+
+import io.dropwizard.servlets.StackSampler;
+
+import java.io.PrintWriter;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Prints the profiles of the last slow requests, which the {@link io.dropwizard.servlets.SlowRequestFilter}
+ * recorded in the given {@link StackSampler}, the oldest first.
+ */
+public class SlowRequestProfilesTask extends Task {
+    private final StackSampler sampler;
+
+    /**
+     * Creates a new SlowRequestProfilesTask.
+     *
+     * @param sampler the sampler of the slow requests
+     */
+    public SlowRequestProfilesTask(StackSampler sampler) {
+        super("slow-requests");
+        this.sampler = sampler;
+    }
+
+    @Override
+    public void execute(Map<String, List<String>> parameters, PrintWriter output) {
+        for (String profile : sampler.getProfiles()) {
+            output.println(profile);
+        }
+        output.flush();
+    }
+}
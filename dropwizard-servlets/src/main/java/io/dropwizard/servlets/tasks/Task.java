@@ -3,6 +3,7 @@ package io.dropwizard.servlets.tasks;
 import java.io.PrintWriter;
 import java.util.List;
 import java.util.Map;
+import java.util.OptionalInt;
 
 /**
  * An arbitrary administrative task which can be performed via the admin interface.
@@ -39,4 +40,24 @@ public abstract class Task {
      */
     public abstract void execute(Map<String, List<String>> parameters,
                                  PrintWriter output) throws Exception;
+
+    /**
+     * Returns whether the task runs asynchronously. The {@link TaskServlet} answers the request of an
+     * asynchronous task right away with the ID of its run, whose output can be fetched afterwards.
+     *
+     * @return {@code false}, unless overridden
+     */
+    public boolean isAsynchronous() {
+        return false;
+    }
+
+    /**
+     * Returns how many runs of the task the {@link TaskServlet} allows at the same time. Further requests
+     * are rejected with {@code 429 Too Many Requests}.
+     *
+     * @return no limit, unless overridden
+     */
+    public OptionalInt getMaxConcurrentRuns() {
+        return OptionalInt.empty();
+    }
 }
@@ -6,28 +6,42 @@ import com.codahale.metrics.Timer;
 import com.codahale.metrics.annotation.ExceptionMetered;
 import com.codahale.metrics.annotation.Metered;
 import com.codahale.metrics.annotation.Timed;
-import io.dropwizard.util.CharStreams;
 import io.dropwizard.util.Strings;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServlet;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.InputStreamReader;
+import java.io.InputStream;
 import java.io.PrintWriter;
+import java.io.Writer;
 import java.lang.reflect.Method;
+import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Enumeration;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.codahale.metrics.MetricRegistry.name;
 import static java.util.Objects.requireNonNull;
@@ -36,6 +50,15 @@ import static java.util.Objects.requireNonNull;
  * A servlet which provides access to administrative {@link Task}s. It only responds to {@code POST}
  * requests, since most {@link Task}s aren't side-effect free, and passes along the query string
  * parameters of the request to the task as a multimap.
+ * <p/>
+ * {@link Task#isAsynchronous() Asynchronous} tasks run on a background thread. Their request is answered
+ * with {@code 202 Accepted} and the ID of the run, whose output is fetched by {@code GET}ting
+ * {@code /tasks/{name}/runs/{id}}. The {@code offset} parameter skips the output fetched before, and the
+ * {@code follow} parameter streams the output until the run finishes. The {@code Task-Run-Status} and
+ * {@code Task-Run-Offset} headers report the status of the run and the offset of its next output.
+ * <p/>
+ * Runs exceeding the {@link Task#getMaxConcurrentRuns() limit of their task} are rejected with
+ * {@code 429 Too Many Requests}.
  *
  * @see Task
  */
@@ -43,8 +66,18 @@ public class TaskServlet extends HttpServlet {
     private static final long serialVersionUID = 7404713218661358124L;
     private static final Logger LOGGER = LoggerFactory.getLogger(TaskServlet.class);
     private static final String CONTENT_TYPE = "text/plain;charset=UTF-8";
+    private static final String RUNS = "/runs/";
+    private static final int SC_TOO_MANY_REQUESTS = 429;
+    private static final int MAX_ASYNCHRONOUS_RUNS = 16;
+    private static final int MAX_KEPT_RUNS = 64;
+    private static final int MAX_RUN_OUTPUT = 1024 * 1024;
+
     private final ConcurrentMap<String, Task> tasks;
     private final ConcurrentMap<Task, TaskExecutor> taskExecutors;
+    private final ConcurrentMap<Task, Semaphore> runPermits;
+    private final transient Map<String, TaskRun> runs;
+    @Nullable
+    private transient ThreadPoolExecutor executor;
 
     private final MetricRegistry metricRegistry;
 
@@ -55,6 +88,8 @@ public class TaskServlet extends HttpServlet {
         this.metricRegistry = metricRegistry;
         this.tasks = new ConcurrentHashMap<>();
         this.taskExecutors = new ConcurrentHashMap<>();
+        this.runPermits = new ConcurrentHashMap<>();
+        this.runs = new LinkedHashMap<>();
     }
 
     public void add(Task task) {
@@ -93,6 +128,16 @@ public class TaskServlet extends HttpServlet {
         }
 
         taskExecutors.put(task, taskExecutor);
+        task.getMaxConcurrentRuns().ifPresent(maxRuns -> runPermits.put(task, new Semaphore(maxRuns)));
+    }
+
+    @Override
+    public synchronized void destroy() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+        super.destroy();
     }
 
     @Override
@@ -108,6 +153,8 @@ public class TaskServlet extends HttpServlet {
             }
         } else if (tasks.containsKey(req.getPathInfo())) {
             resp.sendError(HttpServletResponse.SC_METHOD_NOT_ALLOWED);
+        } else if (req.getPathInfo().contains(RUNS)) {
+            getRun(req, resp);
         } else {
             resp.sendError(HttpServletResponse.SC_NOT_FOUND);
         }
@@ -117,24 +164,175 @@ public class TaskServlet extends HttpServlet {
     protected void doPost(HttpServletRequest req,
                           HttpServletResponse resp) throws ServletException, IOException {
         final Task task = tasks.get(req.getPathInfo());
-        if (task != null) {
-            resp.setContentType(CONTENT_TYPE);
-            final PrintWriter output = resp.getWriter();
-            try {
-                final TaskExecutor taskExecutor = taskExecutors.get(task);
-                requireNonNull(taskExecutor, "taskExecutor").executeTask(getParams(req), getBody(req), output);
-            } catch (Exception e) {
-                LOGGER.error("Error running {}", task.getName(), e);
-                resp.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
-                output.println();
-                output.println(e.getMessage());
-                e.printStackTrace(output);
-            } finally {
-                output.close();
+        if (task == null) {
+            resp.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        final Semaphore permits = runPermits.get(task);
+        if (permits != null && !permits.tryAcquire()) {
+            resp.sendError(SC_TOO_MANY_REQUESTS, "Task " + task.getName() + " runs already " +
+                task.getMaxConcurrentRuns().getAsInt() + " times");
+            return;
+        }
+
+        final TaskExecutor taskExecutor = requireNonNull(taskExecutors.get(task), "taskExecutor");
+        if (task.isAsynchronous()) {
+            runAsynchronously(task, taskExecutor, permits, req, resp);
+            return;
+        }
+
+        resp.setContentType(CONTENT_TYPE);
+        final PrintWriter output = resp.getWriter();
+        try {
+            taskExecutor.executeTask(getParams(req), req.getInputStream(), getCharset(req), output);
+        } catch (Exception e) {
+            LOGGER.error("Error running {}", task.getName(), e);
+            resp.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+            output.println();
+            output.println(e.getMessage());
+            e.printStackTrace(output);
+        } finally {
+            output.close();
+            if (permits != null) {
+                permits.release();
             }
-        } else {
+        }
+    }
+
+    private void runAsynchronously(Task task, TaskExecutor taskExecutor, @Nullable Semaphore permits,
+                                   HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        final TaskRun run = new TaskRun(UUID.randomUUID().toString(), task);
+        try {
+            final Map<String, List<String>> params = getParams(req);
+            final Charset charset = getCharset(req);
+            // The request ends before the run, so the body of a PostBodyTask has to be read beforehand
+            final InputStream body = task instanceof PostBodyTask ?
+                new ByteArrayInputStream(readBody(req.getInputStream())) : new ByteArrayInputStream(new byte[0]);
+            getExecutor().execute(() -> {
+                try {
+                    taskExecutor.executeTask(params, body, charset, run.output);
+                    run.finish(TaskRun.Status.SUCCEEDED);
+                } catch (Exception e) {
+                    LOGGER.error("Error running {}", task.getName(), e);
+                    run.output.println();
+                    run.output.println(e.getMessage());
+                    e.printStackTrace(run.output);
+                    run.finish(TaskRun.Status.FAILED);
+                } finally {
+                    if (permits != null) {
+                        permits.release();
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            if (permits != null) {
+                permits.release();
+            }
+            resp.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Too many asynchronous tasks are running");
+            return;
+        } catch (IOException | RuntimeException e) {
+            if (permits != null) {
+                permits.release();
+            }
+            throw e;
+        }
+
+        keep(run);
+        resp.setStatus(HttpServletResponse.SC_ACCEPTED);
+        resp.setHeader("Location", req.getRequestURI() + RUNS + run.id);
+        resp.setContentType(CONTENT_TYPE);
+        try (PrintWriter output = resp.getWriter()) {
+            output.println(run.id);
+        }
+    }
+
+    /**
+     * Keeps the run, and forgets the oldest finished run beyond {@code MAX_KEPT_RUNS}. Runs which are still
+     * running are kept, so their output can be fetched; there are at most {@code MAX_ASYNCHRONOUS_RUNS} of them.
+     */
+    private void keep(TaskRun run) {
+        synchronized (runs) {
+            runs.put(run.id, run);
+            final Iterator<TaskRun> kept = runs.values().iterator();
+            while (runs.size() > MAX_KEPT_RUNS && kept.hasNext()) {
+                if (kept.next().getStatus() != TaskRun.Status.RUNNING) {
+                    kept.remove();
+                }
+            }
+        }
+    }
+
+    private void getRun(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        final String pathInfo = req.getPathInfo();
+        final int index = pathInfo.lastIndexOf(RUNS);
+        final Task task = tasks.get(pathInfo.substring(0, index));
+        final TaskRun run;
+        synchronized (runs) {
+            run = runs.get(pathInfo.substring(index + RUNS.length()));
+        }
+        if (task == null || run == null || run.task != task) {
             resp.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        int offset = parseOffset(req.getParameter("offset"));
+        final boolean follow = req.getParameter("follow") != null;
+        resp.setContentType(CONTENT_TYPE);
+        if (!follow) {
+            final String output = run.getOutput(offset);
+            resp.setHeader("Task-Run-Status", run.getStatus().name());
+            resp.setHeader("Task-Run-Offset", Integer.toString(offset + output.length()));
+            try (PrintWriter writer = resp.getWriter()) {
+                writer.print(output);
+            }
+            return;
+        }
+
+        // Streams the output in chunks while the run is running
+        resp.setHeader("Task-Run-Status", TaskRun.Status.RUNNING.name());
+        try (PrintWriter writer = resp.getWriter()) {
+            while (true) {
+                final TaskRun.Status status = run.getStatus();
+                final String output = run.awaitOutput(offset, 1000);
+                offset += output.length();
+                writer.print(output);
+                writer.flush();
+                // The client disconnected
+                if (writer.checkError()) {
+                    return;
+                }
+                if (status != TaskRun.Status.RUNNING && output.isEmpty()) {
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static int parseOffset(@Nullable String offset) {
+        if (offset == null) {
+            return 0;
+        }
+        try {
+            return Math.max(0, Integer.parseInt(offset));
+        } catch (NumberFormatException ignored) {
+            return 0;
+        }
+    }
+
+    private synchronized ExecutorService getExecutor() {
+        if (executor == null) {
+            final AtomicInteger threads = new AtomicInteger();
+            executor = new ThreadPoolExecutor(0, MAX_ASYNCHRONOUS_RUNS, 60, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), runnable -> {
+                    final Thread thread = new Thread(runnable, "task-" + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
         }
+        return executor;
     }
 
     private static Map<String, List<String>> getParams(HttpServletRequest req) {
@@ -149,8 +347,22 @@ public class TaskServlet extends HttpServlet {
         return results;
     }
 
-    private String getBody(HttpServletRequest req) throws IOException {
-        return CharStreams.toString(new InputStreamReader(req.getInputStream(), StandardCharsets.UTF_8));
+    /**
+     * Returns the charset of the request body, or UTF-8 if the request doesn't declare one.
+     */
+    private static Charset getCharset(HttpServletRequest req) {
+        final String encoding = req.getCharacterEncoding();
+        return encoding == null ? StandardCharsets.UTF_8 : Charset.forName(encoding);
+    }
+
+    private static byte[] readBody(InputStream input) throws IOException {
+        final ByteArrayOutputStream body = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[8192];
+        int read;
+        while ((read = input.read(buffer)) != -1) {
+            body.write(buffer, 0, read);
+        }
+        return body.toByteArray();
     }
 
     public Collection<Task> getTasks() {
@@ -168,6 +380,80 @@ public class TaskServlet extends HttpServlet {
         return name(task.getClass(), suffixes);
     }
 
+    /**
+     * A run of an asynchronous task, which keeps at most {@code MAX_RUN_OUTPUT} characters of its output, followed
+     * by a notice when the rest is dropped.
+     */
+    private static class TaskRun {
+        enum Status { RUNNING, SUCCEEDED, FAILED }
+
+        private final String id;
+        private final Task task;
+        private final StringBuilder buffer = new StringBuilder();
+        private final PrintWriter output;
+        private volatile Status status = Status.RUNNING;
+        private boolean truncated;
+
+        private TaskRun(String id, Task task) {
+            this.id = id;
+            this.task = task;
+            this.output = new PrintWriter(new Writer() {
+                @Override
+                public void write(char[] chars, int offset, int length) {
+                    synchronized (buffer) {
+                        if (truncated) {
+                            return;
+                        }
+                        final int kept = Math.min(length, MAX_RUN_OUTPUT - buffer.length());
+                        buffer.append(chars, offset, kept);
+                        if (kept < length) {
+                            truncated = true;
+                            buffer.append(System.lineSeparator())
+                                .append("[The output was truncated after ").append(MAX_RUN_OUTPUT)
+                                .append(" characters]").append(System.lineSeparator());
+                        }
+                        buffer.notifyAll();
+                    }
+                }
+
+                @Override
+                public void flush() {
+                }
+
+                @Override
+                public void close() {
+                }
+            }, true);
+        }
+
+        Status getStatus() {
+            return status;
+        }
+
+        void finish(Status finished) {
+            output.flush();
+            synchronized (buffer) {
+                status = finished;
+                buffer.notifyAll();
+            }
+        }
+
+        String getOutput(int offset) {
+            synchronized (buffer) {
+                return offset >= buffer.length() ? "" : buffer.substring(offset);
+            }
+        }
+
+        String awaitOutput(int offset, long timeoutMillis) throws InterruptedException {
+            synchronized (buffer) {
+                if (offset >= buffer.length() && status == Status.RUNNING) {
+                    buffer.wait(timeoutMillis);
+                }
+                return offset >= buffer.length() ? "" : buffer.substring(offset);
+            }
+        }
+    }
+
     private static class TaskExecutor {
         private final Task task;
 
@@ -175,10 +461,11 @@ public class TaskServlet extends HttpServlet {
             this.task = task;
         }
 
-        public void executeTask(Map<String, List<String>> params, String body, PrintWriter output) throws Exception {
+        public void executeTask(Map<String, List<String>> params, InputStream body, Charset charset,
+                                PrintWriter output) throws Exception {
             if (task instanceof PostBodyTask) {
                 PostBodyTask postBodyTask = (PostBodyTask) task;
-                postBodyTask.execute(params, body, output);
+                postBodyTask.execute(params, body, charset, output);
             } else {
                 task.execute(params, output);
             }
@@ -196,10 +483,11 @@ public class TaskServlet extends HttpServlet {
         }
 
         @Override
-        public void executeTask(Map<String, List<String>> params, String body, PrintWriter output) throws Exception {
+        public void executeTask(Map<String, List<String>> params, InputStream body, Charset charset,
+                                PrintWriter output) throws Exception {
             final Timer.Context context = timer.time();
             try {
-                underlying.executeTask(params, body, output);
+                underlying.executeTask(params, body, charset, output);
             } finally {
                 context.stop();
             }
@@ -217,9 +505,10 @@ public class TaskServlet extends HttpServlet {
         }
 
         @Override
-        public void executeTask(Map<String, List<String>> params, String body, PrintWriter output) throws Exception {
+        public void executeTask(Map<String, List<String>> params, InputStream body, Charset charset,
+                                PrintWriter output) throws Exception {
             meter.mark();
-            underlying.executeTask(params, body, output);
+            underlying.executeTask(params, body, charset, output);
         }
     }
 
@@ -242,9 +531,10 @@ public class TaskServlet extends HttpServlet {
         }
 
         @Override
-        public void executeTask(Map<String, List<String>> params, String body, PrintWriter output) throws Exception {
+        public void executeTask(Map<String, List<String>> params, InputStream body, Charset charset,
+                                PrintWriter output) throws Exception {
             try {
-                underlying.executeTask(params, body, output);
+                underlying.executeTask(params, body, charset, output);
             } catch (Exception e) {
                 if (exceptionMeter != null && isReallyAssignableFrom(e)) {
                     exceptionMeter.mark();
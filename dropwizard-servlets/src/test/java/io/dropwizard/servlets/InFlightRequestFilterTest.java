@@ -0,0 +1,132 @@
+package io.dropwizard.servlets;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletContext;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class InFlightRequestFilterTest {
+
+    private HttpServletRequest request = mock(HttpServletRequest.class);
+
+    private HttpServletResponse response = mock(HttpServletResponse.class);
+
+    private FilterChain chain = mock(FilterChain.class);
+
+    private FilterConfig filterConfig = mock(FilterConfig.class);
+
+    private ServletContext servletContext = mock(ServletContext.class);
+
+    private InFlightRequests requests = new InFlightRequests();
+
+    private InFlightRequestFilter filter = new InFlightRequestFilter();
+
+    @Before
+    public void setUp() throws Exception {
+        when(filterConfig.getServletContext()).thenReturn(servletContext);
+        when(servletContext.getAttribute(InFlightRequests.ATTRIBUTE)).thenReturn(requests);
+        filter.init(filterConfig);
+
+        when(request.getMethod()).thenReturn("GET");
+        when(request.getRequestURI()).thenReturn("/some/path");
+        when(request.getQueryString()).thenReturn("q=1");
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        filter.destroy();
+    }
+
+    @Test
+    public void recordsTheRequestInChain() throws Exception {
+        doAnswer(invocationOnMock -> {
+            assertThat(requests.getRequests()).hasSize(1);
+            final InFlightRequests.InFlightRequest inFlight = requests.get(Thread.currentThread()).get();
+            assertThat(inFlight.getMethod()).isEqualTo("GET");
+            assertThat(inFlight.getUri()).isEqualTo("/some/path?q=1");
+            assertThat(inFlight.getThreadName()).isEqualTo(Thread.currentThread().getName());
+            assertThat(inFlight.getAgeMillis()).isGreaterThanOrEqualTo(0);
+            return null;
+        }).when(chain).doFilter(request, response);
+
+        final String name = Thread.currentThread().getName();
+        filter.doFilter(request, response, chain);
+
+        verify(chain).doFilter(request, response);
+        assertThat(requests.getRequests()).isEmpty();
+        assertThat(requests.get(Thread.currentThread())).isEmpty();
+        assertThat(Thread.currentThread().getName()).isEqualTo(name);
+    }
+
+    @Test
+    public void endsTheRequestOnFailures() throws Exception {
+        doAnswer(invocationOnMock -> {
+            throw new IllegalStateException("failed");
+        }).when(chain).doFilter(request, response);
+
+        try {
+            filter.doFilter(request, response, chain);
+        } catch (IllegalStateException ignored) {
+        }
+
+        assertThat(requests.getRequests()).isEmpty();
+    }
+
+    @Test
+    public void keepsTheOuterRequestOfNestedRequests() throws Exception {
+        requests.enter("POST", "/outer", null);
+        try {
+            filter.doFilter(request, response, chain);
+
+            assertThat(requests.get(Thread.currentThread()).get().getUri()).isEqualTo("/outer");
+        } finally {
+            requests.exit();
+        }
+    }
+
+    @Test
+    public void forgetsTheRequestsOfDeadThreads() throws Exception {
+        final Thread dead = new Thread(() -> requests.enter("GET", "/dead", null));
+        dead.start();
+        dead.join();
+        assertThat(requests.get(dead)).isPresent();
+
+        final Thread next = new Thread(() -> {
+            requests.enter("GET", "/next", null);
+            requests.exit();
+        });
+        next.start();
+        next.join();
+
+        assertThat(requests.get(dead)).isEmpty();
+    }
+
+    @Test
+    public void annotatesThreadDumps() throws Exception {
+        doAnswer(invocationOnMock -> {
+            final StringWriter output = new StringWriter();
+            new InFlightThreadDump(requests).dump(false, false, new PrintWriter(output));
+            assertThat(output.toString())
+                .contains("\"" + Thread.currentThread().getName() + "\" id=" + Thread.currentThread().getId())
+                .contains("    processing GET /some/path?q=1 (");
+            return null;
+        }).when(chain).doFilter(request, response);
+
+        filter.doFilter(request, response, chain);
+
+        verify(chain).doFilter(request, response);
+    }
+}
@@ -11,6 +11,9 @@ import javax.servlet.FilterConfig;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -66,4 +69,42 @@ public class SlowRequestFilterTest {
         verify(logger, never()).warn("Slow request: {} {} ({}ms)", "GET", "/some/path", 499L);
     }
 
+    @Test
+    public void samplesTheStacksOfSlowRequests() throws Exception {
+        final StackSampler sampler = new StackSampler(Duration.milliseconds(5), 1, 16, 64, 2);
+        final SlowRequestFilter samplingFilter = new SlowRequestFilter(Duration.milliseconds(100), 0.2, sampler);
+        samplingFilter.setLogger(logger);
+        doAnswer(invocationOnMock -> {
+            Thread.sleep(200);
+            return null;
+        }).when(chain).doFilter(request, response);
+
+        try {
+            samplingFilter.doFilter(request, response, chain);
+        } finally {
+            samplingFilter.destroy();
+        }
+
+        assertThat(sampler.isSampling()).isFalse();
+        verify(logger).warn(eq("{}"), argThat((String message) -> message.startsWith("Slow request: GET /some/path (") &&
+            message.contains("java.lang.Thread.sleep")));
+        assertThat(sampler.getProfiles()).hasSize(1);
+        assertThat(sampler.getProfiles().get(0)).contains("stack samples:");
+    }
+
+    @Test
+    public void doesNotSampleFastRequests() throws Exception {
+        final StackSampler sampler = new StackSampler(Duration.milliseconds(5), 1, 16, 64, 2);
+        final SlowRequestFilter samplingFilter = new SlowRequestFilter(Duration.seconds(10), 0.5, sampler);
+        samplingFilter.setLogger(logger);
+
+        try {
+            samplingFilter.doFilter(request, response, chain);
+            assertThat(sampler.end()).isNull();
+        } finally {
+            samplingFilter.destroy();
+        }
+
+        assertThat(sampler.getProfiles()).isEmpty();
+    }
 }
@@ -16,14 +16,21 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.OptionalInt;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static com.codahale.metrics.MetricRegistry.name;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
@@ -32,7 +39,7 @@ import static org.mockito.Mockito.when;
 
 public class TaskServletTest {
     private final Task gc = mock(Task.class);
-    private final PostBodyTask printJSON = mock(PostBodyTask.class);
+    private final PostBodyTask printJSON = mock(PostBodyTask.class, CALLS_REAL_METHODS);
 
     private final MetricRegistry metricRegistry = new MetricRegistry();
     private final TaskServlet servlet = new TaskServlet(metricRegistry);
@@ -107,6 +114,25 @@ public class TaskServletTest {
         verify(printJSON).execute(Collections.emptyMap(), body, output);
     }
 
+    @Test
+    public void decodesThePostBodyWithTheCharsetOfTheRequest() throws Exception {
+        final String body = "caf\u00e9";
+        final PrintWriter output = mock(PrintWriter.class);
+        final ServletInputStream bodyStream =
+            new TestServletInputStream(new ByteArrayInputStream(body.getBytes(StandardCharsets.ISO_8859_1)));
+
+        when(request.getMethod()).thenReturn("POST");
+        when(request.getPathInfo()).thenReturn("/print-json");
+        when(request.getParameterNames()).thenReturn(Collections.enumeration(Collections.emptyList()));
+        when(request.getCharacterEncoding()).thenReturn("ISO-8859-1");
+        when(request.getInputStream()).thenReturn(bodyStream);
+        when(response.getWriter()).thenReturn(output);
+
+        servlet.service(request, response);
+
+        verify(printJSON).execute(Collections.emptyMap(), body, output);
+    }
+
     @Test
     @SuppressWarnings("unchecked")
     public void returnsA500OnExceptions() throws Exception {
@@ -236,6 +262,255 @@ public class TaskServletTest {
             "vacuum-cleaning-exceptions"));
     }
 
+    @Test
+    public void passesTheBodyAsAStreamToPostBodyTasks() throws Exception {
+        final StringWriter received = new StringWriter();
+        final PostBodyTask streaming = new PostBodyTask("stream") {
+            @Override
+            public void execute(Map<String, List<String>> parameters, String body, PrintWriter output) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public void execute(Map<String, List<String>> parameters, InputStream body, Charset charset,
+                                PrintWriter output) throws Exception {
+                int read;
+                while ((read = body.read()) != -1) {
+                    received.write(read);
+                }
+            }
+        };
+        servlet.add(streaming);
+
+        when(request.getMethod()).thenReturn("POST");
+        when(request.getPathInfo()).thenReturn("/stream");
+        when(request.getParameterNames()).thenReturn(Collections.enumeration(Collections.emptyList()));
+        when(request.getInputStream()).thenReturn(new TestServletInputStream(
+            new ByteArrayInputStream("large".getBytes(StandardCharsets.UTF_8))));
+        when(response.getWriter()).thenReturn(mock(PrintWriter.class));
+
+        servlet.service(request, response);
+
+        assertThat(received.toString()).isEqualTo("large");
+    }
+
+    @Test
+    public void runsAsynchronousTasksInTheBackground() throws Exception {
+        final CountDownLatch finish = new CountDownLatch(1);
+        final Task asynchronous = new Task("reindex") {
+            @Override
+            public void execute(Map<String, List<String>> parameters, PrintWriter output) throws Exception {
+                output.println("started");
+                finish.await(5, TimeUnit.SECONDS);
+                output.println("finished");
+            }
+
+            @Override
+            public boolean isAsynchronous() {
+                return true;
+            }
+        };
+        servlet.add(asynchronous);
+
+        final StringWriter accepted = new StringWriter();
+        when(request.getMethod()).thenReturn("POST");
+        when(request.getPathInfo()).thenReturn("/reindex");
+        when(request.getRequestURI()).thenReturn("/tasks/reindex");
+        when(request.getParameterNames()).thenReturn(Collections.enumeration(Collections.emptyList()));
+        when(response.getWriter()).thenReturn(new PrintWriter(accepted));
+
+        servlet.service(request, response);
+
+        verify(response).setStatus(202);
+        final String id = accepted.toString().trim();
+        verify(response).setHeader("Location", "/tasks/reindex/runs/" + id);
+
+        finish.countDown();
+        final StringWriter followed = new StringWriter();
+        final HttpServletRequest follow = mock(HttpServletRequest.class);
+        final HttpServletResponse followResponse = mock(HttpServletResponse.class);
+        when(follow.getMethod()).thenReturn("GET");
+        when(follow.getPathInfo()).thenReturn("/reindex/runs/" + id);
+        when(follow.getParameter("follow")).thenReturn("");
+        when(followResponse.getWriter()).thenReturn(new PrintWriter(followed));
+
+        servlet.service(follow, followResponse);
+        servlet.destroy();
+
+        final String newLine = System.lineSeparator();
+        assertThat(followed.toString()).isEqualTo("started" + newLine + "finished" + newLine);
+    }
+
+    @Test(timeout = 10_000)
+    public void stopsFollowingARunWhenTheClientDisconnects() throws Exception {
+        final CountDownLatch finish = new CountDownLatch(1);
+        servlet.add(asynchronousTask("reindex", output -> {
+            output.println("started");
+            finish.await(10, TimeUnit.SECONDS);
+        }));
+        final String id = runAsynchronously("reindex");
+
+        final HttpServletRequest follow = getRun("reindex", id);
+        final HttpServletResponse followResponse = mock(HttpServletResponse.class);
+        when(followResponse.getWriter()).thenReturn(new PrintWriter(new Writer() {
+            @Override
+            public void write(char[] chars, int offset, int length) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+
+            @Override
+            public void flush() throws IOException {
+                throw new IOException("Broken pipe");
+            }
+
+            @Override
+            public void close() {
+            }
+        }));
+
+        servlet.service(follow, followResponse);
+        finish.countDown();
+        servlet.destroy();
+    }
+
+    @Test(timeout = 10_000)
+    public void truncatesTheOutputOfRuns() throws Exception {
+        final char[] chunk = new char[1000];
+        Arrays.fill(chunk, 'x');
+        servlet.add(asynchronousTask("verbose", output -> {
+            for (int i = 0; i < 2000; i++) {
+                output.print(chunk);
+            }
+        }));
+        final String id = runAsynchronously("verbose");
+
+        final StringWriter followed = new StringWriter();
+        final HttpServletResponse followResponse = mock(HttpServletResponse.class);
+        when(followResponse.getWriter()).thenReturn(new PrintWriter(followed));
+        servlet.service(getRun("verbose", id), followResponse);
+        servlet.destroy();
+
+        final String newLine = System.lineSeparator();
+        assertThat(followed.toString())
+            .startsWith("xxx")
+            .endsWith("x" + newLine + "[The output was truncated after 1048576 characters]" + newLine)
+            .hasSize(1024 * 1024 + newLine.length() * 2 + 51);
+    }
+
+    @Test(timeout = 10_000)
+    public void keepsRunningRunsWhenForgettingOldRuns() throws Exception {
+        final CountDownLatch finish = new CountDownLatch(1);
+        servlet.add(asynchronousTask("reindex", output -> {
+            output.println("started");
+            finish.await(10, TimeUnit.SECONDS);
+        }));
+        final CountDownLatch finished = new CountDownLatch(100);
+        servlet.add(asynchronousTask("quick", output -> finished.countDown()));
+
+        final String id = runAsynchronously("reindex");
+        final String first = runAsynchronously("quick");
+        // One at a time, to stay within the limit of asynchronous runs
+        for (int i = 1; i < 100; i++) {
+            while (finished.getCount() > 100 - i) {
+                Thread.sleep(1);
+            }
+            runAsynchronously("quick");
+        }
+        finished.await();
+
+        final StringWriter running = new StringWriter();
+        final HttpServletResponse runningResponse = mock(HttpServletResponse.class);
+        when(runningResponse.getWriter()).thenReturn(new PrintWriter(running));
+        // Reads the output without following it, as the run only finishes afterwards
+        final HttpServletRequest read = getRun("reindex", id);
+        when(read.getParameter("follow")).thenReturn(null);
+        servlet.service(read, runningResponse);
+        finish.countDown();
+
+        final HttpServletResponse firstResponse = mock(HttpServletResponse.class);
+        servlet.service(getRun("quick", first), firstResponse);
+        servlet.destroy();
+
+        assertThat(running.toString()).isEqualTo("started" + System.lineSeparator());
+        verify(firstResponse).sendError(404);
+    }
+
+    @Test
+    public void returnsA404ForUnknownRuns() throws Exception {
+        when(request.getMethod()).thenReturn("GET");
+        when(request.getPathInfo()).thenReturn("/gc/runs/unknown");
+        servlet.service(request, response);
+
+        verify(response).sendError(404);
+    }
+
+    @Test
+    public void rejectsRunsExceedingTheLimitOfTheTask() throws Exception {
+        final Task limited = new Task("limited") {
+            @Override
+            public void execute(Map<String, List<String>> parameters, PrintWriter output) throws Exception {
+                servlet.service(request, response);
+            }
+
+            @Override
+            public OptionalInt getMaxConcurrentRuns() {
+                return OptionalInt.of(1);
+            }
+        };
+        servlet.add(limited);
+
+        when(request.getMethod()).thenReturn("POST");
+        when(request.getPathInfo()).thenReturn("/limited");
+        when(request.getParameterNames()).thenReturn(Collections.enumeration(Collections.emptyList()));
+        when(response.getWriter()).thenReturn(mock(PrintWriter.class));
+
+        servlet.service(request, response);
+
+        verify(response).sendError(429, "Task limited runs already 1 times");
+    }
+
+    private String runAsynchronously(String task) throws Exception {
+        final HttpServletRequest post = mock(HttpServletRequest.class);
+        final HttpServletResponse accepted = mock(HttpServletResponse.class);
+        final StringWriter id = new StringWriter();
+        when(post.getMethod()).thenReturn("POST");
+        when(post.getPathInfo()).thenReturn("/" + task);
+        when(post.getRequestURI()).thenReturn("/tasks/" + task);
+        when(post.getParameterNames()).thenReturn(Collections.enumeration(Collections.emptyList()));
+        when(accepted.getWriter()).thenReturn(new PrintWriter(id));
+
+        servlet.service(post, accepted);
+
+        verify(accepted).setStatus(202);
+        return id.toString().trim();
+    }
+
+    private static HttpServletRequest getRun(String task, String id) {
+        final HttpServletRequest get = mock(HttpServletRequest.class);
+        when(get.getMethod()).thenReturn("GET");
+        when(get.getPathInfo()).thenReturn("/" + task + "/runs/" + id);
+        when(get.getParameter("follow")).thenReturn("");
+        return get;
+    }
+
+    private static Task asynchronousTask(String name, Execution execution) {
+        return new Task(name) {
+            @Override
+            public void execute(Map<String, List<String>> parameters, PrintWriter output) throws Exception {
+                execution.execute(output);
+            }
+
+            @Override
+            public boolean isAsynchronous() {
+                return true;
+            }
+        };
+    }
+
+    private interface Execution {
+        void execute(PrintWriter output) throws Exception;
+    }
+
     @SuppressWarnings("InputStreamSlowMultibyteRead")
     private static class TestServletInputStream extends ServletInputStream {
         private InputStream delegate;
@@ -69,4 +69,21 @@ public class ConfigOverride {
     public void removeFromSystemProperties() {
         System.clearProperty(propertyPrefix + key);
     }
+
+    String getPropertyName() {
+        return propertyPrefix + key;
+    }
+
+    /**
+     * Returns an override with the current value of this override, so that it can be applied repeatedly.
+     */
+    ConfigOverride resolve() {
+        final String resolved = value.get();
+        return new ConfigOverride(propertyPrefix, key, () -> resolved);
+    }
+
+    @Override
+    public String toString() {
+        return getPropertyName() + "=" + value.get();
+    }
 }
@@ -0,0 +1,242 @@
+package io.dropwizard.testing;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import io.dropwizard.Application;
+import io.dropwizard.Configuration;
+import org.slf4j.ILoggerFactory;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+//@formatter:off
+/**
+ * A JVM-wide pool of started applications, which test classes declaring the same application class and
+ * configuration share instead of starting their own.
+ * <p>
+ * The instances returned by {@link #shared(Class, String, ConfigOverride...)} are started by the first call
+ * of {@link DropwizardTestSupport#before()}, and stay started when {@link DropwizardTestSupport#after()} is
+ * called. They are stopped by {@link #shutdown()}, which is called when the JVM exits. A later call of
+ * {@link DropwizardTestSupport#before()} isolates the test class from the ones before it, as long as none of them
+ * is still running, i.e. hasn't called {@link DropwizardTestSupport#after()} yet:
+ * </p>
+ * <ul>
+ * <li>metrics which were registered after the application started are removed, and</li>
+ * <li>loggers are reset to the levels they had after the application started.</li>
+ * </ul>
+ * <p>
+ * As the application starts only once, listeners added to a shared instance after it started are not called.
+ * Test classes running in parallel share the application without isolation from each other, so they shouldn't
+ * depend on its metrics or logger levels, and the configuration should use port {@code 0} for every connector.
+ * </p>
+ *
+ * <pre>
+ * public class FooTest {
+ *   &#064;ClassRule
+ *   public static final DropwizardAppRule&lt;MyConfig> RULE = new DropwizardAppRule&lt;>(
+ *       DropwizardTestSupportPool.shared(MyApp.class, resourceFilePath("my-app-config.yaml")));
+ * }
+ * </pre>
+ */
+//@formatter:on
+public final class DropwizardTestSupportPool {
+    /**
+     * Configuration overrides are applied through system properties, so only one application is started at a
+     * time.
+     */
+    private static final Object START_LOCK = new Object();
+
+    private static final ConcurrentMap<List<Object>, Shared<?>> POOL = new ConcurrentHashMap<>();
+    private static final AtomicBoolean SHUTDOWN_HOOK_ADDED = new AtomicBoolean();
+
+    private DropwizardTestSupportPool() {
+    }
+
+    /**
+     * Returns the shared instance of the given application with the given configuration.
+     *
+     * @param applicationClass the type of the application
+     * @param configPath       the path of the configuration file, or {@code null}
+     * @param configOverrides  the overrides of the configuration; their values are resolved once, when
+     *                         looking up the instance
+     * @param <C>              the configuration type
+     */
+    public static <C extends Configuration> DropwizardTestSupport<C> shared(
+        Class<? extends Application<C>> applicationClass,
+        @Nullable String configPath,
+        ConfigOverride... configOverrides) {
+        return shared(applicationClass, configPath, Optional.empty(), configOverrides);
+    }
+
+    /**
+     * Returns the shared instance of the given application with the given configuration.
+     *
+     * @param applicationClass     the type of the application
+     * @param configPath           the path of the configuration file, or {@code null}
+     * @param customPropertyPrefix the prefix of the system properties overriding the configuration
+     * @param configOverrides      the overrides of the configuration; their values are resolved once, when
+     *                             looking up the instance
+     * @param <C>                  the configuration type
+     */
+    @SuppressWarnings("unchecked")
+    public static <C extends Configuration> DropwizardTestSupport<C> shared(
+        Class<? extends Application<C>> applicationClass,
+        @Nullable String configPath,
+        Optional<String> customPropertyPrefix,
+        ConfigOverride... configOverrides) {
+        final List<ConfigOverride> overrides = new ArrayList<>();
+        final List<String> resolved = new ArrayList<>();
+        for (ConfigOverride configOverride : configOverrides) {
+            final ConfigOverride override = configOverride.resolve();
+            overrides.add(override);
+            resolved.add(override.toString());
+        }
+        Collections.sort(resolved);
+
+        final List<Object> key = Arrays.asList(applicationClass, configPath, customPropertyPrefix, resolved);
+        addShutdownHook();
+        return (DropwizardTestSupport<C>) POOL.computeIfAbsent(key, k ->
+            new Shared<>(applicationClass, configPath, customPropertyPrefix, overrides));
+    }
+
+    /**
+     * Stops every shared application, and removes them from the pool.
+     */
+    public static void shutdown() {
+        RuntimeException failure = null;
+        for (List<Object> key : POOL.keySet()) {
+            final Shared<?> shared = POOL.remove(key);
+            if (shared == null) {
+                continue;
+            }
+            try {
+                shared.stop();
+            } catch (RuntimeException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private static void addShutdownHook() {
+        if (SHUTDOWN_HOOK_ADDED.compareAndSet(false, true)) {
+            Runtime.getRuntime().addShutdownHook(
+                new Thread(DropwizardTestSupportPool::shutdown, "dropwizard-test-support-pool"));
+        }
+    }
+
+    private static class Shared<C extends Configuration> extends DropwizardTestSupport<C> {
+        private final List<ConfigOverride> overrides;
+
+        private Set<String> startupMetrics = Collections.emptySet();
+        private Map<String, Level> startupLevels = Collections.emptyMap();
+        private int users;
+
+        Shared(Class<? extends Application<C>> applicationClass,
+               @Nullable String configPath,
+               Optional<String> customPropertyPrefix,
+               List<ConfigOverride> overrides) {
+            super(applicationClass, configPath, customPropertyPrefix);
+            this.overrides = overrides;
+        }
+
+        @Override
+        public synchronized void before() {
+            if (jettyServer == null) {
+                start();
+            } else if (users == 0) {
+                // Not while other test classes are running, which would lose their metrics and logger levels
+                isolate();
+            }
+            users++;
+        }
+
+        @Override
+        public synchronized void after() {
+            // Stopped by DropwizardTestSupportPool#shutdown
+            if (users > 0) {
+                users--;
+            }
+        }
+
+        private void start() {
+            synchronized (START_LOCK) {
+                for (ConfigOverride override : overrides) {
+                    override.addToSystemProperties();
+                }
+                try {
+                    super.before();
+                } finally {
+                    for (ConfigOverride override : overrides) {
+                        override.removeFromSystemProperties();
+                    }
+                }
+            }
+            startupMetrics = new HashSet<>(getEnvironment().metrics().getNames());
+            startupLevels = loggerLevels();
+        }
+
+        private void isolate() {
+            getEnvironment().metrics().removeMatching((name, metric) -> !startupMetrics.contains(name));
+
+            final LoggerContext context = loggerContext();
+            if (context != null) {
+                for (Logger logger : context.getLoggerList()) {
+                    if (!logger.getName().equals(Logger.ROOT_LOGGER_NAME)) {
+                        logger.setLevel(startupLevels.get(logger.getName()));
+                    }
+                }
+                final Level rootLevel = startupLevels.get(Logger.ROOT_LOGGER_NAME);
+                if (rootLevel != null) {
+                    context.getLogger(Logger.ROOT_LOGGER_NAME).setLevel(rootLevel);
+                }
+            }
+        }
+
+        synchronized void stop() {
+            users = 0;
+            if (configuration != null) {
+                super.after();
+            }
+        }
+
+        private static Map<String, Level> loggerLevels() {
+            final LoggerContext context = loggerContext();
+            if (context == null) {
+                return Collections.emptyMap();
+            }
+            final Map<String, Level> levels = new HashMap<>();
+            for (Logger logger : context.getLoggerList()) {
+                if (logger.getLevel() != null) {
+                    levels.put(logger.getName(), logger.getLevel());
+                }
+            }
+            return levels;
+        }
+
+        @Nullable
+        private static LoggerContext loggerContext() {
+            final ILoggerFactory factory = LoggerFactory.getILoggerFactory();
+            return factory instanceof LoggerContext ? (LoggerContext) factory : null;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package io.dropwizard.testing;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import io.dropwizard.testing.app.DropwizardTestApplication;
+import io.dropwizard.testing.app.TestConfiguration;
+import org.junit.After;
+import org.junit.Test;
+import org.slf4j.LoggerFactory;
+
+import javax.ws.rs.client.ClientBuilder;
+
+import static io.dropwizard.testing.ConfigOverride.config;
+import static io.dropwizard.testing.ResourceHelpers.resourceFilePath;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DropwizardTestSupportPoolTest {
+
+    @After
+    public void tearDown() {
+        DropwizardTestSupportPool.shutdown();
+    }
+
+    @Test
+    public void sharesTheApplicationBetweenIdenticalConfigurations() {
+        final DropwizardTestSupport<TestConfiguration> first = DropwizardTestSupportPool.shared(
+            DropwizardTestApplication.class, resourceFilePath("test-config.yaml"), config("message", "shared"));
+        final DropwizardTestSupport<TestConfiguration> second = DropwizardTestSupportPool.shared(
+            DropwizardTestApplication.class, resourceFilePath("test-config.yaml"), config("message", "shared"));
+
+        first.before();
+        final int port = first.getLocalPort();
+        first.after();
+        second.before();
+
+        assertThat(second).isSameAs(first);
+        assertThat(second.getLocalPort()).isEqualTo(port);
+        assertThat(ClientBuilder.newClient().target("http://localhost:" + port + "/test")
+            .request().get(String.class)).isEqualTo("shared");
+        assertThat(System.getProperty("dw.message")).isNull();
+    }
+
+    @Test
+    public void startsSeparateApplicationsForDifferentConfigurations() {
+        final DropwizardTestSupport<TestConfiguration> first = DropwizardTestSupportPool.shared(
+            DropwizardTestApplication.class, resourceFilePath("test-config.yaml"), config("message", "first"));
+        final DropwizardTestSupport<TestConfiguration> second = DropwizardTestSupportPool.shared(
+            DropwizardTestApplication.class, resourceFilePath("test-config.yaml"), config("message", "second"));
+
+        first.before();
+        second.before();
+
+        assertThat(second).isNotSameAs(first);
+        assertThat(first.getConfiguration().getMessage()).isEqualTo("first");
+        assertThat(second.getConfiguration().getMessage()).isEqualTo("second");
+        assertThat(second.getLocalPort()).isNotEqualTo(first.getLocalPort());
+    }
+
+    @Test
+    public void isolatesMetricsAndLoggingBetweenTestClasses() {
+        final DropwizardTestSupport<TestConfiguration> support = DropwizardTestSupportPool.shared(
+            DropwizardTestApplication.class, resourceFilePath("test-config.yaml"));
+        support.before();
+        final Logger logger = (Logger) LoggerFactory.getLogger("com.example.pooled");
+        final int startupMetrics = support.getEnvironment().metrics().getNames().size();
+
+        support.getEnvironment().metrics().counter("pooled-test");
+        logger.setLevel(Level.TRACE);
+        support.after();
+        support.before();
+
+        assertThat(support.getEnvironment().metrics().getNames()).hasSize(startupMetrics)
+            .doesNotContain("pooled-test");
+        assertThat(logger.getLevel()).isNull();
+    }
+
+    @Test
+    public void doesNotIsolateTestClassesRunningInParallel() {
+        final DropwizardTestSupport<TestConfiguration> support = DropwizardTestSupportPool.shared(
+            DropwizardTestApplication.class, resourceFilePath("test-config.yaml"));
+        support.before();
+        support.getEnvironment().metrics().counter("pooled-test");
+
+        support.before();
+        assertThat(support.getEnvironment().metrics().getNames()).contains("pooled-test");
+        support.after();
+        support.before();
+        assertThat(support.getEnvironment().metrics().getNames()).contains("pooled-test");
+
+        support.after();
+        support.after();
+        support.before();
+        assertThat(support.getEnvironment().metrics().getNames()).doesNotContain("pooled-test");
+    }
+
+    @Test
+    public void stopsTheApplicationsOnShutdown() {
+        final DropwizardTestSupport<TestConfiguration> support = DropwizardTestSupportPool.shared(
+            DropwizardTestApplication.class, resourceFilePath("test-config.yaml"));
+        support.before();
+
+        DropwizardTestSupportPool.shutdown();
+
+        assertThat(support.jettyServer).isNull();
+        assertThat(DropwizardTestSupportPool.shared(DropwizardTestApplication.class,
+            resourceFilePath("test-config.yaml"))).isNotSameAs(support);
+    }
+}